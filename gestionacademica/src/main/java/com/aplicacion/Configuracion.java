@@ -0,0 +1,119 @@
+package com.aplicacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Configuración externa de la aplicación
+ * Responsabilidad: Cargar los parámetros ajustables (conexión, pool, etc.)
+ * Los valores por defecto viven en el classpath y se sobrescriben con un archivo externo:
+ *   1. Ruta indicada en la propiedad del sistema -Dgestionacademica.config
+ *   2. gestionacademica.properties en el directorio de trabajo
+ *   3. ~/.gestionacademica/gestionacademica.properties
+ */
+public final class Configuracion {
+    public static final String PROPIEDAD_RUTA = "gestionacademica.config";
+    private static final String NOMBRE_ARCHIVO = "gestionacademica.properties";
+
+    private static final Properties propiedades = cargar();
+
+    private Configuracion() {
+    }
+
+    /**
+     * Obtiene un valor de texto o el valor por defecto si no está configurado
+     */
+    public static String obtener(String clave, String porDefecto) {
+        String valor = propiedades.getProperty(clave);
+        if (valor == null || valor.trim().isEmpty()) {
+            return porDefecto;
+        }
+        return valor.trim();
+    }
+
+    public static int obtenerEntero(String clave, int porDefecto) {
+        String valor = obtener(clave, null);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            System.err.println("Valor inválido para " + clave + ": " + valor + " (se usa " + porDefecto + ")");
+            return porDefecto;
+        }
+    }
+
+    public static long obtenerLargo(String clave, long porDefecto) {
+        String valor = obtener(clave, null);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            System.err.println("Valor inválido para " + clave + ": " + valor + " (se usa " + porDefecto + ")");
+            return porDefecto;
+        }
+    }
+
+    public static boolean obtenerBooleano(String clave, boolean porDefecto) {
+        String valor = obtener(clave, null);
+        return valor == null ? porDefecto : Boolean.parseBoolean(valor);
+    }
+
+    private static Properties cargar() {
+        Properties props = new Properties();
+
+        // Valores por defecto empaquetados con la aplicación
+        try (InputStream entrada = Configuracion.class.getResourceAsStream("/" + NOMBRE_ARCHIVO)) {
+            if (entrada != null) {
+                props.load(entrada);
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la configuración por defecto: " + e.getMessage());
+        }
+
+        // Archivo externo (sobrescribe los valores por defecto)
+        Path externo = buscarArchivoExterno();
+        if (externo != null) {
+            try (Reader lector = Files.newBufferedReader(externo, StandardCharsets.UTF_8)) {
+                props.load(lector);
+                System.out.println("Configuración cargada desde: " + externo.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("No se pudo leer la configuración " + externo + ": " + e.getMessage());
+            }
+        }
+
+        return props;
+    }
+
+    private static Path buscarArchivoExterno() {
+        String rutaSistema = System.getProperty(PROPIEDAD_RUTA);
+        if (rutaSistema != null && !rutaSistema.trim().isEmpty()) {
+            Path ruta = Paths.get(rutaSistema.trim());
+            if (Files.isReadable(ruta)) {
+                return ruta;
+            }
+            System.err.println("No se encontró el archivo de configuración: " + ruta);
+        }
+
+        Path local = Paths.get(NOMBRE_ARCHIVO);
+        if (Files.isReadable(local)) {
+            return local;
+        }
+
+        Path usuario = Paths.get(System.getProperty("user.home"), ".gestionacademica", NOMBRE_ARCHIVO);
+        if (Files.isReadable(usuario)) {
+            return usuario;
+        }
+
+        return null;
+    }
+}
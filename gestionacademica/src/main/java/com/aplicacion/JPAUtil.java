@@ -1,5 +1,13 @@
 package com.aplicacion;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
@@ -8,20 +16,206 @@ public class JPAUtil {
     }
 
     private static final String UNIDAD_DE_PERSISTENCIA = "GestionAcademica";
-    private static EntityManagerFactory factory;
 
+    private static final Object candado = new Object();
+    private static volatile EntityManagerFactory factory;
+    private static CompletableFuture<EntityManagerFactory> arranque; // protegido por candado
+    private static volatile PoolConexiones pool;
+    private static volatile long tiempoArranqueMs = -1;
+    // Servicios que se inician tras cada arranque exitoso (ver alArrancar), protegido por candado
+    private static final Map<String, Runnable> servicios = new LinkedHashMap<>();
+
+    /**
+     * Devuelve la fábrica, esperando el arranque en curso si aún no termina
+     * Es seguro llamarlo desde varios hilos: Hibernate se inicializa una sola vez
+     */
     public static EntityManagerFactory getEntityManagerFactory(){
-        if (factory == null){
-            factory = Persistence.createEntityManagerFactory(UNIDAD_DE_PERSISTENCIA);
+        EntityManagerFactory actual = factory;
+        if (actual != null) {
+            return actual;
+        }
+
+        try {
+            return iniciarEnSegundoPlano().join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException("No se pudo iniciar la unidad de persistencia", causa);
+        }
+    }
+
+    /**
+     * Inicia Hibernate en un hilo de fondo (metamodelo, esquema y consultas del login)
+     * Llamadas posteriores devuelven el mismo arranque en curso o ya completado
+     */
+    public static CompletableFuture<EntityManagerFactory> iniciarEnSegundoPlano() {
+        synchronized (candado) {
+            if (arranque == null) {
+                CompletableFuture<EntityManagerFactory> nuevo = new CompletableFuture<>();
+                arranque = nuevo;
+
+                Thread hilo = new Thread(() -> arrancar(nuevo), "arranque-jpa");
+                hilo.setDaemon(true);
+                hilo.start();
+            }
+            return arranque;
+        }
+    }
+
+    /**
+     * Registra un servicio que se inicia cada vez que la persistencia arranca con éxito,
+     * también si el primer intento falló y uno posterior funciona
+     * Los servicios corren en orden de registro y por separado: si uno falla se informa
+     * y los siguientes se inician igual. Si la persistencia ya está lista, se inicia ahora.
+     */
+    public static void alArrancar(String nombre, Runnable servicio) {
+        boolean lista;
+        synchronized (candado) {
+            servicios.put(nombre, servicio);
+            lista = factory != null;
+        }
+        if (lista) {
+            iniciarServicio(nombre, servicio);
+        }
+    }
+
+    private static void iniciarServicio(String nombre, Runnable servicio) {
+        try {
+            servicio.run();
+        } catch (Throwable e) {
+            System.err.println("No se pudo iniciar " + nombre + ": " + e);
         }
-        return factory;
+    }
+
+    private static void arrancar(CompletableFuture<EntityManagerFactory> resultado) {
+        long inicio = System.nanoTime();
+        try {
+            EntityManagerFactory nueva = Persistence.createEntityManagerFactory(
+                UNIDAD_DE_PERSISTENCIA, construirPropiedades());
+            long finFabrica = System.nanoTime();
+
+            precalentar(nueva);
+
+            long fin = System.nanoTime();
+            tiempoArranqueMs = (fin - inicio) / 1_000_000;
+            System.out.println("Persistencia lista en " + tiempoArranqueMs + " ms (fábrica: " +
+                (finFabrica - inicio) / 1_000_000 + " ms, precalentamiento: " +
+                (fin - finFabrica) / 1_000_000 + " ms)");
+
+            Map<String, Runnable> aIniciar;
+            synchronized (candado) {
+                factory = nueva;
+                aIniciar = new LinkedHashMap<>(servicios);
+            }
+            resultado.complete(nueva);
+            aIniciar.forEach(JPAUtil::iniciarServicio);
+        } catch (Throwable e) {
+            // También errores (p. ej. ExceptionInInitializerError): si el futuro no se
+            // completa, quien espera en getEntityManagerFactory() queda bloqueado para siempre
+            System.err.println("Error iniciando la persistencia: " + e);
+            synchronized (candado) {
+                // Permitir reintentar en la siguiente llamada
+                if (arranque == resultado) {
+                    arranque = null;
+                }
+            }
+            cerrarPool();
+            resultado.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Ejecuta una vez la consulta del login para que el primer inicio de sesión no pague
+     * la primera conexión ni la preparación del SQL (Hibernate ya compila las consultas
+     * nombradas al crear la fábrica)
+     */
+    private static void precalentar(EntityManagerFactory fabrica) {
+        EntityManager em = fabrica.createEntityManager();
+        try {
+            em.createNamedQuery("Usuario.autenticar")
+                .setParameter("nombreUsuario", "")
+                .getResultList();
+        } catch (RuntimeException e) {
+            // El precalentamiento es opcional: un fallo aquí no debe impedir el arranque
+            System.err.println("No se pudo precalentar la persistencia: " + e.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Sobrescribe la conexión de Persistence.xml con la configuración externa
+     * En modo "hikari" se entrega a Hibernate un DataSource con pool propio;
+     * en modo "hibernate" se conserva el pool interno (solo para desarrollo)
+     */
+    private static Map<String, Object> construirPropiedades() {
+        Map<String, Object> propiedades = new HashMap<>();
+
+        String url = Configuracion.obtener("bd.url", "jdbc:postgresql://localhost:5432/GestionAcademica");
+        String usuario = Configuracion.obtener("bd.usuario", "postgres");
+        String contrasena = Configuracion.obtener("bd.contrasena", "Takara");
+
+        String proveedor = Configuracion.obtener("pool.proveedor", "hikari");
+        if ("hikari".equalsIgnoreCase(proveedor)) {
+            pool = PoolConexiones.crear(url, usuario, contrasena);
+            propiedades.put("jakarta.persistence.nonJtaDataSource", pool.getDataSource());
+        } else {
+            propiedades.put("jakarta.persistence.jdbc.url", url);
+            propiedades.put("jakarta.persistence.jdbc.user", usuario);
+            propiedades.put("jakarta.persistence.jdbc.password", contrasena);
+        }
+
+        // Escrituras en lote: los UPDATE de una misma transacción se envían juntos
+        propiedades.put("hibernate.jdbc.batch_size",
+            String.valueOf(Configuracion.obtenerEntero("bd.lote.tamano", 50)));
+        propiedades.put("hibernate.order_inserts", "true");
+        propiedades.put("hibernate.order_updates", "true");
+
+        // Caché de segundo nivel de las entidades de referencia (ver CacheReferencia)
+        boolean cacheHabilitada = Configuracion.obtenerBooleano("cache.habilitada", true);
+        propiedades.put("hibernate.cache.use_second_level_cache", String.valueOf(cacheHabilitada));
+        propiedades.put("hibernate.cache.use_query_cache", String.valueOf(cacheHabilitada));
+        propiedades.put("hibernate.generate_statistics",
+            String.valueOf(Configuracion.obtenerBooleano("cache.estadisticas", true)));
+
+        return propiedades;
+    }
+
+    /**
+     * Métricas del pool (conexiones activas, inactivas y tiempos de espera)
+     * Vacío si el pool no se ha creado o se usa el pool interno de Hibernate
+     */
+    public static Optional<MetricasPool> obtenerMetricasPool() {
+        PoolConexiones actual = pool;
+        return actual == null ? Optional.empty() : Optional.of(actual.obtenerMetricas());
+    }
+
+    /**
+     * Tiempo total del arranque (fábrica + precalentamiento) o -1 si aún no termina
+     */
+    public static long getTiempoArranqueMs() {
+        return tiempoArranqueMs;
     }
 
     // Con esto cerramos la conexión y reestablecemos el Singleton
     public static void shutdown(){
-        if(factory != null){
-            factory.close();
-            factory = null;
+        synchronized (candado) {
+            if(factory != null){
+                factory.close();
+                factory = null;
+            }
+            arranque = null;
+            tiempoArranqueMs = -1;
+            cerrarPool();
+        }
+    }
+
+    private static void cerrarPool() {
+        if (pool != null) {
+            pool.cerrar();
+            pool = null;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,37 @@
 package com.aplicacion;
 
+import com.modelo.AsignadorGrupos;
+import com.modelo.ControlIntentosLogin;
+import com.modelo.FiltroDuplicados;
+import com.modelo.busqueda.BusquedaObservaciones;
+import com.modelo.busqueda.BusquedaPersonas;
+import com.modelo.correo.DespachadorCorreo;
+import com.modelo.persistencia.CacheReferencia;
 import com.vista.presentacion.LoginFrame;
 
 public class Main {
     public static void main(String[] args) {
+            // Los servicios se inician cada vez que la persistencia queda lista (aunque el
+            // primer arranque falle y uno posterior funcione); uno que falla no detiene a los demás
+            JPAUtil.alArrancar("el despachador de correos", DespachadorCorreo::iniciar);
+            JPAUtil.alArrancar("la purga de intentos de login", ControlIntentosLogin::purgarAntiguos);
+            JPAUtil.alArrancar("la restricción de nombres de grupo", AsignadorGrupos::repararNombresRepetidos);
+            JPAUtil.alArrancar("la reparación de grupos", AsignadorGrupos::repararCantidadesEstudiantes);
+            JPAUtil.alArrancar("el filtro de duplicados", FiltroDuplicados::iniciar);
+            JPAUtil.alArrancar("el índice de búsqueda", BusquedaPersonas::iniciar);
+            JPAUtil.alArrancar("la búsqueda de observaciones", BusquedaObservaciones::preparar);
+            // Hibernate arranca en paralelo mientras se construye la ventana de login
+            JPAUtil.iniciarEnSegundoPlano();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                DespachadorCorreo.detener();
+                // Solo si Hibernate llegó a arrancar: no se inicia para esto
+                if (JPAUtil.getTiempoArranqueMs() >= 0) {
+                    System.out.println(CacheReferencia.obtenerResumen());
+                }
+                JPAUtil.shutdown();
+            }, "cierre-jpa"));
+
             LoginFrame loginFrame = new LoginFrame();
             loginFrame.setVisible(true);
     }
-}
\ No newline at end of file
+}
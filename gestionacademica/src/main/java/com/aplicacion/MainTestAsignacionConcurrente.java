@@ -0,0 +1,157 @@
+package com.aplicacion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.controlador.GestionAspirantesController;
+import com.modelo.dominio.Grupo;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.GrupoRepositorio;
+import com.modelo.persistencia.repositorios.PreinscripcionRepositorio;
+
+/**
+ * Prueba de carga de la asignación a grupos contra la base de datos configurada:
+ * varios hilos aprueban a la vez los estudiantes pendientes (uno por uno y en lotes
+ * pequeños) y al final se verifica que ningún grupo supere el cupo, que el contador
+ * cantidadEstudiantes coincida con el conteo real, que no haya dos grupos con el
+ * mismo nombre en un grado y que exista la restricción única que lo garantiza.
+ *
+ * Conviene cargar antes MainTest2 (todos los pendientes de un mismo grado).
+ * Argumento opcional: hilos (por defecto 8). Aprueba TODOS los pendientes.
+ */
+public class MainTestAsignacionConcurrente {
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+
+        try {
+            List<Integer> pendientes = UnidadTrabajo.consultar("prueba.pendientes",
+                em -> new PreinscripcionRepositorio(em).buscarIdsEstudiantesPendientes());
+            if (pendientes.isEmpty()) {
+                System.out.println("No hay estudiantes pendientes; cargue datos con MainTest2");
+                return;
+            }
+            System.out.println("=== ASIGNACIÓN CONCURRENTE: " + pendientes.size()
+                + " pendientes, " + hilos + " hilos ===\n");
+
+            // Reparto intercalado: hilos vecinos compiten por el mismo grado al mismo tiempo
+            List<List<Integer>> porHilo = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                porHilo.add(new ArrayList<>());
+            }
+            for (int i = 0; i < pendientes.size(); i++) {
+                porHilo.get(i % hilos).add(pendientes.get(i));
+            }
+
+            AtomicInteger aprobados = new AtomicInteger();
+            AtomicInteger rechazados = new AtomicInteger();
+            CountDownLatch salida = new CountDownLatch(1);
+            ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                List<Integer> ids = porHilo.get(h);
+                boolean enLotes = h % 2 == 1;
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    GestionAspirantesController controller = new GestionAspirantesController();
+                    if (enLotes) {
+                        // Lotes de 3: mezcla aprobaciones de lote con las individuales de otros hilos
+                        for (int desde = 0; desde < ids.size(); desde += 3) {
+                            List<Integer> lote = ids.subList(desde, Math.min(desde + 3, ids.size()));
+                            GestionAspirantesController.ReporteAprobacionLote reporte =
+                                (GestionAspirantesController.ReporteAprobacionLote)
+                                    controller.aprobarEstudiantes(lote).getDatos();
+                            aprobados.addAndGet(reporte.getAprobados().size());
+                            rechazados.addAndGet(lote.size() - reporte.getAprobados().size());
+                        }
+                    } else {
+                        for (Integer id : ids) {
+                            ResultadoOperacion resultado = controller.aprobarEstudiante(id);
+                            (resultado.isExitoso() ? aprobados : rechazados).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long inicio = System.nanoTime();
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            ejecutor.shutdown();
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            System.out.println("Aprobados: " + aprobados.get() + ", no aprobados: " + rechazados.get()
+                + " (" + duracionMs + " ms)");
+            UnidadTrabajo.obtenerEstadisticas().forEach((nombre, estadistica) -> {
+                if (nombre.startsWith("aspirantes.aprobar")) {
+                    System.out.println("  " + nombre + ": " + estadistica);
+                }
+            });
+
+            verificar();
+        } finally {
+            JPAUtil.shutdown();
+        }
+    }
+
+    /**
+     * Revisa el estado final en la base de datos, no en memoria
+     */
+    private static void verificar() throws Exception {
+        int cupo = new Grupo().getMAXESTUDIANTES();
+
+        List<Object[]> grupos = UnidadTrabajo.consultar("prueba.verificarCupos",
+            em -> em.createQuery(
+                    "SELECT g.grado.nombreGrado, g.nombreGrupo, SIZE(g.estudiantes), g.version, " +
+                    "g.cantidadEstudiantes " +
+                    "FROM grupo g ORDER BY g.grado.nombreGrado, g.nombreGrupo", Object[].class)
+                .getResultList());
+        List<Object[]> nombresRepetidos = UnidadTrabajo.consultar("prueba.verificarNombres",
+            em -> em.createQuery(
+                    "SELECT g.grado.nombreGrado, g.nombreGrupo, COUNT(g) FROM grupo g " +
+                    "GROUP BY g.grado.nombreGrado, g.nombreGrupo HAVING COUNT(g) > 1", Object[].class)
+                .getResultList());
+        boolean conRestriccion = UnidadTrabajo.consultar("prueba.verificarRestriccion",
+            em -> new GrupoRepositorio(em).existeRestriccionNombreUnico());
+
+        System.out.println("\nGrupos:");
+        int excedidos = 0;
+        int descuadrados = 0;
+        for (Object[] fila : grupos) {
+            int cantidad = ((Number) fila[2]).intValue();
+            int contador = ((Number) fila[4]).intValue();
+            boolean excedido = cantidad > cupo;
+            if (excedido) {
+                excedidos++;
+            }
+            if (contador != cantidad) {
+                descuadrados++;
+            }
+            System.out.printf("  %s / %s: %d/%d estudiantes (versión %s)%s%s%n",
+                fila[0], fila[1], cantidad, cupo, fila[3], excedido ? "  <-- EXCEDE EL CUPO" : "",
+                contador != cantidad ? "  <-- CONTADOR EN " + contador : "");
+        }
+        for (Object[] fila : nombresRepetidos) {
+            System.out.println("  Nombre repetido en " + fila[0] + ": " + fila[1] + " (" + fila[2] + " grupos)");
+        }
+
+        if (!conRestriccion) {
+            System.out.println("  Falta la restricción " + Grupo.RESTRICCION_NOMBRE_UNICO);
+        }
+
+        boolean correcto = excedidos == 0 && descuadrados == 0 && nombresRepetidos.isEmpty() && conRestriccion;
+        System.out.println("\n" + (correcto
+            ? "OK: ningún grupo excede el cupo, los contadores cuadran, no hay nombres repetidos"
+                + " y existe " + Grupo.RESTRICCION_NOMBRE_UNICO
+            : "FALLA: " + excedidos + " grupos exceden el cupo, " + descuadrados
+                + " contadores no cuadran, " + nombresRepetidos.size() + " nombres repetidos"
+                + (conRestriccion ? "" : ", falta " + Grupo.RESTRICCION_NOMBRE_UNICO)));
+    }
+}
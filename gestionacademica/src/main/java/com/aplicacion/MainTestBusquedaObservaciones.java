@@ -0,0 +1,273 @@
+package com.aplicacion;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.Session;
+
+import com.controlador.GestionObservadorController;
+import com.controlador.GestionObservadorController.PaginaObservaciones;
+import com.modelo.busqueda.BusquedaObservaciones;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.ObservacionEncontrada;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.ObservacionRepositorio;
+
+/**
+ * Prueba de rendimiento de la búsqueda en observaciones contra la base de datos configurada
+ * Prepara la columna tsvector y su índice GIN (como al arrancar la aplicación) y completa
+ * la tabla observacion hasta la cantidad pedida con observaciones sintéticas armadas con
+ * frases típicas de un observador (algunas palabras son raras a propósito). Las reparte
+ * entre los observadores y profesores que existan; si no hay, quedan sin observador.
+ *
+ * Luego mide la primera página (con el conteo) y una página profunda de varias búsquedas:
+ * palabra común, palabra rara con y sin tilde, frase exacta, exclusión y palabra que no
+ * está; y compara la palabra común con un ILIKE '%palabra%' sin índice. Imprime el plan de
+ * PostgreSQL para confirmar que usa idx_observacion_busqueda.
+ *
+ * Las observaciones sembradas quedan en la base: usar una base de pruebas. Repetirla con la
+ * misma cantidad no siembra de nuevo.
+ * Argumentos opcionales: observaciones (por defecto 300000), repeticiones por búsqueda (20), semilla (42)
+ */
+public class MainTestBusquedaObservaciones {
+    private static final String[] SUJETOS = {"El estudiante", "La estudiante", "El niño", "La niña",
+        "Se observa que el estudiante", "Durante la jornada el estudiante"};
+    private static final String[] HECHOS = {"llegó tarde a la formación", "no trajo la tarea de matemáticas",
+        "interrumpió la clase en varias ocasiones", "participó activamente en la actividad de lectura",
+        "tuvo una discusión con un compañero en el recreo", "se negó a compartir los materiales",
+        "presentó un excelente comportamiento", "no portaba el uniforme completo",
+        "ayudó a sus compañeros a organizar el salón", "usó el celular durante la clase",
+        "se quedó dormido en la clase de inglés", "dejó la lonchera en el bus",
+        "lloró al despedirse de su acudiente", "rayó el pupitre con marcador",
+        "olvidó el cuaderno de ciencias", "compartió su refrigerio con un compañero",
+        "empujó a una compañera en la fila", "terminó antes las actividades y esperó en silencio"};
+    // Aparecen en muy pocas observaciones: búsquedas selectivas
+    private static final String[] HECHOS_RAROS = {"mordió a un compañero durante el juego",
+        "trajo una bicicleta al aula", "hizo trampa en la evaluación de sociales",
+        "escondió las llaves del salón"};
+    private static final String[] SEGUIMIENTOS = {"Se habló con el acudiente.", "Se firmó compromiso.",
+        "Se felicita por su actitud.", "Se envió nota en la agenda.", "Se remite a orientación escolar.",
+        "Queda en seguimiento.", ""};
+    private static final int LOTE = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        try {
+            System.out.println("=== BÚSQUEDA EN OBSERVACIONES: " + cantidad + " observaciones ===\n");
+            BusquedaObservaciones.preparar();
+            String configuracion = BusquedaObservaciones.getConfiguracion();
+            if (configuracion == null) {
+                System.out.println("✗ No se pudo preparar la búsqueda (ver el error arriba)");
+                return;
+            }
+            System.out.println("Configuración de texto: " + configuracion);
+
+            sembrar(cantidad, new Random(semilla));
+
+            GestionObservadorController controller = new GestionObservadorController();
+            boolean sinTildes = ObservacionRepositorio.CONFIGURACION_SIN_TILDES.equals(configuracion);
+            verificar(controller, sinTildes);
+
+            System.out.println("\n" + String.format("%-28s %8s %10s %10s %10s %10s",
+                "Búsqueda", "total", "p1 p50", "p1 p95", "p10 p50", "p10 p95"));
+            String[] busquedas = {"tarde", "compañero recreo", "mordió", "mordio",
+                "\"llegó tarde\"", "tarea -matemáticas", "celular OR bicicleta", "astronauta"};
+            for (String busqueda : busquedas) {
+                medir(controller, busqueda, repeticiones);
+            }
+
+            medirIlike("tarde", repeticiones);
+            imprimirPlan(configuracion, "compañero recreo");
+
+            System.out.println();
+            UnidadTrabajo.obtenerEstadisticas().forEach((nombre, estadistica) -> {
+                if (nombre.startsWith("observaciones.")) {
+                    System.out.println("  " + nombre + ": " + estadistica);
+                }
+            });
+        } finally {
+            JPAUtil.shutdown();
+        }
+    }
+
+    /**
+     * Inserta observaciones hasta que la tabla tenga 'cantidad', en lotes JDBC de LOTE filas
+     */
+    @SuppressWarnings("unchecked")
+    private static void sembrar(int cantidad, Random aleatorio) throws Exception {
+        long existentes = UnidadTrabajo.consultar("observaciones.contarTodas",
+            em -> ((Number) em.createNativeQuery("SELECT COUNT(*) FROM observacion").getSingleResult()).longValue());
+        if (existentes >= cantidad) {
+            System.out.println("La tabla ya tiene " + existentes + " observaciones; no se siembra");
+            return;
+        }
+        List<Integer> observadores = UnidadTrabajo.consultar("observaciones.idsObservadores",
+            em -> (List<Integer>) em.createNativeQuery("SELECT id_observador FROM observador").getResultList());
+        List<Integer> profesores = UnidadTrabajo.consultar("observaciones.idsProfesores",
+            em -> (List<Integer>) em.createNativeQuery("SELECT id_usuario FROM profesor").getResultList());
+
+        long faltan = cantidad - existentes;
+        System.out.printf("Sembrando %d observaciones (%d observadores, %d profesores)...%n",
+            faltan, observadores.size(), profesores.size());
+        long inicio = System.nanoTime();
+        LocalDate hoy = LocalDate.now();
+        for (long hechas = 0; hechas < faltan; hechas += LOTE) {
+            int tamano = (int) Math.min(LOTE, faltan - hechas);
+            UnidadTrabajo.ejecutar("observaciones.sembrar", em -> {
+                em.unwrap(Session.class).doWork(conexion -> {
+                    try (PreparedStatement sentencia = conexion.prepareStatement(
+                            "INSERT INTO observacion (descripcion, fecha_observacion, observador, profesor) "
+                            + "VALUES (?, ?, ?, ?)")) {
+                        for (int i = 0; i < tamano; i++) {
+                            sentencia.setString(1, generarDescripcion(aleatorio));
+                            sentencia.setDate(2, Date.valueOf(hoy.minusDays(aleatorio.nextInt(3 * 365))));
+                            if (observadores.isEmpty()) {
+                                sentencia.setNull(3, Types.INTEGER);
+                            } else {
+                                sentencia.setInt(3, observadores.get(aleatorio.nextInt(observadores.size())));
+                            }
+                            if (profesores.isEmpty()) {
+                                sentencia.setNull(4, Types.INTEGER);
+                            } else {
+                                sentencia.setInt(4, profesores.get(aleatorio.nextInt(profesores.size())));
+                            }
+                            sentencia.addBatch();
+                        }
+                        sentencia.executeBatch();
+                    }
+                });
+                return null;
+            });
+        }
+        // Estadísticas al día para que el planificador estime bien las palabras comunes
+        UnidadTrabajo.ejecutar("observaciones.analizar",
+            em -> em.createNativeQuery("ANALYZE observacion").executeUpdate());
+        System.out.printf("Sembradas en %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+    }
+
+    private static String generarDescripcion(Random aleatorio) {
+        String hecho = aleatorio.nextInt(1000) < 3
+            ? HECHOS_RAROS[aleatorio.nextInt(HECHOS_RAROS.length)]
+            : HECHOS[aleatorio.nextInt(HECHOS.length)];
+        StringBuilder texto = new StringBuilder(SUJETOS[aleatorio.nextInt(SUJETOS.length)])
+            .append(' ').append(hecho).append('.');
+        if (aleatorio.nextInt(3) == 0) {
+            texto.append(" Además ").append(HECHOS[aleatorio.nextInt(HECHOS.length)]).append('.');
+        }
+        String seguimiento = SEGUIMIENTOS[aleatorio.nextInt(SEGUIMIENTOS.length)];
+        if (!seguimiento.isEmpty()) {
+            texto.append(' ').append(seguimiento);
+        }
+        return texto.length() <= 200 ? texto.toString() : texto.substring(0, 200);
+    }
+
+    private static void verificar(GestionObservadorController controller, boolean sinTildes) {
+        PaginaObservaciones mordio = pagina(controller.buscarObservaciones("mordió", 0));
+        verificarCondicion(mordio != null && !mordio.getFilas().isEmpty()
+            && mordio.getFilas().get(0).resaltado().indexOf(ObservacionEncontrada.INICIO_RESALTADO) >= 0,
+            "\"mordió\" encuentra observaciones con la palabra resaltada");
+        if (mordio != null && !mordio.getFilas().isEmpty()) {
+            System.out.println("  " + mordio.getFilas().get(0).getDescripcion());
+        }
+        if (sinTildes) {
+            PaginaObservaciones sinTilde = pagina(controller.buscarObservaciones("mordio", 0));
+            verificarCondicion(sinTilde != null && mordio != null && sinTilde.getTotal() == mordio.getTotal(),
+                "\"mordio\" encuentra lo mismo que \"mordió\"");
+        }
+        PaginaObservaciones excluidas = pagina(controller.buscarObservaciones("tarea -matemáticas", 0));
+        verificarCondicion(excluidas != null && excluidas.getFilas().stream()
+            .noneMatch(o -> o.getDescripcion().contains("matemáticas")), "\"-matemáticas\" excluye la palabra");
+        PaginaObservaciones nada = pagina(controller.buscarObservaciones("astronauta", 0));
+        verificarCondicion(nada != null && nada.getFilas().isEmpty(), "una palabra que no está no trae nada");
+    }
+
+    private static void medir(GestionObservadorController controller, String busqueda, int repeticiones) {
+        // Calentamiento
+        controller.buscarObservaciones(busqueda, 0);
+        long[] primera = new long[repeticiones];
+        long[] profunda = new long[repeticiones];
+        long total = 0;
+        boolean totalSuperado = false;
+        for (int i = 0; i < repeticiones; i++) {
+            long inicio = System.nanoTime();
+            PaginaObservaciones pagina = pagina(controller.buscarObservaciones(busqueda, 0));
+            primera[i] = System.nanoTime() - inicio;
+            if (pagina != null) {
+                total = pagina.getTotal();
+                totalSuperado = pagina.isTotalSuperado();
+            }
+
+            inicio = System.nanoTime();
+            controller.buscarObservaciones(busqueda, 200);
+            profunda[i] = System.nanoTime() - inicio;
+        }
+        System.out.printf("%-28s %8s %10.2f %10.2f %10.2f %10.2f%n", busqueda,
+            (totalSuperado ? ">" : "") + total, percentil(primera, 0.50), percentil(primera, 0.95),
+            percentil(profunda, 0.50), percentil(profunda, 0.95));
+    }
+
+    /**
+     * Lo que haría la búsqueda sin índice: recorre toda la tabla en cada consulta
+     */
+    private static void medirIlike(String palabra, int repeticiones) throws Exception {
+        long[] tiempos = new long[Math.max(1, repeticiones / 4)];
+        long total = 0;
+        for (int i = 0; i < tiempos.length; i++) {
+            long inicio = System.nanoTime();
+            total = UnidadTrabajo.consultar("observaciones.ilike", em -> {
+                em.createNativeQuery("SELECT id_observacion FROM observacion WHERE descripcion ILIKE :patron "
+                        + "ORDER BY fecha_observacion DESC LIMIT 21")
+                    .setParameter("patron", "%" + palabra + "%")
+                    .getResultList();
+                return ((Number) em.createNativeQuery(
+                        "SELECT COUNT(*) FROM observacion WHERE descripcion ILIKE :patron")
+                    .setParameter("patron", "%" + palabra + "%")
+                    .getSingleResult()).longValue();
+            });
+            tiempos[i] = System.nanoTime() - inicio;
+        }
+        System.out.printf("%-28s %8d %10.2f %10.2f   (ILIKE sin índice, ms)%n", "ILIKE '%" + palabra + "%'",
+            total, percentil(tiempos, 0.50), percentil(tiempos, 0.95));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimirPlan(String configuracion, String busqueda) throws Exception {
+        List<String> plan = UnidadTrabajo.consultar("observaciones.plan",
+            em -> (List<String>) em.createNativeQuery(
+                    "EXPLAIN SELECT o.id_observacion FROM observacion o "
+                    + "WHERE o.descripcion_busqueda @@ websearch_to_tsquery(CAST(:configuracion AS regconfig), :texto)")
+                .setParameter("configuracion", configuracion)
+                .setParameter("texto", busqueda)
+                .getResultList());
+        System.out.println("\nPlan para \"" + busqueda + "\":");
+        plan.forEach(linea -> System.out.println("  " + linea));
+        verificarCondicion(plan.stream().anyMatch(linea -> linea.contains("idx_observacion_busqueda")),
+            "la búsqueda usa idx_observacion_busqueda");
+    }
+
+    private static PaginaObservaciones pagina(ResultadoOperacion resultado) {
+        if (!resultado.isExitoso()) {
+            System.out.println("  (" + resultado.getMensaje() + ")");
+            return null;
+        }
+        return (PaginaObservaciones) resultado.getDatos();
+    }
+
+    private static double percentil(long[] nanos, double p) {
+        long[] ordenados = Arrays.copyOf(nanos, nanos.length);
+        Arrays.sort(ordenados);
+        return ordenados[Math.min(ordenados.length - 1, (int) (ordenados.length * p))] / 1_000_000.0;
+    }
+
+    private static void verificarCondicion(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✓ " : "✗ ") + descripcion);
+    }
+}
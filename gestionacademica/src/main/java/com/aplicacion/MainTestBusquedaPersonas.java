@@ -0,0 +1,185 @@
+package com.aplicacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.modelo.busqueda.IndicePersonas;
+import com.modelo.dto.PersonaEncontrada;
+
+/**
+ * Prueba sin base de datos de la búsqueda de personas mientras se escribe
+ * Llena un IndicePersonas con personas sintéticas (nombres con tildes y eñes, NUIP de
+ * 10 dígitos) y simula a un usuario que escribe letra por letra nombres, apellidos y
+ * NUIP, sin tildes, midiendo cada consulta. Verifica que el NUIP completo encuentre a
+ * la persona y que "angela munoz" encuentre a "Ángela Muñoz". Al final repite las
+ * consultas mientras otro hilo agrega personas, como cuando se registran preinscripciones.
+ * Argumentos opcionales: personas (por defecto 50000), búsquedas simuladas (2000), semilla (42)
+ */
+public class MainTestBusquedaPersonas {
+    private static final String[] NOMBRES = {"María", "José", "Sebastián", "Ángela", "Nicolás", "Julián",
+        "Martín", "Sofía", "Lucía", "Valentina", "Camila", "Daniela", "Andrés", "Mateo", "Samuel",
+        "Isabella", "Mariana", "Gabriel", "Tomás", "Emilio", "Salomé", "Jerónimo", "Simón", "Antonella",
+        "Luciana", "Juan", "Pablo", "Ana", "Luisa", "Fernanda", "Carlos", "Felipe", "Manuela", "Ramón"};
+    private static final String[] APELLIDOS = {"Gómez", "Rodríguez", "López", "Martínez", "Pérez", "García",
+        "Ramírez", "Hernández", "Díaz", "Muñoz", "Sánchez", "Rojas", "Castaño", "Ortiz", "Vargas",
+        "Jiménez", "Álvarez", "Moreno", "Gutiérrez", "Ruiz", "Quintero", "Zuluaga", "Ospina", "Peña",
+        "Cárdenas", "Londoño", "Giraldo", "Restrepo", "Echeverri", "Betancur", "Montoya", "Uribe"};
+    private static final String SILABAS = "ba be bi bo bu ca ce co cu da de do la le li lo lu ma me mi mo "
+        + "na ne no ra re ri ro sa se so ta te to va ve vi za zu";
+    private static final double UMBRAL_MS = 5.0;
+
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int busquedas = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        Random aleatorio = new Random(semilla);
+        String[] silabas = SILABAS.split(" ");
+
+        System.out.println("=== BÚSQUEDA DE PERSONAS: " + cantidad + " personas, semilla " + semilla + " ===\n");
+
+        // Apellidos comunes y otros generados, para un vocabulario parecido al real
+        List<String> apellidos = new ArrayList<>(Arrays.asList(APELLIDOS));
+        for (int i = 0; i < 2_000; i++) {
+            String apellido = silabas[aleatorio.nextInt(silabas.length)] + silabas[aleatorio.nextInt(silabas.length)]
+                + silabas[aleatorio.nextInt(silabas.length)];
+            apellidos.add(Character.toUpperCase(apellido.charAt(0)) + apellido.substring(1));
+        }
+
+        List<PersonaEncontrada> personas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            personas.add(crearPersona(aleatorio, apellidos, i + 1));
+        }
+        PersonaEncontrada angela = new PersonaEncontrada(PersonaEncontrada.Tipo.ACUDIENTE, cantidad + 1,
+            "Ángela", "Inés", "Muñoz", "Peña", "1098765432");
+        personas.add(angela);
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long memoriaAntes = runtime.totalMemory() - runtime.freeMemory();
+        long inicio = System.nanoTime();
+        IndicePersonas indice = new IndicePersonas();
+        indice.agregarTodas(personas);
+        double cargaMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        System.gc();
+        long memoriaDespues = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("Carga: %.0f ms, %d personas, %d términos, ~%d MB%n%n", cargaMs,
+            indice.getCantidad(), indice.getCantidadTerminos(), Math.max(0, memoriaDespues - memoriaAntes) >> 20);
+
+        Set<PersonaEncontrada.Tipo> todos = EnumSet.allOf(PersonaEncontrada.Tipo.class);
+        verificar(indice.buscar("angela munoz", todos, null, 20).contains(angela),
+            "\"angela munoz\" encuentra a Ángela Muñoz");
+        verificar(indice.buscar("ÁNGELA Mu", todos, null, 20).contains(angela),
+            "\"ÁNGELA Mu\" encuentra a Ángela Muñoz");
+        List<PersonaEncontrada> porNuip = indice.buscar("1098765432", todos, null, 20);
+        verificar(!porNuip.isEmpty() && porNuip.get(0).equals(angela), "el NUIP completo la pone primero");
+        verificar(indice.buscar("angela munoz", EnumSet.of(PersonaEncontrada.Tipo.ESTUDIANTE), null, 20)
+            .stream().noneMatch(angela::equals), "el filtro por tipo la excluye");
+
+        // Calentamiento del JIT
+        medir(indice, personas, busquedas, new Random(semilla + 1), todos, false);
+        Medicion sola = medir(indice, personas, busquedas, new Random(semilla), todos, true);
+        imprimir("Solo consultas", sola);
+
+        // Las mismas consultas con altas concurrentes
+        AtomicBoolean seguir = new AtomicBoolean(true);
+        Thread escritor = new Thread(() -> {
+            Random azar = new Random(semilla + 2);
+            int id = cantidad + 10;
+            while (seguir.get()) {
+                indice.agregar(crearPersona(azar, apellidos, id++));
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "altas");
+        escritor.start();
+        Medicion conAltas = medir(indice, personas, busquedas, new Random(semilla), todos, true);
+        seguir.set(false);
+        escritor.join();
+        imprimir("Con altas", conAltas);
+        System.out.println("\nPersonas al final: " + indice.getCantidad());
+    }
+
+    private static PersonaEncontrada crearPersona(Random aleatorio, List<String> apellidos, int id) {
+        int tipo = aleatorio.nextInt(100);
+        PersonaEncontrada.Tipo tipoPersona = tipo < 55 ? PersonaEncontrada.Tipo.ESTUDIANTE
+            : tipo < 98 ? PersonaEncontrada.Tipo.ACUDIENTE : PersonaEncontrada.Tipo.PROFESOR;
+        String segundoNombre = aleatorio.nextBoolean() ? NOMBRES[aleatorio.nextInt(NOMBRES.length)] : null;
+        String segundoApellido = aleatorio.nextInt(10) < 8 ? apellido(aleatorio, apellidos) : null;
+        String nuip = String.valueOf(1_000_000_000L + (long) (aleatorio.nextDouble() * 8_999_999_999L));
+        return new PersonaEncontrada(tipoPersona, id, NOMBRES[aleatorio.nextInt(NOMBRES.length)],
+            segundoNombre, apellido(aleatorio, apellidos), segundoApellido, nuip);
+    }
+
+    /**
+     * Los apellidos comunes salen mucho más que los generados
+     */
+    private static String apellido(Random aleatorio, List<String> apellidos) {
+        return aleatorio.nextInt(10) < 7
+            ? APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]
+            : apellidos.get(aleatorio.nextInt(apellidos.size()));
+    }
+
+    /**
+     * Simula búsquedas letra por letra: nombre y apellido sin tildes, o el NUIP
+     */
+    private static Medicion medir(IndicePersonas indice, List<PersonaEncontrada> personas, int busquedas,
+                                  Random aleatorio, Set<PersonaEncontrada.Tipo> tipos, boolean verificarNuip) {
+        List<Long> tiempos = new ArrayList<>();
+        int nuipsNoEncontrados = 0;
+        for (int b = 0; b < busquedas; b++) {
+            PersonaEncontrada persona = personas.get(aleatorio.nextInt(personas.size()));
+            String objetivo;
+            if (aleatorio.nextInt(4) == 0) {
+                objetivo = persona.nuip();
+            } else {
+                String[] partes = persona.nombreCompleto().split(" ");
+                objetivo = sinTildes(partes[0] + " " + partes[partes.length - 1]);
+            }
+
+            List<PersonaEncontrada> resultado = null;
+            for (int letras = 1; letras <= objetivo.length(); letras++) {
+                long inicio = System.nanoTime();
+                resultado = indice.buscar(objetivo.substring(0, letras), tipos, null, 20);
+                tiempos.add(System.nanoTime() - inicio);
+            }
+            if (verificarNuip && objetivo.equals(persona.nuip()) && !resultado.contains(persona)) {
+                nuipsNoEncontrados++;
+            }
+        }
+        return new Medicion(tiempos, nuipsNoEncontrados);
+    }
+
+    private static String sinTildes(String texto) {
+        return texto.replace('á', 'a').replace('é', 'e').replace('í', 'i').replace('ó', 'o')
+            .replace('ú', 'u').replace('ñ', 'n').replace('Á', 'A').replace('É', 'E').replace('Í', 'I')
+            .replace('Ó', 'O').replace('Ú', 'U').replace('Ñ', 'N');
+    }
+
+    private static void imprimir(String titulo, Medicion medicion) {
+        long[] nanos = medicion.tiempos.stream().mapToLong(Long::longValue).sorted().toArray();
+        long sobreUmbral = Arrays.stream(nanos).filter(n -> n / 1_000_000.0 > UMBRAL_MS).count();
+        System.out.printf("%-15s %7d consultas  p50 %.3f ms  p95 %.3f ms  p99 %.3f ms  máx %.3f ms  > %.0f ms: %d%n",
+            titulo, nanos.length, percentil(nanos, 0.50), percentil(nanos, 0.95), percentil(nanos, 0.99),
+            nanos[nanos.length - 1] / 1_000_000.0, UMBRAL_MS, sobreUmbral);
+        verificar(medicion.nuipsNoEncontrados == 0, "cada NUIP completo encuentra a su persona");
+    }
+
+    private static double percentil(long[] ordenados, double p) {
+        return ordenados[Math.min(ordenados.length - 1, (int) (ordenados.length * p))] / 1_000_000.0;
+    }
+
+    private static void verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✓ " : "✗ ") + descripcion);
+    }
+
+    private record Medicion(List<Long> tiempos, int nuipsNoEncontrados) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.aplicacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.modelo.ServicioContrasenas;
+
+/**
+ * Mide el costo del hash de contraseñas y la latencia del login con el pool de verificación
+ * No usa base de datos: simula solo la parte de la contraseña del login.
+ *
+ * Argumentos opcionales: logins simultáneos, rondas
+ */
+public class MainTestContrasenas {
+    public static void main(String[] args) throws Exception {
+        int simultaneos = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        System.out.println("=== CONTRASEÑAS: COSTO DEL HASH Y LATENCIA DEL LOGIN ===\n");
+        System.out.println("Procesadores: " + Runtime.getRuntime().availableProcessors() +
+            ", iteraciones configuradas: " + ServicioContrasenas.getIteraciones() + "\n");
+
+        // 1. Costo por cantidad de iteraciones (tras calentar el JIT)
+        for (int i = 0; i < 5; i++) {
+            ServicioContrasenas.hashear("calentamiento", 100_000);
+        }
+        for (int iteraciones : new int[] {100_000, 210_000, 310_000, 600_000}) {
+            long inicio = System.nanoTime();
+            int repeticiones = 5;
+            for (int i = 0; i < repeticiones; i++) {
+                ServicioContrasenas.hashear("Clave#" + i, iteraciones);
+            }
+            System.out.printf("PBKDF2 %,9d iteraciones: %6.1f ms por hash%n",
+                iteraciones, (System.nanoTime() - inicio) / 1_000_000.0 / repeticiones);
+        }
+
+        // 2. Contraseña antigua en texto plano: se acepta y se rehace el hash
+        ServicioContrasenas.Verificacion antigua = ServicioContrasenas.verificar("abc123", "abc123");
+        System.out.println("\nTexto plano 'abc123': " + antigua.getEstado() +
+            ", hash nuevo: " + antigua.getHashActualizado());
+        String almacenada = antigua.getHashActualizado();
+        System.out.println("Con el hash nuevo: " + ServicioContrasenas.verificar("abc123", almacenada).getEstado() +
+            ", incorrecta: " + ServicioContrasenas.verificar("abc124", almacenada).getEstado());
+
+        // 3. Login repetido: la segunda verificación usa la caché de verificaciones
+        String otra = ServicioContrasenas.hashear("Repetido#1");
+        long inicio = System.nanoTime();
+        ServicioContrasenas.verificar("Repetido#1", otra);
+        double primeraMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        inicio = System.nanoTime();
+        ServicioContrasenas.verificar("Repetido#1", otra);
+        double segundaMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        System.out.printf("%nPrimer login: %.1f ms, login repetido: %.3f ms%n", primeraMs, segundaMs);
+
+        // 4. Logins simultáneos con contraseñas distintas (sin caché)
+        System.out.println("\nLogins simultáneos: " + simultaneos + " x " + rondas + " rondas");
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < simultaneos; i++) {
+            hashes.add(ServicioContrasenas.hashear("Usuario#" + i));
+        }
+
+        ExecutorService clientes = Executors.newFixedThreadPool(simultaneos);
+        List<Double> latencias = new ArrayList<>();
+        int ocupados = 0;
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            List<Future<double[]>> futuros = new ArrayList<>();
+            for (int i = 0; i < simultaneos; i++) {
+                // Contraseña incorrecta: siempre paga el cálculo completo
+                String hash = hashes.get(i);
+                String intento = "Incorrecta#" + ronda + "-" + i;
+                futuros.add(clientes.submit(() -> {
+                    long t = System.nanoTime();
+                    ServicioContrasenas.Estado estado = ServicioContrasenas.verificar(intento, hash).getEstado();
+                    return new double[] {(System.nanoTime() - t) / 1_000_000.0,
+                        estado == ServicioContrasenas.Estado.OCUPADO ? 1 : 0};
+                }));
+            }
+            for (Future<double[]> futuro : futuros) {
+                double[] medicion = futuro.get();
+                if (medicion[1] == 1) {
+                    ocupados++;
+                } else {
+                    latencias.add(medicion[0]);
+                }
+            }
+        }
+        clientes.shutdown();
+
+        double[] ordenadas = latencias.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(ordenadas);
+        if (ordenadas.length > 0) {
+            System.out.printf("Latencia: p50=%.0f ms, p95=%.0f ms, máx=%.0f ms; rechazados por pool lleno: %d%n",
+                percentil(ordenadas, 50), percentil(ordenadas, 95), ordenadas[ordenadas.length - 1], ocupados);
+        } else {
+            System.out.println("Todos los logins fueron rechazados por pool lleno: " + ocupados);
+        }
+    }
+
+    private static double percentil(double[] ordenadas, int percentil) {
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)];
+    }
+}
@@ -0,0 +1,88 @@
+package com.aplicacion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.modelo.ServicioCorreo;
+import com.modelo.correo.MensajeCorreo;
+import com.modelo.correo.ResultadoEnvioLote;
+import com.modelo.correo.ServidorSmtpSimulado;
+import com.modelo.correo.TransporteSmtp;
+
+/**
+ * Compara el envío de correos con una conexión por correo contra el envío por lotes
+ * Usa ServidorSmtpSimulado, así que no necesita red ni base de datos.
+ *
+ * Argumentos opcionales: cantidad de correos, latencia por respuesta (ms),
+ * correos por conexión antes de que el servidor la cierre
+ */
+public class MainTestCorreo {
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long latenciaMs = args.length > 1 ? Long.parseLong(args[1]) : 2;
+        int correosPorConexion = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        System.out.println("=== ENVÍO DE CORREOS: CONEXIÓN POR CORREO VS. LOTE ===\n");
+        System.out.println("Correos: " + cantidad + ", latencia simulada: " + latenciaMs +
+            " ms, límite por conexión: " + correosPorConexion + "\n");
+
+        List<MensajeCorreo> mensajes = construirMensajes(cantidad);
+
+        // 1. Una conexión por correo (equivalente a Transport.send)
+        try (ServidorSmtpSimulado servidor = new ServidorSmtpSimulado(correosPorConexion, latenciaMs)) {
+            long inicio = System.nanoTime();
+            int enviados = 0;
+            for (MensajeCorreo mensaje : mensajes) {
+                TransporteSmtp transporte = crearTransporte(servidor);
+                try {
+                    transporte.enviar(mensaje.getDestinatario(), mensaje.getAsunto(), mensaje.getContenidoHTML());
+                    enviados++;
+                } catch (Exception e) {
+                    // Destinatario rechazado
+                } finally {
+                    transporte.cerrar();
+                }
+            }
+            double duracionMs = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Conexión por correo: enviados=%d, conexiones=%d, tiempo=%.1f ms, %.1f correos/s%n",
+                enviados, servidor.getConexiones(), duracionMs, enviados / (duracionMs / 1000));
+        }
+
+        // 2. Lote por una sola conexión, con reconexión cuando el servidor la cierra
+        try (ServidorSmtpSimulado servidor = new ServidorSmtpSimulado(correosPorConexion, latenciaMs)) {
+            TransporteSmtp transporte = crearTransporte(servidor);
+            try {
+                ResultadoEnvioLote resultado = transporte.enviarLote(mensajes);
+                System.out.println("Lote:                " + resultado);
+
+                for (ResultadoEnvioLote.ResultadoMensaje r : resultado.getResultados()) {
+                    if (!r.isEnviado()) {
+                        System.out.println("  ✗ " + r.getMensaje().getDestinatario() + ": " + r.getError());
+                    }
+                }
+                System.out.println("\nRecibidos por el servidor: " + servidor.getCorreosRecibidos() +
+                    ", rechazados: " + servidor.getDestinatariosRechazados());
+            } finally {
+                transporte.cerrar();
+            }
+        }
+    }
+
+    private static TransporteSmtp crearTransporte(ServidorSmtpSimulado servidor) {
+        return new TransporteSmtp("127.0.0.1", servidor.getPuerto(), "colegio@localhost",
+            "Sistema Académico", null, false, false);
+    }
+
+    private static List<MensajeCorreo> construirMensajes(int cantidad) {
+        List<MensajeCorreo> mensajes = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            // Cada 97 correos un destinatario que el servidor rechaza
+            String destinatario = i % 97 == 0
+                ? "rechazado" + i + "@localhost"
+                : "acudiente" + i + "@localhost";
+            mensajes.add(ServicioCorreo.construirCredenciales(
+                destinatario, "Acudiente " + i, "acudiente" + i, "clave" + i, "Acudiente"));
+        }
+        return mensajes;
+    }
+}
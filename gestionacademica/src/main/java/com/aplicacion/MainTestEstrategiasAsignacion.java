@@ -0,0 +1,229 @@
+package com.aplicacion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.modelo.AsignadorGrupos;
+import com.modelo.asignacion.EstrategiaAsignacion;
+import com.modelo.asignacion.IndiceCupos;
+import com.modelo.dominio.Acudiente;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grado;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Simulación sin base de datos de las estrategias de asignación a grupos: reproduce un
+ * año de aprobaciones sintéticas (familias de 1 a 3 hijos, algunos gemelos, aprobados en
+ * orden aleatorio) y compara para cada estrategia los grupos creados, la varianza del
+ * llenado, los grupos que no alcanzan el mínimo, los hermanos separados, la diferencia
+ * de edades dentro de los grupos y el tiempo por asignación.
+ *
+ * Como en MainTest, cada grado empieza el año con grupos vacíos ya creados; sin ellos solo
+ * hay un grupo con cupo a la vez y todas las estrategias reparten igual.
+ * Usa el mismo índice y la misma creación de grupos que la aprobación real; el índice se
+ * mantiene todo el año porque equivale a reconstruirlo desde los conteos en cada transacción.
+ * Argumentos opcionales: familias (por defecto 40), grupos iniciales por grado (4),
+ * semilla (42), repeticiones (200)
+ */
+public class MainTestEstrategiasAsignacion {
+    private static final String[] GRADOS = {"Párvulos", "Caminadores", "Pre-Jardín"};
+    private static final int EDAD_PARVULOS = 1;
+
+    public static void main(String[] args) {
+        int familias = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int gruposIniciales = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        int repeticiones = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        System.out.println("=== ESTRATEGIAS DE ASIGNACIÓN: " + familias + " familias, "
+            + gruposIniciales + " grupos iniciales por grado, semilla " + semilla + " ===\n");
+        System.out.printf("%-12s %7s %9s %10s %10s %10s %10s %9s%n", "Estrategia", "Grupos",
+            "Promedio", "Varianza", "Bajo mín.", "Hermanos", "Rango edad", "ns/asig.");
+
+        for (EstrategiaAsignacion estrategia : EstrategiaAsignacion.todas()) {
+            // Calentamiento del JIT con otra semilla
+            simular(estrategia, crearAprobaciones(familias, semilla + 1), gruposIniciales);
+
+            Resultado resultado = null;
+            long totalNs = 0;
+            long asignaciones = 0;
+            for (int i = 0; i < repeticiones; i++) {
+                // Datos nuevos en cada repetición: la simulación modifica los estudiantes
+                resultado = simular(estrategia, crearAprobaciones(familias, semilla), gruposIniciales);
+                totalNs += resultado.nanos;
+                asignaciones += resultado.estudiantes.size();
+            }
+            imprimir(estrategia, resultado, (double) totalNs / asignaciones);
+        }
+
+        System.out.println("\nHermanos: parejas del mismo grado y acudiente en grupos distintos");
+        System.out.println("Rango edad: promedio por grupo no vacío de (edad máxima - edad mínima)");
+        System.out.println("Estrategia en uso (asignacion.estrategia): "
+            + AsignadorGrupos.getEstrategia().getNombre());
+    }
+
+    /**
+     * Aprueba a los estudiantes en orden, como lo haría GestionAspirantesController
+     */
+    private static Resultado simular(EstrategiaAsignacion estrategia, List<Estudiante> aprobaciones,
+                                     int gruposIniciales) {
+        IndiceCupos indice = new IndiceCupos(estrategia);
+        int siguienteIdGrupo = 1;
+        Set<Grado> grados = new LinkedHashSet<>();
+        for (Estudiante estudiante : aprobaciones) {
+            grados.add(estudiante.getGradoAspira());
+        }
+        for (Grado grado : grados) {
+            for (int i = 0; i < gruposIniciales; i++) {
+                indice.registrarNuevo(grado.getIdGrado(), crearGrupo(siguienteIdGrupo++, grado, indice));
+            }
+        }
+
+        long inicio = System.nanoTime();
+        for (Estudiante estudiante : aprobaciones) {
+            Grado grado = estudiante.getGradoAspira();
+            Integer idGrado = grado.getIdGrado();
+            Grupo grupo = indice.elegir(idGrado, estudiante);
+            if (grupo == null) {
+                grupo = crearGrupo(siguienteIdGrupo++, grado, indice);
+                indice.registrarNuevo(idGrado, grupo);
+            }
+            if (!indice.asignar(idGrado, grupo, estudiante)) {
+                throw new IllegalStateException("La estrategia " + estrategia.getNombre()
+                    + " eligió un grupo sin cupo: " + grupo.getNombreGrupo());
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        return new Resultado(indice, aprobaciones, nanos);
+    }
+
+    private static Grupo crearGrupo(int idGrupo, Grado grado, IndiceCupos indice) {
+        Grupo grupo = new Grupo();
+        grupo.setIdGrupo(idGrupo);
+        grupo.setNombreGrupo(AsignadorGrupos.generarNombreNuevoGrupo(grado, indice.getGrupos(grado.getIdGrado())));
+        grupo.setGrado(grado);
+        grupo.setEstudiantes(new HashSet<>());
+        return grupo;
+    }
+
+    /**
+     * Familias sintéticas: cada hijo aspira a un grado con la edad típica (a veces un año más);
+     * el 15% de los hijos adicionales son gemelos del anterior. Las aprobaciones llegan
+     * repartidas en el año, así que los hermanos rara vez se aprueban seguidos.
+     */
+    private static List<Estudiante> crearAprobaciones(int familias, long semilla) {
+        Random aleatorio = new Random(semilla);
+        Grado[] grados = new Grado[GRADOS.length];
+        for (int i = 0; i < GRADOS.length; i++) {
+            grados[i] = new Grado();
+            grados[i].setIdGrado(i + 1);
+            grados[i].setNombreGrado(GRADOS[i]);
+        }
+
+        List<Estudiante> aprobaciones = new ArrayList<>();
+        int siguienteId = 1;
+        for (int f = 0; f < familias; f++) {
+            Acudiente acudiente = new Acudiente();
+            acudiente.setIdUsuario(f + 1);
+            int hijos = 1 + aleatorio.nextInt(3);
+            Estudiante anterior = null;
+            for (int h = 0; h < hijos; h++) {
+                Estudiante estudiante = new Estudiante();
+                estudiante.setIdEstudiante(siguienteId++);
+                estudiante.setAcudiente(acudiente);
+                if (anterior != null && aleatorio.nextDouble() < 0.15) {
+                    estudiante.setGradoAspira(anterior.getGradoAspira());
+                    estudiante.setEdad(anterior.getEdad());
+                } else {
+                    int nivel = aleatorio.nextInt(grados.length);
+                    estudiante.setGradoAspira(grados[nivel]);
+                    estudiante.setEdad(EDAD_PARVULOS + nivel + (aleatorio.nextDouble() < 0.2 ? 1 : 0));
+                }
+                acudiente.getEstudiantes().add(estudiante);
+                aprobaciones.add(estudiante);
+                anterior = estudiante;
+            }
+        }
+        Collections.shuffle(aprobaciones, aleatorio);
+        return aprobaciones;
+    }
+
+    private static void imprimir(EstrategiaAsignacion estrategia, Resultado resultado, double nsPorAsignacion) {
+        IndiceCupos indice = resultado.indice;
+        int grupos = 0;
+        int bajoMinimo = 0;
+        double suma = 0;
+        double sumaCuadrados = 0;
+        double sumaRangos = 0;
+        int conEstudiantes = 0;
+        Map<Integer, Integer> edadMinima = new HashMap<>();
+        Map<Integer, Integer> edadMaxima = new HashMap<>();
+
+        for (Estudiante estudiante : resultado.estudiantes) {
+            edadMinima.merge(estudiante.getGrupo().getIdGrupo(), estudiante.getEdad(), Math::min);
+            edadMaxima.merge(estudiante.getGrupo().getIdGrupo(), estudiante.getEdad(), Math::max);
+        }
+        for (int idGrado = 1; idGrado <= GRADOS.length; idGrado++) {
+            for (Grupo grupo : indice.getGrupos(idGrado)) {
+                int cantidad = indice.getCantidad(grupo);
+                grupos++;
+                suma += cantidad;
+                sumaCuadrados += (double) cantidad * cantidad;
+                if (cantidad < grupo.getMINESTUDIANTES()) {
+                    bajoMinimo++;
+                }
+                if (cantidad > 0) {
+                    sumaRangos += edadMaxima.get(grupo.getIdGrupo()) - edadMinima.get(grupo.getIdGrupo());
+                    conEstudiantes++;
+                }
+            }
+        }
+        double promedio = suma / grupos;
+        double varianza = sumaCuadrados / grupos - promedio * promedio;
+
+        System.out.printf("%-12s %7d %9.2f %10.2f %10d %10d %10.2f %9.0f%n", estrategia.getNombre(),
+            grupos, promedio, varianza, bajoMinimo, contarHermanosSeparados(resultado.estudiantes),
+            sumaRangos / conEstudiantes, nsPorAsignacion);
+    }
+
+    private static int contarHermanosSeparados(List<Estudiante> estudiantes) {
+        int separados = 0;
+        Set<Acudiente> revisados = new HashSet<>();
+        for (Estudiante estudiante : estudiantes) {
+            if (!revisados.add(estudiante.getAcudiente())) {
+                continue;
+            }
+            List<Estudiante> hermanos = new ArrayList<>(estudiante.getAcudiente().getEstudiantes());
+            for (int i = 0; i < hermanos.size(); i++) {
+                for (int j = i + 1; j < hermanos.size(); j++) {
+                    Estudiante a = hermanos.get(i);
+                    Estudiante b = hermanos.get(j);
+                    if (a.getGradoAspira() == b.getGradoAspira() && a.getGrupo() != b.getGrupo()) {
+                        separados++;
+                    }
+                }
+            }
+        }
+        return separados;
+    }
+
+    private static class Resultado {
+        private final IndiceCupos indice;
+        private final List<Estudiante> estudiantes;
+        private final long nanos;
+
+        private Resultado(IndiceCupos indice, List<Estudiante> estudiantes, long nanos) {
+            this.indice = indice;
+            this.estudiantes = estudiantes;
+            this.nanos = nanos;
+        }
+    }
+}
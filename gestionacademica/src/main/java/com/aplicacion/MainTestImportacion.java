@@ -0,0 +1,115 @@
+package com.aplicacion;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import com.controlador.PreinscripcionController;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.persistencia.UnidadTrabajo;
+
+/**
+ * Prueba de la importación masiva de preinscripciones contra la base de datos configurada
+ * Genera un CSV de familias sintéticas (1 a 3 hijos, con separador ';' como Excel) en el
+ * que cerca del 5% de las familias trae un error: correo inválido, grado inexistente,
+ * edad fuera de rango o un NUIP repetido. Luego lo importa e imprime el resultado y el
+ * inicio del reporte de errores.
+ *
+ * Requiere los grados de MainTest. Los NUIP parten de la semilla, así que cada semilla
+ * nueva importa familias nuevas y repetir una semilla prueba los duplicados contra la base.
+ * Argumentos opcionales: familias (por defecto 500), semilla (hora actual)
+ */
+public class MainTestImportacion {
+    private static final String[] GRADOS = {"Párvulos", "Caminadores", "Pre-Jardín"};
+    private static final String[] NOMBRES = {"Ana", "Luis", "Sofia", "Mateo", "Valentina", "Samuel", "Lucia", "Martin"};
+    private static final String[] APELLIDOS = {"Gomez", "Rodriguez", "Lopez", "Martinez", "Perez", "Garcia", "Ramirez"};
+
+    public static void main(String[] args) throws Exception {
+        int familias = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : System.currentTimeMillis() % 1_000_000;
+
+        Path csv = Files.createTempFile("preinscripciones-", ".csv");
+        Path reporte = Files.createTempFile("preinscripciones-errores-", ".csv");
+        try {
+            int conError = generar(csv, familias, semilla);
+            System.out.println("=== IMPORTACIÓN DE PREINSCRIPCIONES ===\n");
+            System.out.println("Archivo: " + csv + " (" + familias + " familias, "
+                + conError + " con error, semilla " + semilla + ")");
+
+            ResultadoOperacion resultado = new PreinscripcionController().importarPreinscripciones(csv, reporte);
+            System.out.println((resultado.isExitoso() ? "✓ " : "✗ ") + resultado.getMensaje());
+            if (resultado.isExitoso()) {
+                System.out.println("  " + resultado.getDatos());
+            }
+            UnidadTrabajo.obtenerEstadisticas().forEach((nombre, estadistica) -> {
+                if (nombre.startsWith("importacion.")) {
+                    System.out.println("  " + nombre + ": " + estadistica);
+                }
+            });
+
+            List<String> lineas = Files.readAllLines(reporte, StandardCharsets.UTF_8);
+            System.out.println("\nReporte (" + (lineas.size() - 1) + " líneas de error):");
+            lineas.stream().limit(15).forEach(linea -> System.out.println("  " + linea));
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(reporte);
+            JPAUtil.shutdown();
+        }
+    }
+
+    /**
+     * Escribe el CSV de prueba
+     * @return cantidad de familias a las que se les metió un error
+     */
+    private static int generar(Path archivo, int familias, long semilla) throws Exception {
+        Random aleatorio = new Random(semilla);
+        long baseNuip = 100_000_000L + semilla * 10_000L;
+        int conError = 0;
+
+        try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            salida.write("acudiente_nuip;acudiente_primer_nombre;acudiente_segundo_nombre;acudiente_primer_apellido;"
+                + "acudiente_segundo_apellido;acudiente_edad;acudiente_correo;acudiente_telefono;"
+                + "estudiante_nuip;estudiante_primer_nombre;estudiante_segundo_nombre;estudiante_primer_apellido;"
+                + "estudiante_segundo_apellido;estudiante_edad;grado\n");
+
+            for (int f = 0; f < familias; f++) {
+                long nuipAcudiente = baseNuip + f * 10L;
+                String apellido = APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+                String correo = "acudiente" + nuipAcudiente + "@correo.com";
+                String telefono = String.format("3%09d", nuipAcudiente % 1_000_000_000L);
+                String grado = GRADOS[aleatorio.nextInt(GRADOS.length)];
+                int edad = 3 + aleatorio.nextInt(3);
+                String nuipRepetido = null;
+
+                // Un error por familia con error: el resto de la familia se rechaza con ella
+                int tipoError = aleatorio.nextInt(100) < 5 ? 1 + aleatorio.nextInt(4) : 0;
+                if (tipoError > 0) {
+                    conError++;
+                }
+                switch (tipoError) {
+                    case 1: correo = "sin-arroba.com"; break;
+                    case 2: grado = "Grado Inexistente"; break;
+                    case 3: edad = 15; break;
+                    case 4: nuipRepetido = String.valueOf(baseNuip + 1); break;
+                    default: break;
+                }
+
+                int hijos = 1 + aleatorio.nextInt(3);
+                for (int h = 0; h < hijos; h++) {
+                    String nuipEstudiante = nuipRepetido != null && f > 0
+                        ? nuipRepetido : String.valueOf(nuipAcudiente + 1 + h);
+                    salida.write(String.join(";",
+                        String.valueOf(nuipAcudiente), NOMBRES[aleatorio.nextInt(NOMBRES.length)], "",
+                        apellido, "", String.valueOf(25 + aleatorio.nextInt(20)), correo, telefono,
+                        nuipEstudiante, NOMBRES[aleatorio.nextInt(NOMBRES.length)], "", apellido, "",
+                        String.valueOf(edad), grado));
+                    salida.write('\n');
+                }
+            }
+        }
+        return conError;
+    }
+}
@@ -0,0 +1,60 @@
+package com.aplicacion;
+
+import com.controlador.LoginController;
+import com.modelo.ControlIntentosLogin;
+import com.modelo.dominio.ResultadoOperacion;
+
+/**
+ * Prueba el límite de intentos de login contra la base de datos configurada:
+ * bloqueo por usuario, ráfagas rechazadas en memoria y costo del control en la ruta de login.
+ *
+ * Argumentos: un usuario existente y su contraseña (para el desbloqueo tras un acierto)
+ * Deja intentos fallidos registrados para ese usuario y el equipo local.
+ */
+public class MainTestIntentosLogin {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Uso: MainTestIntentosLogin <usuario> <contraseña>");
+            return;
+        }
+        String nombreUsuario = args[0];
+        String contrasena = args[1];
+        String equipo = ControlIntentosLogin.getEquipoLocal();
+
+        try {
+            System.out.println("=== LÍMITE DE INTENTOS DE LOGIN (equipo: " + equipo + ") ===\n");
+
+            // 1. Costo del control solo (sin hash de contraseña)
+            ControlIntentosLogin.evaluar("calentamiento", equipo);
+            int repeticiones = 200;
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                ControlIntentosLogin.evaluar("medicion-" + i, "equipo-medicion-" + i);
+            }
+            System.out.printf("evaluar() con consulta: %.2f ms por intento%n",
+                (System.nanoTime() - inicio) / 1_000_000.0 / repeticiones);
+
+            // 2. Fallos hasta el bloqueo; controladores distintos = ventanas distintas
+            for (int i = 1; i <= ControlIntentosLogin.getMaximoFallidos() + 1; i++) {
+                ResultadoOperacion resultado = new LoginController()
+                    .autenticarConValidacion(nombreUsuario, contrasena + "-incorrecta");
+                System.out.println("Intento fallido " + i + ": " + resultado.getMensaje());
+            }
+            ResultadoOperacion correcta = new LoginController().autenticarConValidacion(nombreUsuario, contrasena);
+            System.out.println("Contraseña correcta con la cuenta bloqueada: " + correcta.getMensaje());
+
+            // 3. Ráfaga sobre un usuario inexistente: se corta en memoria
+            int limitados = 0;
+            for (int i = 0; i < 20; i++) {
+                if (ControlIntentosLogin.evaluar("rafaga", equipo).getEstado() == ControlIntentosLogin.Estado.LIMITADO) {
+                    limitados++;
+                }
+            }
+            System.out.println("\nRáfaga de 20 intentos: " + limitados + " rechazados sin consultar");
+
+            System.out.println("\n" + ControlIntentosLogin.obtenerResumen());
+        } finally {
+            JPAUtil.shutdown();
+        }
+    }
+}
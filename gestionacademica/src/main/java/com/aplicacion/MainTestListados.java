@@ -0,0 +1,86 @@
+package com.aplicacion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import com.modelo.ExportacionListados;
+import com.modelo.GeneradorPDFListado.FormatoExportacion;
+import com.modelo.GeneradorPDFListado.ListadoClase;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grado;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Compara la exportación secuencial de listados de clase con la exportación en paralelo
+ * Arma los grupos en memoria, así que no necesita base de datos.
+ *
+ * Argumentos opcionales: cantidad de grupos, estudiantes por grupo, hilos
+ */
+public class MainTestListados {
+    public static void main(String[] args) throws Exception {
+        int cantidadGrupos = args.length > 0 ? Integer.parseInt(args[0]) : 48;
+        int estudiantesPorGrupo = args.length > 1 ? Integer.parseInt(args[1]) : 35;
+        int hilos = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=== EXPORTACIÓN DE LISTADOS: SECUENCIAL VS. PARALELA ===\n");
+        System.out.println("Grupos: " + cantidadGrupos + ", estudiantes por grupo: " + estudiantesPorGrupo +
+            ", procesadores: " + Runtime.getRuntime().availableProcessors() + "\n");
+
+        List<ListadoClase> listados = construirListados(cantidadGrupos, estudiantesPorGrupo);
+
+        // Calentamiento: carga de fuentes y clases de PDFBox
+        new ExportacionListados(listados.subList(0, 1), FormatoExportacion.ZIP, 1).ejecutar(OutputStream.nullOutputStream());
+
+        for (FormatoExportacion formato : FormatoExportacion.values()) {
+            // Con un solo hilo la exportación es secuencial: sirve de referencia
+            ByteArrayOutputStream secuencial = new ByteArrayOutputStream();
+            ExportacionListados.ResultadoExportacion base =
+                new ExportacionListados(listados, formato, 1).ejecutar(secuencial);
+            System.out.printf("%-9s secuencial:  %s, %d KB%n", formato, base, secuencial.size() / 1024);
+
+            ByteArrayOutputStream paralelo = new ByteArrayOutputStream();
+            ExportacionListados.ResultadoExportacion resultado =
+                new ExportacionListados(listados, formato, hilos).ejecutar(paralelo);
+            System.out.printf("%-9s exportación: %s, %d KB%n%n", formato, resultado, paralelo.size() / 1024);
+        }
+
+        // Cancelación a mitad de camino desde el aviso de progreso
+        ExportacionListados exportacion = new ExportacionListados(listados, FormatoExportacion.ZIP, hilos);
+        exportacion.conProgreso((completados, total) -> {
+            if (completados == total / 2) {
+                exportacion.cancelar();
+            }
+        });
+        try {
+            exportacion.ejecutar(OutputStream.nullOutputStream());
+            System.out.println("✗ La exportación no se canceló");
+        } catch (CancellationException e) {
+            System.out.println("✓ Cancelación: " + e.getMessage());
+        }
+    }
+
+    private static List<ListadoClase> construirListados(int cantidadGrupos, int estudiantesPorGrupo) {
+        String[] grados = {"Párvulos", "Caminadores", "Pre-jardín", "Jardín", "Transición"};
+        List<ListadoClase> listados = new ArrayList<>(cantidadGrupos);
+        for (int g = 0; g < cantidadGrupos; g++) {
+            Grado grado = new Grado();
+            grado.setNombreGrado(grados[g % grados.length]);
+            Grupo grupo = new Grupo();
+            grupo.setNombreGrupo("Grupo " + (char) ('A' + g / grados.length % 26) + (g / (grados.length * 26) + 1));
+            grupo.setGrado(grado);
+
+            List<Estudiante> estudiantes = new ArrayList<>(estudiantesPorGrupo);
+            for (int i = 1; i <= estudiantesPorGrupo; i++) {
+                Estudiante estudiante = new Estudiante();
+                estudiante.setPrimerNombre("Estudiante" + i);
+                estudiante.setPrimerApellido("Apellido" + g);
+                estudiantes.add(estudiante);
+            }
+            listados.add(new ListadoClase(grupo, estudiantes, "Profesor " + g));
+        }
+        return listados;
+    }
+}
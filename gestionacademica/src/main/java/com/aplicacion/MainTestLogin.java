@@ -0,0 +1,138 @@
+package com.aplicacion;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import com.controlador.LoginController;
+import com.modelo.dominio.Acudiente;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.HojaVida;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dominio.TokenUsuario;
+import com.modelo.dominio.Usuario;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.AcudienteRepositorio;
+import com.modelo.persistencia.repositorios.HojaVidaRepositorio;
+import com.modelo.persistencia.repositorios.TokenUsuarioRepositorio;
+import com.modelo.persistencia.repositorios.UsuarioRepositorio;
+
+/**
+ * Mide la ruta de login contra la base de datos configurada:
+ * consultas anteriores (token, luego usuario, luego una hoja de vida por estudiante)
+ * frente a lo que hace LoginController: la consulta única de autenticación y, para un
+ * acudiente, sus estudiantes con hoja de vida en otra consulta, revisados en memoria.
+ *
+ * Argumentos: usuario, contraseña y opcionalmente repeticiones (por defecto 50)
+ * Para la comparación conviene un acudiente con varios estudiantes.
+ */
+public class MainTestLogin {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Uso: MainTestLogin <usuario> <contraseña> [repeticiones]");
+            return;
+        }
+        String nombreUsuario = args[0];
+        String contrasena = args[1];
+        int repeticiones = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        try {
+            Statistics estadisticas = JPAUtil.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+            estadisticas.setStatisticsEnabled(true);
+
+            System.out.println("=== RUTA DE LOGIN: CONSULTAS EN CADENA VS. CONSULTA ÚNICA ===\n");
+
+            medir("Token + usuario + hojas una por una", repeticiones, estadisticas,
+                () -> consultarComoAntes(nombreUsuario));
+            medir("Consulta única + estudiantes y hojas", repeticiones, estadisticas,
+                () -> consultarEnUnaVez(nombreUsuario));
+
+            // Login completo: consultas + verificación de la contraseña en el pool
+            // (el acudiente llega con sus estudiantes y hojas: la verificación ya no consulta)
+            LoginController login = new LoginController();
+            medir("Login completo (con hash)          ", Math.min(repeticiones, 10), estadisticas, () -> {
+                ResultadoOperacion resultado = login.autenticarConValidacion(nombreUsuario, contrasena);
+                if (resultado.isExitoso() && resultado.getDatos() instanceof Acudiente) {
+                    ((Acudiente) resultado.getDatos()).requiereCompletarHojasVida();
+                }
+                return resultado.getMensaje();
+            });
+        } finally {
+            JPAUtil.shutdown();
+        }
+    }
+
+    private static void medir(String nombre, int repeticiones, Statistics estadisticas, Supplier<Object> ruta) {
+        // Calentamiento: conexiones del pool y traducción de las consultas
+        Object resultado = ruta.get();
+
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            ruta.get();
+        }
+        double promedioMs = (System.nanoTime() - inicio) / 1_000_000.0 / repeticiones;
+        double sentencias = (double) estadisticas.getPrepareStatementCount() / repeticiones;
+
+        System.out.printf("%s: %.2f ms por login, %.1f sentencias SQL (%s)%n",
+            nombre, promedioMs, sentencias, resultado);
+    }
+
+    /**
+     * Cómo se consultaba antes: dos búsquedas para el usuario y una por estudiante para las hojas
+     */
+    private static Object consultarComoAntes(String nombreUsuario) {
+        try {
+            return UnidadTrabajo.consultar("prueba.loginAnterior", em -> {
+                Optional<TokenUsuario> token = new TokenUsuarioRepositorio(em).buscarPorNombreUsuario(nombreUsuario);
+                if (token.isEmpty()) {
+                    return "usuario no encontrado";
+                }
+                Usuario usuario = new UsuarioRepositorio(em).buscarPorToken(token.get().getIdToken()).orElseThrow();
+                usuario.getTokenAccess().getRol().getPermisos().size();
+
+                if (usuario instanceof Acudiente) {
+                    Acudiente acudiente = new AcudienteRepositorio(em).buscarConEstudiantes(usuario.getIdUsuario());
+                    Set<Estudiante> estudiantes = acudiente.getEstudiantes();
+                    HojaVidaRepositorio hojaVidaRepo = new HojaVidaRepositorio(em);
+                    for (Estudiante estudiante : estudiantes) {
+                        Optional<HojaVida> hoja = hojaVidaRepo.buscarPorEstudiante(estudiante.getIdEstudiante());
+                        if (hoja.isEmpty() || !hoja.get().estaCompleta()) {
+                            return "hojas incompletas";
+                        }
+                    }
+                    return "hojas completas";
+                }
+                return usuario.getTokenAccess().getRol().getNombre();
+            });
+        } catch (Exception e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private static Object consultarEnUnaVez(String nombreUsuario) {
+        try {
+            return UnidadTrabajo.consultar("prueba.loginUnico", em -> {
+                Optional<Usuario> encontrado = new UsuarioRepositorio(em).buscarParaAutenticar(nombreUsuario);
+                if (encontrado.isEmpty()) {
+                    return "usuario no encontrado";
+                }
+                Usuario usuario = encontrado.get();
+                usuario.getTokenAccess().getRol().getPermisos().size();
+
+                if (usuario instanceof Acudiente) {
+                    // Mismo criterio que el login: solo cuentan los estudiantes aprobados
+                    Acudiente acudiente = new AcudienteRepositorio(em).buscarConEstudiantes(usuario.getIdUsuario());
+                    return acudiente.requiereCompletarHojasVida() ? "hojas incompletas" : "hojas completas";
+                }
+                return usuario.getTokenAccess().getRol().getNombre();
+            });
+        } catch (Exception e) {
+            return "error: " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.aplicacion;
+
+import java.lang.management.ManagementFactory;
+
+import com.modelo.ServicioCorreo;
+
+/**
+ * Compara la plantilla compilada de credenciales con la concatenación anterior
+ * Mide tiempo y memoria asignada por correo, y verifica que el HTML sea el mismo.
+ *
+ * Argumento opcional: cantidad de correos por ronda
+ */
+public class MainTestPlantillas {
+    private static final int RONDAS = 5;
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        System.out.println("=== PLANTILLA COMPILADA VS. CONCATENACIÓN ===\n");
+
+        String anterior = concatenar("Ana Pérez", "acudiente1", "Clave123", "Acudiente");
+        String nuevo = ServicioCorreo.construirCredenciales(
+            "ana@correo.com", "Ana Pérez", "acudiente1", "Clave123", "Acudiente").getContenidoHTML();
+        // La plantilla conserva un salto de línea por línea del archivo fuente y escribe los emojis como &#...;
+        boolean iguales = anterior.equals(decodificarReferencias(nuevo.replace("\n", "")));
+        System.out.println("Mismo HTML (sin saltos de línea ni referencias numéricas): " + (iguales ? "sí" : "NO"));
+        System.out.println("Longitud: " + anterior.length() + " / " + nuevo.length() + " caracteres\n");
+
+        for (int ronda = 1; ronda <= RONDAS; ronda++) {
+            Medicion concatenacion = medir(cantidad, i -> concatenar(
+                "Acudiente " + i, "acudiente" + i, "Clave" + i, "Acudiente"));
+            Medicion plantilla = medir(cantidad, i -> ServicioCorreo.construirCredenciales(
+                "a@correo.com", "Acudiente " + i, "acudiente" + i, "Clave" + i, "Acudiente").getContenidoHTML());
+
+            System.out.printf("Ronda %d  concatenación: %s%n", ronda, concatenacion);
+            System.out.printf("         plantilla:     %s%n", plantilla);
+        }
+    }
+
+    private static String decodificarReferencias(String html) {
+        java.util.regex.Matcher referencia = java.util.regex.Pattern.compile("&#(\\d+);").matcher(html);
+        StringBuilder resultado = new StringBuilder();
+        while (referencia.find()) {
+            referencia.appendReplacement(resultado,
+                new String(Character.toChars(Integer.parseInt(referencia.group(1)))));
+        }
+        referencia.appendTail(resultado);
+        return resultado.toString();
+    }
+
+    private interface Generador {
+        String generar(int i);
+    }
+
+    private static Medicion medir(int cantidad, Generador generador) {
+        com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long idHilo = Thread.currentThread().getId();
+
+        long bytesInicio = hilos.getThreadAllocatedBytes(idHilo);
+        long inicio = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            total += generador.generar(i).length();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = hilos.getThreadAllocatedBytes(idHilo) - bytesInicio;
+
+        return new Medicion(nanos / (double) cantidad, bytes / (double) cantidad, total);
+    }
+
+    private static class Medicion {
+        private final double nanosPorCorreo;
+        private final double bytesPorCorreo;
+        private final long control;
+
+        Medicion(double nanosPorCorreo, double bytesPorCorreo, long control) {
+            this.nanosPorCorreo = nanosPorCorreo;
+            this.bytesPorCorreo = bytesPorCorreo;
+            this.control = control;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%8.0f ns/correo, %8.0f bytes/correo (control %d)",
+                nanosPorCorreo, bytesPorCorreo, control);
+        }
+    }
+
+    /**
+     * Versión anterior: concatenación de cadenas en cada llamada
+     */
+    private static String concatenar(
+            String nombreCompleto, 
+            String nombreUsuario, 
+            String contrasena,
+            String tipoUsuario) {
+        
+        return "<!DOCTYPE html>" +
+               "<html>" +
+               "<head>" +
+               "<meta charset='UTF-8'>" +
+               "<style>" +
+               "body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+               ".container { max-width: 600px; margin: 0 auto; padding: 20px; }" +
+               ".header { background-color: #FFD4A0; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }" +
+               ".content { background-color: #fff; padding: 30px; border: 1px solid #ddd; }" +
+               ".credentials { background-color: #f9f9f9; padding: 20px; margin: 20px 0; border-left: 4px solid #FFD4A0; }" +
+               ".credentials-item { margin: 10px 0; }" +
+               ".credentials-label { font-weight: bold; color: #555; }" +
+               ".credentials-value { font-family: 'Courier New', monospace; font-size: 16px; color: #000; padding: 5px 10px; background-color: #fff; border: 1px solid #ddd; display: inline-block; margin-left: 10px; }" +
+               ".warning { background-color: #fff3cd; padding: 15px; margin: 20px 0; border-left: 4px solid #ffc107; }" +
+               ".footer { text-align: center; padding: 20px; color: #777; font-size: 12px; }" +
+               "</style>" +
+               "</head>" +
+               "<body>" +
+               "<div class='container'>" +
+               
+               "<div class='header'>" +
+               "<h1 style='margin:0; color: #3A2E2E;'>Sistema Académico</h1>" +
+               "<p style='margin:5px 0 0 0; color: #3A2E2E;'>Credenciales de Acceso</p>" +
+               "</div>" +
+               
+               "<div class='content'>" +
+               "<p>Estimado/a <strong>" + nombreCompleto + "</strong>,</p>" +
+               
+               "<p>¡Bienvenido/a al Sistema de Gestión Académica!</p>" +
+               
+               "<p>Su cuenta de <strong>" + tipoUsuario + "</strong> ha sido creada exitosamente. " +
+               "A continuación encontrará sus credenciales de acceso:</p>" +
+               
+               "<div class='credentials'>" +
+               "<div class='credentials-item'>" +
+               "<span class='credentials-label'>👤 Usuario:</span>" +
+               "<span class='credentials-value'>" + nombreUsuario + "</span>" +
+               "</div>" +
+               "<div class='credentials-item'>" +
+               "<span class='credentials-label'>🔒 Contraseña:</span>" +
+               "<span class='credentials-value'>" + contrasena + "</span>" +
+               "</div>" +
+               "</div>" +
+               
+               "<div class='warning'>" +
+               "<strong>⚠️ Importante:</strong>" +
+               "<ul style='margin: 10px 0;'>" +
+               "<li>Guarde estas credenciales en un lugar seguro</li>" +
+               "<li>No comparta su contraseña con nadie</li>" +
+               "<li>Se recomienda cambiar su contraseña después del primer ingreso</li>" +
+               "</ul>" +
+               "</div>" +
+               
+               "<p>Puede acceder al sistema utilizando estas credenciales.</p>" +
+               
+               "<p>Si tiene alguna duda o problema para acceder, por favor contacte al administrador del sistema.</p>" +
+               
+               "<p>Saludos cordiales,<br><strong>Equipo de Administración</strong></p>" +
+               "</div>" +
+               
+               "<div class='footer'>" +
+               "<p>Este es un correo automático, por favor no responder.</p>" +
+               "<p>© 2025 Sistema de Gestión Académica. Todos los derechos reservados.</p>" +
+               "</div>" +
+               
+               "</div>" +
+               "</body>" +
+               "</html>";
+    }
+}
@@ -0,0 +1,137 @@
+package com.aplicacion;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import com.modelo.dominio.Estado;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grupo;
+import com.modelo.dominio.Preinscripcion;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.EstudianteRepositorio;
+import com.modelo.persistencia.repositorios.GrupoRepositorio;
+import com.modelo.persistencia.repositorios.PreinscripcionRepositorio;
+
+/**
+ * Compara, contra la base de datos configurada, las listas cargadas como entidades
+ * (o filas Map) frente a las proyecciones con constructor (SELECT new ...):
+ * lista de aspirantes, lista de grupos del directivo y selector de estudiantes.
+ *
+ * Por cada ruta imprime tiempo, sentencias SQL y bytes asignados por carga.
+ * Argumento opcional: repeticiones (por defecto 30)
+ */
+public class MainTestProyecciones {
+    private static final com.sun.management.ThreadMXBean HILOS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Una forma de cargar la lista; devuelve la cantidad de filas */
+    private interface Ruta {
+        Object cargar() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int repeticiones = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+
+        try {
+            Statistics estadisticas = JPAUtil.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+            estadisticas.setStatisticsEnabled(true);
+
+            System.out.println("=== ENTIDADES VS. PROYECCIONES ===\n");
+
+            System.out.println("Lista de aspirantes");
+            medir("  Entidades + Map por fila", repeticiones, estadisticas,
+                MainTestProyecciones::aspirantesComoMapas);
+            medir("  EstudiantePendiente     ", repeticiones, estadisticas,
+                () -> UnidadTrabajo.consultar("prueba.aspirantesDto",
+                    em -> new PreinscripcionRepositorio(em)
+                        .buscarEstudiantesPendientes(null, null, Integer.MAX_VALUE)).size());
+
+            System.out.println("\nLista de grupos del directivo");
+            medir("  Grupo con estudiantes  ", repeticiones, estadisticas,
+                () -> UnidadTrabajo.consultar("prueba.gruposEntidad", em -> {
+                    List<Grupo> grupos = new GrupoRepositorio(em).buscarGruposListosConProfesor();
+                    for (Grupo grupo : grupos) {
+                        grupo.getProfesor().obtenerNombreCompleto();
+                        grupo.getCantidadEstudiantes();
+                    }
+                    return grupos.size();
+                }));
+            medir("  ResumenGrupo            ", repeticiones, estadisticas,
+                () -> UnidadTrabajo.consultar("prueba.gruposDto",
+                    em -> new GrupoRepositorio(em).buscarResumenGruposListos().size()));
+
+            System.out.println("\nSelector de estudiantes (todos los grupos)");
+            medir("  Grupo con estudiantes  ", repeticiones, estadisticas,
+                () -> UnidadTrabajo.consultar("prueba.selectorEntidad", em -> {
+                    int total = 0;
+                    for (Grupo grupo : new GrupoRepositorio(em).buscarGruposListosConProfesor()) {
+                        for (Estudiante estudiante : grupo.getEstudiantes()) {
+                            estudiante.obtenerNombreCompleto();
+                            total++;
+                        }
+                    }
+                    return total;
+                }));
+            medir("  EstudianteResumen       ", repeticiones, estadisticas,
+                () -> UnidadTrabajo.consultar("prueba.selectorDto",
+                    em -> new EstudianteRepositorio(em).buscarResumenDeGruposListos().size()));
+        } finally {
+            JPAUtil.shutdown();
+        }
+    }
+
+    private static void medir(String nombre, int repeticiones, Statistics estadisticas, Ruta ruta) throws Exception {
+        // Calentamiento: conexiones del pool y traducción de las consultas
+        Object resultado = ruta.cargar();
+
+        estadisticas.clear();
+        long hilo = Thread.currentThread().getId();
+        long bytesInicio = HILOS.getThreadAllocatedBytes(hilo);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            ruta.cargar();
+        }
+        double promedioMs = (System.nanoTime() - inicio) / 1_000_000.0 / repeticiones;
+        double kbPorCarga = (HILOS.getThreadAllocatedBytes(hilo) - bytesInicio) / 1024.0 / repeticiones;
+        double sentencias = (double) estadisticas.getPrepareStatementCount() / repeticiones;
+
+        System.out.printf("%s: %.2f ms, %.1f sentencias SQL, %.0f KB asignados (%s filas)%n",
+            nombre, promedioMs, sentencias, kbPorCarga, resultado);
+    }
+
+    /**
+     * Cómo se armaba la lista antes: preinscripciones pendientes como entidades
+     * y un Map por estudiante, con acudiente y grado cargados de forma perezosa
+     */
+    private static Object aspirantesComoMapas() throws Exception {
+        return UnidadTrabajo.consultar("prueba.aspirantesMapas", em -> {
+            List<Map<String, Object>> filas = new ArrayList<>();
+            for (Preinscripcion preinscripcion : new PreinscripcionRepositorio(em).buscarPendientes()) {
+                if (preinscripcion.getAcudiente() == null) {
+                    continue;
+                }
+                for (Estudiante estudiante : preinscripcion.getEstudiantes()) {
+                    if (estudiante.getEstado() != Estado.Pendiente) {
+                        continue;
+                    }
+                    Map<String, Object> fila = new HashMap<>();
+                    fila.put("idPreinscripcion", preinscripcion.getIdPreinscripcion());
+                    fila.put("nombreAcudiente", preinscripcion.getAcudiente().obtenerNombreCompleto());
+                    fila.put("idEstudiante", estudiante.getIdEstudiante());
+                    fila.put("nombreCompleto", estudiante.obtenerNombreCompleto());
+                    fila.put("grado", estudiante.getGradoAspira() != null
+                        ? estudiante.getGradoAspira().getNombreGrado() : "Sin grado");
+                    filas.add(fila);
+                }
+            }
+            return filas.size();
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.aplicacion;
+
+/**
+ * Instantánea inmutable del estado del pool de conexiones
+ */
+public class MetricasPool {
+    private final int conexionesActivas;
+    private final int conexionesInactivas;
+    private final int conexionesTotales;
+    private final int tamanoMaximo;
+    private final int hilosEnEspera;
+    private final long solicitudesAtendidas;
+    private final double esperaPromedioMs;
+    private final double esperaMaximaMs;
+    private final long tiemposAgotados;
+
+    public MetricasPool(int conexionesActivas, int conexionesInactivas, int conexionesTotales,
+                        int tamanoMaximo, int hilosEnEspera, long solicitudesAtendidas,
+                        double esperaPromedioMs, double esperaMaximaMs, long tiemposAgotados) {
+        this.conexionesActivas = conexionesActivas;
+        this.conexionesInactivas = conexionesInactivas;
+        this.conexionesTotales = conexionesTotales;
+        this.tamanoMaximo = tamanoMaximo;
+        this.hilosEnEspera = hilosEnEspera;
+        this.solicitudesAtendidas = solicitudesAtendidas;
+        this.esperaPromedioMs = esperaPromedioMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.tiemposAgotados = tiemposAgotados;
+    }
+
+    public int getConexionesActivas() { return conexionesActivas; }
+    public int getConexionesInactivas() { return conexionesInactivas; }
+    public int getConexionesTotales() { return conexionesTotales; }
+    public int getTamanoMaximo() { return tamanoMaximo; }
+    public int getHilosEnEspera() { return hilosEnEspera; }
+    public long getSolicitudesAtendidas() { return solicitudesAtendidas; }
+    public double getEsperaPromedioMs() { return esperaPromedioMs; }
+    public double getEsperaMaximaMs() { return esperaMaximaMs; }
+    public long getTiemposAgotados() { return tiemposAgotados; }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Pool[activas=%d, inactivas=%d, total=%d/%d, en espera=%d, solicitudes=%d, " +
+            "espera promedio=%.2f ms, espera máxima=%.2f ms, tiempos agotados=%d]",
+            conexionesActivas, conexionesInactivas, conexionesTotales, tamanoMaximo, hilosEnEspera,
+            solicitudesAtendidas, esperaPromedioMs, esperaMaximaMs, tiemposAgotados);
+    }
+}
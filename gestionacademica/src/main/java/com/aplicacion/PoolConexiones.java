@@ -0,0 +1,114 @@
+package com.aplicacion;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Pool de conexiones JDBC (HikariCP) que reemplaza el pool interno de Hibernate
+ * Responsabilidad: Crear el DataSource a partir de la configuración externa
+ * y registrar los tiempos de espera para obtener conexiones
+ */
+public class PoolConexiones {
+    private static final String NOMBRE_POOL = "GestionAcademicaPool";
+
+    private final HikariDataSource dataSource;
+    private final RegistroEspera registroEspera;
+
+    private PoolConexiones(HikariDataSource dataSource, RegistroEspera registroEspera) {
+        this.dataSource = dataSource;
+        this.registroEspera = registroEspera;
+    }
+
+    /**
+     * Crea el pool con los parámetros de gestionacademica.properties
+     */
+    public static PoolConexiones crear(String url, String usuario, String contrasena) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(NOMBRE_POOL);
+        config.setDriverClassName(Configuracion.obtener("bd.driver", "org.postgresql.Driver"));
+        config.setJdbcUrl(url);
+        config.setUsername(usuario);
+        config.setPassword(contrasena);
+
+        config.setMinimumIdle(Configuracion.obtenerEntero("pool.tamano.minimo", 2));
+        config.setMaximumPoolSize(Configuracion.obtenerEntero("pool.tamano.maximo", 10));
+        config.setIdleTimeout(Configuracion.obtenerLargo("pool.tiempo.inactividad.ms", 300_000));
+        config.setConnectionTimeout(Configuracion.obtenerLargo("pool.tiempo.espera.ms", 10_000));
+        config.setMaxLifetime(Configuracion.obtenerLargo("pool.tiempo.vida.maximo.ms", 1_800_000));
+        config.setLeakDetectionThreshold(Configuracion.obtenerLargo("pool.deteccion.fugas.ms", 0));
+
+        // Sin consulta explícita Hikari usa Connection.isValid() (recomendado para JDBC4)
+        String consultaValidacion = Configuracion.obtener("pool.consulta.validacion", null);
+        if (consultaValidacion != null) {
+            config.setConnectionTestQuery(consultaValidacion);
+        }
+
+        RegistroEspera registro = new RegistroEspera();
+        config.setMetricsTrackerFactory(registro);
+
+        return new PoolConexiones(new HikariDataSource(config), registro);
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Toma una instantánea de las métricas actuales del pool
+     */
+    public MetricasPool obtenerMetricas() {
+        HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+        int activas = mxBean != null ? mxBean.getActiveConnections() : 0;
+        int inactivas = mxBean != null ? mxBean.getIdleConnections() : 0;
+        int total = mxBean != null ? mxBean.getTotalConnections() : 0;
+        int enEspera = mxBean != null ? mxBean.getThreadsAwaitingConnection() : 0;
+
+        long solicitudes = registroEspera.solicitudes.sum();
+        long esperaTotalNanos = registroEspera.esperaTotalNanos.sum();
+        double esperaPromedioMs = solicitudes == 0 ? 0 : (esperaTotalNanos / (double) solicitudes) / 1_000_000.0;
+        double esperaMaximaMs = registroEspera.esperaMaximaNanos.get() / 1_000_000.0;
+
+        return new MetricasPool(activas, inactivas, total, dataSource.getMaximumPoolSize(), enEspera,
+            solicitudes, esperaPromedioMs, esperaMaximaMs, registroEspera.tiemposAgotados.sum());
+    }
+
+    public void cerrar() {
+        if (!dataSource.isClosed()) {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * Acumula los tiempos de adquisición de conexiones que reporta Hikari
+     */
+    private static class RegistroEspera implements MetricsTrackerFactory {
+        private final LongAdder solicitudes = new LongAdder();
+        private final LongAdder esperaTotalNanos = new LongAdder();
+        private final AtomicLong esperaMaximaNanos = new AtomicLong();
+        private final LongAdder tiemposAgotados = new LongAdder();
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long nanos) {
+                    solicitudes.increment();
+                    esperaTotalNanos.add(nanos);
+                    esperaMaximaNanos.accumulateAndGet(nanos, Math::max);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    tiemposAgotados.increment();
+                }
+            };
+        }
+    }
+}
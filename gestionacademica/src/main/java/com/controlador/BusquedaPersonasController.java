@@ -0,0 +1,61 @@
+package com.controlador;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.aplicacion.Configuracion;
+import com.modelo.busqueda.BusquedaPersonas;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.PersonaEncontrada;
+
+/**
+ * Controlador de la búsqueda de personas por nombre o NUIP
+ * Responsabilidad: Atender las búsquedas mientras se escribe. Responde desde el índice
+ * en memoria, sin consultar la base de datos, así que puede llamarse en el hilo de Swing.
+ */
+public class BusquedaPersonasController {
+    private static final int MAXIMO_RESULTADOS =
+        Math.max(1, Configuracion.obtenerEntero("busqueda.resultados.maximo", 20));
+    private static final String MENSAJE_SIN_INDICE =
+        "La búsqueda se está preparando, inténtelo en unos segundos";
+
+    public BusquedaPersonasController() {
+    }
+
+    /**
+     * Busca estudiantes, acudientes y profesores
+     * En datos va la lista de PersonaEncontrada, las mejores coincidencias primero
+     */
+    public ResultadoOperacion buscarPersonas(String texto) {
+        List<PersonaEncontrada> personas = BusquedaPersonas.buscar(
+            texto, EnumSet.allOf(PersonaEncontrada.Tipo.class), null, MAXIMO_RESULTADOS);
+        if (personas == null) {
+            return ResultadoOperacion.error(MENSAJE_SIN_INDICE);
+        }
+        return ResultadoOperacion.exitoConDatos(personas.size() + " personas encontradas", personas);
+    }
+
+    /**
+     * Busca entre los estudiantes que la vista ya tiene cargados (p. ej. los de un grupo)
+     * En datos van los ids de los que coinciden, los mejores primero
+     */
+    public ResultadoOperacion buscarEntreEstudiantes(String texto, Collection<Integer> idsEstudiantes) {
+        Set<Integer> permitidos = new HashSet<>(idsEstudiantes);
+        List<PersonaEncontrada> personas = BusquedaPersonas.buscar(
+            texto, EnumSet.of(PersonaEncontrada.Tipo.ESTUDIANTE),
+            persona -> permitidos.contains(persona.id()), permitidos.size());
+        if (personas == null) {
+            return ResultadoOperacion.error(MENSAJE_SIN_INDICE);
+        }
+
+        List<Integer> ids = new ArrayList<>(personas.size());
+        for (PersonaEncontrada persona : personas) {
+            ids.add(persona.id());
+        }
+        return ResultadoOperacion.exitoConDatos(ids.size() + " estudiantes encontrados", ids);
+    }
+}
@@ -1,15 +1,18 @@
 package com.controlador;
 
-import jakarta.persistence.EntityManager;
-
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
-import com.aplicacion.JPAUtil;
+import com.modelo.ExportacionListados;
+import com.modelo.GeneradorPDFListado;
 import com.modelo.dominio.*;
+import com.modelo.dto.ResumenGrupo;
+import com.modelo.persistencia.UnidadTrabajo;
 import com.modelo.persistencia.repositorios.GrupoRepositorio;
 
 /**
@@ -17,12 +20,8 @@ import com.modelo.persistencia.repositorios.GrupoRepositorio;
  * Responsabilidad: Coordinar operaciones de consulta de grupos y estudiantes
  */
 public class ConsultarGruposController {
-    private final EntityManager entityManager;
-    private final GrupoRepositorio grupoRepo;
 
     public ConsultarGruposController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.grupoRepo = new GrupoRepositorio(entityManager);
     }
 
     /**
@@ -35,7 +34,8 @@ public class ConsultarGruposController {
             }
             
             Grupo grupo = profesor.getGrupoAsignado();
-            Optional<Grupo> grupoConRelaciones = grupoRepo.buscarPorIdConRelaciones(grupo.getIdGrupo());
+            Optional<Grupo> grupoConRelaciones = UnidadTrabajo.consultar("grupos.obtenerDeProfesor",
+                em -> new GrupoRepositorio(em).buscarPorIdConRelaciones(grupo.getIdGrupo()));
             
             if (grupoConRelaciones.isEmpty()) {
                 return ResultadoOperacion.error("Error al cargar información del grupo");
@@ -65,7 +65,8 @@ public class ConsultarGruposController {
      */
     public ResultadoOperacion obtenerTodosLosGruposValidos() {
         try {
-            List<Grupo> grupos = grupoRepo.buscarGruposListosConProfesor();
+            List<ResumenGrupo> grupos = UnidadTrabajo.consultar("grupos.obtenerValidos",
+                em -> new GrupoRepositorio(em).buscarResumenGruposListos());
             
             if (grupos.isEmpty()) {
                 return ResultadoOperacion.error("No hay grupos disponibles para consultar");
@@ -83,7 +84,8 @@ public class ConsultarGruposController {
      */
     public ResultadoOperacion obtenerGrupoPorId(Integer idGrupo) {
         try {
-            Optional<Grupo> grupoOpt = grupoRepo.buscarPorIdConRelaciones(idGrupo);
+            Optional<Grupo> grupoOpt = UnidadTrabajo.consultar("grupos.obtenerPorId",
+                em -> new GrupoRepositorio(em).buscarPorIdConRelaciones(idGrupo));
             
             if (grupoOpt.isEmpty()) {
                 return ResultadoOperacion.error("Grupo no encontrado");
@@ -114,6 +116,54 @@ public class ConsultarGruposController {
         }
     }
 
+    /**
+     * Prepara la exportación de los listados de clase de todos los grupos válidos (inicio de período)
+     * Los grupos se cargan en una sola consulta de lectura; la exportación (en datos) se ejecuta después con exportarListadosClase,
+     * normalmente fuera del EDT, y se puede cancelar desde la vista
+     */
+    public ResultadoOperacion prepararExportacionListados(GeneradorPDFListado.FormatoExportacion formato) {
+        try {
+            List<Grupo> grupos = UnidadTrabajo.consultar("grupos.exportarListados",
+                em -> new GrupoRepositorio(em).buscarGruposListosConProfesor());
+            
+            if (grupos.isEmpty()) {
+                return ResultadoOperacion.error("No hay grupos disponibles para exportar");
+            }
+            
+            List<GeneradorPDFListado.ListadoClase> listados = new ArrayList<>(grupos.size());
+            for (Grupo grupo : grupos) {
+                DatosGrupoConsulta datos = new DatosGrupoConsulta(grupo,
+                    ordenarEstudiantesAlfabeticamente(new ArrayList<>(grupo.getEstudiantes())));
+                listados.add(new GeneradorPDFListado.ListadoClase(
+                    grupo, datos.getEstudiantesOrdenados(), datos.getNombreProfesor()));
+            }
+            
+            return ResultadoOperacion.exitoConDatos(listados.size() + " listados por exportar",
+                new ExportacionListados(listados, formato));
+            
+        } catch (Exception e) {
+            return ResultadoOperacion.error("Error al cargar los grupos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Genera los listados en paralelo y los escribe en la salida
+     */
+    public ResultadoOperacion exportarListadosClase(ExportacionListados exportacion, OutputStream salida) {
+        try {
+            ExportacionListados.ResultadoExportacion resultado = exportacion.ejecutar(salida);
+            
+            return ResultadoOperacion.exitoConDatos(String.format(
+                "Se exportaron %d listados de clase (%d páginas) en %.1f s",
+                resultado.getListados(), resultado.getPaginas(), resultado.getDuracionMs() / 1000), resultado);
+            
+        } catch (CancellationException e) {
+            return ResultadoOperacion.error("Exportación cancelada");
+        } catch (Exception e) {
+            return ResultadoOperacion.error("Error al exportar listados: " + e.getMessage());
+        }
+    }
+
     /**
      * Ordena una lista de estudiantes alfabéticamente por nombre completo
      */
@@ -1,98 +1,60 @@
 package com.controlador;
 
-import com.aplicacion.JPAUtil;
+import com.aplicacion.Configuracion;
 import com.modelo.AsignadorGrupos;
+import com.modelo.asignacion.IndiceCupos;
 import com.modelo.dominio.*;
+import com.modelo.dto.EstudiantePendiente;
+import com.modelo.persistencia.UnidadTrabajo;
 import com.modelo.persistencia.repositorios.*;
 import com.modelo.ServicioCorreo;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
 
 import java.util.*;
 
 public class GestionAspirantesController {
-    
-    private final EntityManager entityManager;
-    private final PreinscripcionRepositorio repoPreinscripcion;
-    private final RepositorioGenerico<Estudiante> repoEstudiante;
-    private final AcudienteRepositorio repoAcudiente;
-    private final GrupoRepositorio repoGrupo;
-    private final GradoRepositorio repoGrado;
-    private final RolRepositorio repoRol;
+    private static final int TAMANO_LOTE_APROBACION =
+        Math.max(1, Configuracion.obtenerEntero("aprobacion.lote.tamano", 50));
+    private static final int TAMANO_PAGINA_ASPIRANTES =
+        Math.max(1, Configuracion.obtenerEntero("aspirantes.pagina.tamano", 50));
+    private static final long ESPERA_BLOQUEO_GRADO_MS =
+        Configuracion.obtenerLargo("aprobacion.bloqueo.grado.espera.ms", 5000);
+    private static final int INTENTOS_APROBACION =
+        Math.max(1, Configuracion.obtenerEntero("aprobacion.reintentos", 3));
+    private static final String MENSAJE_CONFLICTO =
+        "Otro usuario está aprobando estudiantes del mismo grado, inténtelo nuevamente";
     
     public GestionAspirantesController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.repoPreinscripcion = new PreinscripcionRepositorio(entityManager);
-        this.repoEstudiante = new RepositorioGenerico<>(entityManager, Estudiante.class);
-        this.repoAcudiente = new AcudienteRepositorio(entityManager);
-        this.repoGrupo = new GrupoRepositorio(entityManager);
-        this.repoGrado = new GradoRepositorio(entityManager);
-        this.repoRol = new RolRepositorio(entityManager);
     }
     
     /**
-     * Obtiene la lista de aspirantes como una lista de mapas simples
+     * Obtiene una página de la lista de aspirantes (estudiantes pendientes con su acudiente)
+     * La primera página (ambos argumentos null) trae además el total de pendientes;
+     * las siguientes continúan después del último estudiante de la página anterior.
+     * Si no hay ningún pendiente devuelve el error "VACIA".
      */
-    public ResultadoOperacion obtenerListaAspirantes() {
+    public ResultadoOperacion obtenerPaginaAspirantes(Integer despuesDePreinscripcion, Integer despuesDeEstudiante) {
+        boolean primeraPagina = despuesDePreinscripcion == null || despuesDeEstudiante == null;
         try {
-            List<Preinscripcion> preinscripciones = repoPreinscripcion.buscarTodos();
-            
-            if (preinscripciones.isEmpty()) {
-                return ResultadoOperacion.error("VACIA");
-            }
-            
-            // Lista para almacenar los datos de los aspirantes
-            List<Map<String, Object>> listaAspirantes = new ArrayList<>();
-            
-            for (Preinscripcion preinscripcion : preinscripciones) {
-                Acudiente acudiente = preinscripcion.getAcudiente();
-                if (acudiente == null) {
-                    continue;
-                }
-                
-                // Lista para estudiantes pendientes de esta preinscripción
-                List<Map<String, Object>> estudiantesPendientes = new ArrayList<>();
-                
-                for (Estudiante estudiante : preinscripcion.getEstudiantes()) {
-                    if (estudiante.getEstado() == Estado.Pendiente) {
-                        Map<String, Object> datosEstudiante = new HashMap<>();
-                        datosEstudiante.put("idEstudiante", estudiante.getIdEstudiante());
-                        datosEstudiante.put("nombreCompleto", construirNombreCompleto(
-                            estudiante.getPrimerNombre(),
-                            estudiante.getSegundoNombre(),
-                            estudiante.getPrimerApellido(),
-                            estudiante.getSegundoApellido()
-                        ));
-                        datosEstudiante.put("nombreGrado", 
-                            estudiante.getGradoAspira() != null ? 
-                            estudiante.getGradoAspira().getNombreGrado() : "Sin grado");
-                        datosEstudiante.put("estado", estudiante.getEstado());
-                        
-                        estudiantesPendientes.add(datosEstudiante);
-                    }
-                }
-                
-                // Solo agregar si tiene estudiantes pendientes
-                if (!estudiantesPendientes.isEmpty()) {
-                    Map<String, Object> datosAspirante = new HashMap<>();
-                    datosAspirante.put("idPreinscripcion", preinscripcion.getIdPreinscripcion());
-                    datosAspirante.put("idAcudiente", acudiente.getIdUsuario());
-                    datosAspirante.put("nombreAcudiente", acudiente.obtenerNombreCompleto());
-                    datosAspirante.put("estudiantes", estudiantesPendientes);
-                    
-                    listaAspirantes.add(datosAspirante);
+            PaginaAspirantes pagina = UnidadTrabajo.consultar("aspirantes.pagina", em -> {
+                PreinscripcionRepositorio repositorio = new PreinscripcionRepositorio(em);
+                // Uno de más para saber si hay otra página sin contar
+                List<EstudiantePendiente> filas = repositorio.buscarEstudiantesPendientes(
+                    despuesDePreinscripcion, despuesDeEstudiante, TAMANO_PAGINA_ASPIRANTES + 1);
+                boolean hayMas = filas.size() > TAMANO_PAGINA_ASPIRANTES;
+                if (hayMas) {
+                    filas = filas.subList(0, TAMANO_PAGINA_ASPIRANTES);
                 }
-            }
+                long total = primeraPagina
+                    ? (hayMas ? repositorio.contarEstudiantesPendientes() : filas.size())
+                    : -1;
+                return new PaginaAspirantes(new ArrayList<>(filas), hayMas, total);
+            });
             
-            if (listaAspirantes.isEmpty()) {
+            if (primeraPagina && pagina.getFilas().isEmpty()) {
                 return ResultadoOperacion.error("VACIA");
             }
-            
-            // Ordenar por ID de preinscripción
-            listaAspirantes.sort((a1, a2) -> 
-                ((Integer) a1.get("idPreinscripcion")).compareTo((Integer) a2.get("idPreinscripcion")));
-            
-            return ResultadoOperacion.exitoConDatos("Lista obtenida", listaAspirantes);
+            return ResultadoOperacion.exitoConDatos("Página obtenida", pagina);
             
         } catch (Exception e) {
             e.printStackTrace();
@@ -101,10 +63,26 @@ public class GestionAspirantesController {
         }
     }
     
+    /**
+     * Cuenta los estudiantes pendientes en este momento (para confirmar una aprobación en bloque)
+     * En datos va el total como Long
+     */
+    public ResultadoOperacion contarPendientes() {
+        try {
+            long total = UnidadTrabajo.consultar("aspirantes.contarPendientes",
+                em -> new PreinscripcionRepositorio(em).contarEstudiantesPendientes());
+            return ResultadoOperacion.exitoConDatos(total + " estudiantes pendientes", total);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResultadoOperacion.error(
+                "Error al acceder a la base de datos, inténtelo nuevamente");
+        }
+    }
+    
     /**
      * Obtiene rol de acudiente
      */
-    private Optional<Rol> obtenerRolAcudiente() {
+    private Optional<Rol> obtenerRolAcudiente(RolRepositorio repoRol) {
         try {
             return repoRol.buscarPorNombreRol("acudiente");
         } catch (Exception e) {
@@ -117,109 +95,88 @@ public class GestionAspirantesController {
      * Aprueba un estudiante específico
      */
     public ResultadoOperacion aprobarEstudiante(Integer idEstudiante) {
-        EntityTransaction transaction = entityManager.getTransaction();
-        
         try {
-            transaction.begin();
-            
-            Optional<Rol> rolAcudienteOpt = obtenerRolAcudiente();
-            if (rolAcudienteOpt.isEmpty()) {
-                transaction.rollback();
-                return ResultadoOperacion.error(
-                    "Error: El rol 'acudiente' no está configurado en el sistema");
-            }
-            
-            Rol rolAcudiente = rolAcudienteOpt.get();
-            
-            Optional<Estudiante> estudianteOpt = repoEstudiante.buscarPorId(idEstudiante);
-            if (estudianteOpt.isEmpty()) {
-                transaction.rollback();
-                return ResultadoOperacion.error("Estudiante no encontrado");
-            }
-            
-            Estudiante estudiante = estudianteOpt.get();
-            Preinscripcion preinscripcion = estudiante.getPreinscripcion();
-            
-            if (preinscripcion == null) {
-                transaction.rollback();
-                return ResultadoOperacion.error("El estudiante no tiene preinscripción asociada");
-            }
-            
-            ResultadoOperacion resultadoAprobacion = preinscripcion.aprobarEstudiante(
-                idEstudiante, rolAcudiente);
-            
-            if (!resultadoAprobacion.isExitoso()) {
-                transaction.rollback();
-                return resultadoAprobacion;
-            }
+            // Si choca con otra aprobación del mismo grado se repite completa con datos frescos
+            ResultadoOperacion aprobacion = UnidadTrabajo.ejecutarConReintentos("aspirantes.aprobar",
+                INTENTOS_APROBACION, em -> {
+                Optional<Rol> rolAcudienteOpt = obtenerRolAcudiente(new RolRepositorio(em));
+                if (rolAcudienteOpt.isEmpty()) {
+                    return ResultadoOperacion.error(
+                        "Error: El rol 'acudiente' no está configurado en el sistema");
+                }
+                
+                Rol rolAcudiente = rolAcudienteOpt.get();
+                
+                RepositorioGenerico<Estudiante> repoEstudiante = new RepositorioGenerico<>(em, Estudiante.class);
+                Optional<Estudiante> estudianteOpt = repoEstudiante.buscarPorId(idEstudiante);
+                if (estudianteOpt.isEmpty()) {
+                    return ResultadoOperacion.error("Estudiante no encontrado");
+                }
+                
+                Estudiante estudiante = estudianteOpt.get();
+                Preinscripcion preinscripcion = estudiante.getPreinscripcion();
+                
+                if (preinscripcion == null) {
+                    return ResultadoOperacion.error("El estudiante no tiene preinscripción asociada");
+                }
+                
+                ResultadoOperacion resultadoAprobacion = preinscripcion.aprobarEstudiante(
+                    idEstudiante, rolAcudiente);
+                
+                if (!resultadoAprobacion.isExitoso()) {
+                    return resultadoAprobacion;
+                }
+                
+                ResultadoOperacion resultadoAsignacion = asignarEstudianteAGrupo(em, estudiante);
+                if (!resultadoAsignacion.isExitoso()) {
+                    return resultadoAsignacion;
+                }
+                
+                new PreinscripcionRepositorio(em).guardar(preinscripcion);
+                new AcudienteRepositorio(em).guardar(preinscripcion.getAcudiente());
+                repoEstudiante.guardar(estudiante);
+                encolarCredencialesSiCorresponde(em, preinscripcion);
+                
+                return ResultadoOperacion.exitoConDatos("Estudiante aprobado",
+                    new EstadoPreinscripcion(preinscripcion));
+            });
             
-            ResultadoOperacion resultadoAsignacion = asignarEstudianteAGrupo(estudiante);
-            if (!resultadoAsignacion.isExitoso()) {
-                transaction.rollback();
-                return resultadoAsignacion;
+            if (!aprobacion.isExitoso()) {
+                return aprobacion;
             }
             
-            repoPreinscripcion.guardar(preinscripcion);
-            repoAcudiente.guardar(preinscripcion.getAcudiente());
-            repoEstudiante.guardar(estudiante);
-            
-            Acudiente acudiente = preinscripcion.getAcudiente();
-            long pendientesDespues = preinscripcion.getEstudiantes().stream()
-                .filter(e -> e.getEstado() == Estado.Pendiente)
-                .count();
+            EstadoPreinscripcion estado = (EstadoPreinscripcion) aprobacion.getDatos();
+            long pendientesDespues = estado.pendientes;
             
             boolean noHayMasPendientes = (pendientesDespues == 0);
             
-            boolean correoEnviado = false;
-            if (preinscripcion.getEstado() == Estado.Aprobada && 
-                acudiente.getTokenAccess() != null &&
-                noHayMasPendientes) {
-                
-                correoEnviado = ServicioCorreo.enviarCredenciales(
-                    acudiente.getCorreoElectronico(),
-                    acudiente.obtenerNombreCompleto(),
-                    acudiente.getTokenAccess().getNombreUsuario(),
-                    acudiente.getTokenAccess().getContrasena(),
-                    "Acudiente"
-                );
-            }
-            
-            transaction.commit();
-            
             StringBuilder mensajeBuilder = new StringBuilder("¡Listo! El estudiante fue aprobado con éxito");
             
-            if (preinscripcion.getEstado() == Estado.Aprobada && 
-                acudiente.getTokenAccess() != null &&
+            if (estado.aprobada && 
+                estado.conCredenciales &&
                 noHayMasPendientes) {
                 
-                if (correoEnviado) {
-                    mensajeBuilder.append("\n\n✓ ¡CREDENCIALES GENERADAS Y ENVIADAS! ")
-                        .append("Se han enviado las credenciales de acceso al correo electrónico del acudiente.");
-                } else {
-                    mensajeBuilder.append("\n\n⚠ ¡CREDENCIALES GENERADAS! ")
-                        .append("Sin embargo, no se pudo enviar el correo electrónico. ")
-                        .append("Por favor, entregue las credenciales manualmente.");
-                }
+                // El correo quedó en la bandeja de salida con la transacción ya confirmada
+                ServicioCorreo.notificarEncolados();
+                mensajeBuilder.append("\n\n✓ ¡CREDENCIALES GENERADAS! ")
+                    .append("Se enviarán al correo electrónico del acudiente.");
             }
             else if (pendientesDespues > 0) {
                 mensajeBuilder.append("\n\nAún hay ").append(pendientesDespues)
                     .append(" estudiante(s) pendiente(s) en esta preinscripción.");
             }
-            else if (preinscripcion.getEstado() == Estado.Aprobada && 
-                    acudiente.getTokenAccess() == null) {
+            else if (estado.aprobada && 
+                    !estado.conCredenciales) {
                 mensajeBuilder.append("\n\nAdvertencia: Preinscripción aprobada pero no se generaron credenciales.");
             }
             
             return ResultadoOperacion.exito(mensajeBuilder.toString());
             
         } catch (Preinscripcion.DomainException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             return ResultadoOperacion.error(e.getMessage());
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+            if (UnidadTrabajo.esConflictoConcurrencia(e)) {
+                return ResultadoOperacion.error(MENSAJE_CONFLICTO);
             }
             e.printStackTrace();
             return ResultadoOperacion.error(
@@ -228,74 +185,239 @@ public class GestionAspirantesController {
     }
 
     /**
-     * Rechaza un estudiante específico
+     * Aprueba varios estudiantes en lotes (inicio de año escolar)
+     * Cada lote de aprobacion.lote.tamano estudiantes se confirma en una sola transacción:
+     * los estudiantes y los grupos de sus grados se cargan una vez, la asignación a grupos
+     * se resuelve en memoria y los cambios se envían a la BD en lote al confirmar.
+     * Los correos de credenciales se encolan en la misma transacción del lote y los
+     * envía el DespachadorCorreo en segundo plano.
+     * Si un lote falla se revierte completo y se continúa con el siguiente.
      */
-    public ResultadoOperacion rechazarEstudiante(Integer idEstudiante) {
-        EntityTransaction transaction = entityManager.getTransaction();
+    public ResultadoOperacion aprobarEstudiantes(List<Integer> idsEstudiantes) {
+        if (idsEstudiantes == null || idsEstudiantes.isEmpty()) {
+            return ResultadoOperacion.error("No hay estudiantes seleccionados para aprobar");
+        }
         
-        try {
-            transaction.begin();
+        long inicio = System.nanoTime();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(idsEstudiantes));
+        ReporteAprobacionLote reporte = new ReporteAprobacionLote(ids.size());
+        
+        for (int desde = 0; desde < ids.size(); desde += TAMANO_LOTE_APROBACION) {
+            List<Integer> lote = ids.subList(desde, Math.min(desde + TAMANO_LOTE_APROBACION, ids.size()));
             
-            Optional<Estudiante> estudianteOpt = repoEstudiante.buscarPorId(idEstudiante);
-            if (estudianteOpt.isEmpty()) {
-                transaction.rollback();
-                return ResultadoOperacion.error("Estudiante no encontrado");
+            try {
+                ResultadoOperacion resultadoLote = UnidadTrabajo.ejecutarConReintentos("aspirantes.aprobarLote",
+                    INTENTOS_APROBACION, em -> aprobarLote(em, lote));
+                
+                if (!resultadoLote.isExitoso()) {
+                    reporte.registrarLoteFallido(lote, resultadoLote.getMensaje());
+                    continue;
+                }
+                // Solo se suma al reporte lo que quedó confirmado (del último intento)
+                ReporteAprobacionLote parcial = (ReporteAprobacionLote) resultadoLote.getDatos();
+                reporte.combinar(parcial);
+                if (parcial.correosEncolados > 0) {
+                    ServicioCorreo.notificarEncolados();
+                }
+                
+            } catch (Exception e) {
+                if (UnidadTrabajo.esConflictoConcurrencia(e)) {
+                    reporte.registrarLoteFallido(lote, MENSAJE_CONFLICTO);
+                    continue;
+                }
+                e.printStackTrace();
+                reporte.registrarLoteFallido(lote, e.getMessage());
+            }
+        }
+        
+        reporte.duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        return ResultadoOperacion.exitoConDatos(reporte.generarResumen(), reporte);
+    }
+    
+    /**
+     * Procesa un lote dentro de una transacción; los estudiantes que no se pueden
+     * aprobar (no existen, ya fueron procesados, sin grado, fuera de su preinscripción)
+     * se omiten sin afectar al resto
+     * Devuelve en los datos el reporte parcial del lote (vale solo si la transacción confirma).
+     */
+    private ResultadoOperacion aprobarLote(EntityManager em, List<Integer> lote) throws Exception {
+        Optional<Rol> rolAcudienteOpt = obtenerRolAcudiente(new RolRepositorio(em));
+        if (rolAcudienteOpt.isEmpty()) {
+            return ResultadoOperacion.error(
+                "Error: El rol 'acudiente' no está configurado en el sistema");
+        }
+        Rol rolAcudiente = rolAcudienteOpt.get();
+        
+        Map<Integer, Estudiante> estudiantesPorId = new HashMap<>();
+        for (Estudiante estudiante : new EstudianteRepositorio(em).buscarPorIdsParaAprobacion(lote)) {
+            estudiantesPorId.put(estudiante.getIdEstudiante(), estudiante);
+        }
+        
+        // Grupos de todos los grados del lote en una sola consulta
+        Set<Integer> idsGrado = new HashSet<>();
+        for (Estudiante estudiante : estudiantesPorId.values()) {
+            if (estudiante.getGradoAspira() != null) {
+                idsGrado.add(estudiante.getGradoAspira().getIdGrado());
+            }
+        }
+        IndiceCupos indice = bloquearYContarGrupos(em, idsGrado);
+        AsignadorGrupos.registrarHermanos(em, indice, idsGrado, estudiantesPorId.values());
+        
+        List<Integer> aprobadosLote = new ArrayList<>();
+        Map<Integer, String> omitidosLote = new LinkedHashMap<>();
+        Set<Preinscripcion> preinscripcionesAfectadas = new LinkedHashSet<>();
+        int gruposCreados = 0;
+        
+        for (Integer idEstudiante : lote) {
+            Estudiante estudiante = estudiantesPorId.get(idEstudiante);
+            if (estudiante == null) {
+                omitidosLote.put(idEstudiante, "Estudiante no encontrado");
+                continue;
+            }
+            if (estudiante.getEstado() != Estado.Pendiente) {
+                omitidosLote.put(idEstudiante, "El estudiante ya fue procesado");
+                continue;
             }
-            
-            Estudiante estudiante = estudianteOpt.get();
             Preinscripcion preinscripcion = estudiante.getPreinscripcion();
-            
             if (preinscripcion == null) {
-                transaction.rollback();
-                return ResultadoOperacion.error("El estudiante no tiene preinscripción asociada");
+                omitidosLote.put(idEstudiante, "El estudiante no tiene preinscripción asociada");
+                continue;
+            }
+            if (estudiante.getGradoAspira() == null) {
+                omitidosLote.put(idEstudiante, "El estudiante no tiene grado asignado");
+                continue;
+            }
+            // Lo que aprobarEstudiante rechazaría con DomainException se omite aquí, para
+            // no revertir el lote completo por un solo estudiante
+            if (preinscripcion.getEstudiantes() == null || preinscripcion.getEstudiantes().stream()
+                    .noneMatch(e -> idEstudiante.equals(e.getIdEstudiante()))) {
+                omitidosLote.put(idEstudiante, "El estudiante no pertenece a su preinscripción");
+                continue;
+            }
+            if (preinscripcion.getAcudiente() == null) {
+                omitidosLote.put(idEstudiante, "La preinscripción no tiene acudiente asociado");
+                continue;
+            }
+
+            // Solo un fallo al generar el token del acudiente revierte el lote completo
+            ResultadoOperacion resultadoAprobacion = preinscripcion.aprobarEstudiante(idEstudiante, rolAcudiente);
+            if (!resultadoAprobacion.isExitoso()) {
+                return resultadoAprobacion;
             }
             
-            ResultadoOperacion resultadoRechazo = preinscripcion.rechazarEstudiante(idEstudiante);
-            
-            if (!resultadoRechazo.isExitoso()) {
-                transaction.rollback();
-                return resultadoRechazo;
+            Grado grado = estudiante.getGradoAspira();
+            Grupo grupo = AsignadorGrupos.encontrarGrupoParaEstudiante(indice, grado.getIdGrado(), estudiante);
+            if (grupo == null) {
+                grupo = crearNuevoGrupo(grado, indice);
+                em.persist(grupo);
+                indice.registrarNuevo(grado.getIdGrado(), grupo);
+                gruposCreados++;
             }
+            indice.asignar(grado.getIdGrado(), grupo, estudiante);
             
-            if (preinscripcion.todosEstudiantesRechazados()) {
-                preinscripcion.setEstado(Estado.Rechazada);
-                Acudiente acudiente = preinscripcion.getAcudiente();
-                acudiente.setEstadoAprobacion(Estado.Rechazada);
+            preinscripcionesAfectadas.add(preinscripcion);
+            aprobadosLote.add(idEstudiante);
+        }
+        
+        // Un único flush: las actualizaciones se agrupan según hibernate.jdbc.batch_size
+        em.flush();
+        
+        int correosEncolados = 0;
+        for (Preinscripcion preinscripcion : preinscripcionesAfectadas) {
+            if (encolarCredencialesSiCorresponde(em, preinscripcion)) {
+                correosEncolados++;
+            }
+        }
+        
+        ReporteAprobacionLote parcial = new ReporteAprobacionLote(lote.size());
+        parcial.aprobados.addAll(aprobadosLote);
+        parcial.omitidos.putAll(omitidosLote);
+        parcial.gruposCreados += gruposCreados;
+        parcial.correosEncolados += correosEncolados;
+        
+        return ResultadoOperacion.exitoConDatos("Lote aprobado", parcial);
+    }
+
+    /**
+     * Encola las credenciales del acudiente cuando la preinscripción quedó aprobada
+     * y ya no tiene estudiantes pendientes; el correo se inserta al confirmar la transacción
+     */
+    private boolean encolarCredencialesSiCorresponde(EntityManager em, Preinscripcion preinscripcion) {
+        Acudiente acudiente = preinscripcion.getAcudiente();
+        boolean sinPendientes = preinscripcion.getEstudiantes().stream()
+            .noneMatch(e -> e.getEstado() == Estado.Pendiente);
+        
+        // Solo se conoce la contraseña en claro si el token se generó en esta transacción
+        if (preinscripcion.getEstado() != Estado.Aprobada ||
+            acudiente.getTokenAccess() == null ||
+            acudiente.getTokenAccess().getContrasenaGenerada() == null ||
+            !sinPendientes) {
+            return false;
+        }
+        
+        ServicioCorreo.encolarCredenciales(em,
+            acudiente.getCorreoElectronico(),
+            acudiente.obtenerNombreCompleto(),
+            acudiente.getTokenAccess().getNombreUsuario(),
+            acudiente.getTokenAccess().getContrasenaGenerada(),
+            "Acudiente");
+        return true;
+    }
+
+    /**
+     * Rechaza un estudiante específico
+     */
+    public ResultadoOperacion rechazarEstudiante(Integer idEstudiante) {
+        try {
+            ResultadoOperacion rechazo = UnidadTrabajo.ejecutar("aspirantes.rechazar", em -> {
+                RepositorioGenerico<Estudiante> repoEstudiante = new RepositorioGenerico<>(em, Estudiante.class);
+                Optional<Estudiante> estudianteOpt = repoEstudiante.buscarPorId(idEstudiante);
+                if (estudianteOpt.isEmpty()) {
+                    return ResultadoOperacion.error("Estudiante no encontrado");
+                }
                 
-                if (acudiente.getTokenAccess() != null) {
-                    acudiente.setTokenAccess(null);
+                Estudiante estudiante = estudianteOpt.get();
+                Preinscripcion preinscripcion = estudiante.getPreinscripcion();
+                
+                if (preinscripcion == null) {
+                    return ResultadoOperacion.error("El estudiante no tiene preinscripción asociada");
                 }
-            }
-            
-            Acudiente acudiente = preinscripcion.getAcudiente();
+                
+                ResultadoOperacion resultadoRechazo = preinscripcion.rechazarEstudiante(idEstudiante);
+                
+                if (!resultadoRechazo.isExitoso()) {
+                    return resultadoRechazo;
+                }
+                
+                if (preinscripcion.todosEstudiantesRechazados()) {
+                    preinscripcion.setEstado(Estado.Rechazada);
+                    Acudiente acudiente = preinscripcion.getAcudiente();
+                    acudiente.setEstadoAprobacion(Estado.Rechazada);
+                    
+                    if (acudiente.getTokenAccess() != null) {
+                        acudiente.setTokenAccess(null);
+                    }
+                }
+                
+                new PreinscripcionRepositorio(em).guardar(preinscripcion);
+                new AcudienteRepositorio(em).guardar(preinscripcion.getAcudiente());
+                repoEstudiante.guardar(estudiante);
+                encolarCredencialesSiCorresponde(em, preinscripcion);
+                
+                return ResultadoOperacion.exitoConDatos("Estudiante rechazado",
+                    new EstadoPreinscripcion(preinscripcion));
+            });
             
-            repoPreinscripcion.guardar(preinscripcion);
-            repoAcudiente.guardar(acudiente);
-            repoEstudiante.guardar(estudiante);
+            if (!rechazo.isExitoso()) {
+                return rechazo;
+            }
             
-            long pendientesDespues = preinscripcion.getEstudiantes().stream()
-                .filter(e -> e.getEstado() == Estado.Pendiente)
-                .count();
+            EstadoPreinscripcion estado = (EstadoPreinscripcion) rechazo.getDatos();
+            long pendientesDespues = estado.pendientes;
             
             boolean noHayMasPendientes = (pendientesDespues == 0);
             
-            boolean correoEnviado = false;
-            if (noHayMasPendientes && 
-                preinscripcion.getEstado() == Estado.Aprobada && 
-                acudiente.getTokenAccess() != null) {
-                
-                correoEnviado = ServicioCorreo.enviarCredenciales(
-                    acudiente.getCorreoElectronico(),
-                    acudiente.obtenerNombreCompleto(),
-                    acudiente.getTokenAccess().getNombreUsuario(),
-                    acudiente.getTokenAccess().getContrasena(),
-                    "Acudiente"
-                );
-            }
-            
-            transaction.commit();
-            
-            if (preinscripcion.todosEstudiantesRechazados()) {
+            if (estado.todosRechazados) {
                 return ResultadoOperacion.exito(
                     "¡Listo! El estudiante fue rechazado.\n\n" +
                     "TODOS los estudiantes de esta preinscripción están ahora rechazados.\n" +
@@ -305,17 +427,12 @@ public class GestionAspirantesController {
                 StringBuilder mensaje = new StringBuilder("¡Listo! El estudiante fue rechazado con éxito");
                 
                 if (noHayMasPendientes && 
-                    preinscripcion.getEstado() == Estado.Aprobada && 
-                    acudiente.getTokenAccess() != null) {
+                    estado.aprobada && 
+                    estado.conCredenciales) {
                     
-                    if (correoEnviado) {
-                        mensaje.append("\n\n✓ ¡CREDENCIALES GENERADAS Y ENVIADAS! ")
-                            .append("Se han enviado las credenciales de acceso al correo electrónico del acudiente.");
-                    } else {
-                        mensaje.append("\n\n⚠ ¡CREDENCIALES GENERADAS! ")
-                            .append("Sin embargo, no se pudo enviar el correo electrónico. ")
-                            .append("Por favor, entregue las credenciales manualmente.");
-                    }
+                    ServicioCorreo.notificarEncolados();
+                    mensaje.append("\n\n✓ ¡CREDENCIALES GENERADAS! ")
+                        .append("Se enviarán al correo electrónico del acudiente.");
                 }
                 else if (pendientesDespues > 0) {
                     mensaje.append("\n\nAún hay ").append(pendientesDespues)
@@ -326,81 +443,81 @@ public class GestionAspirantesController {
             }
             
         } catch (Preinscripcion.DomainException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             return ResultadoOperacion.error(e.getMessage());
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             e.printStackTrace();
             return ResultadoOperacion.error(
                 "Error al procesar el rechazo: " + e.getMessage());
         }
     }
 
-    private ResultadoOperacion asignarEstudianteAGrupo(Estudiante estudiante) {
+    /**
+     * Asigna el estudiante al grupo más lleno con cupo de su grado o crea uno nuevo
+     * El grado queda bloqueado hasta el fin de la transacción, así dos aprobaciones
+     * simultáneas no llenan de más el mismo grupo ni crean dos grupos con el mismo nombre.
+     * Los conflictos con otra transacción se propagan para que la aprobación se reintente.
+     */
+    private ResultadoOperacion asignarEstudianteAGrupo(EntityManager em, Estudiante estudiante) throws Exception {
         try {
-            if (estudiante.getGradoAspira() == null) {
+            Grado grado = estudiante.getGradoAspira();
+            if (grado == null) {
                 return ResultadoOperacion.error("El estudiante no tiene grado asignado");
             }
             
-            Integer idGrado = estudiante.getGradoAspira().getIdGrado();
-            
-            List<Grupo> gruposDelGrado = repoGrupo.buscarPorGrado(idGrado);
+            Integer idGrado = grado.getIdGrado();
+            IndiceCupos indice = bloquearYContarGrupos(em, List.of(idGrado));
+            AsignadorGrupos.registrarHermanos(em, indice, List.of(idGrado), List.of(estudiante));
             
-            Grupo grupoDisponible = AsignadorGrupos.encontrarGrupoParaEstudiante(gruposDelGrado);
-            
-            if (grupoDisponible != null) {
-                boolean asignado = grupoDisponible.agregarEstudiante(estudiante);
-                if (asignado) {
-                    repoGrupo.guardar(grupoDisponible);
-                    
-                    String mensaje = String.format(
-                        "Estudiante asignado al grupo '%s' (%d/%d estudiantes)",
-                        grupoDisponible.getNombreGrupo(),
-                        grupoDisponible.getCantidadEstudiantes(),
-                        grupoDisponible.getMAXESTUDIANTES()
-                    );
-                    return ResultadoOperacion.exito(mensaje);
-                }
+            Grupo grupo = AsignadorGrupos.encontrarGrupoParaEstudiante(indice, idGrado, estudiante);
+            boolean grupoNuevo = grupo == null;
+            if (grupoNuevo) {
+                grupo = crearNuevoGrupo(grado, indice);
+                new GrupoRepositorio(em).guardar(grupo);
+                indice.registrarNuevo(idGrado, grupo);
             }
             
-            Grupo nuevoGrupo = crearNuevoGrupo(idGrado);
-            boolean asignado = nuevoGrupo.agregarEstudiante(estudiante);
-            
-            if (asignado) {
-                repoGrupo.guardar(nuevoGrupo);
-                String mensaje = String.format(
-                    "Nuevo grupo '%s' creado y estudiante asignado",
-                    nuevoGrupo.getNombreGrupo()
-                );
-                return ResultadoOperacion.exito(mensaje);
+            if (!indice.asignar(idGrado, grupo, estudiante)) {
+                return ResultadoOperacion.error("No se pudo asignar estudiante a ningún grupo");
             }
             
-            return ResultadoOperacion.error("No se pudo asignar estudiante a ningún grupo");
+            if (grupoNuevo) {
+                return ResultadoOperacion.exito(String.format(
+                    "Nuevo grupo '%s' creado y estudiante asignado", grupo.getNombreGrupo()));
+            }
+            return ResultadoOperacion.exito(String.format(
+                "Estudiante asignado al grupo '%s' (%d/%d estudiantes)",
+                grupo.getNombreGrupo(),
+                indice.getCantidad(grupo),
+                grupo.getMAXESTUDIANTES()));
             
         } catch (Exception e) {
+            if (UnidadTrabajo.esConflictoConcurrencia(e)) {
+                throw e;
+            }
             e.printStackTrace();
             return ResultadoOperacion.error("Error al asignar grupo: " + e.getMessage());
         }
     }
     
-    private Grupo crearNuevoGrupo(Integer idGrado) throws Exception {
-        Optional<Grado> gradoOpt = repoGrado.buscarPorId(idGrado);
-        if (gradoOpt.isEmpty()) {
-            throw new Exception("Grado no encontrado con ID: " + idGrado);
-        }
-        
-        Grado grado = gradoOpt.get();
-        
-        Long cantidadGrupos = repoGrupo.contarGruposPorGrado(idGrado);
-        
-        String nombreGrupo = AsignadorGrupos.generarNombreNuevoGrupo(grado, cantidadGrupos);
+    /**
+     * Bloquea los grados (ver GradoRepositorio.bloquearParaAsignacion) y arma el índice
+     * de cupos de sus grupos con una sola consulta de conteo, ya con los datos confirmados
+     */
+    private IndiceCupos bloquearYContarGrupos(EntityManager em, Collection<Integer> idsGrado) {
+        new GradoRepositorio(em).bloquearParaAsignacion(idsGrado, ESPERA_BLOQUEO_GRADO_MS);
         
+        IndiceCupos indice = AsignadorGrupos.crearIndice();
+        for (Object[] fila : new GrupoRepositorio(em).contarEstudiantesPorGrupo(idsGrado)) {
+            indice.registrar((Integer) fila[1], (Grupo) fila[0],
+                ((Number) fila[2]).intValue(), ((Number) fila[3]).longValue());
+        }
+        return indice;
+    }
+    
+    private Grupo crearNuevoGrupo(Grado grado, IndiceCupos indice) {
         Grupo nuevoGrupo = new Grupo();
-        nuevoGrupo.setNombreGrupo(nombreGrupo);
+        nuevoGrupo.setNombreGrupo(AsignadorGrupos.generarNombreNuevoGrupo(
+            grado, indice.getGrupos(grado.getIdGrado())));
         nuevoGrupo.setEstado(false);
         nuevoGrupo.setGrado(grado);
         nuevoGrupo.setEstudiantes(new HashSet<>());
@@ -408,16 +525,116 @@ public class GestionAspirantesController {
         return nuevoGrupo;
     }
 
-    private String construirNombreCompleto(String primer, String segundo, 
-                                          String primerAp, String segundoAp) {
-        StringBuilder nombre = new StringBuilder(primer);
-        if (segundo != null && !segundo.isEmpty()) {
-            nombre.append(" ").append(segundo);
+    /**
+     * Clase interna con el estado de una preinscripción después de aprobar o rechazar
+     * uno de sus estudiantes; se toma dentro de la transacción y con él se arma el mensaje
+     */
+    private static class EstadoPreinscripcion {
+        private final long pendientes;
+        private final boolean aprobada;
+        private final boolean conCredenciales;
+        private final boolean todosRechazados;
+        
+        EstadoPreinscripcion(Preinscripcion preinscripcion) {
+            this.pendientes = preinscripcion.getEstudiantes().stream()
+                .filter(e -> e.getEstado() == Estado.Pendiente)
+                .count();
+            this.aprobada = preinscripcion.getEstado() == Estado.Aprobada;
+            this.conCredenciales = preinscripcion.getAcudiente().getTokenAccess() != null;
+            this.todosRechazados = preinscripcion.todosEstudiantesRechazados();
         }
-        nombre.append(" ").append(primerAp);
-        if (segundoAp != null && !segundoAp.isEmpty()) {
-            nombre.append(" ").append(segundoAp);
+    }
+
+    /**
+     * Clase interna con una página de la lista de aspirantes
+     */
+    public static class PaginaAspirantes {
+        private final List<EstudiantePendiente> filas;
+        private final boolean hayMas;
+        private final long totalPendientes;
+        
+        PaginaAspirantes(List<EstudiantePendiente> filas, boolean hayMas, long totalPendientes) {
+            this.filas = filas;
+            this.hayMas = hayMas;
+            this.totalPendientes = totalPendientes;
+        }
+        
+        public List<EstudiantePendiente> getFilas() { return Collections.unmodifiableList(filas); }
+        public boolean isHayMas() { return hayMas; }
+        
+        /**
+         * Total de pendientes; solo en la primera página (-1 en las demás)
+         */
+        public long getTotalPendientes() { return totalPendientes; }
+        
+        /**
+         * Última fila de la página: la siguiente página continúa después de ella
+         */
+        public EstudiantePendiente getUltima() {
+            return filas.isEmpty() ? null : filas.get(filas.size() - 1);
+        }
+    }
+
+    /**
+     * Clase interna con el resultado de una aprobación masiva
+     */
+    public static class ReporteAprobacionLote {
+        private final int solicitados;
+        private final List<Integer> aprobados = new ArrayList<>();
+        private final Map<Integer, String> omitidos = new LinkedHashMap<>();
+        private final Map<Integer, String> fallidos = new LinkedHashMap<>();
+        private int lotesConfirmados;
+        private int lotesFallidos;
+        private int gruposCreados;
+        private int correosEncolados;
+        private long duracionMs;
+        
+        ReporteAprobacionLote(int solicitados) {
+            this.solicitados = solicitados;
+        }
+        
+        private void combinar(ReporteAprobacionLote lote) {
+            aprobados.addAll(lote.aprobados);
+            omitidos.putAll(lote.omitidos);
+            gruposCreados += lote.gruposCreados;
+            correosEncolados += lote.correosEncolados;
+            lotesConfirmados++;
+        }
+        
+        private void registrarLoteFallido(List<Integer> lote, String motivo) {
+            lotesFallidos++;
+            String mensaje = motivo != null ? motivo : "Error desconocido";
+            for (Integer id : lote) {
+                fallidos.put(id, mensaje);
+            }
+        }
+        
+        public int getSolicitados() { return solicitados; }
+        public List<Integer> getAprobados() { return Collections.unmodifiableList(aprobados); }
+        public Map<Integer, String> getOmitidos() { return Collections.unmodifiableMap(omitidos); }
+        public Map<Integer, String> getFallidos() { return Collections.unmodifiableMap(fallidos); }
+        public int getLotesConfirmados() { return lotesConfirmados; }
+        public int getLotesFallidos() { return lotesFallidos; }
+        public int getGruposCreados() { return gruposCreados; }
+        public int getCorreosEncolados() { return correosEncolados; }
+        public long getDuracionMs() { return duracionMs; }
+        
+        public String generarResumen() {
+            StringBuilder resumen = new StringBuilder();
+            resumen.append("Aprobados: ").append(aprobados.size()).append(" de ").append(solicitados);
+            if (!omitidos.isEmpty()) {
+                resumen.append("\nOmitidos: ").append(omitidos.size());
+            }
+            if (!fallidos.isEmpty()) {
+                resumen.append("\nCon error: ").append(fallidos.size())
+                    .append(" (").append(lotesFallidos).append(" lote(s) revertido(s))");
+            }
+            if (gruposCreados > 0) {
+                resumen.append("\nGrupos nuevos: ").append(gruposCreados);
+            }
+            resumen.append("\nCorreos de credenciales en cola: ").append(correosEncolados);
+            resumen.append("\nTiempo: ").append(duracionMs).append(" ms");
+            return resumen.toString();
         }
-        return nombre.toString();
     }
-}
\ No newline at end of file
+}
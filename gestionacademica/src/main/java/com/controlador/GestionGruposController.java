@@ -1,10 +1,8 @@
 package com.controlador;
 
-import com.aplicacion.JPAUtil;
 import com.modelo.dominio.*;
+import com.modelo.persistencia.UnidadTrabajo;
 import com.modelo.persistencia.repositorios.*;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
 
 import java.util.*;
 
@@ -15,14 +13,7 @@ import java.util.*;
  */
 public class GestionGruposController {
     
-    private final EntityManager entityManager;
-    private final GrupoRepositorio repoGrupo;
-    private final ProfesorRepositorio repoProfesor;
-    
     public GestionGruposController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.repoGrupo = new GrupoRepositorio(entityManager);
-        this.repoProfesor = new ProfesorRepositorio(entityManager);
     }
     
     /**
@@ -30,7 +21,8 @@ public class GestionGruposController {
      */
     public ResultadoOperacion obtenerListaGrupos() {
         try {
-            List<Grupo> grupos = repoGrupo.buscarTodosOrdenadosConInfo();
+            List<Grupo> grupos = UnidadTrabajo.consultar("grupos.listar",
+                em -> new GrupoRepositorio(em).buscarTodosOrdenadosConInfo());
             
             if (grupos.isEmpty()) {
                 return ResultadoOperacion.error("VACIA");
@@ -50,7 +42,8 @@ public class GestionGruposController {
      */
     public ResultadoOperacion obtenerProfesoresDisponibles() {
         try {
-            List<Profesor> profesores = repoProfesor.buscarProfesoresSinGrupo();
+            List<Profesor> profesores = UnidadTrabajo.consultar("grupos.profesoresDisponibles",
+                em -> new ProfesorRepositorio(em).buscarProfesoresSinGrupo());
             
             if (profesores.isEmpty()) {
                 return ResultadoOperacion.error("No hay profesores disponibles");
@@ -70,76 +63,71 @@ public class GestionGruposController {
      * Asigna un profesor a un grupo específico
      */
     public ResultadoOperacion asignarProfesorAGrupo(Integer idGrupo, Integer idProfesor) {
-        EntityTransaction transaction = entityManager.getTransaction();
-        
         try {
-            transaction.begin();
-            
-            // 1. Validar y obtener grupo
-            Optional<Grupo> grupoOpt = repoGrupo.buscarPorIdConRelaciones(idGrupo);
-            if (grupoOpt.isEmpty()) {
-                transaction.rollback();
-                return ResultadoOperacion.error("Grupo no encontrado");
-            }
-            
-            Grupo grupo = grupoOpt.get();
-            
-            // 2. Validar que el grupo esté listo
-            if (grupo.estaEnFormacion()) {
-                transaction.rollback();
-                return ResultadoOperacion.error(
-                    "El grupo " + grupo.getNombreGrupo() + " aún está en formación. " +
-                    "Necesita al menos 5 estudiantes.");
-            }
-            
-            if (grupo.tieneProfesorAsignado()) {
-                transaction.rollback();
-                return ResultadoOperacion.error(
-                    "El grupo ya tiene asignado al profesor: " + 
-                    grupo.getProfesor().obtenerNombreCompleto());
-            }
-            
-            // 3. Validar y obtener profesor
-            Optional<Profesor> profesorOpt = repoProfesor.buscarPorIdConGrupo(idProfesor);
-            if (profesorOpt.isEmpty()) {
-                transaction.rollback();
-                return ResultadoOperacion.error("Profesor no encontrado");
-            }
-            
-            Profesor profesor = profesorOpt.get();
-            
-            // 4. Validar que el profesor no tenga grupo asignado
-            if (profesor.tieneGrupoAsignado()) {
-                transaction.rollback();
-                return ResultadoOperacion.error(
-                    "El profesor ya tiene asignado el grupo: " + 
-                    profesor.getGrupoAsignado().getNombreGrupo());
-            }
-            
-            // 5. Realizar asignación usando lógica de dominio
-            
-            ResultadoOperacion resultadoAsignacion = asignarGrupo(grupo, profesor);
-            if (!resultadoAsignacion.isExitoso()) {
-                transaction.rollback();
-                return resultadoAsignacion;
-            }
-            
-            // 6. Persistir cambios
-            repoProfesor.guardar(profesor);
-            repoGrupo.guardar(grupo);
-            
-            transaction.commit();
-            
-            System.out.println("Asignación exitosa: Profesor " + 
-                             profesor.obtenerNombreCompleto() + 
-                             " asignado al grupo " + grupo.getNombreGrupo());
-            
-            return ResultadoOperacion.exito(
-                "¡Listo! El profesor fue asignado correctamente al grupo");
+            // Si otro usuario cambió el grupo a la vez (versión), se repite y las validaciones lo explican
+            return UnidadTrabajo.ejecutarConReintentos("grupos.asignarProfesor", 2, em -> {
+                GrupoRepositorio repoGrupo = new GrupoRepositorio(em);
+                ProfesorRepositorio repoProfesor = new ProfesorRepositorio(em);
+                
+                // 1. Validar y obtener grupo
+                Optional<Grupo> grupoOpt = repoGrupo.buscarPorIdConRelaciones(idGrupo);
+                if (grupoOpt.isEmpty()) {
+                    return ResultadoOperacion.error("Grupo no encontrado");
+                }
+                
+                Grupo grupo = grupoOpt.get();
+                
+                // 2. Validar que el grupo esté listo
+                if (grupo.estaEnFormacion()) {
+                    return ResultadoOperacion.error(
+                        "El grupo " + grupo.getNombreGrupo() + " aún está en formación. " +
+                        "Necesita al menos 5 estudiantes.");
+                }
+                
+                if (grupo.tieneProfesorAsignado()) {
+                    return ResultadoOperacion.error(
+                        "El grupo ya tiene asignado al profesor: " + 
+                        grupo.getProfesor().obtenerNombreCompleto());
+                }
+                
+                // 3. Validar y obtener profesor
+                Optional<Profesor> profesorOpt = repoProfesor.buscarPorIdConGrupo(idProfesor);
+                if (profesorOpt.isEmpty()) {
+                    return ResultadoOperacion.error("Profesor no encontrado");
+                }
+                
+                Profesor profesor = profesorOpt.get();
+                
+                // 4. Validar que el profesor no tenga grupo asignado
+                if (profesor.tieneGrupoAsignado()) {
+                    return ResultadoOperacion.error(
+                        "El profesor ya tiene asignado el grupo: " + 
+                        profesor.getGrupoAsignado().getNombreGrupo());
+                }
+                
+                // 5. Realizar asignación usando lógica de dominio
+                
+                ResultadoOperacion resultadoAsignacion = asignarGrupo(grupo, profesor);
+                if (!resultadoAsignacion.isExitoso()) {
+                    return resultadoAsignacion;
+                }
+                
+                // 6. Persistir cambios
+                repoProfesor.guardar(profesor);
+                repoGrupo.guardar(grupo);
+                
+                System.out.println("Asignación exitosa: Profesor " + 
+                                 profesor.obtenerNombreCompleto() + 
+                                 " asignado al grupo " + grupo.getNombreGrupo());
+                
+                return ResultadoOperacion.exito(
+                    "¡Listo! El profesor fue asignado correctamente al grupo");
+            });
             
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+            if (UnidadTrabajo.esConflictoConcurrencia(e)) {
+                return ResultadoOperacion.error(
+                    "El grupo fue modificado por otro usuario, inténtelo nuevamente");
             }
             e.printStackTrace();
             return ResultadoOperacion.error(
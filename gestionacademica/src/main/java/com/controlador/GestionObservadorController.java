@@ -1,15 +1,18 @@
 package com.controlador;
 
-import jakarta.persistence.EntityManager;
-
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-import com.aplicacion.JPAUtil;
+import com.aplicacion.Configuracion;
+import com.modelo.busqueda.BusquedaObservaciones;
 import com.modelo.dominio.*;
+import com.modelo.dto.EstudianteResumen;
+import com.modelo.dto.ObservacionEncontrada;
+import com.modelo.persistencia.UnidadTrabajo;
 import com.modelo.persistencia.repositorios.EstudianteRepositorio;
-import com.modelo.persistencia.repositorios.GrupoRepositorio;
 import com.modelo.persistencia.repositorios.ObservacionRepositorio;
 import com.modelo.persistencia.repositorios.ObservadorRepositorio;
 
@@ -18,32 +21,51 @@ import com.modelo.persistencia.repositorios.ObservadorRepositorio;
  * Responsabilidad: Coordinar operaciones de consulta y modificación de observadores
  */
 public class GestionObservadorController {
-    private final EntityManager entityManager;
-    private final ObservadorRepositorio observadorRepo;
-    private final ObservacionRepositorio observacionRepo;
-    private final EstudianteRepositorio estudianteRepo;
-    private final GrupoRepositorio grupoRepo;
+    private static final int TAMANO_PAGINA_OBSERVADOR =
+        Math.max(1, Configuracion.obtenerEntero("observador.pagina.tamano", 20));
+    private static final int TAMANO_PAGINA_BUSQUEDA =
+        Math.max(1, Configuracion.obtenerEntero("observaciones.busqueda.pagina.tamano", 20));
+    private static final int CONTEO_MAXIMO_BUSQUEDA =
+        Math.max(1, Configuracion.obtenerEntero("observaciones.busqueda.conteo.maximo", 1000));
 
     public GestionObservadorController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.observadorRepo = new ObservadorRepositorio(entityManager);
-        this.observacionRepo = new ObservacionRepositorio(entityManager);
-        this.estudianteRepo = new EstudianteRepositorio(entityManager);
-        this.grupoRepo = new GrupoRepositorio(entityManager);
     }
 
     /**
-     * Obtiene el observador de un estudiante con todas sus observaciones
+     * Obtiene una página de las observaciones de un estudiante, las más recientes primero
+     * En datos va una PaginaObservador; la primera trae además el total de observaciones.
+     *
+     * @param anterior la página ya mostrada (la siguiente continúa después de su última
+     *                 observación), o null para la primera
      */
-    public ResultadoOperacion obtenerObservadorDeEstudiante(Integer idEstudiante) {
+    public ResultadoOperacion obtenerPaginaObservaciones(Integer idEstudiante, PaginaObservador anterior) {
         try {
-            Optional<Observador> observadorOpt = observadorRepo.buscarPorEstudianteConObservaciones(idEstudiante);
-            
-            if (observadorOpt.isEmpty()) {
+            PaginaObservador pagina = UnidadTrabajo.consultar("observador.pagina", em -> {
+                Integer idObservador = anterior != null ? anterior.getIdObservador()
+                    : new ObservadorRepositorio(em).buscarIdPorEstudiante(idEstudiante).orElse(null);
+                if (idObservador == null) {
+                    return null;
+                }
+                ObservacionRepositorio repositorio = new ObservacionRepositorio(em);
+                Observacion ultima = anterior != null ? anterior.getUltima() : null;
+                // Una de más para saber si hay otra página sin contar
+                List<Observacion> filas = repositorio.buscarPorObservadorOrdenadas(idObservador,
+                    ultima != null ? ultima.getFechaObservacion() : null,
+                    ultima != null ? ultima.getIdObservacion() : null,
+                    TAMANO_PAGINA_OBSERVADOR + 1);
+                boolean hayMas = filas.size() > TAMANO_PAGINA_OBSERVADOR;
+                if (hayMas) {
+                    filas = filas.subList(0, TAMANO_PAGINA_OBSERVADOR);
+                }
+                long total = anterior != null ? -1
+                    : hayMas ? repositorio.contarPorObservador(idObservador) : filas.size();
+                return new PaginaObservador(idObservador, new ArrayList<>(filas), hayMas, total);
+            });
+
+            if (pagina == null) {
                 return ResultadoOperacion.error("El estudiante no tiene observador asignado");
             }
-            
-            return ResultadoOperacion.exitoConDatos("Observador encontrado", observadorOpt.get());
+            return ResultadoOperacion.exitoConDatos("Página obtenida", pagina);
             
         } catch (Exception e) {
             return ResultadoOperacion.error("Error al obtener observador: " + e.getMessage());
@@ -55,28 +77,24 @@ public class GestionObservadorController {
      */
     public ResultadoOperacion crearObservadorSiNoExiste(Estudiante estudiante) {
         try {
-            entityManager.getTransaction().begin();
-            
-            // Verificar si ya tiene observador
-            if (observadorRepo.existePorEstudiante(estudiante.getIdEstudiante())) {
-                entityManager.getTransaction().rollback();
-                return ResultadoOperacion.error("El estudiante ya tiene un observador");
-            }
-            
-            // Crear nuevo observador
-            Observador nuevoObservador = new Observador();
-            nuevoObservador.setEstudiante(estudiante);
-            
-            observadorRepo.guardar(nuevoObservador);
-            
-            entityManager.getTransaction().commit();
-            
-            return ResultadoOperacion.exitoConDatos("Observador creado exitosamente", nuevoObservador);
+            return UnidadTrabajo.ejecutar("observador.crear", em -> {
+                ObservadorRepositorio observadorRepo = new ObservadorRepositorio(em);
+
+                // Verificar si ya tiene observador
+                if (observadorRepo.existePorEstudiante(estudiante.getIdEstudiante())) {
+                    return ResultadoOperacion.error("El estudiante ya tiene un observador");
+                }
+                
+                // Crear nuevo observador
+                Observador nuevoObservador = new Observador();
+                nuevoObservador.setEstudiante(estudiante);
+                
+                observadorRepo.guardar(nuevoObservador);
+                
+                return ResultadoOperacion.exitoConDatos("Observador creado exitosamente", nuevoObservador);
+            });
             
         } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
-            }
             return ResultadoOperacion.error("Error al crear observador: " + e.getMessage());
         }
     }
@@ -86,51 +104,48 @@ public class GestionObservadorController {
      */
     public ResultadoOperacion agregarObservacion(Integer idEstudiante, String descripcion, Profesor profesor) {
         try {
-            entityManager.getTransaction().begin();
-            
-            // Buscar o crear observador
-            Optional<Observador> observadorOpt = observadorRepo.buscarPorEstudiante(idEstudiante);
-            
-            Observador observador;
-            if (observadorOpt.isEmpty()) {
-                // Crear observador si no existe
-                Optional<Estudiante> estudianteOpt = estudianteRepo.buscarPorId(idEstudiante);
-                if (estudianteOpt.isEmpty()) {
-                    entityManager.getTransaction().rollback();
-                    return ResultadoOperacion.error("Estudiante no encontrado");
+            return UnidadTrabajo.ejecutar("observador.agregarObservacion", em -> {
+                ObservadorRepositorio observadorRepo = new ObservadorRepositorio(em);
+                ObservacionRepositorio observacionRepo = new ObservacionRepositorio(em);
+
+                // Buscar o crear observador
+                Optional<Observador> observadorOpt = observadorRepo.buscarPorEstudiante(idEstudiante);
+                
+                Observador observador;
+                if (observadorOpt.isEmpty()) {
+                    // Crear observador si no existe
+                    Optional<Estudiante> estudianteOpt = new EstudianteRepositorio(em).buscarPorId(idEstudiante);
+                    if (estudianteOpt.isEmpty()) {
+                        return ResultadoOperacion.error("Estudiante no encontrado");
+                    }
+                    
+                    observador = new Observador();
+                    observador.setEstudiante(estudianteOpt.get());
+                    observadorRepo.guardar(observador);
+                } else {
+                    observador = observadorOpt.get();
                 }
                 
-                observador = new Observador();
-                observador.setEstudiante(estudianteOpt.get());
-                observadorRepo.guardar(observador);
-            } else {
-                observador = observadorOpt.get();
-            }
-            
-            // Crear nueva observación
-            Observacion nuevaObservacion = new Observacion();
-            nuevaObservacion.setDescripcion(descripcion);
-            nuevaObservacion.setFechaObservacion(LocalDate.now());
-            nuevaObservacion.setObservador(observador);
-            nuevaObservacion.setProfesor(profesor);
-            
-            // Validar observación
-            if (!nuevaObservacion.esValida()) {
-                entityManager.getTransaction().rollback();
-                return ResultadoOperacion.error("La observación debe tener entre 10 y 200 caracteres");
-            }
-            
-            observador.agregarObservacion(nuevaObservacion);
-            observacionRepo.guardar(nuevaObservacion);
-            
-            entityManager.getTransaction().commit();
-            
-            return ResultadoOperacion.exitoConDatos("Observación agregada exitosamente", nuevaObservacion);
+                // Crear nueva observación
+                Observacion nuevaObservacion = new Observacion();
+                nuevaObservacion.setDescripcion(descripcion);
+                nuevaObservacion.setFechaObservacion(LocalDate.now());
+                nuevaObservacion.setObservador(observador);
+                nuevaObservacion.setProfesor(profesor);
+                
+                // Validar observación
+                if (!nuevaObservacion.esValida()) {
+                    return ResultadoOperacion.error("La observación debe tener entre 10 y 200 caracteres");
+                }
+                
+                // La relación se guarda desde la observación; agregarla a observador.getObservaciones()
+                // cargaría todo el historial del estudiante solo para insertar una fila
+                observacionRepo.guardar(nuevaObservacion);
+                
+                return ResultadoOperacion.exitoConDatos("Observación agregada exitosamente", nuevaObservacion);
+            });
             
         } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
-            }
             return ResultadoOperacion.error("Error al agregar observación: " + e.getMessage());
         }
     }
@@ -144,15 +159,11 @@ public class GestionObservadorController {
                 return ResultadoOperacion.error("El profesor no tiene grupo asignado");
             }
             
-            Grupo grupo = profesor.getGrupoAsignado();
-            Optional<Grupo> grupoConEstudiantes = grupoRepo.buscarPorIdConRelaciones(grupo.getIdGrupo());
+            Integer idGrupo = profesor.getGrupoAsignado().getIdGrupo();
+            List<EstudianteResumen> estudiantes = UnidadTrabajo.consultar("observador.estudiantesDelGrupo",
+                em -> new EstudianteRepositorio(em).buscarResumenPorGrupo(idGrupo));
             
-            if (grupoConEstudiantes.isEmpty()) {
-                return ResultadoOperacion.error("Grupo no encontrado");
-            }
-            
-            return ResultadoOperacion.exitoConDatos("Estudiantes obtenidos", 
-                grupoConEstudiantes.get().getEstudiantes());
+            return ResultadoOperacion.exitoConDatos("Estudiantes obtenidos", estudiantes);
             
         } catch (Exception e) {
             return ResultadoOperacion.error("Error al obtener estudiantes: " + e.getMessage());
@@ -160,18 +171,65 @@ public class GestionObservadorController {
     }
 
     /**
-     * Obtiene todos los grupos con estudiantes para el directivo
+     * Obtiene los estudiantes de todos los grupos válidos para el directivo,
+     * ordenados por grado y grupo (la vista los agrupa por idGrupo)
      */
-    public ResultadoOperacion obtenerTodosLosGruposValidos() {
+    public ResultadoOperacion obtenerEstudiantesDeGruposValidos() {
         try {
-            List<Grupo> grupos = grupoRepo.buscarGruposListosConProfesor();
-            return ResultadoOperacion.exitoConDatos("Grupos obtenidos", grupos);
+            List<EstudianteResumen> estudiantes = UnidadTrabajo.consultar("observador.gruposValidos",
+                em -> new EstudianteRepositorio(em).buscarResumenDeGruposListos());
+            return ResultadoOperacion.exitoConDatos("Grupos obtenidos", estudiantes);
             
         } catch (Exception e) {
             return ResultadoOperacion.error("Error al obtener grupos: " + e.getMessage());
         }
     }
 
+    /**
+     * Busca palabras en las observaciones de todos los estudiantes (para el directivo)
+     * En datos va una PaginaObservaciones; la siguiente página empieza en desde + filas.
+     *
+     * @param desde cantidad de resultados ya mostrados (0 para la primera página)
+     */
+    public ResultadoOperacion buscarObservaciones(String texto, int desde) {
+        if (texto == null || texto.isBlank()) {
+            return ResultadoOperacion.error("Escriba las palabras que desea buscar");
+        }
+        String configuracion = BusquedaObservaciones.getConfiguracion();
+        if (configuracion == null) {
+            return ResultadoOperacion.error("La búsqueda en observaciones no está disponible todavía");
+        }
+        if (desde >= CONTEO_MAXIMO_BUSQUEDA) {
+            return ResultadoOperacion.error("Hay demasiados resultados; use palabras más específicas");
+        }
+
+        String consulta = texto.trim();
+        try {
+            PaginaObservaciones pagina = UnidadTrabajo.consultar("observaciones.buscar", em -> {
+                ObservacionRepositorio repositorio = new ObservacionRepositorio(em);
+                // Uno de más para saber si hay otra página sin contar
+                List<ObservacionEncontrada> filas = repositorio.buscarPorTexto(
+                    configuracion, consulta, desde, TAMANO_PAGINA_BUSQUEDA + 1);
+                boolean hayMas = filas.size() > TAMANO_PAGINA_BUSQUEDA;
+                if (hayMas) {
+                    filas = filas.subList(0, TAMANO_PAGINA_BUSQUEDA);
+                }
+                long total = desde > 0 ? -1
+                    : hayMas ? repositorio.contarPorTexto(configuracion, consulta, CONTEO_MAXIMO_BUSQUEDA + 1)
+                    : filas.size();
+                // Más allá del máximo contado no se pagina: el OFFSET saldría cada vez más caro
+                boolean puedeSeguir = hayMas && desde + filas.size() < CONTEO_MAXIMO_BUSQUEDA;
+                return new PaginaObservaciones(new ArrayList<>(filas), puedeSeguir,
+                    Math.min(total, CONTEO_MAXIMO_BUSQUEDA), total > CONTEO_MAXIMO_BUSQUEDA);
+            });
+            return ResultadoOperacion.exitoConDatos("Búsqueda realizada", pagina);
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResultadoOperacion.error("Error al buscar observaciones: " + e.getMessage());
+        }
+    }
+
     /**
      * Verifica si un acudiente tiene acceso a un estudiante
      */
@@ -179,4 +237,67 @@ public class GestionObservadorController {
         return acudiente.getEstudiantes().stream()
             .anyMatch(est -> est.getIdEstudiante().equals(idEstudiante));
     }
-}
\ No newline at end of file
+
+    /**
+     * Clase interna con una página de las observaciones de un estudiante
+     */
+    public static class PaginaObservador {
+        private final Integer idObservador;
+        private final List<Observacion> filas;
+        private final boolean hayMas;
+        private final long total;
+
+        PaginaObservador(Integer idObservador, List<Observacion> filas, boolean hayMas, long total) {
+            this.idObservador = idObservador;
+            this.filas = filas;
+            this.hayMas = hayMas;
+            this.total = total;
+        }
+
+        public Integer getIdObservador() { return idObservador; }
+        public List<Observacion> getFilas() { return Collections.unmodifiableList(filas); }
+        public boolean isHayMas() { return hayMas; }
+
+        /**
+         * Total de observaciones del estudiante; solo en la primera página (-1 en las demás)
+         */
+        public long getTotal() { return total; }
+
+        /**
+         * Última observación de la página: la siguiente página continúa después de ella
+         */
+        public Observacion getUltima() {
+            return filas.isEmpty() ? null : filas.get(filas.size() - 1);
+        }
+    }
+
+    /**
+     * Clase interna con una página de resultados de la búsqueda en observaciones
+     */
+    public static class PaginaObservaciones {
+        private final List<ObservacionEncontrada> filas;
+        private final boolean hayMas;
+        private final long total;
+        private final boolean totalSuperado;
+
+        PaginaObservaciones(List<ObservacionEncontrada> filas, boolean hayMas, long total, boolean totalSuperado) {
+            this.filas = filas;
+            this.hayMas = hayMas;
+            this.total = total;
+            this.totalSuperado = totalSuperado;
+        }
+
+        public List<ObservacionEncontrada> getFilas() { return Collections.unmodifiableList(filas); }
+        public boolean isHayMas() { return hayMas; }
+
+        /**
+         * Total de resultados; solo en la primera página (-1 en las demás)
+         */
+        public long getTotal() { return total; }
+
+        /**
+         * Si hay más resultados que observaciones.busqueda.conteo.maximo (total es ese máximo)
+         */
+        public boolean isTotalSuperado() { return totalSuperado; }
+    }
+}
@@ -1,23 +1,21 @@
 package com.controlador;
 
 import com.modelo.dominio.*;
+import com.modelo.persistencia.CacheReferencia;
+import com.modelo.persistencia.UnidadTrabajo;
 import com.modelo.persistencia.repositorios.*;
-import com.aplicacion.JPAUtil;
+import com.modelo.busqueda.BusquedaPersonas;
+import com.modelo.dto.CamposDuplicados;
+import com.modelo.dto.PersonaEncontrada;
+import com.modelo.FiltroDuplicados;
 import com.modelo.ServicioCorreo;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
 
 import java.util.Optional;
 
 public class GestionUsuariosController {
-    private final UsuarioRepositorio usuarioRepositorio;
-    private final RolRepositorio rolRepositorio;
-    private final EntityManager entityManager;
     
     public GestionUsuariosController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.usuarioRepositorio = new UsuarioRepositorio(entityManager);
-        this.rolRepositorio = new RolRepositorio(entityManager);
     }
     
     /**
@@ -39,75 +37,93 @@ public class GestionUsuariosController {
             return ResultadoOperacion.error("El rol es obligatorio");
         }
         
-        EntityTransaction transaction = entityManager.getTransaction();
-        
         try {
-            transaction.begin();
-            
-            // 1. Buscar rol (validación temprana)
-            Optional<Rol> rolOpt = rolRepositorio.buscarPorNombreRol(nombreRol);
-            if (rolOpt.isEmpty()) {
-                return ResultadoOperacion.errorValidacion("rol", 
-                    "El rol especificado no existe");
-            }
-            
-            Rol rol = rolOpt.get();
-            
-            // 2. Validar duplicados ANTES de intentar crear
-            ResultadoOperacion validacionDuplicados = validarDuplicados(
-                nuip, correoElectronico, telefono);
-            if (!validacionDuplicados.isExitoso()) {
-                return validacionDuplicados;
-            }
-            
-            // 3. Crear usuario del tipo correcto (el dominio decide el tipo)
-            Usuario usuario = crearInstanciaSegunRol(
-                nuip, primerNombre, segundoNombre, primerApellido, 
-                segundoApellido, edad, correoElectronico, telefono, nombreRol);
+            ResultadoOperacion creado = UnidadTrabajo.ejecutar("usuarios.crear", em -> {
+                UsuarioRepositorio usuarioRepositorio = new UsuarioRepositorio(em);
+
+                // 1. Buscar rol (validación temprana)
+                Optional<Rol> rolOpt = new RolRepositorio(em).buscarPorNombreRol(nombreRol);
+                if (rolOpt.isEmpty()) {
+                    return ResultadoOperacion.errorValidacion("rol", 
+                        "El rol especificado no existe");
+                }
+                
+                Rol rol = rolOpt.get();
+                
+                // 2. Validar duplicados ANTES de intentar crear
+                ResultadoOperacion validacionDuplicados = validarDuplicados(
+                    em, nuip, correoElectronico, telefono);
+                if (!validacionDuplicados.isExitoso()) {
+                    return validacionDuplicados;
+                }
+                
+                // 3. Crear usuario del tipo correcto (el dominio decide el tipo)
+                Usuario nuevo = crearInstanciaSegunRol(
+                    nuip, primerNombre, segundoNombre, primerApellido, 
+                    segundoApellido, edad, correoElectronico, telefono, nombreRol);
+                
+                // 4. DELEGAR AL DOMINIO la creación completa
+                ResultadoValidacionDominio creacion = nuevo.crearUsuarioCompleto(rol);
+                if (!creacion.isValido()) {
+                    return ResultadoOperacion.errorValidacion(
+                        creacion.getCampoInvalido(),
+                        creacion.getMensajeError()
+                    );
+                }
+                
+                // 5. Guardar (el token ya está generado y asignado por el dominio)
+                usuarioRepositorio.guardar(nuevo);
+                
+                // 6. Refrescar para obtener IDs generados
+                em.flush();
+                em.refresh(nuevo);
+                
+                // 7. Encolar correo con credenciales (se envía después de confirmar)
+                if (nuevo.getTokenAccess() != null) {
+                    ServicioCorreo.encolarCredenciales(
+                        em,
+                        nuevo.getCorreoElectronico(),
+                        nuevo.obtenerNombreCompleto(),
+                        nuevo.getTokenAccess().getNombreUsuario(),
+                        nuevo.getTokenAccess().getContrasenaGenerada(),
+                        nombreRol
+                    );
+                }
+                
+                return ResultadoOperacion.exitoConDatos("Usuario creado", nuevo);
+            });
             
-            // 4. DELEGAR AL DOMINIO la creación completa
-            ResultadoValidacionDominio creacion = usuario.crearUsuarioCompleto(rol);
-            if (!creacion.isValido()) {
-                return ResultadoOperacion.errorValidacion(
-                    creacion.getCampoInvalido(),
-                    creacion.getMensajeError()
-                );
+            if (!creado.isExitoso()) {
+                return creado;
             }
             
-            // 5. Guardar (el token ya está generado y asignado por el dominio)
-            usuarioRepositorio.guardar(usuario);
-            
-            // 6. Refrescar para obtener IDs generados
-            entityManager.flush();
-            entityManager.refresh(usuario);
-            
-            transaction.commit();
-            
-            // 7. ENVIAR CORREO CON CREDENCIALES
-            boolean correoEnviado = false;
-            if (usuario.getTokenAccess() != null) {
-                correoEnviado = ServicioCorreo.enviarCredenciales(
-                    usuario.getCorreoElectronico(),
-                    usuario.obtenerNombreCompleto(),
-                    usuario.getTokenAccess().getNombreUsuario(),
-                    usuario.getTokenAccess().getContrasena(),
-                    nombreRol
-                );
-            }
+            Usuario usuario = (Usuario) creado.getDatos();
+            FiltroDuplicados.registrarUsuario(nuip, correoElectronico, telefono);
+            BusquedaPersonas.registrar(PersonaEncontrada.de(usuario));
             
             // 8. Preparar mensaje de resultado
             String mensajeExito = "Usuario creado exitosamente";
-            if (correoEnviado) {
-                mensajeExito += "\n✓ Credenciales enviadas por correo electrónico";
-            } else if (usuario.getTokenAccess() != null) {
-                mensajeExito += "\n⚠ Advertencia: No se pudo enviar el correo con las credenciales";
+            if (usuario.getTokenAccess() != null) {
+                ServicioCorreo.notificarEncolados();
+                mensajeExito += "\n✓ Las credenciales se enviarán por correo electrónico";
             }
             
             return ResultadoOperacion.exitoConDatos(mensajeExito, usuario);
             
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+            // Un duplicado registrado desde otro equipo que el filtro aún no conocía:
+            // se agrega al filtro y la nueva verificación consulta la base para nombrar el campo
+            if (UnidadTrabajo.esViolacionUnica(e)) {
+                FiltroDuplicados.registrarUsuario(nuip, correoElectronico, telefono);
+                try {
+                    ResultadoOperacion duplicado = UnidadTrabajo.consultar("usuarios.validarDuplicados",
+                        em -> validarDuplicados(em, nuip, correoElectronico, telefono));
+                    if (!duplicado.isExitoso()) {
+                        return duplicado;
+                    }
+                } catch (Exception ignorada) {
+                    // Se informa el error original
+                }
             }
             return ResultadoOperacion.error(
                 "Error al crear el usuario: " + e.getMessage()
@@ -158,29 +174,17 @@ public class GestionUsuariosController {
     
     /**
      * Validación de duplicados separada
+     * Una sola consulta para los tres campos, y ninguna si el filtro los descarta
      */
     private ResultadoOperacion validarDuplicados(
+            EntityManager em,
             String nuip,
             String correoElectronico,
             String telefono) {
         
         try {
-            if (usuarioRepositorio.existePorNuip(nuip)) {
-                return ResultadoOperacion.errorValidacion("nuip",
-                    "Ya existe un usuario registrado con este NUIP");
-            }
-            
-            if (usuarioRepositorio.existePorCorreo(correoElectronico)) {
-                return ResultadoOperacion.errorValidacion("correoElectronico",
-                    "Ya existe un usuario registrado con este correo electrónico");
-            }
-            
-            if (usuarioRepositorio.existePorTelefono(telefono)) {
-                return ResultadoOperacion.errorValidacion("telefono",
-                    "Ya existe un usuario registrado con este teléfono");
-            }
-            
-            return ResultadoOperacion.exito("Sin duplicados");
+            return resultadoDuplicados(
+                FiltroDuplicados.buscarUsuario(em, nuip, correoElectronico, telefono));
             
         } catch (Exception e) {
             return ResultadoOperacion.error(
@@ -189,6 +193,28 @@ public class GestionUsuariosController {
         }
     }
     
+    /**
+     * Error del primer campo duplicado (NUIP, correo, teléfono), o éxito si no hay ninguno
+     */
+    private ResultadoOperacion resultadoDuplicados(CamposDuplicados duplicados) {
+        if (duplicados.nuip()) {
+            return ResultadoOperacion.errorValidacion("nuip",
+                "Ya existe un usuario registrado con este NUIP");
+        }
+        
+        if (duplicados.correoElectronico()) {
+            return ResultadoOperacion.errorValidacion("correoElectronico",
+                "Ya existe un usuario registrado con este correo electrónico");
+        }
+        
+        if (duplicados.telefono()) {
+            return ResultadoOperacion.errorValidacion("telefono",
+                "Ya existe un usuario registrado con este teléfono");
+        }
+        
+        return ResultadoOperacion.exito("Sin duplicados");
+    }
+    
     /**
      * Validación previa (para UI)
      */
@@ -208,29 +234,37 @@ public class GestionUsuariosController {
             return ResultadoOperacion.errorValidacion("rol", "El rol es obligatorio");
         }
         
-        // Validar rol existe
-        Optional<Rol> rolOpt = rolRepositorio.buscarPorNombreRol(nombreRol);
-        if (rolOpt.isEmpty()) {
-            return ResultadoOperacion.errorValidacion("rol", "El rol especificado no existe");
-        }
-        
-        // Crear instancia temporal para validación del dominio
-        Usuario usuario = crearInstanciaSegunRol(
-            nuip, primerNombre, segundoNombre, primerApellido,
-            segundoApellido, edad, correoElectronico, telefono, nombreRol);
-        
-        // Delegar validación al dominio
-        ResultadoValidacionDominio validacion = usuario.validarDatosBasicos();
-        
-        if (!validacion.isValido()) {
-            return ResultadoOperacion.errorValidacion(
-                validacion.getCampoInvalido(),
-                validacion.getMensajeError()
+        try {
+            return UnidadTrabajo.consultar("usuarios.validarDatos", em -> {
+                // Validar rol existe
+                Optional<Rol> rolOpt = new RolRepositorio(em).buscarPorNombreRol(nombreRol);
+                if (rolOpt.isEmpty()) {
+                    return ResultadoOperacion.errorValidacion("rol", "El rol especificado no existe");
+                }
+                
+                // Crear instancia temporal para validación del dominio
+                Usuario usuario = crearInstanciaSegunRol(
+                    nuip, primerNombre, segundoNombre, primerApellido,
+                    segundoApellido, edad, correoElectronico, telefono, nombreRol);
+                
+                // Delegar validación al dominio
+                ResultadoValidacionDominio validacion = usuario.validarDatosBasicos();
+                
+                if (!validacion.isValido()) {
+                    return ResultadoOperacion.errorValidacion(
+                        validacion.getCampoInvalido(),
+                        validacion.getMensajeError()
+                    );
+                }
+                
+                // Validar duplicados (sin guardar)
+                return validarDuplicados(em, nuip, correoElectronico, telefono);
+            });
+        } catch (Exception e) {
+            return ResultadoOperacion.error(
+                "Error al validar los datos: " + e.getMessage()
             );
         }
-        
-        // Validar duplicados (sin guardar)
-        return validarDuplicados(nuip, correoElectronico, telefono);
     }
 
     /**
@@ -238,7 +272,8 @@ public class GestionUsuariosController {
      */
     public ResultadoOperacion obtenerRolesDisponibles() {
         try {
-            var roles = rolRepositorio.buscarTodos();
+            var roles = UnidadTrabajo.consultar("usuarios.rolesDisponibles",
+                em -> new RolRepositorio(em).buscarTodos());
             return ResultadoOperacion.exitoConDatos(
                 "Roles obtenidos correctamente",
                 roles
@@ -250,6 +285,26 @@ public class GestionUsuariosController {
         }
     }
 
+    /**
+     * Descarta roles, permisos y grados de la caché para que se lean de nuevo de la base
+     * (tras editarlos con SQL o desde otra instancia de la aplicación)
+     * Devuelve en los datos las estadísticas de la caché antes de vaciarla.
+     */
+    public ResultadoOperacion recargarDatosReferencia() {
+        try {
+            String estadisticas = CacheReferencia.obtenerResumen();
+            CacheReferencia.invalidarTodo();
+            return ResultadoOperacion.exitoConDatos(
+                "Roles, permisos y grados se leerán de nuevo de la base de datos",
+                estadisticas
+            );
+        } catch (Exception e) {
+            return ResultadoOperacion.error(
+                "Error al recargar los datos de referencia: " + e.getMessage()
+            );
+        }
+    }
+
     /**
      * CU 2.4 - Consultar mi información
      * Obtiene la información completa del usuario autenticado
@@ -261,7 +316,8 @@ public class GestionUsuariosController {
         
         try {
             // Buscar usuario actualizado en BD para asegurar datos frescos
-            Optional<Usuario> usuarioOpt = usuarioRepositorio.buscarPorId(usuario.getIdUsuario());
+            Optional<Usuario> usuarioOpt = UnidadTrabajo.consultar("usuarios.miInformacion",
+                em -> new UsuarioRepositorio(em).buscarPorId(usuario.getIdUsuario()));
             
             if (usuarioOpt.isEmpty()) {
                 return ResultadoOperacion.error(
@@ -1,35 +1,40 @@
 package com.controlador;
 
+import java.util.HashSet;
+
 import javax.swing.SwingUtilities;
 
-import com.aplicacion.JPAUtil;
+import com.modelo.ControlIntentosLogin;
+import com.modelo.ServicioContrasenas;
 import com.modelo.dominio.*;
-import com.modelo.persistencia.repositorios.TokenUsuarioRepositorio;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.AcudienteRepositorio;
 import com.modelo.persistencia.repositorios.UsuarioRepositorio;
 import com.vista.presentacion.*;
 import com.vista.presentacion.hojavida.DiligenciarHojaVidaDialog;
 
-import jakarta.persistence.EntityManager;
-
 /**
  * Controlador para el login
  * Responsabilidad: Gestionar la autenticación y navegación según rol
  */
 public class LoginController {
-    private int intentosFallidos = 0;
-    private static final int MAX_INTENTOS = 3;
-    private final EntityManager entityManager;
-    private final TokenUsuarioRepositorio tokenUsuarioRepositorio;
-    private final UsuarioRepositorio usuarioRepositorio;
+    private static final ResultadoOperacion SISTEMA_OCUPADO = ResultadoOperacion.error(
+        "Hay demasiados inicios de sesión en curso. Intente de nuevo en unos segundos.");
+    // Los únicos resultados que cuentan como intento fallido (ver autenticarConValidacion)
+    private static final ResultadoOperacion USUARIO_NO_ENCONTRADO = ResultadoOperacion.error("Usuario no encontrado");
+    private static final ResultadoOperacion CONTRASENA_INCORRECTA = ResultadoOperacion.error("Contraseña incorrecta");
 
     public LoginController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.tokenUsuarioRepositorio = new TokenUsuarioRepositorio(entityManager);
-        this.usuarioRepositorio = new UsuarioRepositorio(entityManager);
+        // La persistencia se abre por operación para no bloquear la
+        // construcción de LoginFrame mientras Hibernate arranca
     }
 
     /**
      * Autentica un usuario con validaciones previas
+     * Tarda lo que tarda el hash de la contraseña: llamar fuera del hilo de Swing
+     *
+     * Los intentos fallidos se cuentan por usuario y equipo en la base de datos
+     * (ControlIntentosLogin), así el bloqueo vale para todas las ventanas y reinicios.
      */
     public ResultadoOperacion autenticarConValidacion(String nombreUsuario, String contrasena) {
         // Validar campos vacíos
@@ -41,48 +46,87 @@ public class LoginController {
             return ResultadoOperacion.errorValidacion("contrasena", "La contraseña es obligatoria");
         }
         
-        // Verificar si está bloqueado
-        if (estaBloqueado()) {
-            return ResultadoOperacion.error("Cuenta bloqueada por múltiples intentos fallidos");
+        // Verificar si está bloqueado o si llegan demasiados intentos seguidos
+        String equipo = ControlIntentosLogin.getEquipoLocal();
+        ControlIntentosLogin.Decision decision = ControlIntentosLogin.evaluar(nombreUsuario, equipo);
+        
+        if (decision.getEstado() == ControlIntentosLogin.Estado.LIMITADO) {
+            return ResultadoOperacion.error("Demasiados intentos seguidos. Espere " +
+                decision.getSegundosRestantes() + " segundos e intente de nuevo.");
+        }
+        
+        if (decision.getEstado() == ControlIntentosLogin.Estado.BLOQUEADO) {
+            return ResultadoOperacion.error("Cuenta bloqueada por múltiples intentos fallidos. " +
+                "Intente de nuevo en " + describirEspera(decision.getSegundosRestantes()) + ".");
         }
         
         // Intentar autenticar
         ResultadoOperacion resultado = autenticar(nombreUsuario, contrasena);
         
-        if (!resultado.isExitoso()) {
-            intentosFallidos++;
+        // Solo un usuario o una contraseña equivocados cuentan como intento fallido;
+        // sin capacidad para verificar o con la base caída se informa el error tal cual
+        if (resultado == USUARIO_NO_ENCONTRADO || resultado == CONTRASENA_INCORRECTA) {
+            int fallidos = ControlIntentosLogin.registrarFallo(nombreUsuario, equipo, decision.getFallidosPrevios());
+            int intentosRestantes = ControlIntentosLogin.getMaximoFallidos() - fallidos;
             
-            if (estaBloqueado()) {
+            if (intentosRestantes <= 0) {
                 return ResultadoOperacion.error("Cuenta bloqueada. Ha excedido el límite de intentos.");
             } else {
-                int intentosRestantes = MAX_INTENTOS - intentosFallidos;
                 return ResultadoOperacion.error("Credenciales incorrectas. Intentos restantes: " + intentosRestantes);
             }
         }
         
-        // Login exitoso - resetear intentos
-        intentosFallidos = 0;
+        if (!resultado.isExitoso()) {
+            return resultado;
+        }
+        
+        // Login exitoso - los fallos anteriores dejan de contar
+        ControlIntentosLogin.registrarExito(nombreUsuario, equipo, decision.getFallidosPrevios());
         return resultado;
     }
 
+    private static String describirEspera(long segundos) {
+        if (segundos < 60) {
+            return segundos + " segundos";
+        }
+        long minutos = (segundos + 59) / 60;
+        return minutos == 1 ? "1 minuto" : minutos + " minutos";
+    }
+
     /**
      * Autentica un usuario en el sistema
+     * La contraseña se verifica en el pool de ServicioContrasenas después de cerrar
+     * la consulta, para no retener una conexión durante el cálculo del hash
      */
     private ResultadoOperacion autenticar(String nombreUsuario, String contrasena) {
         try {
-            // Buscar usuario por nombre
-            var tokenUsuarioOpt = tokenUsuarioRepositorio.buscarPorNombreUsuario(nombreUsuario);
+            // Usuario, token, rol y permisos en una sola consulta
+            Usuario usuario = UnidadTrabajo.consultar("login.autenticar",
+                em -> new UsuarioRepositorio(em).buscarParaAutenticar(nombreUsuario).orElse(null));
+            
+            // Si el usuario no existe se verifica igual contra un hash de relleno:
+            // la respuesta tarda lo mismo y no revela qué usuarios existen
+            String almacenada = usuario != null ? usuario.getTokenAccess().getContrasena() : null;
+            ServicioContrasenas.Verificacion verificacion = ServicioContrasenas.verificar(contrasena, almacenada);
             
-            if (tokenUsuarioOpt.isEmpty()) {
-                return ResultadoOperacion.error("Usuario no encontrado");
+            if (verificacion.getEstado() == ServicioContrasenas.Estado.OCUPADO) {
+                return SISTEMA_OCUPADO;
             }
-
-            Usuario usuario = usuarioRepositorio.buscarPorToken(tokenUsuarioOpt.get().getIdToken()).get();
             
-            boolean credencialesCorrectas = usuario.getTokenAccess().verificarCredenciales(contrasena);
+            if (usuario == null) {
+                return USUARIO_NO_ENCONTRADO;
+            }
+            
+            if (!verificacion.isCorrecta()) {
+                return CONTRASENA_INCORRECTA;
+            }
             
-            if (!credencialesCorrectas) {
-                return ResultadoOperacion.error("Contraseña incorrecta");
+            if (verificacion.getHashActualizado() != null) {
+                actualizarContrasena(usuario.getTokenAccess(), almacenada, verificacion.getHashActualizado());
+            }
+            
+            if (usuario instanceof Acudiente acudiente) {
+                cargarEstudiantes(acudiente);
             }
             
             // Autenticación exitosa
@@ -93,6 +137,37 @@ public class LoginController {
         }
     }
 
+    /**
+     * Trae los estudiantes que usa la sesión del acudiente (con grupo, grado y hoja de vida)
+     * Va después de verificar la contraseña: así la consulta de login tarda lo mismo para cualquier usuario
+     */
+    private void cargarEstudiantes(Acudiente acudiente) throws Exception {
+        Acudiente conEstudiantes = UnidadTrabajo.consultar("login.estudiantesAcudiente",
+            em -> new AcudienteRepositorio(em).buscarConEstudiantes(acudiente.getIdUsuario()));
+        acudiente.setEstudiantes(conEstudiantes != null ? conEstudiantes.getEstudiantes() : new HashSet<>());
+    }
+
+    /**
+     * Reemplaza una contraseña en texto plano (o con menos iteraciones) por el hash actual
+     * Si falla, el login sigue siendo válido y se reintenta en el próximo inicio de sesión
+     */
+    private void actualizarContrasena(TokenUsuario token, String anterior, String nueva) {
+        try {
+            UnidadTrabajo.ejecutar("login.actualizarContrasena", em -> {
+                TokenUsuario gestionado = em.find(TokenUsuario.class, token.getIdToken());
+                // Solo si nadie la cambió mientras tanto
+                if (gestionado != null && anterior.equals(gestionado.getContrasena())) {
+                    gestionado.setContrasena(nueva);
+                }
+                return ResultadoOperacion.exito("Contraseña actualizada");
+            });
+            token.setContrasena(nueva);
+        } catch (Exception e) {
+            System.err.println("No se pudo actualizar el hash de la contraseña de " +
+                token.getNombreUsuario() + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Navega a la pantalla correspondiente según el rol del usuario autenticado
      * IMPORTANTE: Maneja la validación de hojas de vida para acudientes
@@ -129,55 +204,36 @@ public class LoginController {
 
     /**
      * Maneja el login del acudiente verificando si debe completar hojas de vida
+     * Solo cuentan los estudiantes aprobados (los mismos que muestra el diálogo); los
+     * pendientes o rechazados no obligan a nada. Los estudiantes y sus hojas llegan
+     * cargados del login, que los necesita igual para la sesión: aquí no se consulta la base.
      */
     private void manejarLoginAcudiente(Acudiente acudiente) {
-        // Verificar si tiene estudiantes y si las hojas de vida están completas
-        var hojaVidaController = new GestionHojaVidaController();
-        ResultadoOperacion resultado = hojaVidaController.verificarHojasVidaCompletas(acudiente);
-        
-        if (resultado.isExitoso()) {
-            Boolean todasCompletas = (Boolean) resultado.getDatos();
+        if (acudiente.requiereCompletarHojasVida()) {
+            // Mostrar diálogo OBLIGATORIO de hojas de vida
+            AcudienteFrame frameTemp = new AcudienteFrame(acudiente);
             
-            if (!todasCompletas) {
-                // Mostrar diálogo OBLIGATORIO de hojas de vida
-                AcudienteFrame frameTemp = new AcudienteFrame(acudiente);
-                
-                DiligenciarHojaVidaDialog dialogo = new DiligenciarHojaVidaDialog(
-                    frameTemp, acudiente, hojaVidaController);
-                dialogo.setVisible(true);
-                
-                // Verificar si completó las hojas de vida
-                if (dialogo.seCompletaronTodasLasHojas()) {
-                    // Permitir acceso al frame
-                    AcudienteFrame acudienteFrame = new AcudienteFrame(acudiente);
-                    acudienteFrame.setVisible(true);
-                } else {
-                    // Volver al login
-                    LoginFrame loginFrame = new LoginFrame();
-                    loginFrame.setVisible(true);
-                }
-                
-                frameTemp.dispose();
-                return;
+            DiligenciarHojaVidaDialog dialogo = new DiligenciarHojaVidaDialog(
+                frameTemp, acudiente, new GestionHojaVidaController());
+            dialogo.setVisible(true);
+            
+            // Verificar si completó las hojas de vida
+            if (dialogo.seCompletaronTodasLasHojas()) {
+                // Permitir acceso al frame
+                AcudienteFrame acudienteFrame = new AcudienteFrame(acudiente);
+                acudienteFrame.setVisible(true);
+            } else {
+                // Volver al login
+                LoginFrame loginFrame = new LoginFrame();
+                loginFrame.setVisible(true);
             }
+            
+            frameTemp.dispose();
+            return;
         }
         
         // Hojas completas o sin estudiantes - acceso normal
         AcudienteFrame acudienteFrame = new AcudienteFrame(acudiente);
         acudienteFrame.setVisible(true);
     }
-
-    /**
-     * Verifica si la cuenta está bloqueada
-     */
-    public boolean estaBloqueado() {
-        return intentosFallidos >= MAX_INTENTOS;
-    }
-
-    /**
-     * Resetea los intentos fallidos (útil para testing)
-     */
-    public void resetearIntentos() {
-        intentosFallidos = 0;
-    }
-}
\ No newline at end of file
+}
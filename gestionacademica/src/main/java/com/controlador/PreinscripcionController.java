@@ -1,11 +1,20 @@
 package com.controlador;
 
-import com.aplicacion.JPAUtil;
+import com.modelo.FiltroDuplicados;
+import com.modelo.busqueda.BusquedaPersonas;
 import com.modelo.dominio.*;
+import com.modelo.dto.CamposDuplicados;
+import com.modelo.dto.PersonaEncontrada;
+import com.modelo.importacion.ImportacionPreinscripciones;
+import com.modelo.persistencia.UnidadTrabajo;
 import com.modelo.persistencia.repositorios.*;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
 
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -13,22 +22,8 @@ import java.util.stream.Collectors;
 import javax.swing.JFrame;
 
 public class PreinscripcionController extends JFrame{
-    private final RepositorioGenerico<Preinscripcion> repoPreinscripcion;
-    private final RepositorioGenerico<Acudiente> repoAcudiente;
-    private final RepositorioGenerico<Estudiante> repoEstudiante;
-    private final UsuarioRepositorio usuarioRepositorio;
-    private final GradoRepositorio gradoRepositorio;
-    private final EstudianteRepositorio estudianteRepositorio;
-    private final EntityManager entityManager;
-    
+
     public PreinscripcionController() {
-        this.entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
-        this.repoPreinscripcion = new RepositorioGenerico<>(entityManager, Preinscripcion.class);
-        this.repoAcudiente = new RepositorioGenerico<>(entityManager, Acudiente.class);
-        this.repoEstudiante = new RepositorioGenerico<>(entityManager, Estudiante.class);
-        this.gradoRepositorio = new GradoRepositorio(entityManager);
-        this.usuarioRepositorio = new UsuarioRepositorio(entityManager);
-        this.estudianteRepositorio = new EstudianteRepositorio(entityManager);
     }
     
     /**
@@ -75,22 +70,15 @@ public class PreinscripcionController extends JFrame{
         }
         
         // 4. Verificar duplicados en repositorios
-        if (usuarioRepositorio.existePorNuip(nuip)) {
-            return ResultadoOperacion.errorValidacion("nuip",
-                "Ya existe un usuario registrado con este NUIP");
-        }
-        
-        if (usuarioRepositorio.existePorCorreo(correoElectronico)) {
-            return ResultadoOperacion.errorValidacion("correoElectronico",
-                "Ya existe un usuario registrado con este correo electrónico");
-        }
-        
-        if (usuarioRepositorio.existePorTelefono(telefono)) {
-            return ResultadoOperacion.errorValidacion("telefono",
-                "Ya existe un usuario registrado con este teléfono");
+        try {
+            // Una consulta para los tres campos, ninguna si el filtro los descarta
+            CamposDuplicados duplicados = UnidadTrabajo.consultar("preinscripcion.validarAcudiente",
+                em -> FiltroDuplicados.buscarUsuario(em, nuip, correoElectronico, telefono));
+            ResultadoOperacion error = errorDuplicados(duplicados);
+            return error != null ? error : ResultadoOperacion.exito("Datos válidos");
+        } catch (Exception e) {
+            return ResultadoOperacion.error("Error al verificar duplicados: " + e.getMessage());
         }
-        
-        return ResultadoOperacion.exito("Datos válidos");
     }
     
     /**
@@ -113,40 +101,46 @@ public class PreinscripcionController extends JFrame{
             return ResultadoOperacion.errorValidacion("edad", "La edad debe ser un número válido");
         }
         
-        // 2. Verificar que el grado existe
-        Optional<Grado> gradoOpt = gradoRepositorio.buscarPornombreGrado(nombreGrado);
-        if (!gradoOpt.isPresent()) {
-            return ResultadoOperacion.errorValidacion("gradoAspira",
-                "El grado seleccionado no existe");
-        }
+        try {
+            return UnidadTrabajo.consultar("preinscripcion.validarEstudiante", em -> {
+                // 2. Verificar que el grado existe
+                Optional<Grado> gradoOpt = new GradoRepositorio(em).buscarPornombreGrado(nombreGrado);
+                if (!gradoOpt.isPresent()) {
+                    return ResultadoOperacion.errorValidacion("gradoAspira",
+                        "El grado seleccionado no existe");
+                }
         
-        // 3. Crear objeto de dominio (responsabilidad controlador)
-        Estudiante estudiante = new Estudiante();
-        estudiante.setPrimerNombre(primerNombre);
-        estudiante.setSegundoNombre(segundoNombre);
-        estudiante.setPrimerApellido(primerApellido);
-        estudiante.setSegundoApellido(segundoApellido);
-        estudiante.setEdad(edad);
-        estudiante.setNuip(nuip);
-        estudiante.setGradoAspira(gradoOpt.get());
+                // 3. Crear objeto de dominio (responsabilidad controlador)
+                Estudiante estudiante = new Estudiante();
+                estudiante.setPrimerNombre(primerNombre);
+                estudiante.setSegundoNombre(segundoNombre);
+                estudiante.setPrimerApellido(primerApellido);
+                estudiante.setSegundoApellido(segundoApellido);
+                estudiante.setEdad(edad);
+                estudiante.setNuip(nuip);
+                estudiante.setGradoAspira(gradoOpt.get());
         
-        // 4. Delegar validación al MODELO
-        ResultadoValidacionDominio validacion = estudiante.validar();
+                // 4. Delegar validación al MODELO
+                ResultadoValidacionDominio validacion = estudiante.validar();
         
-        if (!validacion.isValido()) {
-            return ResultadoOperacion.errorValidacion(
-                validacion.getCampoInvalido(),
-                validacion.getMensajeError()
-            );
-        }
+                if (!validacion.isValido()) {
+                    return ResultadoOperacion.errorValidacion(
+                        validacion.getCampoInvalido(),
+                        validacion.getMensajeError()
+                    );
+                }
         
-        // 5. Verificar duplicados en repositorios
-        if (estudianteRepositorio.existePorNuip(nuip)) {
-            return ResultadoOperacion.errorValidacion("nuip",
-                "Ya existe un estudiante registrado con este NUIP");
-        }
+                // 5. Verificar duplicados (el filtro evita la consulta si el NUIP es nuevo)
+                if (FiltroDuplicados.existeEstudiante(em, nuip)) {
+                    return ResultadoOperacion.errorValidacion("nuip",
+                        "Ya existe un estudiante registrado con este NUIP");
+                }
 
-        return ResultadoOperacion.exito("Datos válidos");
+                return ResultadoOperacion.exito("Datos válidos");
+            });
+        } catch (Exception e) {
+            return ResultadoOperacion.error("Error al validar el estudiante: " + e.getMessage());
+        }
     }
     
     // ========== MÉTODO PRINCIPAL DE REGISTRO ==========
@@ -168,93 +162,191 @@ public class PreinscripcionController extends JFrame{
                 "Solo puede inscribir máximo " + Acudiente.MAX_ESTUDIANTES + " estudiantes");
         }
         
-        EntityTransaction transaction = entityManager.getTransaction();
-        
+        // Se agregan a la búsqueda de personas solo si la transacción se confirma
+        List<PersonaEncontrada> personasNuevas = new ArrayList<>();
         try {
-            transaction.begin();
-            
-            // 2. Crear y guardar acudiente
-            Acudiente acudiente = crearAcudienteDesdeDatos(datosAcudiente);
-            ResultadoValidacionDominio validacionAcudiente = acudiente.validar();
+            ResultadoOperacion registrada = UnidadTrabajo.ejecutar("preinscripcion.registrar", em -> {
+                personasNuevas.clear();
+                // 2. Crear y guardar acudiente
+                Acudiente acudiente = crearAcudienteDesdeDatos(datosAcudiente);
+                ResultadoValidacionDominio validacionAcudiente = acudiente.validar();
             
-            if (!validacionAcudiente.isValido()) {
-                transaction.rollback();
-                return ResultadoOperacion.errorValidacion(
-                    validacionAcudiente.getCampoInvalido(),
-                    validacionAcudiente.getMensajeError()
-                );
-            }
+                if (!validacionAcudiente.isValido()) {
+                    return ResultadoOperacion.errorValidacion(
+                        validacionAcudiente.getCampoInvalido(),
+                        validacionAcudiente.getMensajeError()
+                    );
+                }
             
-            if (usuarioRepositorio.existePorNuip(datosAcudiente.get("nuip"))) {
-                transaction.rollback();
-                return ResultadoOperacion.errorValidacion("nuip",
-                    "Ya existe un acudiente registrado con este NUIP");
-            }
+                CamposDuplicados duplicados = FiltroDuplicados.buscarUsuario(em,
+                    acudiente.getNuipUsuario(), acudiente.getCorreoElectronico(), acudiente.getTelefono());
+                if (duplicados.nuip()) {
+                    return ResultadoOperacion.errorValidacion("nuip",
+                        "Ya existe un acudiente registrado con este NUIP");
+                }
+                if (duplicados.hayDuplicados()) {
+                    return errorDuplicados(duplicados);
+                }
             
-            repoAcudiente.guardar(acudiente);
+                new RepositorioGenerico<>(em, Acudiente.class).guardar(acudiente);
+                personasNuevas.add(PersonaEncontrada.de(acudiente));
             
-            // 3. Crear preinscripción
-            Preinscripcion preinscripcion = new Preinscripcion();
-            preinscripcion.setFechaRegistro(LocalDate.now());
-            preinscripcion.setEstado(Estado.Pendiente);
-            preinscripcion.setAcudiente(acudiente);
-            repoPreinscripcion.guardar(preinscripcion);
+                // 3. Crear preinscripción
+                Preinscripcion preinscripcion = new Preinscripcion();
+                preinscripcion.setFechaRegistro(LocalDate.now());
+                preinscripcion.setEstado(Estado.Pendiente);
+                preinscripcion.setAcudiente(acudiente);
+                new RepositorioGenerico<>(em, Preinscripcion.class).guardar(preinscripcion);
             
-            // 4. Procesar estudiantes
-            for (Map<String, String> datosEst : datosEstudiantes) {
-                Estudiante estudiante = crearEstudianteDesdeDatos(datosEst);
+                // 4. Procesar estudiantes
+                RepositorioGenerico<Estudiante> repoEstudiante = new RepositorioGenerico<>(em, Estudiante.class);
+                for (Map<String, String> datosEst : datosEstudiantes) {
+                    Estudiante estudiante = crearEstudianteDesdeDatos(em, datosEst);
                 
-                // Validar estudiante
-                ResultadoValidacionDominio validacionEst = estudiante.validar();
-                if (!validacionEst.isValido()) {
-                    transaction.rollback();
-                    return ResultadoOperacion.errorValidacion(
-                        validacionEst.getCampoInvalido(),
-                        validacionEst.getMensajeError()
-                    );
-                }
+                    // Validar estudiante
+                    ResultadoValidacionDominio validacionEst = estudiante.validar();
+                    if (!validacionEst.isValido()) {
+                        return ResultadoOperacion.errorValidacion(
+                            validacionEst.getCampoInvalido(),
+                            validacionEst.getMensajeError()
+                        );
+                    }
                 
-                if (estudianteRepositorio.existePorNuip(datosEst.get("nuip"))) {
-                    transaction.rollback();
-                    return ResultadoOperacion.errorValidacion("nuip",
-                        "Ya existe un estudiante registrado con este NUIP");
-                }
+                    if (FiltroDuplicados.existeEstudiante(em, estudiante.getNuip())) {
+                        return ResultadoOperacion.errorValidacion("nuip",
+                            "Ya existe un estudiante registrado con este NUIP");
+                    }
                 
-                // Establecer relaciones
-                estudiante.setAcudiente(acudiente);
-                estudiante.setPreinscripcion(preinscripcion);
-                estudiante.setEstado(Estado.Pendiente);
+                    // Establecer relaciones
+                    estudiante.setAcudiente(acudiente);
+                    estudiante.setPreinscripcion(preinscripcion);
+                    estudiante.setEstado(Estado.Pendiente);
                 
-                // Agregar al acudiente (regla de negocio en dominio)
-                try {
-                    acudiente.agregarEstudiante(estudiante);
-                } catch (Acudiente.DomainException e) {
-                    transaction.rollback();
-                    return ResultadoOperacion.error(e.getMessage());
-                }
+                    // Agregar al acudiente (regla de negocio en dominio)
+                    try {
+                        acudiente.agregarEstudiante(estudiante);
+                    } catch (Acudiente.DomainException e) {
+                        return ResultadoOperacion.error(e.getMessage());
+                    }
                 
-                repoEstudiante.guardar(estudiante);
-            }
+                    repoEstudiante.guardar(estudiante);
+                    personasNuevas.add(PersonaEncontrada.de(estudiante));
+                }
             
-            // 5. Completar transacción
-            entityManager.refresh(preinscripcion);
-            transaction.commit();
+                // 5. Completar transacción
+                em.refresh(preinscripcion);
+                
+                return ResultadoOperacion.exitoConDatos(
+                    "Preinscripción registrada exitosamente",
+                    preinscripcion.getIdPreinscripcion()
+                );
+            });
             
-            return ResultadoOperacion.exitoConDatos(
-                "Preinscripción registrada exitosamente",
-                preinscripcion.getIdPreinscripcion()
-            );
+            if (registrada.isExitoso()) {
+                registrarEnFiltro(datosAcudiente, datosEstudiantes);
+                BusquedaPersonas.registrar(personasNuevas);
+            }
+            return registrada;
             
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+            // Un duplicado registrado desde otro equipo que el filtro aún no conocía:
+            // se agrega al filtro y la nueva verificación consulta la base para nombrar el campo
+            if (UnidadTrabajo.esViolacionUnica(e)) {
+                registrarEnFiltro(datosAcudiente, datosEstudiantes);
+                ResultadoOperacion duplicado = buscarDuplicado(datosAcudiente, datosEstudiantes);
+                if (duplicado != null) {
+                    return duplicado;
+                }
             }
             return ResultadoOperacion.error(
                 "Error al guardar la preinscripción: " + e.getMessage()
             );
         }
-        finally{
-            entityManager.close();
+    }
+    
+    /**
+     * Agrega al filtro de duplicados los valores de una preinscripción
+     */
+    private void registrarEnFiltro(Map<String, String> datosAcudiente,
+                                   List<Map<String, String>> datosEstudiantes) {
+        FiltroDuplicados.registrarUsuario(datosAcudiente.get("nuip"),
+            datosAcudiente.get("correoElectronico"), datosAcudiente.get("telefono"));
+        for (Map<String, String> datosEst : datosEstudiantes) {
+            FiltroDuplicados.registrarEstudiante(datosEst.get("nuip"));
+        }
+    }
+    
+    /**
+     * Busca en la base el campo duplicado que hizo fallar el registro
+     * @return el error de validación, o null si no se encontró
+     */
+    private ResultadoOperacion buscarDuplicado(Map<String, String> datosAcudiente,
+                                               List<Map<String, String>> datosEstudiantes) {
+        try {
+            return UnidadTrabajo.consultar("preinscripcion.buscarDuplicado", em -> {
+                ResultadoOperacion error = errorDuplicados(FiltroDuplicados.buscarUsuario(em,
+                    datosAcudiente.get("nuip"), datosAcudiente.get("correoElectronico"),
+                    datosAcudiente.get("telefono")));
+                if (error != null) {
+                    return error;
+                }
+                for (Map<String, String> datosEst : datosEstudiantes) {
+                    if (FiltroDuplicados.existeEstudiante(em, datosEst.get("nuip"))) {
+                        return ResultadoOperacion.errorValidacion("nuip",
+                            "Ya existe un estudiante registrado con este NUIP");
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Error del primer campo del acudiente que ya usa otro usuario (NUIP, correo, teléfono)
+     * @return el error de validación, o null si no hay duplicados
+     */
+    private ResultadoOperacion errorDuplicados(CamposDuplicados duplicados) {
+        if (duplicados.nuip()) {
+            return ResultadoOperacion.errorValidacion("nuip",
+                "Ya existe un usuario registrado con este NUIP");
+        }
+        if (duplicados.correoElectronico()) {
+            return ResultadoOperacion.errorValidacion("correoElectronico",
+                "Ya existe un usuario registrado con este correo electrónico");
+        }
+        if (duplicados.telefono()) {
+            return ResultadoOperacion.errorValidacion("telefono",
+                "Ya existe un usuario registrado con este teléfono");
+        }
+        return null;
+    }
+    
+    // ========== IMPORTACIÓN MASIVA ==========
+    
+    /**
+     * Importa las preinscripciones de un CSV enviado por un jardín aliado (una fila por estudiante)
+     * Las filas rechazadas y su motivo quedan en el archivo de reporte; en datos va el
+     * ResultadoImportacion. Ver ImportacionPreinscripciones para el formato y las columnas.
+     */
+    public ResultadoOperacion importarPreinscripciones(Path archivoCsv, Path archivoReporte) {
+        try (Reader csv = Files.newBufferedReader(archivoCsv, StandardCharsets.UTF_8);
+             Writer reporte = Files.newBufferedWriter(archivoReporte, StandardCharsets.UTF_8)) {
+            ImportacionPreinscripciones.ResultadoImportacion resultado =
+                new ImportacionPreinscripciones().ejecutar(csv, reporte);
+            
+            String mensaje = String.format("Se importaron %d familias (%d estudiantes) en %.1f s",
+                resultado.getFamiliasImportadas(), resultado.getEstudiantesImportados(),
+                resultado.getDuracionMs() / 1000);
+            if (resultado.getFamiliasRechazadas() > 0) {
+                mensaje += String.format("; %d familias rechazadas, ver %s",
+                    resultado.getFamiliasRechazadas(), archivoReporte.getFileName());
+            }
+            return ResultadoOperacion.exitoConDatos(mensaje, resultado);
+            
+        } catch (Exception e) {
+            return ResultadoOperacion.error("Error al importar las preinscripciones: " + e.getMessage());
         }
     }
     
@@ -280,7 +372,7 @@ public class PreinscripcionController extends JFrame{
     /**
      * Construye Estudiante desde datos primitivos - Responsabilidad controlador
      */
-    private Estudiante crearEstudianteDesdeDatos(Map<String, String> datos) {
+    private Estudiante crearEstudianteDesdeDatos(EntityManager em, Map<String, String> datos) {
         Estudiante estudiante = new Estudiante();
         estudiante.setPrimerNombre(datos.get("primerNombre"));
         estudiante.setSegundoNombre(datos.get("segundoNombre"));
@@ -290,7 +382,7 @@ public class PreinscripcionController extends JFrame{
         estudiante.setNuip(datos.get("nuip"));
         
         // Buscar grado
-        Optional<Grado> gradoOpt = gradoRepositorio.buscarPornombreGrado(
+        Optional<Grado> gradoOpt = new GradoRepositorio(em).buscarPornombreGrado(
             datos.get("gradoAspira")
         );
         gradoOpt.ifPresent(estudiante::setGradoAspira);
@@ -305,7 +397,8 @@ public class PreinscripcionController extends JFrame{
      */
     public ResultadoOperacion obtenerGradosDisponibles() {
         try {
-            List<Grado> grados = gradoRepositorio.buscarTodos();
+            List<Grado> grados = UnidadTrabajo.consultar("preinscripcion.gradosDisponibles",
+                em -> new GradoRepositorio(em).buscarTodos());
             List<String> nombresGrados = grados.stream()
                 .map(Grado::getNombreGrado)
                 .collect(Collectors.toList());
@@ -1,51 +1,162 @@
 // Archivo: AsignadorGrupos.java
 package com.modelo;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.aplicacion.Configuracion;
+import com.modelo.asignacion.EstrategiaAsignacion;
+import com.modelo.asignacion.IndiceCupos;
+import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.Grado;
 import com.modelo.dominio.Grupo;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.EstudianteRepositorio;
+import com.modelo.persistencia.repositorios.GradoRepositorio;
+import com.modelo.persistencia.repositorios.GrupoRepositorio;
+
+import jakarta.persistence.EntityManager;
 
 /**
  * Clase simple para manejar la lógica de asignación de estudiantes a grupos
  */
 public class AsignadorGrupos {
+    // Estrategia configurada en asignacion.estrategia (por defecto mas-lleno)
+    private static final EstrategiaAsignacion ESTRATEGIA = EstrategiaAsignacion.crearDesdeConfiguracion();
+    
+    /**
+     * Crea un índice de cupos vacío ordenado según la estrategia configurada
+     */
+    public static IndiceCupos crearIndice() {
+        return new IndiceCupos(ESTRATEGIA);
+    }
+    
+    public static EstrategiaAsignacion getEstrategia() {
+        return ESTRATEGIA;
+    }
+    
+    /**
+     * Encuentra el mejor grupo disponible para un estudiante según la estrategia del índice
+     * @return el grupo elegido, o null si hay que crear uno nuevo
+     */
+    public static Grupo encontrarGrupoParaEstudiante(IndiceCupos indice, Integer idGrado, Estudiante estudiante) {
+        return indice.elegir(idGrado, estudiante);
+    }
     
     /**
-     * Encuentra el mejor grupo disponible para un estudiante
-     * Estrategia simple: Llenar grupos secuencialmente
+     * Si la estrategia junta hermanos, registra en el índice en qué grupos de estos grados
+     * ya hay hijos de los acudientes de los estudiantes. Es una consulta agrupada por
+     * acudiente para todo el lote, en vez de cargar los hijos de cada acudiente al elegir.
      */
-    public static Grupo encontrarGrupoParaEstudiante(List<Grupo> gruposDelGrado) {
-        if (gruposDelGrado == null || gruposDelGrado.isEmpty()) {
-            return null;
+    public static void registrarHermanos(EntityManager em, IndiceCupos indice,
+                                         Collection<Integer> idsGrado, Collection<Estudiante> estudiantes) {
+        if (!ESTRATEGIA.necesitaHermanos()) {
+            return;
         }
-        
-        // Ordenar grupos por:
-        // 1. Primero los que no están llenos
-        // 2. Luego por cantidad de estudiantes (más llenos primero)
-        // 3. Finalmente por ID (más antiguos primero)
-        gruposDelGrado.sort(Comparator
-            .comparing((Grupo g) -> !g.estaLleno())  // Primero los no llenos
-            .thenComparing(Comparator.comparingInt(Grupo::getCantidadEstudiantes).reversed()) // Más llenos primero
-            .thenComparing(Grupo::getIdGrupo) // Más antiguos primero
-        );
-        
-        // Tomar el primer grupo que no esté lleno
-        for (Grupo grupo : gruposDelGrado) {
-            if (!grupo.estaLleno()) {
-                return grupo;
+        Set<Integer> idsAcudiente = new HashSet<>();
+        for (Estudiante estudiante : estudiantes) {
+            if (estudiante.getAcudiente() != null) {
+                idsAcudiente.add(estudiante.getAcudiente().getIdUsuario());
             }
         }
-        
-        // Todos están llenos
-        return null;
+        for (Object[] fila : new EstudianteRepositorio(em).buscarGruposPorAcudiente(idsAcudiente, idsGrado)) {
+            indice.registrarHermano((Integer) fila[0], (Integer) fila[1]);
+        }
     }
     
     /**
-     * Genera el nombre para un nuevo grupo
+     * Corrige el contador cantidadEstudiantes de los grupos que no coincidan con el conteo real
+     * Bloquea todos los grados como la aprobación, así no corre a la vez con una asignación.
+     * Se llama al arrancar, una vez lista la persistencia.
      */
-    public static String generarNombreNuevoGrupo(Grado grado, long cantidadGruposExistentes) {
-        return String.format("%s-%d", grado.getNombreGrado(), cantidadGruposExistentes + 1);
+    public static void repararCantidadesEstudiantes() {
+        try {
+            int corregidos = UnidadTrabajo.ejecutar("grupos.repararCantidades", em -> {
+                GradoRepositorio repositorioGrados = new GradoRepositorio(em);
+                List<Integer> idsGrado = new ArrayList<>();
+                for (Grado grado : repositorioGrados.buscarTodos()) {
+                    idsGrado.add(grado.getIdGrado());
+                }
+                repositorioGrados.bloquearParaAsignacion(idsGrado,
+                    Configuracion.obtenerLargo("aprobacion.bloqueo.grado.espera.ms", 5000));
+                return new GrupoRepositorio(em).repararCantidadEstudiantes();
+            });
+            if (corregidos > 0) {
+                System.out.println("Grupos con cantidad de estudiantes corregida: " + corregidos);
+            }
+        } catch (Exception e) {
+            System.err.println("No se pudo reparar la cantidad de estudiantes de los grupos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Si falta la restricción de nombre único de grupo (hbm2ddl no la crea en una base que
+     * ya tenía dos grupos con el mismo nombre en un grado), renombra los repetidos con el
+     * siguiente número libre (el grupo más antiguo conserva el nombre) y la crea.
+     * Bloquea todos los grados como la aprobación. Se llama al arrancar.
+     */
+    public static void repararNombresRepetidos() {
+        try {
+            List<String> renombrados = UnidadTrabajo.ejecutar("grupos.repararNombres", em -> {
+                GrupoRepositorio repositorioGrupos = new GrupoRepositorio(em);
+                List<String> cambios = new ArrayList<>();
+                if (repositorioGrupos.existeRestriccionNombreUnico()) {
+                    return cambios;
+                }
+                
+                GradoRepositorio repositorioGrados = new GradoRepositorio(em);
+                List<Integer> idsGrado = new ArrayList<>();
+                for (Grado grado : repositorioGrados.buscarTodos()) {
+                    idsGrado.add(grado.getIdGrado());
+                }
+                repositorioGrados.bloquearParaAsignacion(idsGrado,
+                    Configuracion.obtenerLargo("aprobacion.bloqueo.grado.espera.ms", 5000));
+                
+                Map<Integer, List<Grupo>> gruposPorGrado = new HashMap<>();
+                for (Grupo repetido : repositorioGrupos.buscarNombresRepetidos()) {
+                    Grado grado = repetido.getGrado();
+                    // Misma instancia que en la lista: el nombre nuevo cuenta para el siguiente
+                    List<Grupo> delGrado = gruposPorGrado.computeIfAbsent(grado.getIdGrado(),
+                        repositorioGrupos::buscarPorGrado);
+                    String anterior = repetido.getNombreGrupo();
+                    repetido.setNombreGrupo(generarNombreNuevoGrupo(grado, delGrado));
+                    cambios.add(anterior + " -> " + repetido.getNombreGrupo());
+                }
+                em.flush();
+                repositorioGrupos.crearRestriccionNombreUnico();
+                return cambios;
+            });
+            if (!renombrados.isEmpty()) {
+                System.out.println("Grupos con nombre repetido renombrados: " + String.join(", ", renombrados));
+            }
+        } catch (Exception e) {
+            System.err.println("ERROR: falta la restricción " + Grupo.RESTRICCION_NOMBRE_UNICO +
+                " y no se pudo crear; dos aprobaciones podrían repetir un nombre de grupo: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Genera el nombre para un nuevo grupo: el siguiente número libre del grado
+     * Recibe los grupos existentes (no solo la cantidad) para no repetir un nombre
+     * cuando falta algún número intermedio.
+     */
+    public static String generarNombreNuevoGrupo(Grado grado, Collection<Grupo> gruposDelGrado) {
+        Set<String> nombresUsados = new HashSet<>();
+        for (Grupo grupo : gruposDelGrado) {
+            nombresUsados.add(grupo.getNombreGrupo());
+        }
+        
+        int numero = gruposDelGrado.size() + 1;
+        String nombre = String.format("%s-%d", grado.getNombreGrado(), numero);
+        while (nombresUsados.contains(nombre)) {
+            numero++;
+            nombre = String.format("%s-%d", grado.getNombreGrado(), numero);
+        }
+        return nombre;
     }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.modelo;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.aplicacion.Configuracion;
+import com.modelo.dominio.IntentoLogin;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.IntentoLoginRepositorio;
+
+/**
+ * Límite de intentos de inicio de sesión por usuario y por equipo
+ * Responsabilidad: Decidir si un intento puede verificarse y registrar el resultado.
+ *
+ * Dos niveles, del más barato al más caro:
+ *  1. Cubetas de fichas en memoria (usuario+equipo y equipo): cortan ráfagas
+ *     sin tocar la base de datos.
+ *  2. Ventana deslizante en la tabla intento_login: bloquea al usuario tras
+ *     seguridad.login.maximo.fallidos fallos (o al equipo tras
+ *     seguridad.login.maximo.fallidos.equipo) dentro de la ventana. Como está en
+ *     la base de datos, vale para todas las ventanas e instancias y sobrevive reinicios.
+ *
+ * Un bloqueo conocido se recuerda en memoria hasta que vence, así los reintentos
+ * sobre una cuenta bloqueada tampoco consultan la base de datos.
+ */
+public final class ControlIntentosLogin {
+
+    private static final Duration VENTANA = Duration.ofMinutes(
+        Math.max(1, Configuracion.obtenerLargo("seguridad.login.ventana.minutos", 15)));
+    private static final int MAXIMO_FALLIDOS =
+        Math.max(1, Configuracion.obtenerEntero("seguridad.login.maximo.fallidos", 3));
+    private static final int MAXIMO_FALLIDOS_EQUIPO =
+        Math.max(1, Configuracion.obtenerEntero("seguridad.login.maximo.fallidos.equipo", 30));
+    private static final int RAFAGA =
+        Math.max(1, Configuracion.obtenerEntero("seguridad.login.rafaga", 5));
+    private static final int INTENTOS_POR_MINUTO =
+        Math.max(1, Configuracion.obtenerEntero("seguridad.login.intentos.por.minuto", 10));
+    private static final int RAFAGA_EQUIPO =
+        Math.max(1, Configuracion.obtenerEntero("seguridad.login.rafaga.equipo", 20));
+    private static final int INTENTOS_POR_MINUTO_EQUIPO =
+        Math.max(1, Configuracion.obtenerEntero("seguridad.login.intentos.por.minuto.equipo", 60));
+    private static final int MAXIMO_CLAVES_EN_MEMORIA = 10_000;
+
+    private static final String EQUIPO_LOCAL = obtenerEquipoLocal();
+
+    private static final Map<String, CubetaFichas> cubetas = new ConcurrentHashMap<>();
+    private static final Map<String, Long> bloqueadosHasta = new ConcurrentHashMap<>();
+
+    private static final LongAdder permitidos = new LongAdder();
+    private static final LongAdder rechazadosRafaga = new LongAdder();
+    private static final LongAdder rechazadosBloqueo = new LongAdder();
+    private static final LongAdder bloqueosEnMemoria = new LongAdder();
+    private static final LongAdder fallidosRegistrados = new LongAdder();
+    private static final LongAdder consultas = new LongAdder();
+    private static final LongAdder nanosConsultas = new LongAdder();
+
+    private ControlIntentosLogin() {
+    }
+
+    public enum Estado {
+        PERMITIDO,
+        // Demasiados intentos seguidos: se rechaza sin consultar ni contar como fallo
+        LIMITADO,
+        BLOQUEADO
+    }
+
+    /**
+     * Decisión para un intento; en PERMITIDO trae los fallos vigentes del usuario
+     */
+    public static class Decision {
+        private final Estado estado;
+        private final int fallidosPrevios;
+        private final long segundosRestantes;
+
+        private Decision(Estado estado, int fallidosPrevios, long segundosRestantes) {
+            this.estado = estado;
+            this.fallidosPrevios = fallidosPrevios;
+            this.segundosRestantes = segundosRestantes;
+        }
+
+        public Estado getEstado() { return estado; }
+        public boolean isPermitido() { return estado == Estado.PERMITIDO; }
+        public int getFallidosPrevios() { return fallidosPrevios; }
+
+        /**
+         * Tiempo hasta que el bloqueo (o la cubeta) vuelve a admitir un intento
+         */
+        public long getSegundosRestantes() { return segundosRestantes; }
+    }
+
+    /**
+     * Nombre del equipo desde el que se inicia sesión en esta instancia
+     */
+    public static String getEquipoLocal() { return EQUIPO_LOCAL; }
+
+    public static int getMaximoFallidos() { return MAXIMO_FALLIDOS; }
+
+    /**
+     * Decide si el intento puede verificarse. Llamar antes de calcular el hash.
+     * Si la base de datos no responde se permite el intento: el login fallará igual
+     * al consultar el usuario y las cubetas siguen limitando las ráfagas.
+     */
+    public static Decision evaluar(String nombreUsuario, String equipo) {
+        String usuario = normalizar(nombreUsuario);
+
+        // 1. Ráfagas: solo memoria
+        long esperaNanos = Math.max(
+            cubeta("e|" + equipo, RAFAGA_EQUIPO, INTENTOS_POR_MINUTO_EQUIPO).tomar(),
+            cubeta("u|" + usuario + "|" + equipo, RAFAGA, INTENTOS_POR_MINUTO).tomar());
+        if (esperaNanos > 0) {
+            rechazadosRafaga.increment();
+            return new Decision(Estado.LIMITADO, 0, segundos(esperaNanos));
+        }
+
+        // 2. Bloqueo ya conocido: tampoco consulta la base de datos
+        long ahora = System.nanoTime();
+        Long hasta = bloqueadosHasta.get("u|" + usuario);
+        if (hasta == null) {
+            hasta = bloqueadosHasta.get("e|" + equipo);
+        }
+        if (hasta != null && hasta - ahora > 0) {
+            bloqueosEnMemoria.increment();
+            rechazadosBloqueo.increment();
+            return new Decision(Estado.BLOQUEADO, MAXIMO_FALLIDOS, segundos(hasta - ahora));
+        }
+
+        // 3. Ventana deslizante compartida
+        Object[] conteo;
+        long inicio = System.nanoTime();
+        LocalDateTime fechaActual = LocalDateTime.now();
+        try {
+            conteo = UnidadTrabajo.consultar("login.contarIntentos",
+                em -> new IntentoLoginRepositorio(em).contarFallidosDesde(usuario, equipo, fechaActual.minus(VENTANA)));
+        } catch (Exception e) {
+            System.err.println("No se pudo consultar los intentos de login: " + e.getMessage());
+            permitidos.increment();
+            return new Decision(Estado.PERMITIDO, 0, 0);
+        } finally {
+            consultas.increment();
+            nanosConsultas.add(System.nanoTime() - inicio);
+        }
+
+        int fallidosUsuario = conteo[0] == null ? 0 : ((Number) conteo[0]).intValue();
+        int fallidosEquipo = conteo[1] == null ? 0 : ((Number) conteo[1]).intValue();
+        LocalDateTime primerFallo = (LocalDateTime) conteo[2];
+
+        if (fallidosUsuario >= MAXIMO_FALLIDOS) {
+            // Se libera cuando el fallo más antiguo sale de la ventana
+            LocalDateTime libre = (primerFallo != null ? primerFallo : fechaActual).plus(VENTANA);
+            return bloquear("u|" + usuario, Duration.between(fechaActual, libre));
+        }
+        if (fallidosEquipo >= MAXIMO_FALLIDOS_EQUIPO) {
+            // Sin la fecha de cada fallo del equipo: se espera la ventana completa
+            return bloquear("e|" + equipo, VENTANA);
+        }
+
+        permitidos.increment();
+        return new Decision(Estado.PERMITIDO, fallidosUsuario, 0);
+    }
+
+    /**
+     * Registra un fallo y devuelve los fallos vigentes del usuario incluyéndolo
+     */
+    public static int registrarFallo(String nombreUsuario, String equipo, int fallidosPrevios) {
+        String usuario = normalizar(nombreUsuario);
+        fallidosRegistrados.increment();
+        try {
+            UnidadTrabajo.ejecutar("login.registrarFallo",
+                em -> new IntentoLoginRepositorio(em).registrar(new IntentoLogin(usuario, equipo, false)));
+        } catch (Exception e) {
+            System.err.println("No se pudo registrar el intento fallido de " + usuario + ": " + e.getMessage());
+        }
+
+        // El bloqueo se recuerda en memoria en el próximo evaluar(), con la fecha exacta de liberación
+        return fallidosPrevios + 1;
+    }
+
+    /**
+     * Registra un inicio de sesión correcto: los fallos anteriores del usuario dejan de contar
+     */
+    public static void registrarExito(String nombreUsuario, String equipo, int fallidosPrevios) {
+        String usuario = normalizar(nombreUsuario);
+        try {
+            UnidadTrabajo.ejecutar("login.registrarExito", em -> {
+                IntentoLoginRepositorio repositorio = new IntentoLoginRepositorio(em);
+                // Sin fallos previos no hay nada que cerrar: se ahorra el UPDATE
+                if (fallidosPrevios > 0) {
+                    repositorio.cerrarFallidosVigentes(usuario);
+                }
+                return repositorio.registrar(new IntentoLogin(usuario, equipo, true));
+            });
+        } catch (Exception e) {
+            System.err.println("No se pudo registrar el inicio de sesión de " + usuario + ": " + e.getMessage());
+        }
+        bloqueadosHasta.remove("u|" + usuario);
+    }
+
+    /**
+     * Borra el historial más antiguo que seguridad.login.retencion.dias
+     * Se llama al arrancar, una vez lista la persistencia.
+     */
+    public static void purgarAntiguos() {
+        long dias = Math.max(1, Configuracion.obtenerLargo("seguridad.login.retencion.dias", 30));
+        try {
+            int eliminados = UnidadTrabajo.ejecutar("login.purgarIntentos",
+                em -> new IntentoLoginRepositorio(em).eliminarAnterioresA(LocalDateTime.now().minusDays(dias)));
+            if (eliminados > 0) {
+                System.out.println("Intentos de login eliminados por antigüedad: " + eliminados);
+            }
+        } catch (Exception e) {
+            System.err.println("No se pudo purgar los intentos de login: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Contadores desde el arranque
+     */
+    public static String obtenerResumen() {
+        long totalConsultas = consultas.sum();
+        double promedioMs = totalConsultas == 0 ? 0 : nanosConsultas.sum() / 1_000_000.0 / totalConsultas;
+        return String.format("Login[permitidos=%d, ráfagas rechazadas=%d, bloqueados=%d (%d sin consulta), " +
+                "fallidos=%d, consultas=%d, promedio consulta=%.2f ms]",
+            permitidos.sum(), rechazadosRafaga.sum(), rechazadosBloqueo.sum(), bloqueosEnMemoria.sum(),
+            fallidosRegistrados.sum(), totalConsultas, promedioMs);
+    }
+
+    private static Decision bloquear(String clave, Duration restante) {
+        long nanos = Math.max(TimeUnit.SECONDS.toNanos(1), restante.toNanos());
+        bloqueadosHasta.put(clave, System.nanoTime() + nanos);
+        limpiarSiExcede();
+        rechazadosBloqueo.increment();
+        return new Decision(Estado.BLOQUEADO, MAXIMO_FALLIDOS, segundos(nanos));
+    }
+
+    private static CubetaFichas cubeta(String clave, int capacidad, int porMinuto) {
+        CubetaFichas cubeta = cubetas.computeIfAbsent(clave, c -> new CubetaFichas(capacidad, porMinuto));
+        limpiarSiExcede();
+        return cubeta;
+    }
+
+    /**
+     * Un ataque con muchos nombres distintos no debe hacer crecer la memoria sin límite:
+     * se descartan las cubetas llenas (equivalen a una nueva) y los bloqueos vencidos
+     */
+    private static void limpiarSiExcede() {
+        if (cubetas.size() > MAXIMO_CLAVES_EN_MEMORIA) {
+            cubetas.values().removeIf(CubetaFichas::estaLlena);
+        }
+        if (bloqueadosHasta.size() > MAXIMO_CLAVES_EN_MEMORIA) {
+            long ahora = System.nanoTime();
+            bloqueadosHasta.values().removeIf(hasta -> hasta - ahora <= 0);
+        }
+    }
+
+    private static String normalizar(String nombreUsuario) {
+        return nombreUsuario == null ? "" : nombreUsuario.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    private static String obtenerEquipoLocal() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "desconocido";
+        }
+    }
+
+    /**
+     * Cubeta de fichas: admite 'capacidad' intentos seguidos y se rellena a 'porMinuto'
+     */
+    private static class CubetaFichas {
+        private final int capacidad;
+        private final double fichasPorNano;
+        private double fichas;
+        private long ultimaRecarga;
+
+        CubetaFichas(int capacidad, int porMinuto) {
+            this.capacidad = capacidad;
+            this.fichasPorNano = porMinuto / (double) TimeUnit.MINUTES.toNanos(1);
+            this.fichas = capacidad;
+            this.ultimaRecarga = System.nanoTime();
+        }
+
+        /**
+         * Toma una ficha; devuelve 0 si la obtuvo o los nanosegundos hasta la próxima
+         */
+        synchronized long tomar() {
+            recargar();
+            if (fichas >= 1) {
+                fichas -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - fichas) / fichasPorNano);
+        }
+
+        synchronized boolean estaLlena() {
+            recargar();
+            return fichas >= capacidad;
+        }
+
+        private void recargar() {
+            long ahora = System.nanoTime();
+            fichas = Math.min(capacidad, fichas + (ahora - ultimaRecarga) * fichasPorNano);
+            ultimaRecarga = ahora;
+        }
+    }
+}
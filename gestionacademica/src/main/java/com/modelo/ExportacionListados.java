@@ -0,0 +1,250 @@
+package com.modelo;
+
+import com.aplicacion.Configuracion;
+import com.modelo.GeneradorPDFListado.Encabezado;
+import com.modelo.GeneradorPDFListado.FormatoExportacion;
+import com.modelo.GeneradorPDFListado.ListadoClase;
+import com.modelo.GeneradorPDFListado.ListadoGenerado;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exportación de listados de clase con aviso de avance y cancelación
+ * Responsabilidad: Repartir los grupos entre un número fijo de hilos, escribir los
+ * documentos en el orden original y avisar el avance a la vista.
+ *
+ * ZIP: cada hilo genera en memoria el PDF de un grupo y el hilo que llama a ejecutar()
+ * los escribe como entradas. Solo se adelantan 2 grupos por hilo, así la memoria no
+ * crece con la cantidad de grupos.
+ * PDF_UNICO: un solo documento escrito en secuencia (PDDocument no admite varios hilos).
+ *
+ * Uso:
+ *   ExportacionListados exportacion = new ExportacionListados(listados, formato)
+ *       .conProgreso((hechos, total) -> ...);
+ *   ResultadoExportacion resultado = exportacion.ejecutar(salida);
+ *   // desde otro hilo: exportacion.cancelar();
+ */
+public class ExportacionListados {
+    private static final int ADELANTO_POR_HILO = 2;
+    private static final long ESPERA_REVISION_MS = 200;
+
+    /**
+     * Aviso de avance; se llama desde los hilos de generación, no desde el EDT
+     */
+    public interface Progreso {
+        void actualizar(int completados, int total);
+    }
+
+    private final List<ListadoClase> listados;
+    private final FormatoExportacion formato;
+    private final int hilos;
+    private Progreso progreso = (completados, total) -> { };
+
+    private volatile boolean cancelada;
+    private volatile ExecutorService ejecutor;
+
+    public ExportacionListados(List<ListadoClase> listados, FormatoExportacion formato) {
+        this(listados, formato, Configuracion.obtenerEntero("pdf.exportacion.hilos",
+            Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ExportacionListados(List<ListadoClase> listados, FormatoExportacion formato, int hilos) {
+        this.listados = listados;
+        this.formato = formato;
+        this.hilos = Math.max(1, Math.min(hilos, listados.size()));
+    }
+
+    public ExportacionListados conProgreso(Progreso progreso) {
+        this.progreso = progreso;
+        return this;
+    }
+
+    /**
+     * Detiene la exportación: los grupos en curso se abandonan y ejecutar() lanza CancellationException
+     */
+    public void cancelar() {
+        cancelada = true;
+        ExecutorService actual = ejecutor;
+        if (actual != null) {
+            actual.shutdownNow();
+        }
+    }
+
+    public boolean isCancelada() { return cancelada; }
+    public int getTotal() { return listados.size(); }
+    /**
+     * Hilos de generación; el PDF único siempre se genera en uno solo
+     */
+    public int getHilos() { return formato == FormatoExportacion.ZIP ? hilos : 1; }
+
+    /**
+     * Genera todos los listados y los escribe en la salida (que no se cierra)
+     *
+     * @throws CancellationException si se llamó a cancelar() o se interrumpió el hilo
+     */
+    public ResultadoExportacion ejecutar(OutputStream salida) throws IOException {
+        long inicio = System.nanoTime();
+        Encabezado encabezado = new Encabezado(LocalDate.now());
+
+        int paginas = formato == FormatoExportacion.ZIP
+            ? exportarZipEnParalelo(encabezado, salida)
+            : exportarPdfUnico(encabezado, salida);
+
+        return new ResultadoExportacion(listados.size(), paginas, getHilos(), System.nanoTime() - inicio);
+    }
+
+    /**
+     * Un solo documento: PDDocument no admite varios hilos y unir documentos generados
+     * aparte cuesta tanto como generarlos, así que las páginas se escriben en secuencia
+     */
+    private int exportarPdfUnico(Encabezado encabezado, OutputStream salida) throws IOException {
+        int total = listados.size();
+        try (PDDocument documento = GeneradorPDFListado.crearDocumento()) {
+            for (int i = 0; i < total; i++) {
+                verificarCancelacion();
+                GeneradorPDFListado.escribirListado(documento, listados.get(i), encabezado);
+                progreso.actualizar(i + 1, total);
+            }
+            verificarCancelacion();
+            documento.save(new GeneradorPDFListado.SalidaSinCierre(salida));
+            return documento.getNumberOfPages();
+        }
+    }
+
+    private int exportarZipEnParalelo(Encabezado encabezado, OutputStream salida) throws IOException {
+        AtomicInteger completados = new AtomicInteger();
+        int total = listados.size();
+
+        ExecutorService pool = Executors.newFixedThreadPool(hilos, fabricaHilos());
+        ejecutor = pool;
+        try {
+            ZipOutputStream zip = new ZipOutputStream(new GeneradorPDFListado.SalidaSinCierre(salida));
+            Set<String> nombresUsados = new HashSet<>();
+            ArrayDeque<Future<ListadoGenerado>> pendientes = new ArrayDeque<>();
+            int siguiente = 0;
+            int paginas = 0;
+
+            while (siguiente < total || !pendientes.isEmpty()) {
+                // Mantiene ocupados los hilos sin adelantar más de lo necesario
+                while (siguiente < total && pendientes.size() < hilos * ADELANTO_POR_HILO) {
+                    verificarCancelacion();
+                    ListadoClase listado = listados.get(siguiente++);
+                    pendientes.add(pool.submit(() -> {
+                        ListadoGenerado generado = GeneradorPDFListado.generarEnMemoria(listado, encabezado);
+                        progreso.actualizar(completados.incrementAndGet(), total);
+                        return generado;
+                    }));
+                }
+
+                // Las entradas se escriben en el orden de los grupos, no en el que terminan
+                ListadoGenerado generado = esperar(pendientes.poll());
+                zip.putNextEntry(new ZipEntry(GeneradorPDFListado.nombreUnico(generado.nombreArchivo, nombresUsados)));
+                zip.write(generado.contenido);
+                zip.closeEntry();
+                paginas += generado.paginas;
+            }
+            verificarCancelacion();
+            zip.finish();
+            return paginas;
+        } finally {
+            ejecutor = null;
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Espera un grupo revisando la cancelación: al cancelar, los grupos que seguían
+     * en la cola del pool nunca terminan
+     */
+    private ListadoGenerado esperar(Future<ListadoGenerado> futuro) throws IOException {
+        try {
+            while (true) {
+                verificarCancelacion();
+                try {
+                    return futuro.get(ESPERA_REVISION_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Sigue esperando
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Exportación interrumpida");
+        } catch (ExecutionException e) {
+            verificarCancelacion();
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException) {
+                throw (IOException) causa;
+            }
+            throw new IOException("Error generando un listado: " + causa.getMessage(), causa);
+        }
+    }
+
+    private void verificarCancelacion() {
+        if (cancelada || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Exportación cancelada");
+        }
+    }
+
+    private static ThreadFactory fabricaHilos() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, "listados-pdf-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Totales de una exportación y su rendimiento
+     */
+    public static class ResultadoExportacion {
+        private final int listados;
+        private final int paginas;
+        private final int hilos;
+        private final long duracionNanos;
+
+        ResultadoExportacion(int listados, int paginas, int hilos, long duracionNanos) {
+            this.listados = listados;
+            this.paginas = paginas;
+            this.hilos = hilos;
+            this.duracionNanos = duracionNanos;
+        }
+
+        public int getListados() { return listados; }
+        public int getPaginas() { return paginas; }
+        public int getHilos() { return hilos; }
+        public long getDuracionNanos() { return duracionNanos; }
+
+        public double getDuracionMs() {
+            return duracionNanos / 1_000_000.0;
+        }
+
+        public double getListadosPorSegundo() {
+            return duracionNanos == 0 ? 0 : listados / (duracionNanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("listados=%d, páginas=%d, hilos=%d, tiempo=%.1f ms, %.1f listados/s",
+                listados, paginas, hilos, getDuracionMs(), getListadosPorSegundo());
+        }
+    }
+}
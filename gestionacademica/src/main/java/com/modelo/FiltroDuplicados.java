@@ -0,0 +1,255 @@
+package com.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import com.aplicacion.Configuracion;
+import com.modelo.dto.CamposDuplicados;
+import com.modelo.persistencia.repositorios.EstudianteRepositorio;
+import com.modelo.persistencia.repositorios.UsuarioRepositorio;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Detección de NUIP, correos y teléfonos ya registrados antes de crear usuarios o estudiantes
+ * Responsabilidad: Responder "no existe" sin consultar la base de datos en el caso común
+ * y, si el valor puede existir, averiguar con una sola consulta qué campos coinciden.
+ *
+ * Cada campo tiene un filtro de Bloom en memoria, llenado al arrancar con los valores
+ * de la base. Si el filtro descarta los valores no hay consulta; si no los descarta
+ * (existe o es un falso positivo, cerca del 1% con duplicados.filtro.bits.por.elemento=10)
+ * se consulta. Mientras no esté cargado, o si está deshabilitado, siempre se consulta.
+ *
+ * El filtro no ve lo que registran otros equipos hasta la siguiente recarga
+ * (duplicados.filtro.recarga.minutos). Por eso las columnas siguen siendo únicas en la
+ * base: un duplicado que el filtro no conoce falla al insertar, y quien lo atrapa llama a
+ * registrarUsuario/registrarEstudiante para que la próxima verificación consulte la base.
+ */
+public final class FiltroDuplicados {
+    private static final boolean HABILITADO =
+        Configuracion.obtenerBooleano("duplicados.filtro.habilitado", true);
+    private static final int BITS_POR_ELEMENTO =
+        Math.max(4, Configuracion.obtenerEntero("duplicados.filtro.bits.por.elemento", 10));
+    private static final int CAPACIDAD_MINIMA =
+        Math.max(1_000, Configuracion.obtenerEntero("duplicados.filtro.capacidad.minima", 10_000));
+    private static final long RECARGA_MINUTOS =
+        Configuracion.obtenerLargo("duplicados.filtro.recarga.minutos", 30);
+
+    private static final IndiceRecargable<Filtros> filtros = new IndiceRecargable<>(
+        "duplicados", "Filtro de duplicados", RECARGA_MINUTOS, new IndiceRecargable.Carga<>() {
+            @Override
+            public Filtros crear(EntityManager em) {
+                // Con margen para lo que se registre hasta la próxima recarga
+                return new Filtros(capacidad(new UsuarioRepositorio(em).contar()),
+                    capacidad(new EstudianteRepositorio(em).contar()));
+            }
+
+            @Override
+            public void llenar(EntityManager em, Filtros nuevos) {
+                try (Stream<Object[]> filas = new UsuarioRepositorio(em).recorrerIdentificadores()) {
+                    filas.forEach(fila -> nuevos.agregarUsuario((String) fila[0], (String) fila[1], (String) fila[2]));
+                }
+                try (Stream<String> nuips = new EstudianteRepositorio(em).recorrerNuips()) {
+                    nuips.forEach(nuevos.nuipsEstudiante::agregar);
+                }
+            }
+
+            @Override
+            public String describir(Filtros cargados) {
+                return String.format(" (%d KB)", cargados.memoriaBytes() / 1024);
+            }
+        });
+
+    private static final LongAdder descartadosSinConsulta = new LongAdder();
+    private static final LongAdder consultas = new LongAdder();
+    private static final LongAdder falsosPositivos = new LongAdder();
+
+    private FiltroDuplicados() {
+    }
+
+    /**
+     * Llena los filtros y programa la recarga periódica (al arrancar, en segundo plano)
+     */
+    public static void iniciar() {
+        if (HABILITADO) {
+            filtros.iniciar();
+        }
+    }
+
+    /**
+     * Vuelve a llenar los filtros desde la base de datos
+     */
+    public static void cargar() {
+        filtros.cargar();
+    }
+
+    /**
+     * Cuáles de NUIP, correo y teléfono ya usa otro usuario
+     * Consulta la base solo si el filtro no descarta los tres valores.
+     */
+    public static CamposDuplicados buscarUsuario(EntityManager em, String nuip,
+                                                 String correoElectronico, String telefono) {
+        Filtros actuales = filtros.actual();
+        if (actuales != null
+                && !actuales.nuipsUsuario.puedeContener(nuip)
+                && !actuales.correos.puedeContener(correoElectronico)
+                && !actuales.telefonos.puedeContener(telefono)) {
+            descartadosSinConsulta.increment();
+            return CamposDuplicados.ninguno();
+        }
+
+        consultas.increment();
+        CamposDuplicados duplicados = new UsuarioRepositorio(em).buscarDuplicados(nuip, correoElectronico, telefono);
+        if (actuales != null && !duplicados.hayDuplicados()) {
+            falsosPositivos.increment();
+        }
+        return duplicados;
+    }
+
+    /**
+     * Indica si ya hay un estudiante con el NUIP (consulta solo si el filtro no lo descarta)
+     */
+    public static boolean existeEstudiante(EntityManager em, String nuip) {
+        Filtros actuales = filtros.actual();
+        if (actuales != null && !actuales.nuipsEstudiante.puedeContener(nuip)) {
+            descartadosSinConsulta.increment();
+            return false;
+        }
+
+        consultas.increment();
+        boolean existe = new EstudianteRepositorio(em).existePorNuip(nuip);
+        if (actuales != null && !existe) {
+            falsosPositivos.increment();
+        }
+        return existe;
+    }
+
+    /**
+     * Agrega los valores de un usuario a los filtros; se llama después de confirmar la
+     * transacción que lo crea (o tras un choque con la restricción única)
+     */
+    public static void registrarUsuario(String nuip, String correoElectronico, String telefono) {
+        filtros.registrar(destino -> destino.agregarUsuario(nuip, correoElectronico, telefono));
+    }
+
+    /**
+     * Agrega el NUIP de un estudiante a los filtros (ver registrarUsuario)
+     */
+    public static void registrarEstudiante(String nuip) {
+        filtros.registrar(destino -> destino.nuipsEstudiante.agregar(nuip));
+    }
+
+    /**
+     * Contadores desde el arranque
+     */
+    public static String obtenerResumen() {
+        Filtros actuales = filtros.actual();
+        return String.format("Duplicados[%s, sin consulta=%d, consultas=%d, falsos positivos=%d]",
+            actuales == null ? "sin cargar" : "cargado, " + (actuales.memoriaBytes() / 1024) + " KB",
+            descartadosSinConsulta.sum(), consultas.sum(), falsosPositivos.sum());
+    }
+
+    private static int capacidad(long existentes) {
+        return (int) Math.min(Integer.MAX_VALUE / BITS_POR_ELEMENTO, Math.max(CAPACIDAD_MINIMA, existentes * 2));
+    }
+
+    /**
+     * Un filtro por campo; los de usuario comparten capacidad
+     */
+    private static final class Filtros {
+        final FiltroBloom nuipsUsuario;
+        final FiltroBloom correos;
+        final FiltroBloom telefonos;
+        final FiltroBloom nuipsEstudiante;
+
+        Filtros(int capacidadUsuarios, int capacidadEstudiantes) {
+            nuipsUsuario = new FiltroBloom(capacidadUsuarios, BITS_POR_ELEMENTO);
+            correos = new FiltroBloom(capacidadUsuarios, BITS_POR_ELEMENTO);
+            telefonos = new FiltroBloom(capacidadUsuarios, BITS_POR_ELEMENTO);
+            nuipsEstudiante = new FiltroBloom(capacidadEstudiantes, BITS_POR_ELEMENTO);
+        }
+
+        void agregarUsuario(String nuip, String correoElectronico, String telefono) {
+            nuipsUsuario.agregar(nuip);
+            correos.agregar(correoElectronico);
+            telefonos.agregar(telefono);
+        }
+
+        long memoriaBytes() {
+            return nuipsUsuario.memoriaBytes() + correos.memoriaBytes()
+                + telefonos.memoriaBytes() + nuipsEstudiante.memoriaBytes();
+        }
+    }
+
+    /**
+     * Filtro de Bloom sobre cadenas: puedeContener nunca da falso para un valor agregado
+     * Usa k posiciones h1 + i*h2 de un hash de 64 bits (FNV-1a con mezcla final).
+     * Los valores se comparan tal cual, igual que en la base (sin pasar a minúsculas).
+     */
+    private static final class FiltroBloom {
+        private final AtomicLongArray bits;
+        private final long cantidadBits;
+        private final int funciones;
+
+        FiltroBloom(int capacidad, int bitsPorElemento) {
+            long palabras = Math.max(1, ((long) capacidad * bitsPorElemento + 63) / 64);
+            this.bits = new AtomicLongArray((int) palabras);
+            this.cantidadBits = palabras * 64;
+            this.funciones = Math.max(1, (int) Math.round(bitsPorElemento * Math.log(2)));
+        }
+
+        void agregar(String valor) {
+            if (valor == null) {
+                return;
+            }
+            long hash = hash(valor);
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < funciones; i++) {
+                long posicion = Long.remainderUnsigned(h1 + i * h2, cantidadBits);
+                int palabra = (int) (posicion >>> 6);
+                long mascara = 1L << posicion;
+                if ((bits.get(palabra) & mascara) == 0) {
+                    bits.getAndAccumulate(palabra, mascara, (actual, m) -> actual | m);
+                }
+            }
+        }
+
+        boolean puedeContener(String valor) {
+            if (valor == null) {
+                return false;
+            }
+            long hash = hash(valor);
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < funciones; i++) {
+                long posicion = Long.remainderUnsigned(h1 + i * h2, cantidadBits);
+                if ((bits.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long memoriaBytes() {
+            return cantidadBits / 8;
+        }
+
+        private static long hash(String valor) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b & 0xff;
+                h *= 0x100000001b3L;
+            }
+            // Mezcla final de MurmurHash3: reparte también los bits altos (h2)
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -1,176 +1,235 @@
 package com.modelo;
 
+import com.aplicacion.Configuracion;
 import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.Grupo;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Generador de PDFs para listados de clase
  * Utiliza Apache PDFBox para crear documentos PDF
+ *
+ * Los documentos usan un archivo temporal de PDFBox cuando superan
+ * pdf.memoria.maxima.mb, así exportar todos los grupos no depende del heap.
  */
 public class GeneradorPDFListado {
-    
+
     private static final float MARGIN = 50;
     private static final float FONT_SIZE_TITLE = 16;
     private static final float FONT_SIZE_SUBTITLE = 12;
     private static final float FONT_SIZE_NORMAL = 10;
     private static final float LINE_SPACING = 15;
 
+    private static final PDFont FUENTE_NEGRITA = PDType1Font.HELVETICA_BOLD;
+    private static final PDFont FUENTE_NORMAL = PDType1Font.HELVETICA;
+    private static final PDRectangle TAMANO_PAGINA = PDRectangle.A4;
+    private static final String TITULO = "LISTADO DE CLASE";
+    // Ancho del título calculado una sola vez para centrarlo en todas las páginas
+    private static final float TITULO_X = calcularTituloX();
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter FORMATO_FECHA_ARCHIVO = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * Formato de la exportación de todos los grupos
+     */
+    public enum FormatoExportacion {
+        PDF_UNICO,
+        ZIP
+    }
+
     /**
      * Genera un PDF con el listado de estudiantes del grupo
      */
     public static File generarListadoClase(
-            Grupo grupo, 
+            Grupo grupo,
             List<Estudiante> estudiantesOrdenados,
             String nombreProfesor) throws IOException {
-        
-        PDDocument document = new PDDocument();
-        
+
+        String nombreArchivo = generarNombreArchivo(grupo);
+        File archivo = new File(System.getProperty("user.home") + "/Downloads/" + nombreArchivo);
+
+        try (PDDocument document = crearDocumento()) {
+            escribirListado(document, new ListadoClase(grupo, estudiantesOrdenados, nombreProfesor),
+                new Encabezado(LocalDate.now()));
+            document.save(archivo);
+        }
+
+        return archivo;
+    }
+
+    /**
+     * Genera en memoria el PDF de un solo listado
+     * Cada llamada usa su propio documento, así que se puede invocar desde varios hilos
+     */
+    static ListadoGenerado generarEnMemoria(ListadoClase listado, Encabezado encabezado) throws IOException {
+        try (PDDocument document = crearDocumento()) {
+            escribirListado(document, listado, encabezado);
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream(8 * 1024);
+            document.save(contenido);
+            return new ListadoGenerado(generarNombreArchivo(listado.grupo), contenido.toByteArray(),
+                document.getNumberOfPages());
+        }
+    }
+
+    /**
+     * Nombre sugerido para la exportación de todos los grupos
+     */
+    public static String generarNombreExportacion(FormatoExportacion formato) {
+        String fechaStr = LocalDate.now().format(FORMATO_FECHA_ARCHIVO);
+        return "Listados_" + fechaStr + (formato == FormatoExportacion.ZIP ? ".zip" : ".pdf");
+    }
+
+    /**
+     * Documento con memoria acotada: lo que excede el límite va a un archivo temporal
+     */
+    static PDDocument crearDocumento() {
+        long maximoBytes = Configuracion.obtenerLargo("pdf.memoria.maxima.mb", 16) * 1024 * 1024;
+        MemoryUsageSetting memoria = MemoryUsageSetting.setupMixed(maximoBytes);
+
+        String directorioTemporal = Configuracion.obtener("pdf.directorio.temporal", "");
+        if (!directorioTemporal.isBlank()) {
+            memoria.setTempDir(new File(directorioTemporal));
+        }
+        return new PDDocument(memoria);
+    }
+
+    /**
+     * Agrega al documento las páginas del listado de un grupo
+     */
+    static void escribirListado(
+            PDDocument document,
+            ListadoClase listado,
+            Encabezado encabezado) throws IOException {
+
+        Grupo grupo = listado.grupo;
+        List<Estudiante> estudiantesOrdenados = listado.estudiantesOrdenados;
+
+        PDPage page = new PDPage(TAMANO_PAGINA);
+        document.addPage(page);
+
+        PDPageContentStream contentStream = new PDPageContentStream(document, page);
+
         try {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            
-            float yPosition = page.getMediaBox().getHeight() - MARGIN;
-            
+            float yPosition = TAMANO_PAGINA.getHeight() - MARGIN;
+
             // Título principal
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TITLE);
-            String titulo = "LISTADO DE CLASE";
-            float tituloWidth = PDType1Font.HELVETICA_BOLD.getStringWidth(titulo) / 1000 * FONT_SIZE_TITLE;
-            float tituloX = (page.getMediaBox().getWidth() - tituloWidth) / 2;
-            contentStream.beginText();
-            contentStream.newLineAtOffset(tituloX, yPosition);
-            contentStream.showText(titulo);
-            contentStream.endText();
-            
+            contentStream.setFont(FUENTE_NEGRITA, FONT_SIZE_TITLE);
+            escribirLinea(contentStream, TITULO_X, yPosition, TITULO);
+
             yPosition -= LINE_SPACING * 2;
-            
+
             // Información del grupo
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_SUBTITLE);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("Grado: " + grupo.getGrado().getNombreGrado());
-            contentStream.endText();
-            
+            contentStream.setFont(FUENTE_NEGRITA, FONT_SIZE_SUBTITLE);
+            escribirLinea(contentStream, MARGIN, yPosition, "Grado: " + grupo.getGrado().getNombreGrado());
+
             yPosition -= LINE_SPACING;
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("Grupo: " + grupo.getNombreGrupo());
-            contentStream.endText();
-            
+
+            escribirLinea(contentStream, MARGIN, yPosition, "Grupo: " + grupo.getNombreGrupo());
+
             yPosition -= LINE_SPACING;
-            
+
             // Información del período
-            LocalDate fechaActual = LocalDate.now();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            String periodo = obtenerPeriodoActual(fechaActual);
-            
-            contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_NORMAL);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("Período: " + periodo);
-            contentStream.endText();
-            
+            contentStream.setFont(FUENTE_NORMAL, FONT_SIZE_NORMAL);
+            escribirLinea(contentStream, MARGIN, yPosition, encabezado.periodo);
+
             yPosition -= LINE_SPACING;
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("Fecha: " + fechaActual.format(formatter));
-            contentStream.endText();
-            
+
+            escribirLinea(contentStream, MARGIN, yPosition, encabezado.fecha);
+
             yPosition -= LINE_SPACING;
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("Profesor: " + nombreProfesor);
-            contentStream.endText();
-            
+
+            escribirLinea(contentStream, MARGIN, yPosition, "Profesor: " + listado.nombreProfesor);
+
             yPosition -= LINE_SPACING * 2;
-            
+
             // Encabezado de la tabla
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_NORMAL);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("No.    NOMBRE COMPLETO");
-            contentStream.endText();
-            
+            contentStream.setFont(FUENTE_NEGRITA, FONT_SIZE_NORMAL);
+            escribirLinea(contentStream, MARGIN, yPosition, "No.    NOMBRE COMPLETO");
+
             yPosition -= LINE_SPACING;
-            
+
             // Línea separadora
             contentStream.moveTo(MARGIN, yPosition);
-            contentStream.lineTo(page.getMediaBox().getWidth() - MARGIN, yPosition);
+            contentStream.lineTo(TAMANO_PAGINA.getWidth() - MARGIN, yPosition);
             contentStream.stroke();
-            
+
             yPosition -= LINE_SPACING;
-            
+
             // Lista de estudiantes
-            contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_NORMAL);
-            
+            contentStream.setFont(FUENTE_NORMAL, FONT_SIZE_NORMAL);
+
             int numero = 1;
             for (Estudiante estudiante : estudiantesOrdenados) {
                 // Verificar si necesitamos una nueva página
                 if (yPosition < MARGIN + LINE_SPACING) {
                     contentStream.close();
-                    page = new PDPage(PDRectangle.A4);
+                    page = new PDPage(TAMANO_PAGINA);
                     document.addPage(page);
                     contentStream = new PDPageContentStream(document, page);
-                    yPosition = page.getMediaBox().getHeight() - MARGIN;
-                    contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_NORMAL);
+                    yPosition = TAMANO_PAGINA.getHeight() - MARGIN;
+                    contentStream.setFont(FUENTE_NORMAL, FONT_SIZE_NORMAL);
                 }
-                
+
                 String numeroStr = String.format("%2d.", numero);
-                String nombreCompleto = estudiante.obtenerNombreCompleto();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(MARGIN, yPosition);
-                contentStream.showText(numeroStr + "    " + nombreCompleto);
-                contentStream.endText();
-                
+                escribirLinea(contentStream, MARGIN, yPosition,
+                    numeroStr + "    " + estudiante.obtenerNombreCompleto());
+
                 yPosition -= LINE_SPACING;
                 numero++;
             }
-            
+
             // Total de estudiantes
             yPosition -= LINE_SPACING;
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_NORMAL);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText("Total de estudiantes: " + estudiantesOrdenados.size());
-            contentStream.endText();
-            
-            contentStream.close();
-            
-            // Guardar archivo
-            String nombreArchivo = generarNombreArchivo(grupo);
-            File archivo = new File(System.getProperty("user.home") + "/Downloads/" + nombreArchivo);
-            document.save(archivo);
-            
-            return archivo;
-            
+            contentStream.setFont(FUENTE_NEGRITA, FONT_SIZE_NORMAL);
+            escribirLinea(contentStream, MARGIN, yPosition,
+                "Total de estudiantes: " + estudiantesOrdenados.size());
+
         } finally {
-            document.close();
+            contentStream.close();
+        }
+    }
+
+    private static void escribirLinea(PDPageContentStream contentStream, float x, float y, String texto)
+            throws IOException {
+        contentStream.beginText();
+        contentStream.newLineAtOffset(x, y);
+        contentStream.showText(texto);
+        contentStream.endText();
+    }
+
+    private static float calcularTituloX() {
+        try {
+            float tituloWidth = FUENTE_NEGRITA.getStringWidth(TITULO) / 1000 * FONT_SIZE_TITLE;
+            return (TAMANO_PAGINA.getWidth() - tituloWidth) / 2;
+        } catch (IOException e) {
+            return MARGIN;
         }
     }
-    
+
     /**
      * Obtiene el período actual basado en la fecha
      */
     private static String obtenerPeriodoActual(LocalDate fecha) {
         int mes = fecha.getMonthValue();
         int año = fecha.getYear();
-        
+
         if (mes >= 1 && mes <= 3) {
             return "Primer Período " + año;
         } else if (mes >= 4 && mes <= 6) {
@@ -181,18 +240,94 @@ public class GeneradorPDFListado {
             return "Cuarto Período " + año;
         }
     }
-    
+
     /**
      * Genera el nombre del archivo PDF
      */
     private static String generarNombreArchivo(Grupo grupo) {
-        LocalDate fecha = LocalDate.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-        String fechaStr = fecha.format(formatter);
-        
+        String fechaStr = LocalDate.now().format(FORMATO_FECHA_ARCHIVO);
+
         String nombreGrupo = grupo.getNombreGrupo().replaceAll("[^a-zA-Z0-9]", "");
         String nombreGrado = grupo.getGrado().getNombreGrado().replaceAll("[^a-zA-Z0-9]", "");
-        
+
         return "Listado_" + nombreGrado + "_" + nombreGrupo + "_" + fechaStr + ".pdf";
     }
-}
\ No newline at end of file
+
+    /**
+     * Evita entradas repetidas en el ZIP cuando dos nombres quedan iguales al quitar símbolos
+     */
+    static String nombreUnico(String nombre, Set<String> usados) {
+        String candidato = nombre;
+        int sufijo = 2;
+        while (!usados.add(candidato)) {
+            candidato = nombre.replace(".pdf", "_" + sufijo++ + ".pdf");
+        }
+        return candidato;
+    }
+
+    /**
+     * Textos del encabezado comunes a todos los listados de una exportación
+     */
+    static class Encabezado {
+        private final String periodo;
+        private final String fecha;
+
+        Encabezado(LocalDate fechaActual) {
+            this.periodo = "Período: " + obtenerPeriodoActual(fechaActual);
+            this.fecha = "Fecha: " + fechaActual.format(FORMATO_FECHA);
+        }
+    }
+
+    /**
+     * Datos de un listado: grupo, estudiantes ya ordenados y profesor
+     */
+    public static class ListadoClase {
+        private final Grupo grupo;
+        private final List<Estudiante> estudiantesOrdenados;
+        private final String nombreProfesor;
+
+        public ListadoClase(Grupo grupo, List<Estudiante> estudiantesOrdenados, String nombreProfesor) {
+            this.grupo = grupo;
+            this.estudiantesOrdenados = estudiantesOrdenados;
+            this.nombreProfesor = nombreProfesor;
+        }
+
+        public Grupo getGrupo() { return grupo; }
+        public List<Estudiante> getEstudiantesOrdenados() { return estudiantesOrdenados; }
+        public String getNombreProfesor() { return nombreProfesor; }
+    }
+
+    /**
+     * PDF de un listado ya generado, pendiente de escribirse en la exportación
+     */
+    static class ListadoGenerado {
+        final String nombreArchivo;
+        final byte[] contenido;
+        final int paginas;
+
+        ListadoGenerado(String nombreArchivo, byte[] contenido, int paginas) {
+            this.nombreArchivo = nombreArchivo;
+            this.contenido = contenido;
+            this.paginas = paginas;
+        }
+    }
+
+    /**
+     * Envoltorio que ignora close(): PDFBox cierra el flujo al guardar
+     */
+    static class SalidaSinCierre extends FilterOutputStream {
+        SalidaSinCierre(OutputStream salida) {
+            super(salida);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.modelo;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.modelo.persistencia.UnidadTrabajo;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Estructura en memoria que se llena desde la base de datos al arrancar y se vuelve
+ * a llenar cada cierto tiempo (índice de búsqueda, filtro de duplicados)
+ * Responsabilidad: Cargar en segundo plano, reemplazar la estructura en uso de una vez
+ * y no perder lo registrado mientras se llena la nueva.
+ *
+ * Cada carga arma una estructura nueva en una unidad de trabajo de solo lectura; las
+ * consultas siguen usando la anterior hasta que la nueva está completa. Lo registrado
+ * durante la carga va a las dos, así no se pierde nada confirmado después de que
+ * empezó la lectura. La recarga corre en un hilo daemon.
+ */
+public final class IndiceRecargable<T> {
+
+    /**
+     * Cómo se arma una estructura nueva
+     */
+    public interface Carga<T> {
+        /**
+         * Estructura vacía; puede consultar la base para dimensionarla
+         */
+        T crear(EntityManager em);
+
+        /**
+         * La llena desde la base; lo registrado mientras tanto ya le llega por registrar()
+         */
+        void llenar(EntityManager em, T nueva);
+
+        /**
+         * Detalle para el mensaje de carga (p. ej. ": 120 personas")
+         */
+        default String describir(T estructura) {
+            return "";
+        }
+    }
+
+    private final String nombre;
+    private final String descripcion;
+    private final long recargaMinutos;
+    private final Carga<T> carga;
+
+    private volatile T actual;
+    private volatile T enConstruccion;
+    private final Object candadoCarga = new Object();
+    private ScheduledExecutorService recarga; // protegido por candadoCarga
+
+    /**
+     * @param nombre prefijo del hilo de recarga y de la unidad de trabajo (p. ej. "busqueda")
+     * @param descripcion para los mensajes (p. ej. "Índice de búsqueda")
+     * @param recargaMinutos cada cuánto se vuelve a llenar; 0 o menos, nunca
+     */
+    public IndiceRecargable(String nombre, String descripcion, long recargaMinutos, Carga<T> carga) {
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.recargaMinutos = recargaMinutos;
+        this.carga = carga;
+    }
+
+    /**
+     * Llena la estructura y programa la recarga periódica (al arrancar, en segundo plano)
+     */
+    public void iniciar() {
+        cargar();
+        synchronized (candadoCarga) {
+            if (recarga == null && recargaMinutos > 0) {
+                recarga = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                    Thread hilo = new Thread(tarea, nombre + "-recarga");
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+                recarga.scheduleWithFixedDelay(this::cargar,
+                    recargaMinutos, recargaMinutos, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    /**
+     * Vuelve a llenar la estructura desde la base de datos
+     */
+    public void cargar() {
+        synchronized (candadoCarga) {
+            long inicio = System.nanoTime();
+            try {
+                T nueva = UnidadTrabajo.consultar(nombre + ".cargarIndice", em -> {
+                    T creada = carga.crear(em);
+                    enConstruccion = creada;
+                    carga.llenar(em, creada);
+                    return creada;
+                });
+                actual = nueva;
+                System.out.printf("%s cargado%s en %d ms%n", descripcion, carga.describir(nueva),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            } catch (Exception e) {
+                System.err.println(descripcion + ": no se pudo cargar: " + e.getMessage());
+            } finally {
+                enConstruccion = null;
+            }
+        }
+    }
+
+    /**
+     * La estructura en uso, o null si aún no se ha cargado
+     */
+    public T actual() {
+        return actual;
+    }
+
+    /**
+     * Aplica un registro a la estructura en uso y a la que se está llenando;
+     * se llama después de confirmar la transacción
+     */
+    public void registrar(Consumer<T> agregar) {
+        // Primero la que se llena: si ya reemplazó a la actual, esta también lo ve
+        T nueva = enConstruccion;
+        if (nueva != null) {
+            agregar.accept(nueva);
+        }
+        T estructura = actual;
+        if (estructura != null && estructura != nueva) {
+            agregar.accept(estructura);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.aplicacion.Configuracion;
+
+/**
+ * Servicio para guardar y verificar contraseñas
+ * Las contraseñas se guardan como PBKDF2-HMAC-SHA256 con sal propia por usuario:
+ *
+ *   pbkdf2-sha256$<iteraciones>$<sal base64>$<hash base64>
+ *
+ * Un valor sin ese prefijo es una contraseña antigua en texto plano; se sigue
+ * aceptando y requiereActualizacion() indica que debe rehacerse al iniciar sesión.
+ * Lo mismo pasa con los hash de menos iteraciones que las configuradas.
+ *
+ * El cálculo es lento a propósito (~100 ms), así que el login lo hace en un pool
+ * acotado (verificar) y nunca en el hilo de Swing.
+ */
+public class ServicioContrasenas {
+
+    private static final String PREFIJO = "pbkdf2-sha256";
+    private static final String SEPARADOR = "$";
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final int BYTES_SAL = 16;
+    private static final int BITS_HASH = 256;
+    private static final int ITERACIONES_MINIMAS = 10_000;
+
+    private static final int ITERACIONES = Math.max(ITERACIONES_MINIMAS,
+        Configuracion.obtenerEntero("seguridad.pbkdf2.iteraciones", 310_000));
+    private static final long ESPERA_MAXIMA_MS =
+        Configuracion.obtenerLargo("seguridad.verificacion.espera.maxima.ms", 5_000);
+
+    private static final SecureRandom aleatorio = new SecureRandom();
+    private static final ThreadPoolExecutor pool = crearPool();
+    private static final CacheVerificaciones cache =
+        new CacheVerificaciones(Configuracion.obtenerEntero("seguridad.verificacion.cache", 1_000));
+
+    // Hash de referencia para gastar el mismo tiempo cuando el usuario no existe
+    private static volatile String hashSinUsuario;
+
+    private ServicioContrasenas() {
+    }
+
+    /**
+     * Resultado de verificar una contraseña en el pool
+     */
+    public enum Estado {
+        CORRECTA,
+        INCORRECTA,
+        // El pool está lleno o la verificación superó la espera máxima
+        OCUPADO
+    }
+
+    public static class Verificacion {
+        private final Estado estado;
+        private final String hashActualizado;
+
+        private Verificacion(Estado estado, String hashActualizado) {
+            this.estado = estado;
+            this.hashActualizado = hashActualizado;
+        }
+
+        public Estado getEstado() { return estado; }
+        public boolean isCorrecta() { return estado == Estado.CORRECTA; }
+
+        /**
+         * Nuevo valor a guardar cuando el almacenado estaba en texto plano o con
+         * menos iteraciones; null si no hay que cambiar nada
+         */
+        public String getHashActualizado() { return hashActualizado; }
+    }
+
+    /**
+     * Calcula el valor a guardar para una contraseña nueva
+     */
+    public static String hashear(String contrasena) {
+        return hashear(contrasena, ITERACIONES);
+    }
+
+    /**
+     * Igual que hashear(String) con otro costo; sirve para medir antes de cambiar la configuración
+     */
+    public static String hashear(String contrasena, int iteraciones) {
+        byte[] sal = new byte[BYTES_SAL];
+        aleatorio.nextBytes(sal);
+        byte[] hash = derivar(contrasena, sal, iteraciones);
+
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIJO + SEPARADOR + iteraciones + SEPARADOR +
+            base64.encodeToString(sal) + SEPARADOR + base64.encodeToString(hash);
+    }
+
+    /**
+     * Compara una contraseña con el valor guardado, en el hilo actual
+     * Acepta tanto hash como texto plano antiguo
+     */
+    public static boolean coincide(String contrasena, String almacenada) {
+        if (contrasena == null || contrasena.isEmpty() || almacenada == null) {
+            return false;
+        }
+
+        if (!esHash(almacenada)) {
+            return MessageDigest.isEqual(
+                contrasena.getBytes(StandardCharsets.UTF_8),
+                almacenada.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Un login repetido con la misma contraseña no vuelve a pagar PBKDF2
+        if (cache.confirma(almacenada, contrasena)) {
+            return true;
+        }
+
+        String[] partes = almacenada.split("\\" + SEPARADOR);
+        if (partes.length != 4) {
+            return false;
+        }
+        try {
+            int iteraciones = Integer.parseInt(partes[1]);
+            byte[] sal = Base64.getDecoder().decode(partes[2]);
+            byte[] esperado = Base64.getDecoder().decode(partes[3]);
+
+            boolean correcta = MessageDigest.isEqual(esperado, derivar(contrasena, sal, iteraciones));
+            if (correcta) {
+                cache.recordar(almacenada, contrasena);
+            }
+            return correcta;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Hash de contraseña con formato inválido");
+            return false;
+        }
+    }
+
+    /**
+     * Indica si el valor guardado debe reemplazarse por un hash con la configuración actual
+     */
+    public static boolean requiereActualizacion(String almacenada) {
+        if (!esHash(almacenada)) {
+            return true;
+        }
+        String[] partes = almacenada.split("\\" + SEPARADOR);
+        try {
+            return partes.length != 4 || Integer.parseInt(partes[1]) < ITERACIONES;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static int getIteraciones() { return ITERACIONES; }
+
+    public static boolean esHash(String almacenada) {
+        return almacenada != null && almacenada.startsWith(PREFIJO + SEPARADOR);
+    }
+
+    /**
+     * Verifica en el pool de hashing y espera el resultado
+     * Si la contraseña es correcta pero el valor guardado está desactualizado,
+     * también calcula el hash nuevo para que el llamador lo guarde.
+     *
+     * @param almacenada valor guardado; null si el usuario no existe (se gasta
+     *                   el mismo tiempo para no revelar qué usuarios existen)
+     */
+    public static Verificacion verificar(String contrasena, String almacenada) {
+        Future<Verificacion> futuro;
+        try {
+            futuro = pool.submit(() -> verificarEnHilo(contrasena, almacenada));
+        } catch (RejectedExecutionException e) {
+            return new Verificacion(Estado.OCUPADO, null);
+        }
+
+        try {
+            return futuro.get(ESPERA_MAXIMA_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            return new Verificacion(Estado.OCUPADO, null);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            return new Verificacion(Estado.OCUPADO, null);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error verificando la contraseña: " + e.getCause().getMessage(),
+                e.getCause());
+        }
+    }
+
+    private static Verificacion verificarEnHilo(String contrasena, String almacenada) {
+        if (almacenada == null) {
+            coincide(contrasena, obtenerHashSinUsuario());
+            return new Verificacion(Estado.INCORRECTA, null);
+        }
+        if (!coincide(contrasena, almacenada)) {
+            return new Verificacion(Estado.INCORRECTA, null);
+        }
+        String actualizado = requiereActualizacion(almacenada) ? hashear(contrasena) : null;
+        return new Verificacion(Estado.CORRECTA, actualizado);
+    }
+
+    private static String obtenerHashSinUsuario() {
+        String hash = hashSinUsuario;
+        if (hash == null) {
+            hash = hashear("sin-usuario-" + aleatorio.nextLong());
+            hashSinUsuario = hash;
+        }
+        return hash;
+    }
+
+    private static byte[] derivar(String contrasena, byte[] sal, int iteraciones) {
+        PBEKeySpec especificacion = new PBEKeySpec(contrasena.toCharArray(), sal, iteraciones, BITS_HASH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(especificacion).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 no disponible en esta JVM", e);
+        } finally {
+            especificacion.clearPassword();
+        }
+    }
+
+    /**
+     * Pool acotado: tantos hilos como procesadores y una cola corta; lo que no
+     * cabe se rechaza de inmediato en vez de acumular logins lentos
+     */
+    private static ThreadPoolExecutor crearPool() {
+        int hilos = Math.max(1, Configuracion.obtenerEntero("seguridad.verificacion.hilos",
+            Runtime.getRuntime().availableProcessors()));
+        int cola = Math.max(1, Configuracion.obtenerEntero("seguridad.verificacion.cola", 16));
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor ejecutor = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(cola),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "verificacion-contrasena-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        ejecutor.allowCoreThreadTimeOut(true);
+        return ejecutor;
+    }
+
+    /**
+     * Contraseñas ya verificadas, guardadas como HMAC con una clave aleatoria del proceso
+     * (nunca en claro ni en disco). Solo acelera aciertos: una contraseña distinta
+     * siempre paga el cálculo completo.
+     */
+    private static class CacheVerificaciones {
+        private final int capacidad;
+        private final byte[] clave = new byte[32];
+        private final Map<String, byte[]> verificadas;
+
+        CacheVerificaciones(int capacidad) {
+            this.capacidad = Math.max(0, capacidad);
+            aleatorio.nextBytes(clave);
+            this.verificadas = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > CacheVerificaciones.this.capacidad;
+                }
+            };
+        }
+
+        boolean confirma(String almacenada, String contrasena) {
+            if (capacidad == 0) {
+                return false;
+            }
+            byte[] huella;
+            synchronized (verificadas) {
+                huella = verificadas.get(almacenada);
+            }
+            return huella != null && MessageDigest.isEqual(huella, huella(contrasena));
+        }
+
+        void recordar(String almacenada, String contrasena) {
+            if (capacidad == 0) {
+                return;
+            }
+            byte[] huella = huella(contrasena);
+            synchronized (verificadas) {
+                verificadas.put(almacenada, huella);
+            }
+        }
+
+        private byte[] huella(String contrasena) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(clave, "HmacSHA256"));
+                return mac.doFinal(contrasena.getBytes(StandardCharsets.UTF_8));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 no disponible en esta JVM", e);
+            }
+        }
+    }
+}
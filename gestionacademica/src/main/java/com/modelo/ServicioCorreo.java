@@ -1,164 +1,174 @@
 package com.modelo;
 
-import jakarta.mail.*;
-import jakarta.mail.internet.*;
-import java.util.Properties;
+import java.util.List;
+
+import com.modelo.correo.DespachadorCorreo;
+import com.modelo.correo.MensajeCorreo;
+import com.modelo.correo.PlantillasCorreo;
+import com.modelo.correo.ResultadoEnvioLote;
+import com.modelo.correo.TransporteCorreo;
+import com.modelo.correo.TransporteSmtp;
+import com.modelo.dominio.CorreoSaliente;
+import com.modelo.persistencia.repositorios.CorreoSalienteRepositorio;
+
+import jakarta.persistence.EntityManager;
 
 /**
  * Servicio para envío de correos electrónicos
- * Utiliza Java Mail API para enviar credenciales a usuarios
+ * Construye los correos a partir de las plantillas de /plantillas/correo y los deja
+ * en la bandeja de salida; el envío real lo hace DespachadorCorreo en segundo plano
  */
 public class ServicioCorreo {
     
-    // Configuración del servidor SMTP (Gmail como ejemplo)
-    private static final String SMTP_HOST = "smtp.gmail.com";
-    private static final String SMTP_PORT = "587";
-    private static final String EMAIL_FROM = "prueba"; // CAMBIAR
-    private static final String EMAIL_PASSWORD = "pruebaContraseña"; // CAMBIAR (usar contraseña de aplicación)
+    private static final String ASUNTO_CREDENCIALES = "Credenciales de Acceso - Sistema Académico";
+    private static final String ASUNTO_RECHAZO = "Resultado de la Preinscripción - Sistema Académico";
+    private static final String ASUNTO_ASIGNACION_GRUPO = "Asignación de Grupo - Sistema Académico";
     
     /**
-     * Envía credenciales de acceso por correo electrónico
+     * Encola las credenciales de acceso en la transacción del llamador
+     * El correo solo existe si la transacción se confirma; después de confirmar
+     * conviene llamar a DespachadorCorreo.notificar() para enviarlo de inmediato
      * 
+     * @param entityManager EntityManager de la transacción en curso
      * @param destinatario Correo electrónico del destinatario
      * @param nombreCompleto Nombre completo del usuario
      * @param nombreUsuario Usuario generado
      * @param contrasena Contraseña generada
      * @param tipoUsuario Tipo de usuario (Profesor, Directivo, Acudiente)
-     * @return true si el correo se envió exitosamente
+     * @return el correo encolado
      */
-    public static boolean enviarCredenciales(
+    public static CorreoSaliente encolarCredenciales(
+            EntityManager entityManager,
             String destinatario, 
             String nombreCompleto,
             String nombreUsuario, 
             String contrasena,
             String tipoUsuario) {
         
-        try {
-            // Configurar propiedades del servidor SMTP
-            Properties props = configurarPropiedades();
-            
-            // Crear sesión con autenticación
-            Session session = Session.getInstance(props, new Authenticator() {
-                @Override
-                protected PasswordAuthentication getPasswordAuthentication() {
-                    return new PasswordAuthentication(EMAIL_FROM, EMAIL_PASSWORD);
-                }
-            });
-            
-            // Crear mensaje
-            Message mensaje = new MimeMessage(session);
-            mensaje.setFrom(new InternetAddress(EMAIL_FROM, "Sistema Académico"));
-            mensaje.setRecipients(Message.RecipientType.TO, InternetAddress.parse(destinatario));
-            mensaje.setSubject("Credenciales de Acceso - Sistema Académico");
-            
-            // Contenido del correo en HTML
-            String contenidoHTML = construirContenidoHTML(nombreCompleto, nombreUsuario, contrasena, tipoUsuario);
-            mensaje.setContent(contenidoHTML, "text/html; charset=utf-8");
-            
-            // Enviar correo
-            Transport.send(mensaje);
-            
-            System.out.println("✓ Correo enviado exitosamente a: " + destinatario);
-            return true;
-            
-        } catch (Exception e) {
-            System.err.println("✗ Error al enviar correo a " + destinatario + ": " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return encolar(entityManager,
+            construirCredenciales(destinatario, nombreCompleto, nombreUsuario, contrasena, tipoUsuario));
     }
     
     /**
-     * Configura las propiedades del servidor SMTP
+     * Construye el correo de credenciales sin encolarlo
      */
-    private static Properties configurarPropiedades() {
-        Properties props = new Properties();
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.smtp.host", SMTP_HOST);
-        props.put("mail.smtp.port", SMTP_PORT);
-        props.put("mail.smtp.ssl.trust", SMTP_HOST);
-        props.put("mail.smtp.ssl.protocols", "TLSv1.2");
-        return props;
+    public static MensajeCorreo construirCredenciales(
+            String destinatario,
+            String nombreCompleto,
+            String nombreUsuario,
+            String contrasena,
+            String tipoUsuario) {
+        
+        String contenidoHTML = PlantillasCorreo.obtener(PlantillasCorreo.CREDENCIALES).valores()
+            .con("titulo", "Credenciales de Acceso")
+            .con("nombreCompleto", nombreCompleto)
+            .con("tipoUsuario", tipoUsuario)
+            .con("nombreUsuario", nombreUsuario)
+            .con("contrasena", contrasena)
+            .renderizar();
+        return new MensajeCorreo(destinatario, ASUNTO_CREDENCIALES, contenidoHTML);
     }
     
     /**
-     * Construye el contenido HTML del correo
+     * Encola el aviso de preinscripción no aprobada en la transacción del llamador
      */
-    private static String construirContenidoHTML(
-            String nombreCompleto, 
-            String nombreUsuario, 
-            String contrasena,
-            String tipoUsuario) {
+    public static CorreoSaliente encolarRechazo(
+            EntityManager entityManager,
+            String destinatario,
+            String nombreCompleto,
+            String nombreEstudiante,
+            String grado,
+            String motivo) {
+        
+        return encolar(entityManager,
+            construirRechazo(destinatario, nombreCompleto, nombreEstudiante, grado, motivo));
+    }
+    
+    /**
+     * Construye el aviso de preinscripción no aprobada
+     */
+    public static MensajeCorreo construirRechazo(
+            String destinatario,
+            String nombreCompleto,
+            String nombreEstudiante,
+            String grado,
+            String motivo) {
         
-        return "<!DOCTYPE html>" +
-               "<html>" +
-               "<head>" +
-               "<meta charset='UTF-8'>" +
-               "<style>" +
-               "body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-               ".container { max-width: 600px; margin: 0 auto; padding: 20px; }" +
-               ".header { background-color: #FFD4A0; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }" +
-               ".content { background-color: #fff; padding: 30px; border: 1px solid #ddd; }" +
-               ".credentials { background-color: #f9f9f9; padding: 20px; margin: 20px 0; border-left: 4px solid #FFD4A0; }" +
-               ".credentials-item { margin: 10px 0; }" +
-               ".credentials-label { font-weight: bold; color: #555; }" +
-               ".credentials-value { font-family: 'Courier New', monospace; font-size: 16px; color: #000; padding: 5px 10px; background-color: #fff; border: 1px solid #ddd; display: inline-block; margin-left: 10px; }" +
-               ".warning { background-color: #fff3cd; padding: 15px; margin: 20px 0; border-left: 4px solid #ffc107; }" +
-               ".footer { text-align: center; padding: 20px; color: #777; font-size: 12px; }" +
-               "</style>" +
-               "</head>" +
-               "<body>" +
-               "<div class='container'>" +
-               
-               "<div class='header'>" +
-               "<h1 style='margin:0; color: #3A2E2E;'>Sistema Académico</h1>" +
-               "<p style='margin:5px 0 0 0; color: #3A2E2E;'>Credenciales de Acceso</p>" +
-               "</div>" +
-               
-               "<div class='content'>" +
-               "<p>Estimado/a <strong>" + nombreCompleto + "</strong>,</p>" +
-               
-               "<p>¡Bienvenido/a al Sistema de Gestión Académica!</p>" +
-               
-               "<p>Su cuenta de <strong>" + tipoUsuario + "</strong> ha sido creada exitosamente. " +
-               "A continuación encontrará sus credenciales de acceso:</p>" +
-               
-               "<div class='credentials'>" +
-               "<div class='credentials-item'>" +
-               "<span class='credentials-label'>👤 Usuario:</span>" +
-               "<span class='credentials-value'>" + nombreUsuario + "</span>" +
-               "</div>" +
-               "<div class='credentials-item'>" +
-               "<span class='credentials-label'>🔒 Contraseña:</span>" +
-               "<span class='credentials-value'>" + contrasena + "</span>" +
-               "</div>" +
-               "</div>" +
-               
-               "<div class='warning'>" +
-               "<strong>⚠️ Importante:</strong>" +
-               "<ul style='margin: 10px 0;'>" +
-               "<li>Guarde estas credenciales en un lugar seguro</li>" +
-               "<li>No comparta su contraseña con nadie</li>" +
-               "<li>Se recomienda cambiar su contraseña después del primer ingreso</li>" +
-               "</ul>" +
-               "</div>" +
-               
-               "<p>Puede acceder al sistema utilizando estas credenciales.</p>" +
-               
-               "<p>Si tiene alguna duda o problema para acceder, por favor contacte al administrador del sistema.</p>" +
-               
-               "<p>Saludos cordiales,<br><strong>Equipo de Administración</strong></p>" +
-               "</div>" +
-               
-               "<div class='footer'>" +
-               "<p>Este es un correo automático, por favor no responder.</p>" +
-               "<p>© 2025 Sistema de Gestión Académica. Todos los derechos reservados.</p>" +
-               "</div>" +
-               
-               "</div>" +
-               "</body>" +
-               "</html>";
+        String contenidoHTML = PlantillasCorreo.obtener(PlantillasCorreo.RECHAZO).valores()
+            .con("titulo", "Resultado de la Preinscripción")
+            .con("nombreCompleto", nombreCompleto)
+            .con("nombreEstudiante", nombreEstudiante)
+            .con("grado", grado)
+            .con("motivo", motivo != null ? motivo : "Cupos no disponibles")
+            .renderizar();
+        return new MensajeCorreo(destinatario, ASUNTO_RECHAZO, contenidoHTML);
+    }
+    
+    /**
+     * Encola el aviso de asignación de grupo en la transacción del llamador
+     */
+    public static CorreoSaliente encolarAsignacionGrupo(
+            EntityManager entityManager,
+            String destinatario,
+            String nombreCompleto,
+            String nombreEstudiante,
+            String grado,
+            String grupo,
+            String directorGrupo) {
+        
+        return encolar(entityManager,
+            construirAsignacionGrupo(destinatario, nombreCompleto, nombreEstudiante, grado, grupo, directorGrupo));
+    }
+    
+    /**
+     * Construye el aviso de asignación de grupo
+     */
+    public static MensajeCorreo construirAsignacionGrupo(
+            String destinatario,
+            String nombreCompleto,
+            String nombreEstudiante,
+            String grado,
+            String grupo,
+            String directorGrupo) {
+        
+        String contenidoHTML = PlantillasCorreo.obtener(PlantillasCorreo.ASIGNACION_GRUPO).valores()
+            .con("titulo", "Asignación de Grupo")
+            .con("nombreCompleto", nombreCompleto)
+            .con("nombreEstudiante", nombreEstudiante)
+            .con("grado", grado)
+            .con("grupo", grupo)
+            .con("directorGrupo", directorGrupo != null ? directorGrupo : "Por asignar")
+            .renderizar();
+        return new MensajeCorreo(destinatario, ASUNTO_ASIGNACION_GRUPO, contenidoHTML);
+    }
+    
+    private static CorreoSaliente encolar(EntityManager entityManager, MensajeCorreo mensaje) {
+        CorreoSaliente correo = new CorreoSaliente(
+            mensaje.getDestinatario(), mensaje.getAsunto(), mensaje.getContenidoHTML());
+        return new CorreoSalienteRepositorio(entityManager).encolar(correo);
+    }
+    
+    /**
+     * Envía varios correos de inmediato por una sola conexión SMTP autenticada
+     * No debe llamarse dentro de una transacción; el flujo normal es encolar y
+     * dejar que DespachadorCorreo envíe. Útil para reenvíos manuales y pruebas.
+     * 
+     * @return resultado por correo, conexiones abiertas y correos por segundo
+     */
+    public static ResultadoEnvioLote enviarLote(List<MensajeCorreo> mensajes) {
+        TransporteCorreo transporte = TransporteCorreo.crearDesdeConfiguracion();
+        try {
+            return transporte.enviarLote(mensajes);
+        } finally {
+            transporte.cerrar();
+        }
+    }
+    
+    /**
+     * Solicita el envío inmediato de los correos encolados
+     */
+    public static void notificarEncolados() {
+        DespachadorCorreo.notificar();
     }
     
     /**
@@ -166,18 +176,7 @@ public class ServicioCorreo {
      */
     public static boolean probarConfiguracion() {
         try {
-            Properties props = configurarPropiedades();
-            Session session = Session.getInstance(props, new Authenticator() {
-                @Override
-                protected PasswordAuthentication getPasswordAuthentication() {
-                    return new PasswordAuthentication(EMAIL_FROM, EMAIL_PASSWORD);
-                }
-            });
-            
-            // Intenta conectarse al servidor
-            Transport transport = session.getTransport("smtp");
-            transport.connect(SMTP_HOST, EMAIL_FROM, EMAIL_PASSWORD);
-            transport.close();
+            new TransporteSmtp().probarConexion();
             
             System.out.println("✓ Configuración de correo válida");
             return true;
@@ -187,4 +186,4 @@ public class ServicioCorreo {
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.modelo.asignacion;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+
+import com.aplicacion.Configuracion;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Criterio para repartir a los estudiantes aprobados entre los grupos de su grado
+ * Permite comparar y cambiar la forma de llenar los grupos sin tocar la aprobación.
+ *
+ * El índice mantiene los grupos con cupo en el orden de getOrden(); las estrategias
+ * que solo dependen del grupo eligen el primero (O(log n)). Las que dependen del
+ * estudiante (edad, hermanos) revisan los grupos del grado, que son pocos.
+ */
+public interface EstrategiaAsignacion {
+
+    /**
+     * Nombre usado en asignacion.estrategia y en los reportes de la simulación
+     */
+    String getNombre();
+
+    /**
+     * Orden de preferencia entre los grupos con cupo; debe desempatar por id
+     */
+    Comparator<IndiceCupos.Cupo> getOrden();
+
+    /**
+     * Indica si elegir() usa los grupos de los hermanos (IndiceCupos.getCuposDeHermanos)
+     */
+    default boolean necesitaHermanos() {
+        return false;
+    }
+
+    /**
+     * Elige el grupo del estudiante entre los grupos con cupo del grado
+     * @return el grupo elegido, o null para crear un grupo nuevo
+     */
+    default Grupo elegir(IndiceCupos indice, Integer idGrado, Estudiante estudiante) {
+        NavigableSet<IndiceCupos.Cupo> conCupo = indice.getConCupo(idGrado);
+        return conCupo.isEmpty() ? null : conCupo.first().getGrupo();
+    }
+
+    /**
+     * Todas las estrategias disponibles, la predeterminada primero
+     * La de hermanos reparte al resto como la equilibrada: llenando un grupo a la vez,
+     * el grupo del hermano suele estar lleno cuando llega el segundo.
+     */
+    static List<EstrategiaAsignacion> todas() {
+        return List.of(
+            new EstrategiaMasLleno(),
+            new EstrategiaSecuencial(),
+            new EstrategiaEquilibrada(),
+            new EstrategiaPorEdad(),
+            new EstrategiaHermanos(new EstrategiaEquilibrada()));
+    }
+
+    /**
+     * Busca una estrategia por nombre; si no existe usa la predeterminada (mas-lleno)
+     */
+    static EstrategiaAsignacion porNombre(String nombre) {
+        for (EstrategiaAsignacion estrategia : todas()) {
+            if (estrategia.getNombre().equalsIgnoreCase(nombre)) {
+                return estrategia;
+            }
+        }
+        System.err.println("Estrategia de asignación desconocida '" + nombre + "', se usa mas-lleno");
+        return new EstrategiaMasLleno();
+    }
+
+    /**
+     * Crea la estrategia indicada en asignacion.estrategia
+     */
+    static EstrategiaAsignacion crearDesdeConfiguracion() {
+        return porNombre(Configuracion.obtener("asignacion.estrategia", "mas-lleno").trim());
+    }
+}
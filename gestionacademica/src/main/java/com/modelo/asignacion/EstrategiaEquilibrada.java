@@ -0,0 +1,23 @@
+package com.modelo.asignacion;
+
+import java.util.Comparator;
+
+/**
+ * Reparte por igual: el grupo con más cupos libres primero (y entre iguales el más antiguo)
+ * Los grupos crecen a la par; solo se crea uno nuevo cuando todos están llenos.
+ */
+public class EstrategiaEquilibrada implements EstrategiaAsignacion {
+    private static final Comparator<IndiceCupos.Cupo> ORDEN = Comparator
+        .comparingInt(IndiceCupos.Cupo::getLibres).reversed()
+        .thenComparing(IndiceCupos.Cupo::getIdGrupo);
+
+    @Override
+    public String getNombre() {
+        return "equilibrada";
+    }
+
+    @Override
+    public Comparator<IndiceCupos.Cupo> getOrden() {
+        return ORDEN;
+    }
+}
@@ -0,0 +1,45 @@
+package com.modelo.asignacion;
+
+import java.util.Comparator;
+
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Mantiene juntos a los hermanos: si otro estudiante del mismo acudiente ya está en un
+ * grupo con cupo del mismo grado, va a ese grupo; si no, decide la estrategia base.
+ * Los grupos de los hermanos los carga AsignadorGrupos en el índice con una sola consulta.
+ */
+public class EstrategiaHermanos implements EstrategiaAsignacion {
+    private final EstrategiaAsignacion base;
+
+    public EstrategiaHermanos(EstrategiaAsignacion base) {
+        this.base = base;
+    }
+
+    @Override
+    public String getNombre() {
+        return "hermanos";
+    }
+
+    @Override
+    public Comparator<IndiceCupos.Cupo> getOrden() {
+        return base.getOrden();
+    }
+
+    @Override
+    public boolean necesitaHermanos() {
+        return true;
+    }
+
+    @Override
+    public Grupo elegir(IndiceCupos indice, Integer idGrado, Estudiante estudiante) {
+        for (IndiceCupos.Cupo cupo : indice.getCuposDeHermanos(estudiante)) {
+            // El índice puede tener varios grados (lotes): el grupo debe ser del mismo
+            if (cupo.getLibres() > 0 && idGrado.equals(cupo.getGrupo().getGrado().getIdGrado())) {
+                return cupo.getGrupo();
+            }
+        }
+        return base.elegir(indice, idGrado, estudiante);
+    }
+}
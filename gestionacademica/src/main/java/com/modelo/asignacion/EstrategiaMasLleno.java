@@ -0,0 +1,19 @@
+package com.modelo.asignacion;
+
+import java.util.Comparator;
+
+/**
+ * Llena primero el grupo con cupo que tenga más estudiantes (y entre iguales el más antiguo)
+ * Es la regla original: pocos grupos, que alcanzan pronto el mínimo para activarse.
+ */
+public class EstrategiaMasLleno implements EstrategiaAsignacion {
+    @Override
+    public String getNombre() {
+        return "mas-lleno";
+    }
+
+    @Override
+    public Comparator<IndiceCupos.Cupo> getOrden() {
+        return IndiceCupos.MAS_LLENO_PRIMERO;
+    }
+}
@@ -0,0 +1,46 @@
+package com.modelo.asignacion;
+
+import java.util.Comparator;
+
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Agrupa por edad: el grupo con cupo cuya edad promedio esté más cerca de la del estudiante
+ * Un grupo vacío cuenta como a DIFERENCIA_GRUPO_VACIO años, así que se estrena cuando ningún
+ * grupo con estudiantes tiene edades parecidas; los empates van al más lleno.
+ * Recorre los grupos con cupo del grado (O(n)); por grado son pocos.
+ */
+public class EstrategiaPorEdad implements EstrategiaAsignacion {
+    private static final double DIFERENCIA_GRUPO_VACIO = 0.5;
+
+    @Override
+    public String getNombre() {
+        return "edad";
+    }
+
+    @Override
+    public Comparator<IndiceCupos.Cupo> getOrden() {
+        return IndiceCupos.MAS_LLENO_PRIMERO;
+    }
+
+    @Override
+    public Grupo elegir(IndiceCupos indice, Integer idGrado, Estudiante estudiante) {
+        if (estudiante.getEdad() == null) {
+            return EstrategiaAsignacion.super.elegir(indice, idGrado, estudiante);
+        }
+
+        IndiceCupos.Cupo mejor = null;
+        double menorDiferencia = Double.MAX_VALUE;
+        // En el orden del índice: ante la misma diferencia queda el más lleno
+        for (IndiceCupos.Cupo cupo : indice.getConCupo(idGrado)) {
+            double promedio = cupo.getEdadPromedio();
+            double diferencia = promedio < 0 ? DIFERENCIA_GRUPO_VACIO : Math.abs(promedio - estudiante.getEdad());
+            if (diferencia < menorDiferencia) {
+                menorDiferencia = diferencia;
+                mejor = cupo;
+            }
+        }
+        return mejor != null ? mejor.getGrupo() : null;
+    }
+}
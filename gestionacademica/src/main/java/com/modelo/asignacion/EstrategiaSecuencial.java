@@ -0,0 +1,21 @@
+package com.modelo.asignacion;
+
+import java.util.Comparator;
+
+/**
+ * Llena los grupos en el orden en que se crearon: el más antiguo con cupo primero
+ */
+public class EstrategiaSecuencial implements EstrategiaAsignacion {
+    private static final Comparator<IndiceCupos.Cupo> ORDEN =
+        Comparator.comparing(IndiceCupos.Cupo::getIdGrupo);
+
+    @Override
+    public String getNombre() {
+        return "secuencial";
+    }
+
+    @Override
+    public Comparator<IndiceCupos.Cupo> getOrden() {
+        return ORDEN;
+    }
+}
@@ -0,0 +1,187 @@
+package com.modelo.asignacion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Índice de cupos por grado para asignar estudiantes a grupos
+ * Responsabilidad: Saber cuántos estudiantes tiene cada grupo sin cargar sus colecciones
+ * y entregar a la estrategia los grupos con cupo ya ordenados según su criterio.
+ *
+ * Se arma dentro de la transacción de aprobación (con los grados ya bloqueados) desde una
+ * sola consulta de conteo y se mantiene al asignar; no se comparte entre transacciones.
+ * Los grupos llenos salen del conjunto de grupos con cupo. Con el orden de la estrategia
+ * elegir el primero y reubicar el grupo tras asignar cuestan O(log n).
+ * Los grupos se identifican por id, así que deben estar persistidos antes de registrarse.
+ */
+public class IndiceCupos {
+    /**
+     * El grupo con cupo que tenga más estudiantes primero (y entre iguales el más antiguo)
+     */
+    public static final Comparator<Cupo> MAS_LLENO_PRIMERO = Comparator
+        .comparingInt(Cupo::getLibres)
+        .thenComparing(Cupo::getIdGrupo);
+
+    private final EstrategiaAsignacion estrategia;
+    private final Map<Integer, TreeSet<Cupo>> conCupoPorGrado = new HashMap<>();
+    private final Map<Integer, List<Grupo>> gruposPorGrado = new HashMap<>();
+    private final Map<Integer, Cupo> cupoPorGrupo = new HashMap<>();
+    // Grupos del índice donde ya hay hijos de cada acudiente (para EstrategiaHermanos)
+    private final Map<Integer, Set<Integer>> gruposPorAcudiente = new HashMap<>();
+
+    public IndiceCupos(EstrategiaAsignacion estrategia) {
+        this.estrategia = estrategia;
+    }
+
+    /**
+     * Registra un grupo ya existente con la cantidad y la suma de edades contadas en la base de datos
+     */
+    public void registrar(Integer idGrado, Grupo grupo, int cantidad, long sumaEdades) {
+        agregar(idGrado, new Cupo(grupo, cantidad, sumaEdades));
+    }
+
+    /**
+     * Registra un grupo creado en esta transacción (vacío)
+     */
+    public void registrarNuevo(Integer idGrado, Grupo grupo) {
+        agregar(idGrado, new Cupo(grupo, 0, 0));
+    }
+
+    /**
+     * Registra que el acudiente ya tiene un hijo en el grupo (ver AsignadorGrupos.registrarHermanos)
+     */
+    public void registrarHermano(Integer idAcudiente, Integer idGrupo) {
+        gruposPorAcudiente.computeIfAbsent(idAcudiente, k -> new LinkedHashSet<>()).add(idGrupo);
+    }
+
+    private void agregar(Integer idGrado, Cupo cupo) {
+        cupoPorGrupo.put(cupo.grupo.getIdGrupo(), cupo);
+        gruposPorGrado.computeIfAbsent(idGrado, k -> new ArrayList<>()).add(cupo.grupo);
+        if (cupo.getLibres() > 0) {
+            conCupoPorGrado.computeIfAbsent(idGrado, k -> new TreeSet<>(estrategia.getOrden())).add(cupo);
+        }
+    }
+
+    /**
+     * Grupo que la estrategia elige para el estudiante, o null si hay que crear uno
+     */
+    public Grupo elegir(Integer idGrado, Estudiante estudiante) {
+        return estrategia.elegir(this, idGrado, estudiante);
+    }
+
+    /**
+     * Asigna el estudiante al grupo y actualiza su posición en el índice
+     * @return false si el grupo no está en el índice o ya no tiene cupo
+     */
+    public boolean asignar(Integer idGrado, Grupo grupo, Estudiante estudiante) {
+        Cupo cupo = getCupo(grupo);
+        if (cupo == null || !grupo.agregarEstudiante(estudiante, cupo.cantidad)) {
+            return false;
+        }
+
+        TreeSet<Cupo> conCupo = conCupoPorGrado.get(idGrado);
+        conCupo.remove(cupo);
+        cupo.cantidad++;
+        cupo.sumaEdades += estudiante.getEdad() != null ? estudiante.getEdad() : 0;
+        if (cupo.getLibres() > 0) {
+            conCupo.add(cupo);
+        }
+        Integer idAcudiente = idAcudiente(estudiante);
+        if (idAcudiente != null) {
+            registrarHermano(idAcudiente, grupo.getIdGrupo());
+        }
+        return true;
+    }
+
+    /**
+     * Grupos con cupo del grado en el orden de la estrategia (solo lectura)
+     */
+    public NavigableSet<Cupo> getConCupo(Integer idGrado) {
+        TreeSet<Cupo> conCupo = conCupoPorGrado.get(idGrado);
+        return conCupo != null ? Collections.unmodifiableNavigableSet(conCupo) : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * Cupo registrado de un grupo, o null si el grupo no es de los grados del índice
+     */
+    public Cupo getCupo(Grupo grupo) {
+        return grupo != null && grupo.getIdGrupo() != null ? cupoPorGrupo.get(grupo.getIdGrupo()) : null;
+    }
+
+    /**
+     * Cupos de los grupos del índice donde ya hay hijos del acudiente del estudiante
+     * (los registrados con registrarHermano y los asignados en este índice)
+     */
+    public List<Cupo> getCuposDeHermanos(Estudiante estudiante) {
+        Set<Integer> idsGrupo = gruposPorAcudiente.get(idAcudiente(estudiante));
+        if (idsGrupo == null) {
+            return Collections.emptyList();
+        }
+        List<Cupo> cupos = new ArrayList<>(idsGrupo.size());
+        for (Integer idGrupo : idsGrupo) {
+            Cupo cupo = cupoPorGrupo.get(idGrupo);
+            if (cupo != null) {
+                cupos.add(cupo);
+            }
+        }
+        return cupos;
+    }
+
+    private static Integer idAcudiente(Estudiante estudiante) {
+        return estudiante.getAcudiente() != null ? estudiante.getAcudiente().getIdUsuario() : null;
+    }
+
+    public int getCantidad(Grupo grupo) {
+        Cupo cupo = getCupo(grupo);
+        return cupo != null ? cupo.cantidad : 0;
+    }
+
+    /**
+     * Todos los grupos del grado, llenos o no (para elegir el nombre de uno nuevo)
+     */
+    public List<Grupo> getGrupos(Integer idGrado) {
+        List<Grupo> grupos = gruposPorGrado.get(idGrado);
+        return grupos != null ? Collections.unmodifiableList(grupos) : Collections.emptyList();
+    }
+
+    /**
+     * Estado de un grupo en el índice
+     */
+    public static class Cupo {
+        private final Grupo grupo;
+        private int cantidad;
+        private long sumaEdades;
+
+        Cupo(Grupo grupo, int cantidad, long sumaEdades) {
+            this.grupo = grupo;
+            this.cantidad = cantidad;
+            this.sumaEdades = sumaEdades;
+        }
+
+        public Grupo getGrupo() { return grupo; }
+        public Integer getIdGrupo() { return grupo.getIdGrupo(); }
+        public int getCantidad() { return cantidad; }
+
+        public int getLibres() {
+            return grupo.getMAXESTUDIANTES() - cantidad;
+        }
+
+        /**
+         * Edad promedio de los estudiantes del grupo, o -1 si está vacío
+         */
+        public double getEdadPromedio() {
+            return cantidad == 0 ? -1 : (double) sumaEdades / cantidad;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.modelo.busqueda;
+
+import java.util.concurrent.TimeUnit;
+
+import com.aplicacion.Configuracion;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.ObservacionRepositorio;
+
+/**
+ * Búsqueda por palabras en las observaciones de todo el colegio
+ * Responsabilidad: Preparar en la base la columna tsvector generada y su índice GIN,
+ * y recordar con qué configuración de texto se generó.
+ *
+ * La búsqueda la hace PostgreSQL (texto completo en español: "peleó" encuentra "pelear"
+ * y "peleas"). Con observaciones.busqueda.sin.tildes además ignora tildes, con una
+ * configuración propia que pasa las palabras por unaccent; si la extensión no se puede
+ * instalar se usa la configuración spanish. La columna conserva la configuración con
+ * que se creó: las consultas usan siempre esa.
+ *
+ * Se prepara al arrancar, en segundo plano. Cada paso va en su propia transacción
+ * porque un error de DDL en PostgreSQL anula el resto de la transacción.
+ */
+public final class BusquedaObservaciones {
+    private static final boolean SIN_TILDES =
+        Configuracion.obtenerBooleano("observaciones.busqueda.sin.tildes", true);
+
+    private static volatile String configuracion;
+
+    private BusquedaObservaciones() {
+    }
+
+    /**
+     * Crea la columna y el índice si faltan (al arrancar, una vez lista la persistencia)
+     */
+    public static void preparar() {
+        long inicio = System.nanoTime();
+        try {
+            String existente = UnidadTrabajo.consultar("observaciones.configuracionBusqueda",
+                em -> new ObservacionRepositorio(em).buscarConfiguracionBusqueda());
+
+            String elegida = existente;
+            if (elegida == null) {
+                elegida = ObservacionRepositorio.CONFIGURACION_ESPANOL;
+                if (SIN_TILDES) {
+                    try {
+                        UnidadTrabajo.ejecutar("observaciones.configuracionSinTildes", em -> {
+                            new ObservacionRepositorio(em).crearConfiguracionSinTildes();
+                            return null;
+                        });
+                        elegida = ObservacionRepositorio.CONFIGURACION_SIN_TILDES;
+                    } catch (Exception e) {
+                        System.err.println("Búsqueda en observaciones sin ignorar tildes (falta unaccent): "
+                            + e.getMessage());
+                    }
+                }
+            }
+
+            // Con la columna ya creada solo se asegura el índice
+            String columna = elegida;
+            UnidadTrabajo.ejecutar("observaciones.prepararBusqueda", em -> {
+                new ObservacionRepositorio(em).prepararBusqueda(columna);
+                return null;
+            });
+            configuracion = columna;
+            if (existente == null) {
+                System.out.printf("Búsqueda en observaciones preparada (%s) en %d ms%n", columna,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            }
+        } catch (Exception e) {
+            System.err.println("No se pudo preparar la búsqueda en observaciones: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Configuración de texto de la columna
+     * @return la configuración, o null si la búsqueda aún no está preparada
+     */
+    public static String getConfiguracion() {
+        return configuracion;
+    }
+}
@@ -0,0 +1,120 @@
+package com.modelo.busqueda;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.aplicacion.Configuracion;
+import com.modelo.IndiceRecargable;
+import com.modelo.dto.PersonaEncontrada;
+import com.modelo.persistencia.repositorios.EstudianteRepositorio;
+import com.modelo.persistencia.repositorios.UsuarioRepositorio;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Búsqueda de estudiantes, acudientes y profesores por nombre o NUIP mientras se escribe
+ * Responsabilidad: Mantener el IndicePersonas de la aplicación al día con la base de datos.
+ *
+ * El índice se llena al arrancar (en segundo plano) y se vuelve a llenar cada
+ * busqueda.indice.recarga.minutos para ver lo registrado desde otros equipos
+ * (IndiceRecargable). Los controladores registran aquí a las personas que crean,
+ * después de confirmar.
+ * Las consultas no tocan la base de datos.
+ */
+public final class BusquedaPersonas {
+    private static final long RECARGA_MINUTOS =
+        Configuracion.obtenerLargo("busqueda.indice.recarga.minutos", 15);
+
+    private static final IndiceRecargable<IndicePersonas> indice = new IndiceRecargable<>(
+        "busqueda", "Índice de búsqueda", RECARGA_MINUTOS, new IndiceRecargable.Carga<>() {
+            @Override
+            public IndicePersonas crear(EntityManager em) {
+                return new IndicePersonas();
+            }
+
+            @Override
+            public void llenar(EntityManager em, IndicePersonas nuevo) {
+                try (Stream<PersonaEncontrada> estudiantes = new EstudianteRepositorio(em).recorrerParaBusqueda()) {
+                    estudiantes.forEach(nuevo::agregar);
+                }
+                try (Stream<PersonaEncontrada> usuarios = new UsuarioRepositorio(em).recorrerParaBusqueda()) {
+                    usuarios.forEach(nuevo::agregar);
+                }
+            }
+
+            @Override
+            public String describir(IndicePersonas cargado) {
+                return String.format(": %d personas, %d términos", cargado.getCantidad(), cargado.getCantidadTerminos());
+            }
+        });
+
+    private static final LongAdder consultas = new LongAdder();
+    private static final LongAdder nanosConsultas = new LongAdder();
+
+    private BusquedaPersonas() {
+    }
+
+    /**
+     * Llena el índice y programa la recarga periódica (al arrancar, en segundo plano)
+     */
+    public static void iniciar() {
+        indice.iniciar();
+    }
+
+    /**
+     * Vuelve a llenar el índice desde la base de datos
+     */
+    public static void cargar() {
+        indice.cargar();
+    }
+
+    public static boolean estaCargado() {
+        return indice.actual() != null;
+    }
+
+    /**
+     * Personas que coinciden con el texto, las mejores primero
+     * @return los resultados, o null si el índice aún no se ha cargado
+     */
+    public static List<PersonaEncontrada> buscar(String texto, Set<PersonaEncontrada.Tipo> tipos,
+                                                 Predicate<PersonaEncontrada> filtro, int limite) {
+        IndicePersonas actual = indice.actual();
+        if (actual == null) {
+            return null;
+        }
+        long inicio = System.nanoTime();
+        List<PersonaEncontrada> resultado = actual.buscar(texto, tipos, filtro, limite);
+        consultas.increment();
+        nanosConsultas.add(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Agrega o actualiza personas en el índice; se llama después de confirmar la transacción
+     */
+    public static void registrar(Collection<PersonaEncontrada> personas) {
+        indice.registrar(destino -> destino.agregarTodas(personas));
+    }
+
+    public static void registrar(PersonaEncontrada persona) {
+        if (persona != null) {
+            registrar(List.of(persona));
+        }
+    }
+
+    /**
+     * Contadores desde el arranque
+     */
+    public static String obtenerResumen() {
+        IndicePersonas actual = indice.actual();
+        long total = consultas.sum();
+        double promedioMs = total == 0 ? 0 : nanosConsultas.sum() / 1_000_000.0 / total;
+        return String.format("Búsqueda[%s, consultas=%d, promedio=%.3f ms]",
+            actual == null ? "sin cargar" : actual.getCantidad() + " personas",
+            total, promedioMs);
+    }
+}
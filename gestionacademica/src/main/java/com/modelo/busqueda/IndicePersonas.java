@@ -0,0 +1,347 @@
+package com.modelo.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.modelo.dominio.TokenUsuario;
+import com.modelo.dto.PersonaEncontrada;
+
+/**
+ * Índice invertido en memoria de nombres y NUIP de personas
+ * Responsabilidad: Encontrar personas por el comienzo de cualquiera de sus palabras
+ * mientras se escribe ("mar gom" encuentra a María Fernanda Gómez y a Mario Gomez).
+ *
+ * Cada palabra del nombre se normaliza como TokenUsuario.normalizarTexto (minúsculas,
+ * sin tildes ni signos) y va a un diccionario ordenado de términos con la lista de
+ * personas que la tienen; el NUIP es un término más. Un prefijo es un rango del
+ * diccionario: las personas de todos sus términos se marcan en un BitSet y las palabras
+ * de la consulta se cruzan con AND. Si ya quedan pocas candidatas, las palabras
+ * siguientes se comparan directamente con los términos de cada una.
+ *
+ * Admite altas y cambios mientras se consulta (candado de lectura/escritura).
+ */
+public class IndicePersonas {
+    private static final Pattern SEPARADORES = Pattern.compile("[\\s\\-]+");
+    // Con menos candidatas que esto es más barato revisar sus términos que unir listas
+    private static final int CANDIDATAS_PARA_REVISION_DIRECTA = 512;
+
+    // Los prefijos de una o dos letras abarcan casi todo el diccionario: se guardan ya unidos
+    private static final int LARGO_PREFIJO_CORTO = 2;
+    private static final Comparator<Candidata> PEOR_PRIMERO = (a, b) -> supera(b.puntaje(), b.documento(), a) ? -1
+        : supera(a.puntaje(), a.documento(), b) ? 1 : 0;
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinales = new HashMap<>();
+    private final List<Documento> documentos = new ArrayList<>(); // por ordinal; null si se reemplazó
+    private final TreeMap<String, Postings> terminos = new TreeMap<>();
+    private final Map<String, BitSet> prefijosCortos = new HashMap<>();
+
+    /**
+     * Agrega la persona o reemplaza la que tenga el mismo tipo e id
+     */
+    public void agregar(PersonaEncontrada persona) {
+        candado.writeLock().lock();
+        try {
+            agregarSinCandado(persona);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public void agregarTodas(Collection<PersonaEncontrada> personas) {
+        candado.writeLock().lock();
+        try {
+            for (PersonaEncontrada persona : personas) {
+                agregarSinCandado(persona);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true si la persona estaba en el índice
+     */
+    public boolean quitar(PersonaEncontrada.Tipo tipo, Integer id) {
+        candado.writeLock().lock();
+        try {
+            return quitarSinCandado(clave(tipo, id));
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public int getCantidad() {
+        candado.readLock().lock();
+        try {
+            return ordinales.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int getCantidadTerminos() {
+        candado.readLock().lock();
+        try {
+            return terminos.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Personas cuyas palabras empiezan por cada una de las palabras del texto
+     * Pesa más una palabra completa que un prefijo; a igual puntaje, por nombre.
+     *
+     * @param tipos tipos de persona que se buscan
+     * @param filtro condición adicional (p. ej. estar en una lista), o null
+     * @param limite cantidad máxima de resultados
+     */
+    public List<PersonaEncontrada> buscar(String texto, Set<PersonaEncontrada.Tipo> tipos,
+                                          Predicate<PersonaEncontrada> filtro, int limite) {
+        List<String> palabras = palabras(texto);
+        if (palabras.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+        // La palabra más larga suele ser la más selectiva: se empieza por ella
+        palabras.sort(Comparator.comparingInt(String::length).reversed());
+
+        candado.readLock().lock();
+        try {
+            BitSet candidatas = marcar(palabras.get(0));
+            for (int i = 1; i < palabras.size() && !candidatas.isEmpty(); i++) {
+                String palabra = palabras.get(i);
+                if (candidatas.cardinality() <= CANDIDATAS_PARA_REVISION_DIRECTA) {
+                    for (int o = candidatas.nextSetBit(0); o >= 0; o = candidatas.nextSetBit(o + 1)) {
+                        if (!documentos.get(o).tienePrefijo(palabra)) {
+                            candidatas.clear(o);
+                        }
+                    }
+                } else {
+                    candidatas.and(marcar(palabra));
+                }
+            }
+
+            // Todas las candidatas tienen cada palabra como prefijo; suma 1 más si la tienen completa
+            BitSet[] exactas = new BitSet[palabras.size()];
+            for (int i = 0; i < exactas.length; i++) {
+                exactas[i] = new BitSet();
+                Postings postings = terminos.get(palabras.get(i));
+                if (postings != null) {
+                    postings.marcar(exactas[i]);
+                }
+            }
+
+            PriorityQueue<Candidata> mejores = new PriorityQueue<>(limite + 1, PEOR_PRIMERO);
+            for (int o = candidatas.nextSetBit(0); o >= 0; o = candidatas.nextSetBit(o + 1)) {
+                Documento documento = documentos.get(o);
+                int puntaje = exactas.length;
+                for (BitSet exacta : exactas) {
+                    if (exacta.get(o)) {
+                        puntaje++;
+                    }
+                }
+                // Se descarta sin crear objetos lo que no supera al peor de los que ya están
+                if (mejores.size() == limite && !supera(puntaje, documento, mejores.peek())) {
+                    continue;
+                }
+                if (!tipos.contains(documento.persona.tipo())
+                        || (filtro != null && !filtro.test(documento.persona))) {
+                    continue;
+                }
+                mejores.add(new Candidata(puntaje, documento));
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+
+            PersonaEncontrada[] resultado = new PersonaEncontrada[mejores.size()];
+            for (int i = resultado.length - 1; i >= 0; i--) {
+                resultado[i] = mejores.poll().documento().persona;
+            }
+            return new ArrayList<>(Arrays.asList(resultado));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Palabras normalizadas y sin repetir de un nombre o de una consulta
+     */
+    static List<String> palabras(String texto) {
+        Set<String> palabras = new LinkedHashSet<>();
+        if (texto != null) {
+            for (String parte : SEPARADORES.split(texto.trim())) {
+                String normalizada = TokenUsuario.normalizarTexto(parte);
+                if (normalizada != null && !normalizada.isEmpty()) {
+                    palabras.add(normalizada);
+                }
+            }
+        }
+        return new ArrayList<>(palabras);
+    }
+
+    private BitSet marcar(String prefijo) {
+        if (prefijo.length() <= LARGO_PREFIJO_CORTO) {
+            BitSet marcadas = prefijosCortos.get(prefijo);
+            return marcadas != null ? (BitSet) marcadas.clone() : new BitSet();
+        }
+        BitSet marcadas = new BitSet(documentos.size());
+        // Los términos solo tienen a-z y 0-9: todo lo que empieza por el prefijo queda antes de este límite
+        for (Postings postings : terminos.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+            postings.marcar(marcadas);
+        }
+        return marcadas;
+    }
+
+    private void agregarSinCandado(PersonaEncontrada persona) {
+        String clave = clave(persona.tipo(), persona.id());
+        quitarSinCandado(clave);
+
+        List<String> propios = palabras(persona.nombreCompleto());
+        String nuip = TokenUsuario.normalizarTexto(persona.nuip());
+        if (nuip != null && !nuip.isEmpty() && !propios.contains(nuip)) {
+            propios.add(nuip);
+        }
+
+        int ordinal = documentos.size();
+        Documento documento = new Documento(persona, propios.toArray(new String[0]),
+            claveOrden(String.join(" ", palabras(persona.nombreCompleto()))));
+        documentos.add(documento);
+        ordinales.put(clave, ordinal);
+        for (String termino : documento.terminos) {
+            terminos.computeIfAbsent(termino, t -> new Postings()).agregar(ordinal);
+            for (int largo = 1; largo <= Math.min(LARGO_PREFIJO_CORTO, termino.length()); largo++) {
+                prefijosCortos.computeIfAbsent(termino.substring(0, largo), p -> new BitSet()).set(ordinal);
+            }
+        }
+    }
+
+    private boolean quitarSinCandado(String clave) {
+        Integer ordinal = ordinales.remove(clave);
+        if (ordinal == null) {
+            return false;
+        }
+        Documento documento = documentos.set(ordinal, null);
+        for (String termino : documento.terminos) {
+            Postings postings = terminos.get(termino);
+            if (postings != null && postings.quitar(ordinal)) {
+                terminos.remove(termino);
+            }
+            // La persona sale completa: ninguno de sus prefijos la incluye ya
+            for (int largo = 1; largo <= Math.min(LARGO_PREFIJO_CORTO, termino.length()); largo++) {
+                BitSet marcadas = prefijosCortos.get(termino.substring(0, largo));
+                if (marcadas != null) {
+                    marcadas.clear(ordinal);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si la candidata (puntaje, documento) va antes que la otra
+     */
+    private static boolean supera(int puntaje, Documento documento, Candidata otra) {
+        if (puntaje != otra.puntaje()) {
+            return puntaje > otra.puntaje();
+        }
+        if (documento.orden != otra.documento().orden) {
+            return documento.orden < otra.documento().orden;
+        }
+        return documento.persona.id() < otra.documento().persona.id();
+    }
+
+    /**
+     * Primeras 12 letras del nombre normalizado como número en base 37: ordena
+     * alfabéticamente comparando un long en lugar de cadenas
+     */
+    private static long claveOrden(String nombre) {
+        long clave = 0;
+        for (int i = 0; i < 12; i++) {
+            char c = i < nombre.length() ? nombre.charAt(i) : ' ';
+            int valor = c >= 'a' && c <= 'z' ? c - 'a' + 1 : c >= '0' && c <= '9' ? c - '0' + 27 : 0;
+            clave = clave * 37 + valor;
+        }
+        return clave;
+    }
+
+    private static String clave(PersonaEncontrada.Tipo tipo, Integer id) {
+        return tipo.name() + ":" + id;
+    }
+
+    private record Candidata(int puntaje, Documento documento) {
+    }
+
+    /**
+     * Persona indexada con sus términos y la clave para ordenar por nombre
+     */
+    private static final class Documento {
+        final PersonaEncontrada persona;
+        final String[] terminos;
+        final long orden;
+
+        Documento(PersonaEncontrada persona, String[] terminos, long orden) {
+            this.persona = persona;
+            this.terminos = terminos;
+            this.orden = orden;
+        }
+
+        boolean tienePrefijo(String palabra) {
+            for (String termino : terminos) {
+                if (termino.startsWith(palabra)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Ordinales de las personas que tienen un término (en orden de alta)
+     */
+    private static final class Postings {
+        private int[] ordinales = new int[2];
+        private int cantidad;
+
+        void agregar(int ordinal) {
+            if (cantidad == ordinales.length) {
+                ordinales = Arrays.copyOf(ordinales, cantidad * 2);
+            }
+            ordinales[cantidad++] = ordinal;
+        }
+
+        /**
+         * @return true si quedó vacía
+         */
+        boolean quitar(int ordinal) {
+            for (int i = 0; i < cantidad; i++) {
+                if (ordinales[i] == ordinal) {
+                    System.arraycopy(ordinales, i + 1, ordinales, i, cantidad - i - 1);
+                    cantidad--;
+                    break;
+                }
+            }
+            return cantidad == 0;
+        }
+
+        void marcar(BitSet marcadas) {
+            for (int i = 0; i < cantidad; i++) {
+                marcadas.set(ordinales[i]);
+            }
+        }
+    }
+}
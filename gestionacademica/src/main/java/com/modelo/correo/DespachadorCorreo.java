@@ -0,0 +1,283 @@
+package com.modelo.correo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.aplicacion.Configuracion;
+import com.modelo.dominio.CorreoSaliente;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.CorreoSalienteRepositorio;
+
+/**
+ * Envío en segundo plano de la bandeja de salida (correo_saliente)
+ * Responsabilidad: Reclamar correos pendientes, entregarlos en lotes con un grupo acotado
+ * de hilos (una conexión SMTP por hilo) y reprogramar los fallidos con espera exponencial.
+ *
+ * Ningún envío SMTP ocurre dentro de una transacción de la base de datos: los
+ * controladores solo encolan y este despachador envía después de confirmar.
+ */
+public final class DespachadorCorreo {
+    private static final Object candado = new Object();
+    private static DespachadorCorreo instancia; // protegido por candado
+
+    private final TransporteCorreo transporte;
+    private final ScheduledExecutorService sondeo;
+    private final ThreadPoolExecutor trabajadores;
+
+    private final int hilos;
+    private final int loteReclamo;
+    private final int maximoIntentos;
+    private final long esperaBaseMs;
+    private final long esperaMaximaMs;
+    private final long reclamoExpiraMs;
+    private final long retencionDias;
+
+    // Solo los usa el hilo de sondeo
+    private final long intervaloLiberacionNanos;
+    private long ultimaLiberacionNanos;
+
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    private DespachadorCorreo(TransporteCorreo transporte) {
+        this.transporte = transporte;
+        this.hilos = Math.max(1, Configuracion.obtenerEntero("correo.hilos", 2));
+        this.loteReclamo = Math.max(1, Configuracion.obtenerEntero("correo.lote.reclamo", 20));
+        this.maximoIntentos = Math.max(1, Configuracion.obtenerEntero("correo.reintentos.maximo", 5));
+        this.esperaBaseMs = Configuracion.obtenerLargo("correo.reintento.espera.base.ms", 30_000);
+        this.esperaMaximaMs = Configuracion.obtenerLargo("correo.reintento.espera.maxima.ms", 1_800_000);
+        this.reclamoExpiraMs = Math.max(1_000, Configuracion.obtenerLargo("correo.reclamo.expira.ms", 600_000));
+        this.retencionDias = Configuracion.obtenerLargo("correo.retencion.dias", 90);
+        // Un reclamo vencido espera a lo sumo un cuarto del vencimiento antes de liberarse
+        this.intervaloLiberacionNanos = TimeUnit.MILLISECONDS.toNanos(reclamoExpiraMs / 4);
+
+        this.sondeo = Executors.newSingleThreadScheduledExecutor(fabricaHilos("correo-sondeo"));
+        this.trabajadores = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(hilos), fabricaHilos("correo-envio"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Arranca el despachador con el transporte configurado (una sola vez)
+     */
+    public static void iniciar() {
+        iniciar(TransporteCorreo.crearDesdeConfiguracion());
+    }
+
+    /**
+     * Arranca el despachador con un transporte dado (p. ej. TransporteLocal en pruebas)
+     */
+    public static void iniciar(TransporteCorreo transporte) {
+        synchronized (candado) {
+            if (instancia != null) {
+                return;
+            }
+            DespachadorCorreo nuevo = new DespachadorCorreo(transporte);
+            nuevo.liberarReclamosVencidos();
+            nuevo.purgarFinalizados();
+
+            long intervaloMs = Math.max(100, Configuracion.obtenerLargo("correo.despacho.intervalo.ms", 5_000));
+            nuevo.sondeo.scheduleWithFixedDelay(nuevo::sondear, 0, intervaloMs, TimeUnit.MILLISECONDS);
+            instancia = nuevo;
+        }
+    }
+
+    /**
+     * Pide revisar la bandeja de inmediato (llamar después de confirmar una transacción que encoló correos)
+     */
+    public static void notificar() {
+        DespachadorCorreo actual;
+        synchronized (candado) {
+            actual = instancia;
+        }
+        if (actual != null && !actual.sondeo.isShutdown()) {
+            actual.sondeo.execute(actual::sondear);
+        }
+    }
+
+    /**
+     * Detiene el sondeo y espera a que terminen los envíos en curso
+     */
+    public static void detener() {
+        DespachadorCorreo actual;
+        synchronized (candado) {
+            actual = instancia;
+            instancia = null;
+        }
+        if (actual == null) {
+            return;
+        }
+
+        actual.sondeo.shutdownNow();
+        actual.trabajadores.shutdown();
+        try {
+            if (!actual.trabajadores.awaitTermination(10, TimeUnit.SECONDS)) {
+                actual.trabajadores.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            actual.trabajadores.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        actual.transporte.cerrar();
+    }
+
+    /**
+     * Resumen de actividad desde el arranque (enviados, reintentos y descartados)
+     */
+    public static String obtenerResumen() {
+        DespachadorCorreo actual;
+        synchronized (candado) {
+            actual = instancia;
+        }
+        if (actual == null) {
+            return "Despachador de correo detenido";
+        }
+        return String.format("Correo[enviados=%d, reintentos=%d, descartados=%d, en curso=%d, en cola=%d]",
+            actual.enviados.sum(), actual.fallos.sum(), actual.descartados.sum(),
+            actual.trabajadores.getActiveCount(), actual.trabajadores.getQueue().size());
+    }
+
+    // Solo se ejecuta en el hilo de sondeo, así que el cálculo de capacidad no compite consigo mismo
+    private void sondear() {
+        try {
+            // Reclamos que quedaron en Enviando por un envío o un registro que falló
+            if (System.nanoTime() - ultimaLiberacionNanos >= intervaloLiberacionNanos) {
+                liberarReclamosVencidos();
+            }
+
+            // Cada tarea es un lote completo; no se reclama más de lo que los hilos pueden tomar
+            if (trabajadores.getActiveCount() + trabajadores.getQueue().size() >= hilos) {
+                return;
+            }
+
+            List<CorreoSaliente> reclamados = UnidadTrabajo.ejecutar("correo.reclamar",
+                em -> new CorreoSalienteRepositorio(em).reclamarPendientes(loteReclamo));
+            if (reclamados.isEmpty()) {
+                return;
+            }
+
+            // Se reparte entre los hilos para que cada uno envíe su parte por una sola conexión
+            int porHilo = (reclamados.size() + hilos - 1) / hilos;
+            for (int desde = 0; desde < reclamados.size(); desde += porHilo) {
+                List<CorreoSaliente> parte = new ArrayList<>(
+                    reclamados.subList(desde, Math.min(desde + porHilo, reclamados.size())));
+                trabajadores.execute(() -> entregar(parte));
+            }
+        } catch (Exception e) {
+            // Un error aquí no debe cancelar el sondeo periódico
+            System.err.println("Error revisando la bandeja de correo: " + e.getMessage());
+        }
+    }
+
+    private void entregar(List<CorreoSaliente> correos) {
+        List<MensajeCorreo> mensajes = new ArrayList<>(correos.size());
+        for (CorreoSaliente correo : correos) {
+            mensajes.add(new MensajeCorreo(correo.getDestinatario(), correo.getAsunto(), correo.getCuerpo()));
+        }
+
+        ResultadoEnvioLote resultado;
+        try {
+            resultado = transporte.enviarLote(mensajes);
+        } catch (RuntimeException e) {
+            // Un error inesperado del transporte cuenta como fallo de todo el lote (con su reintento)
+            resultado = new ResultadoEnvioLote(mensajes.size());
+            for (MensajeCorreo mensaje : mensajes) {
+                resultado.registrarFallo(mensaje, e);
+            }
+        }
+        List<ResultadoEnvioLote.ResultadoMensaje> resultados = resultado.getResultados();
+        if (resultado.getReconexiones() > 0) {
+            System.out.println("Envío de correo con reconexión: " + resultado);
+        }
+
+        // Un solo commit registra el resultado de todo el lote
+        try {
+            UnidadTrabajo.ejecutar("correo.registrarResultados", em -> {
+                for (int i = 0; i < correos.size(); i++) {
+                    CorreoSaliente reclamado = correos.get(i);
+                    CorreoSaliente actual = em.find(CorreoSaliente.class, reclamado.getIdCorreo());
+                    if (actual == null) {
+                        continue;
+                    }
+                    ResultadoEnvioLote.ResultadoMensaje resultadoMensaje = resultados.get(i);
+                    if (resultadoMensaje.isEnviado()) {
+                        actual.marcarEnviado();
+                    } else {
+                        registrarFallo(actual, resultadoMensaje.getError());
+                    }
+                }
+                return null;
+            });
+            enviados.add(resultado.getEnviados());
+        } catch (Exception e) {
+            // Siguen en Enviando: el sondeo los libera cuando vence el reclamo y se reenvían
+            System.err.println("No se pudo registrar el resultado de " + correos.size() + " correo(s): " + e.getMessage());
+        }
+    }
+
+    private void registrarFallo(CorreoSaliente correo, String mensaje) {
+        int intentosPrevios = correo.getIntentos();
+        long espera = Math.min(esperaMaximaMs, esperaBaseMs << Math.min(intentosPrevios, 20));
+
+        if (intentosPrevios + 1 >= maximoIntentos) {
+            descartados.increment();
+            System.err.println("✗ Correo " + correo.getIdCorreo() + " descartado tras " + maximoIntentos + " intentos: " + mensaje);
+        } else {
+            fallos.increment();
+            System.err.println("✗ Error enviando correo " + correo.getIdCorreo() + " (reintento en " + espera / 1000 + " s): " + mensaje);
+        }
+        correo.registrarFallo(mensaje, maximoIntentos, espera);
+    }
+
+    private void liberarReclamosVencidos() {
+        ultimaLiberacionNanos = System.nanoTime();
+        try {
+            int liberados = UnidadTrabajo.ejecutar("correo.liberarReclamos",
+                em -> new CorreoSalienteRepositorio(em)
+                    .liberarReclamosVencidos(LocalDateTime.now().minusNanos(reclamoExpiraMs * 1_000_000)));
+            if (liberados > 0) {
+                System.out.println("Correos reencolados con el reclamo vencido: " + liberados);
+            }
+        } catch (Exception e) {
+            System.err.println("No se pudieron liberar los correos reclamados: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Borra los correos enviados o descartados más antiguos que correo.retencion.dias (al arrancar)
+     */
+    private void purgarFinalizados() {
+        if (retencionDias <= 0) {
+            return;
+        }
+        try {
+            int borrados = UnidadTrabajo.ejecutar("correo.purgar",
+                em -> new CorreoSalienteRepositorio(em)
+                    .borrarFinalizados(LocalDateTime.now().minusDays(retencionDias)));
+            if (borrados > 0) {
+                System.out.println("Correos antiguos borrados de la bandeja: " + borrados);
+            }
+        } catch (Exception e) {
+            System.err.println("No se pudieron borrar los correos antiguos: " + e.getMessage());
+        }
+    }
+
+    private static ThreadFactory fabricaHilos(String prefijo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, prefijo + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.modelo.correo;
+
+/**
+ * Correo HTML listo para entregar a un TransporteCorreo
+ */
+public class MensajeCorreo {
+    private final String destinatario;
+    private final String asunto;
+    private final String contenidoHTML;
+
+    public MensajeCorreo(String destinatario, String asunto, String contenidoHTML) {
+        this.destinatario = destinatario;
+        this.asunto = asunto;
+        this.contenidoHTML = contenidoHTML;
+    }
+
+    public String getDestinatario() { return destinatario; }
+    public String getAsunto() { return asunto; }
+    public String getContenidoHTML() { return contenidoHTML; }
+}
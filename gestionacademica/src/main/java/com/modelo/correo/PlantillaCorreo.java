@@ -0,0 +1,290 @@
+package com.modelo.correo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Plantilla de correo compilada: texto fijo intercalado con variables
+ * Responsabilidad: Analizar la plantilla una sola vez y generar el HTML de cada
+ * correo copiando los segmentos fijos (ya codificados) y escapando los valores
+ * en un buffer reutilizable por hilo.
+ *
+ * Sintaxis:
+ *   {{variable}}   valor escapado para HTML
+ *   {{> parcial}}  inserta otra plantilla al compilar (cabecera, pie)
+ *
+ * El texto generado solo contiene caracteres Latin-1 (el resto va como &#...;), así
+ * Java lo guarda con 1 byte por carácter en vez de 2.
+ * Las instancias son inmutables y se pueden compartir entre hilos.
+ */
+public final class PlantillaCorreo {
+    private static final String APERTURA = "{{";
+    private static final String CIERRE = "}}";
+
+    // Buffer por hilo donde se arma cada correo; no se conserva si supera este tamaño
+    private static final int CAPACIDAD_MAXIMA_BUFFER = 64 * 1024;
+    private static final ThreadLocal<byte[]> buffer = new ThreadLocal<>();
+    // Lo más largo que produce un char al escaparse: "&#65535;"
+    private static final int MAXIMO_POR_CARACTER = 8;
+
+    private final String nombre;
+    // Texto fijo ya codificado en Latin-1
+    // segmentos.length == indicesVariable.length + 1: fijo, variable, fijo, ..., fijo
+    private final byte[][] segmentos;
+    private final int[] indicesVariable;
+    private final List<String> variables;
+    private final Map<String, Integer> indicePorVariable;
+    private final int longitudFija;
+
+    private PlantillaCorreo(String nombre, List<String> segmentos, List<String> referencias) {
+        this.nombre = nombre;
+        this.segmentos = new byte[segmentos.size()][];
+        for (int i = 0; i < segmentos.size(); i++) {
+            this.segmentos[i] = segmentos.get(i).getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        Map<String, Integer> indices = new LinkedHashMap<>();
+        this.indicesVariable = new int[referencias.size()];
+        for (int i = 0; i < referencias.size(); i++) {
+            indicesVariable[i] = indices.computeIfAbsent(referencias.get(i), v -> indices.size());
+        }
+        this.variables = Collections.unmodifiableList(new ArrayList<>(indices.keySet()));
+        this.indicePorVariable = indices;
+
+        int longitud = 0;
+        for (byte[] segmento : this.segmentos) {
+            longitud += segmento.length;
+        }
+        this.longitudFija = longitud;
+    }
+
+    /**
+     * Compila el texto de una plantilla
+     *
+     * @param nombre nombre usado en los mensajes de error
+     * @param texto contenido de la plantilla
+     * @param parciales resuelve el texto de cada {{> parcial}}; puede ser null si no hay parciales
+     */
+    public static PlantillaCorreo compilar(String nombre, String texto, Function<String, String> parciales) {
+        List<String> segmentos = new ArrayList<>();
+        List<String> referencias = new ArrayList<>();
+        StringBuilder fijo = new StringBuilder();
+
+        analizar(nombre, compactar(texto), parciales, segmentos, referencias, fijo, 0);
+        segmentos.add(fijo.toString());
+
+        return new PlantillaCorreo(nombre, segmentos, referencias);
+    }
+
+    private static void analizar(String nombre, String texto, Function<String, String> parciales,
+                                 List<String> segmentos, List<String> referencias,
+                                 StringBuilder fijo, int profundidad) {
+        if (profundidad > 5) {
+            throw new IllegalArgumentException("Plantilla '" + nombre + "': parciales anidados en exceso");
+        }
+
+        int posicion = 0;
+        while (true) {
+            int inicio = texto.indexOf(APERTURA, posicion);
+            if (inicio < 0) {
+                fijo.append(texto, posicion, texto.length());
+                return;
+            }
+            int fin = texto.indexOf(CIERRE, inicio + APERTURA.length());
+            if (fin < 0) {
+                throw new IllegalArgumentException(
+                    "Plantilla '" + nombre + "': '{{' sin cerrar en la posición " + inicio);
+            }
+
+            fijo.append(texto, posicion, inicio);
+            String etiqueta = texto.substring(inicio + APERTURA.length(), fin).trim();
+
+            if (etiqueta.startsWith(">")) {
+                String parcial = etiqueta.substring(1).trim();
+                String contenido = parciales != null ? parciales.apply(parcial) : null;
+                if (contenido == null) {
+                    throw new IllegalArgumentException(
+                        "Plantilla '" + nombre + "': parcial no encontrado '" + parcial + "'");
+                }
+                // El parcial se funde con el texto fijo: la plantilla compilada queda plana
+                analizar(parcial, compactar(contenido), parciales, segmentos, referencias, fijo, profundidad + 1);
+            } else {
+                if (etiqueta.isEmpty()) {
+                    throw new IllegalArgumentException(
+                        "Plantilla '" + nombre + "': variable vacía en la posición " + inicio);
+                }
+                segmentos.add(fijo.toString());
+                fijo.setLength(0);
+                referencias.add(etiqueta);
+            }
+            posicion = fin + CIERRE.length();
+        }
+    }
+
+    /**
+     * Quita la sangría y las líneas vacías del archivo fuente: no cambian cómo se ve el HTML
+     * Los caracteres fuera de Latin-1 del texto fijo (emojis) pasan a referencia numérica
+     */
+    private static String compactar(String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (String linea : texto.split("\r?\n")) {
+            String recortada = linea.strip();
+            if (!recortada.isEmpty()) {
+                convertirNoLatin1(resultado, recortada);
+                resultado.append('\n');
+            }
+        }
+        return resultado.toString();
+    }
+
+    private static void convertirNoLatin1(StringBuilder destino, String texto) {
+        for (int i = 0; i < texto.length(); ) {
+            int codigo = texto.codePointAt(i);
+            if (codigo <= 0xFF) {
+                destino.append((char) codigo);
+            } else {
+                destino.append("&#").append(codigo).append(';');
+            }
+            i += Character.charCount(codigo);
+        }
+    }
+
+    /**
+     * Valores vacíos para esta plantilla; se llenan con con(...) y se pasan a renderizar()
+     */
+    public Valores valores() {
+        return new Valores(this);
+    }
+
+    /**
+     * Genera el texto con los valores dados; una variable sin valor queda vacía
+     */
+    public String renderizar(Map<String, ?> valores) {
+        Object[] ordenados = new Object[variables.size()];
+        for (int i = 0; i < ordenados.length; i++) {
+            ordenados[i] = valores.get(variables.get(i));
+        }
+        return renderizar(ordenados);
+    }
+
+    /**
+     * Genera el texto con los valores en el orden de getVariables()
+     * Evita la búsqueda por nombre en los envíos masivos
+     */
+    public String renderizar(Object... valores) {
+        if (valores.length != variables.size()) {
+            throw new IllegalArgumentException("Plantilla '" + nombre + "' espera " + variables.size() +
+                " valores " + variables + " y recibió " + valores.length);
+        }
+
+        // Cota superior: ningún carácter escapado ocupa más de MAXIMO_POR_CARACTER bytes
+        int longitudMaxima = longitudFija;
+        for (Object valor : valores) {
+            if (valor != null) {
+                longitudMaxima += valor.toString().length() * MAXIMO_POR_CARACTER;
+            }
+        }
+
+        byte[] destino = buffer.get();
+        if (destino == null || destino.length < longitudMaxima) {
+            destino = new byte[Math.max(longitudMaxima, longitudFija + 1024)];
+            if (destino.length <= CAPACIDAD_MAXIMA_BUFFER) {
+                buffer.set(destino);
+            }
+        }
+
+        int posicion = copiar(segmentos[0], destino, 0);
+        for (int i = 0; i < indicesVariable.length; i++) {
+            Object valor = valores[indicesVariable[i]];
+            if (valor != null) {
+                posicion = escaparHTML(valor.toString(), destino, posicion);
+            }
+            posicion = copiar(segmentos[i + 1], destino, posicion);
+        }
+        return new String(destino, 0, posicion, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int copiar(byte[] segmento, byte[] destino, int posicion) {
+        System.arraycopy(segmento, 0, destino, posicion, segmento.length);
+        return posicion + segmento.length;
+    }
+
+    /**
+     * Escribe el valor escapando los caracteres especiales de HTML; lo que no cabe
+     * en Latin-1 se escribe como referencia numérica (&#...;)
+     */
+    private static int escaparHTML(String valor, byte[] destino, int posicion) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '&': posicion = escribir("&amp;", destino, posicion); break;
+                case '<': posicion = escribir("&lt;", destino, posicion); break;
+                case '>': posicion = escribir("&gt;", destino, posicion); break;
+                case '"': posicion = escribir("&quot;", destino, posicion); break;
+                case '\'': posicion = escribir("&#39;", destino, posicion); break;
+                default:
+                    if (c <= 0xFF) {
+                        destino[posicion++] = (byte) c;
+                    } else {
+                        int codigo = valor.codePointAt(i);
+                        posicion = escribir("&#" + codigo + ";", destino, posicion);
+                        i += Character.charCount(codigo) - 1;
+                    }
+            }
+        }
+        return posicion;
+    }
+
+    private static int escribir(String ascii, byte[] destino, int posicion) {
+        for (int i = 0; i < ascii.length(); i++) {
+            destino[posicion++] = (byte) ascii.charAt(i);
+        }
+        return posicion;
+    }
+
+    private int indiceDe(String variable) {
+        Integer indice = indicePorVariable.get(variable);
+        if (indice == null) {
+            throw new IllegalArgumentException(
+                "La plantilla '" + nombre + "' no tiene la variable '" + variable + "'");
+        }
+        return indice;
+    }
+
+    public String getNombre() { return nombre; }
+
+    /**
+     * Variables en el orden que espera renderizar(Object...)
+     */
+    public List<String> getVariables() { return variables; }
+
+    public int getLongitudFija() { return longitudFija; }
+
+    /**
+     * Valores de una plantilla guardados por posición (sin mapa por cada correo)
+     * Asignar una variable que la plantilla no tiene es un error
+     */
+    public static class Valores {
+        private final PlantillaCorreo plantilla;
+        private final Object[] valores;
+
+        private Valores(PlantillaCorreo plantilla) {
+            this.plantilla = plantilla;
+            this.valores = new Object[plantilla.variables.size()];
+        }
+
+        public Valores con(String variable, Object valor) {
+            valores[plantilla.indiceDe(variable)] = valor;
+            return this;
+        }
+
+        public String renderizar() {
+            return plantilla.renderizar(valores);
+        }
+    }
+}
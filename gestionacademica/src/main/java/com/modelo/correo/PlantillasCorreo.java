@@ -0,0 +1,57 @@
+package com.modelo.correo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catálogo de plantillas de correo empaquetadas en /plantillas/correo
+ * Cada plantilla se lee y compila la primera vez que se usa y queda en memoria.
+ * Los parciales son archivos con prefijo '_' (p. ej. {{> cabecera}} lee _cabecera.html).
+ */
+public final class PlantillasCorreo {
+    public static final String CREDENCIALES = "credenciales";
+    public static final String RECHAZO = "rechazo";
+    public static final String ASIGNACION_GRUPO = "asignacion_grupo";
+
+    private static final String CARPETA = "/plantillas/correo/";
+    private static final String EXTENSION = ".html";
+
+    private static final Map<String, PlantillaCorreo> compiladas = new ConcurrentHashMap<>();
+
+    private PlantillasCorreo() {
+    }
+
+    /**
+     * Devuelve la plantilla compilada; lanza IllegalStateException si no existe o tiene errores
+     */
+    public static PlantillaCorreo obtener(String nombre) {
+        return compiladas.computeIfAbsent(nombre, PlantillasCorreo::cargar);
+    }
+
+    private static PlantillaCorreo cargar(String nombre) {
+        String texto = leer(nombre);
+        if (texto == null) {
+            throw new IllegalStateException("No existe la plantilla de correo: " + CARPETA + nombre + EXTENSION);
+        }
+        try {
+            return PlantillaCorreo.compilar(nombre, texto, parcial -> leer("_" + parcial));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static String leer(String nombre) {
+        try (InputStream entrada = PlantillasCorreo.class.getResourceAsStream(CARPETA + nombre + EXTENSION)) {
+            if (entrada == null) {
+                return null;
+            }
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo la plantilla " + nombre, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.modelo.correo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de enviar varios correos por una misma conexión
+ * Los resultados conservan el orden de los mensajes recibidos
+ */
+public class ResultadoEnvioLote {
+    private final List<ResultadoMensaje> resultados;
+    private int conexionesAbiertas;
+    private int reconexiones;
+    private long duracionNanos;
+
+    public ResultadoEnvioLote(int cantidadMensajes) {
+        this.resultados = new ArrayList<>(cantidadMensajes);
+    }
+
+    void registrarEnvio(MensajeCorreo mensaje) {
+        resultados.add(new ResultadoMensaje(mensaje, true, null));
+    }
+
+    void registrarFallo(MensajeCorreo mensaje, Exception error) {
+        String detalle = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        resultados.add(new ResultadoMensaje(mensaje, false, detalle));
+    }
+
+    void registrarConexion(boolean esReconexion) {
+        conexionesAbiertas++;
+        if (esReconexion) {
+            reconexiones++;
+        }
+    }
+
+    void setDuracionNanos(long duracionNanos) {
+        this.duracionNanos = duracionNanos;
+    }
+
+    public List<ResultadoMensaje> getResultados() { return Collections.unmodifiableList(resultados); }
+    public int getConexionesAbiertas() { return conexionesAbiertas; }
+    public int getReconexiones() { return reconexiones; }
+
+    public int getEnviados() {
+        return (int) resultados.stream().filter(ResultadoMensaje::isEnviado).count();
+    }
+
+    public int getFallidos() {
+        return resultados.size() - getEnviados();
+    }
+
+    public double getDuracionMs() {
+        return duracionNanos / 1_000_000.0;
+    }
+
+    public double getMensajesPorSegundo() {
+        return duracionNanos == 0 ? 0 : getEnviados() / (duracionNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("enviados=%d, fallidos=%d, conexiones=%d, reconexiones=%d, tiempo=%.1f ms, %.1f correos/s",
+            getEnviados(), getFallidos(), conexionesAbiertas, reconexiones, getDuracionMs(), getMensajesPorSegundo());
+    }
+
+    /**
+     * Resultado individual de un correo del lote
+     */
+    public static class ResultadoMensaje {
+        private final MensajeCorreo mensaje;
+        private final boolean enviado;
+        private final String error;
+
+        ResultadoMensaje(MensajeCorreo mensaje, boolean enviado, String error) {
+            this.mensaje = mensaje;
+            this.enviado = enviado;
+            this.error = error;
+        }
+
+        public MensajeCorreo getMensaje() { return mensaje; }
+        public boolean isEnviado() { return enviado; }
+        public String getError() { return error; }
+    }
+}
@@ -0,0 +1,136 @@
+package com.modelo.correo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo en memoria para probar el envío por lotes sin un servidor real
+ * Acepta cualquier remitente, no usa TLS ni autenticación y descarta el contenido.
+ *
+ * Puede rechazar destinatarios que contengan "rechazado" (550) y cerrar la
+ * conexión cada cierta cantidad de correos para simular límites por sesión.
+ */
+public class ServidorSmtpSimulado implements AutoCloseable {
+    private final ServerSocket socketServidor;
+    private final int correosPorConexion;
+    private final long latenciaRespuestaMs;
+
+    private final AtomicInteger conexiones = new AtomicInteger();
+    private final AtomicInteger correosRecibidos = new AtomicInteger();
+    private final AtomicInteger destinatariosRechazados = new AtomicInteger();
+    private volatile boolean activo = true;
+
+    /**
+     * @param correosPorConexion cierra la conexión tras este número de correos (0 = sin límite)
+     * @param latenciaRespuestaMs espera antes de cada respuesta, para aproximar la red real
+     */
+    public ServidorSmtpSimulado(int correosPorConexion, long latenciaRespuestaMs) throws IOException {
+        this.socketServidor = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.correosPorConexion = correosPorConexion;
+        this.latenciaRespuestaMs = latenciaRespuestaMs;
+
+        Thread aceptador = new Thread(this::aceptar, "smtp-simulado");
+        aceptador.setDaemon(true);
+        aceptador.start();
+    }
+
+    public int getPuerto() { return socketServidor.getLocalPort(); }
+    public int getConexiones() { return conexiones.get(); }
+    public int getCorreosRecibidos() { return correosRecibidos.get(); }
+    public int getDestinatariosRechazados() { return destinatariosRechazados.get(); }
+
+    private void aceptar() {
+        while (activo) {
+            try {
+                Socket socket = socketServidor.accept();
+                conexiones.incrementAndGet();
+                Thread sesion = new Thread(() -> atender(socket), "smtp-simulado-sesion");
+                sesion.setDaemon(true);
+                sesion.start();
+            } catch (IOException e) {
+                if (activo) {
+                    System.err.println("Error en el servidor SMTP simulado: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void atender(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader entrada = new BufferedReader(
+                 new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream salida = s.getOutputStream()) {
+
+            responder(salida, "220 localhost SMTP simulado");
+            int correosEnSesion = 0;
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                String comando = linea.length() >= 4 ? linea.substring(0, 4).toUpperCase() : linea.toUpperCase();
+                switch (comando) {
+                    case "EHLO":
+                        responder(salida, "250-localhost\r\n250 8BITMIME");
+                        break;
+                    case "HELO":
+                    case "MAIL":
+                    case "RSET":
+                    case "NOOP":
+                        responder(salida, "250 OK");
+                        break;
+                    case "RCPT":
+                        if (linea.toLowerCase().contains("rechazado")) {
+                            destinatariosRechazados.incrementAndGet();
+                            responder(salida, "550 Buzon no disponible");
+                        } else {
+                            responder(salida, "250 OK");
+                        }
+                        break;
+                    case "DATA":
+                        responder(salida, "354 Termine con <CRLF>.<CRLF>");
+                        while ((linea = entrada.readLine()) != null && !linea.equals(".")) {
+                            // Contenido descartado
+                        }
+                        correosRecibidos.incrementAndGet();
+                        correosEnSesion++;
+                        responder(salida, "250 OK");
+                        if (correosPorConexion > 0 && correosEnSesion >= correosPorConexion) {
+                            // Límite de la sesión: el cliente debe reconectar
+                            return;
+                        }
+                        break;
+                    case "QUIT":
+                        responder(salida, "221 Adios");
+                        return;
+                    default:
+                        responder(salida, "502 Comando no implementado");
+                }
+            }
+        } catch (IOException e) {
+            // El cliente cerró la conexión
+        }
+    }
+
+    private void responder(OutputStream salida, String respuesta) throws IOException {
+        if (latenciaRespuestaMs > 0) {
+            try {
+                Thread.sleep(latenciaRespuestaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        salida.write((respuesta + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        salida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        activo = false;
+        socketServidor.close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.modelo.correo;
+
+import java.util.List;
+
+import com.aplicacion.Configuracion;
+
+import jakarta.mail.MessagingException;
+
+/**
+ * Medio por el que se entrega un correo ya construido
+ * Permite cambiar el servidor SMTP real por un transporte local en pruebas y desarrollo
+ */
+public interface TransporteCorreo {
+
+    /**
+     * Envía un correo HTML; lanza excepción si el servidor lo rechaza o no responde
+     */
+    void enviar(String destinatario, String asunto, String contenidoHTML) throws MessagingException;
+
+    /**
+     * Envía varios correos y devuelve el resultado de cada uno sin detenerse en los fallidos
+     * Los transportes con conexión (SMTP) la reutilizan para todo el lote
+     */
+    default ResultadoEnvioLote enviarLote(List<MensajeCorreo> mensajes) {
+        ResultadoEnvioLote resultado = new ResultadoEnvioLote(mensajes.size());
+        long inicio = System.nanoTime();
+        for (MensajeCorreo mensaje : mensajes) {
+            try {
+                enviar(mensaje.getDestinatario(), mensaje.getAsunto(), mensaje.getContenidoHTML());
+                resultado.registrarEnvio(mensaje);
+            } catch (MessagingException e) {
+                resultado.registrarFallo(mensaje, e);
+            }
+        }
+        resultado.setDuracionNanos(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Libera las conexiones abiertas
+     */
+    default void cerrar() {
+    }
+
+    /**
+     * Crea el transporte indicado en correo.transporte (smtp | local)
+     */
+    static TransporteCorreo crearDesdeConfiguracion() {
+        String tipo = Configuracion.obtener("correo.transporte", "smtp");
+        if ("local".equalsIgnoreCase(tipo)) {
+            return new TransporteLocal();
+        }
+        return new TransporteSmtp();
+    }
+}
@@ -0,0 +1,60 @@
+package com.modelo.correo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.mail.MessagingException;
+
+/**
+ * Transporte de prueba: no se conecta a ningún servidor, solo registra los correos
+ * Se activa con correo.transporte=local
+ */
+public class TransporteLocal implements TransporteCorreo {
+    private final ConcurrentLinkedQueue<CorreoRegistrado> enviados = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger fallosSimulados = new AtomicInteger();
+
+    @Override
+    public void enviar(String destinatario, String asunto, String contenidoHTML) throws MessagingException {
+        if (fallosSimulados.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new MessagingException("Fallo simulado del transporte local");
+        }
+        enviados.add(new CorreoRegistrado(destinatario, asunto, contenidoHTML));
+        System.out.println("[correo local] " + destinatario + " - " + asunto);
+    }
+
+    /**
+     * Hace fallar los próximos 'cantidad' envíos (para probar reintentos)
+     */
+    public void simularFallos(int cantidad) {
+        fallosSimulados.set(cantidad);
+    }
+
+    public List<CorreoRegistrado> getEnviados() {
+        return new ArrayList<>(enviados);
+    }
+
+    public void limpiar() {
+        enviados.clear();
+    }
+
+    /**
+     * Correo capturado por el transporte local
+     */
+    public static class CorreoRegistrado {
+        private final String destinatario;
+        private final String asunto;
+        private final String contenidoHTML;
+
+        public CorreoRegistrado(String destinatario, String asunto, String contenidoHTML) {
+            this.destinatario = destinatario;
+            this.asunto = asunto;
+            this.contenidoHTML = contenidoHTML;
+        }
+
+        public String getDestinatario() { return destinatario; }
+        public String getAsunto() { return asunto; }
+        public String getContenidoHTML() { return contenidoHTML; }
+    }
+}
@@ -0,0 +1,214 @@
+package com.modelo.correo;
+
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.aplicacion.Configuracion;
+
+import jakarta.mail.Authenticator;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.PasswordAuthentication;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Transporte SMTP con sesión única y una conexión abierta por hilo de envío
+ * Responsabilidad: Evitar crear una Session y abrir una conexión (TLS + login) por cada correo
+ *
+ * Si el servidor cierra la conexión (inactividad, límite de mensajes por sesión)
+ * se abre una nueva y se reintenta el mismo correo una vez; un destinatario
+ * rechazado solo hace fallar su propio correo.
+ */
+public class TransporteSmtp implements TransporteCorreo {
+    private static final int REINTENTOS_RECONEXION = 1;
+
+    private final String host;
+    private final int puerto;
+    private final String remitente;
+    private final String nombreRemitente;
+    private final String contrasena;
+    private final boolean autenticacion;
+    private final Session session;
+
+    // Transport no es seguro entre hilos: cada hilo de envío reutiliza su propia conexión
+    private final ThreadLocal<Transport> conexionPorHilo = new ThreadLocal<>();
+    private final List<Transport> conexiones = new CopyOnWriteArrayList<>();
+
+    public TransporteSmtp() {
+        this(Configuracion.obtener("correo.smtp.host", "smtp.gmail.com"),
+             Configuracion.obtenerEntero("correo.smtp.puerto", 587),
+             Configuracion.obtener("correo.remitente", "prueba"),
+             Configuracion.obtener("correo.remitente.nombre", "Sistema Académico"),
+             Configuracion.obtener("correo.contrasena", "pruebaContraseña"),
+             Configuracion.obtenerBooleano("correo.smtp.autenticacion", true),
+             Configuracion.obtenerBooleano("correo.smtp.starttls", true));
+    }
+
+    /**
+     * Transporte hacia un servidor concreto (p. ej. ServidorSmtpSimulado sin TLS ni login)
+     */
+    public TransporteSmtp(String host, int puerto, String remitente, String nombreRemitente,
+                          String contrasena, boolean autenticacion, boolean starttls) {
+        this.host = host;
+        this.puerto = puerto;
+        this.remitente = remitente;
+        this.nombreRemitente = nombreRemitente;
+        this.contrasena = contrasena;
+        this.autenticacion = autenticacion;
+        this.session = Session.getInstance(configurarPropiedades(autenticacion, starttls), new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(remitente, contrasena);
+            }
+        });
+    }
+
+    @Override
+    public void enviar(String destinatario, String asunto, String contenidoHTML) throws MessagingException {
+        MimeMessage mensaje = construirMensaje(destinatario, asunto, contenidoHTML);
+        enviarConReconexion(mensaje, null);
+    }
+
+    /**
+     * Envía todo el lote por la conexión del hilo actual: el saludo, STARTTLS y
+     * AUTH se pagan una vez por conexión y no una vez por correo
+     */
+    @Override
+    public ResultadoEnvioLote enviarLote(List<MensajeCorreo> mensajes) {
+        ResultadoEnvioLote resultado = new ResultadoEnvioLote(mensajes.size());
+        long inicio = System.nanoTime();
+
+        for (MensajeCorreo mensaje : mensajes) {
+            try {
+                MimeMessage mime = construirMensaje(
+                    mensaje.getDestinatario(), mensaje.getAsunto(), mensaje.getContenidoHTML());
+                enviarConReconexion(mime, resultado);
+                resultado.registrarEnvio(mensaje);
+            } catch (MessagingException e) {
+                resultado.registrarFallo(mensaje, e);
+            }
+        }
+
+        resultado.setDuracionNanos(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Verifica que el servidor acepte las credenciales configuradas
+     */
+    public void probarConexion() throws MessagingException {
+        Transport transporte = session.getTransport("smtp");
+        conectar(transporte);
+        transporte.close();
+    }
+
+    /**
+     * Envía por la conexión del hilo; si la conexión se cayó, abre otra y reintenta
+     */
+    private void enviarConReconexion(MimeMessage mensaje, ResultadoEnvioLote resultado) throws MessagingException {
+        int intento = 0;
+        while (true) {
+            intento++;
+            Transport transporte = obtenerConexion(resultado, intento > 1);
+            try {
+                transporte.sendMessage(mensaje, mensaje.getAllRecipients());
+                return;
+            } catch (MessagingException | IllegalStateException e) {
+                // IllegalStateException: la conexión del hilo fue cerrada con cerrar()
+                if (transporte.isConnected()) {
+                    // El servidor rechazó este correo pero la conexión sigue sirviendo
+                    throw e;
+                }
+                descartarConexion(transporte);
+                if (intento > REINTENTOS_RECONEXION) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private MimeMessage construirMensaje(String destinatario, String asunto, String contenidoHTML)
+            throws MessagingException {
+        MimeMessage mensaje = new MimeMessage(session);
+        try {
+            mensaje.setFrom(new InternetAddress(remitente, nombreRemitente, "UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            mensaje.setFrom(new InternetAddress(remitente));
+        }
+        mensaje.setRecipients(Message.RecipientType.TO, InternetAddress.parse(destinatario));
+        mensaje.setSubject(asunto, "UTF-8");
+        mensaje.setContent(contenidoHTML, "text/html; charset=utf-8");
+        mensaje.saveChanges();
+        return mensaje;
+    }
+
+    private Transport obtenerConexion(ResultadoEnvioLote resultado, boolean reintento) throws MessagingException {
+        // No se verifica con NOOP antes de cada correo (costaría un viaje de red por envío):
+        // si la conexión está caída el envío falla y enviarConReconexion la reemplaza
+        Transport transporte = conexionPorHilo.get();
+        if (transporte != null) {
+            return transporte;
+        }
+
+        transporte = session.getTransport("smtp");
+        conectar(transporte);
+        conexionPorHilo.set(transporte);
+        conexiones.add(transporte);
+        if (resultado != null) {
+            resultado.registrarConexion(reintento);
+        }
+        return transporte;
+    }
+
+    private void conectar(Transport transporte) throws MessagingException {
+        if (autenticacion) {
+            transporte.connect(host, puerto, remitente, contrasena);
+        } else {
+            transporte.connect(host, puerto, null, null);
+        }
+    }
+
+    private void descartarConexion(Transport transporte) {
+        conexionPorHilo.remove();
+        conexiones.remove(transporte);
+        try {
+            transporte.close();
+        } catch (MessagingException e) {
+            // Ya estaba cerrada
+        }
+    }
+
+    @Override
+    public void cerrar() {
+        for (Transport transporte : conexiones) {
+            try {
+                transporte.close();
+            } catch (MessagingException e) {
+                System.err.println("Error cerrando conexión SMTP: " + e.getMessage());
+            }
+        }
+        conexiones.clear();
+    }
+
+    private Properties configurarPropiedades(boolean autenticacion, boolean starttls) {
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", String.valueOf(autenticacion));
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(puerto));
+        props.put("mail.smtp.ssl.trust", host);
+        props.put("mail.smtp.ssl.protocols", "TLSv1.2");
+        props.put("mail.smtp.connectiontimeout", String.valueOf(
+            Configuracion.obtenerEntero("correo.smtp.tiempo.conexion.ms", 10_000)));
+        props.put("mail.smtp.timeout", String.valueOf(
+            Configuracion.obtenerEntero("correo.smtp.tiempo.lectura.ms", 20_000)));
+        props.put("mail.smtp.writetimeout", String.valueOf(
+            Configuracion.obtenerEntero("correo.smtp.tiempo.lectura.ms", 20_000)));
+        return props;
+    }
+}
@@ -0,0 +1,118 @@
+package com.modelo.dominio;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Correo pendiente de envío (bandeja de salida persistente)
+ * Se guarda en la misma transacción que el cambio que lo origina y lo envía
+ * en segundo plano el DespachadorCorreo, fuera de cualquier transacción.
+ */
+@Entity(name = "correo_saliente")
+@Table(indexes = @Index(name = "idx_correo_saliente_estado", columnList = "estado, proximo_intento"))
+public class CorreoSaliente {
+    public enum EstadoEnvio {
+        Pendiente,
+        Enviando,
+        Enviado,
+        Fallido
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_correo")
+    private Long idCorreo;
+
+    @Column(nullable = false, length = 255)
+    private String destinatario;
+
+    @Column(nullable = false, length = 200)
+    private String asunto;
+
+    // Se borra al enviarse: puede contener credenciales en texto plano
+    @Column(columnDefinition = "TEXT")
+    private String cuerpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoEnvio estado = EstadoEnvio.Pendiente;
+
+    @Column(nullable = false)
+    private int intentos = 0;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "fecha_reclamo")
+    private LocalDateTime fechaReclamo;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    public CorreoSaliente(String destinatario, String asunto, String cuerpo) {
+        this.destinatario = destinatario;
+        this.asunto = asunto;
+        this.cuerpo = cuerpo;
+        this.fechaCreacion = LocalDateTime.now();
+        this.proximoIntento = this.fechaCreacion;
+    }
+
+    public CorreoSaliente() {
+    }
+
+    // ============================================
+    // MÉTODOS DE NEGOCIO
+    // ============================================
+
+    public void marcarEnviado() {
+        this.estado = EstadoEnvio.Enviado;
+        this.fechaEnvio = LocalDateTime.now();
+        this.cuerpo = null;
+        this.ultimoError = null;
+    }
+
+    /**
+     * Registra un intento fallido: vuelve a Pendiente con la espera indicada
+     * o queda Fallido si ya agotó los reintentos
+     */
+    public void registrarFallo(String error, int maximoIntentos, long esperaMs) {
+        this.intentos++;
+        this.ultimoError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+
+        if (this.intentos >= maximoIntentos) {
+            this.estado = EstadoEnvio.Fallido;
+            // No se volverá a enviar: no se guarda el cuerpo (puede llevar una contraseña)
+            this.cuerpo = null;
+        } else {
+            this.estado = EstadoEnvio.Pendiente;
+            this.proximoIntento = LocalDateTime.now().plusNanos(esperaMs * 1_000_000);
+        }
+    }
+
+    public Long getIdCorreo() { return idCorreo; }
+    public String getDestinatario() { return destinatario; }
+    public String getAsunto() { return asunto; }
+    public String getCuerpo() { return cuerpo; }
+    public EstadoEnvio getEstado() { return estado; }
+    public int getIntentos() { return intentos; }
+    public LocalDateTime getFechaCreacion() { return fechaCreacion; }
+    public LocalDateTime getProximoIntento() { return proximoIntento; }
+    public LocalDateTime getFechaReclamo() { return fechaReclamo; }
+    public LocalDateTime getFechaEnvio() { return fechaEnvio; }
+    public String getUltimoError() { return ultimoError; }
+}
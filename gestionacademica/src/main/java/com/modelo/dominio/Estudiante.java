@@ -5,6 +5,8 @@ import java.util.Set;
 import java.util.regex.Pattern;
 
 @Entity(name = "estudiante")
+@Table(indexes = @Index(name = "idx_estudiante_estado_preinscripcion",
+    columnList = "estado, id_preinscripcion, id_estudiante"))
 public class Estudiante {
     private static final int MIN_EDAD_ESTUDIANTE = 3;
     private static final int MAX_EDAD_ESTUDIANTE = 10;
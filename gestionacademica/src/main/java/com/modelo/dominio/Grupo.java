@@ -3,23 +3,38 @@ package com.modelo.dominio;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 @Entity(name = "grupo")
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = Grupo.RESTRICCION_NOMBRE_UNICO, columnNames = {"grado", "nombre_grupo"}),
+    indexes = {
+        @Index(name = "idx_grupo_estado_cantidad", columnList = "estado, cantidad_estudiantes"),
+        @Index(name = "idx_grupo_grado_estado_cantidad", columnList = "grado, estado, cantidad_estudiantes")
+    })
 public class Grupo {
+    // Un nombre por grado; AsignadorGrupos.repararNombresRepetidos la crea si hbm2ddl no pudo
+    public static final String RESTRICCION_NOMBRE_UNICO = "uk_grupo_grado_nombre";
+
     @Transient
     private final int MINESTUDIANTES = 5;
     @Transient
@@ -50,6 +65,25 @@ public class Grupo {
     @OneToMany(mappedBy = "grupo", fetch = FetchType.LAZY)
     private Set<Estudiante> estudiantes;
 
+    /**
+     * Cantidad de estudiantes del grupo, mantenida al agregar estudiantes para que las
+     * consultas filtren y ordenen por columna (con índice) en vez de contar con SIZE().
+     * AsignadorGrupos.repararCantidadesEstudiantes corrige la que no coincida con el conteo real.
+     */
+    @ColumnDefault("0")
+    @Column(name = "cantidad_estudiantes", nullable = false)
+    private int cantidadEstudiantes;
+
+    /**
+     * Control optimista: sube con cada cambio del grupo, también al asignar estudiantes
+     * porque cambia cantidadEstudiantes. Una transacción que guardó el grupo con una
+     * versión vieja falla en lugar de pisar el cambio de otra.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer version;
+
     public Grupo(Integer idGrupo, String nombreGrupo, boolean estado, Grado grado, 
                 Profesor profesor, Set<Estudiante> estudiantes) {
         this.idGrupo = idGrupo;
@@ -58,6 +92,7 @@ public class Grupo {
         this.grado = grado;
         this.profesor = profesor;
         this.estudiantes = estudiantes;
+        this.cantidadEstudiantes = estudiantes != null ? estudiantes.size() : 0;
     }
 
     public Grupo(){
@@ -68,14 +103,14 @@ public class Grupo {
      * Verifica si el grupo tiene suficientes estudiantes (>= 5)
      */
     public boolean tieneEstudiantesSuficientes(){
-        return (estudiantes.size() >= MINESTUDIANTES);
+        return (cantidadEstudiantes >= MINESTUDIANTES);
     }
 
     /**
      * Verifica si el grupo tiene disponibilidad para más estudiantes (< 10)
      */
     public boolean tieneDisponibilidad(){
-        return (estudiantes.size() < MAXESTUDIANTES);
+        return (cantidadEstudiantes < MAXESTUDIANTES);
     }
 
     /**
@@ -118,10 +153,10 @@ public class Grupo {
     }
 
     /**
-     * Obtiene la cantidad actual de estudiantes
+     * Obtiene la cantidad actual de estudiantes (columna contador, no carga la colección)
      */
     public int getCantidadEstudiantes(){
-        return estudiantes != null ? estudiantes.size() : 0;
+        return cantidadEstudiantes;
     }
 
     /**
@@ -140,14 +175,35 @@ public class Grupo {
         
         estudiantes.add(estudiante);
         estudiante.setGrupo(this); // Asegurar la relación bidireccional
+        cantidadEstudiantes++;
         
         activar();
         
         return true;
     }
 
+    /**
+     * Agrega el estudiante conociendo la cantidad actual (contada en la base de datos),
+     * sin cargar ni modificar la colección de estudiantes: solo se actualiza el lado dueño
+     * de la relación (estudiante.grupo) y el contador, que toma el conteo real.
+     * Activa el grupo al alcanzar el mínimo.
+     * @return false si con esa cantidad el grupo ya está lleno
+     */
+    public boolean agregarEstudiante(Estudiante estudiante, int cantidadActual) {
+        if (cantidadActual >= MAXESTUDIANTES) {
+            return false;
+        }
+        
+        estudiante.setGrupo(this);
+        cantidadEstudiantes = cantidadActual + 1;
+        if (cantidadActual + 1 >= MINESTUDIANTES) {
+            this.estado = true;
+        }
+        return true;
+    }
+
     public boolean estaLleno() {
-        return estudiantes.size() >= MAXESTUDIANTES;
+        return cantidadEstudiantes >= MAXESTUDIANTES;
     }
 
     public int getMINESTUDIANTES() {
@@ -198,6 +254,10 @@ public class Grupo {
         this.profesor = profesor;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
     public Set<Estudiante> getEstudiantes() {
         return estudiantes;
     }
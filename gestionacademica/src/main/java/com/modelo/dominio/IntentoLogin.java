@@ -0,0 +1,71 @@
+package com.modelo.dominio;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Intento de inicio de sesión (exitoso o fallido)
+ * Se comparte entre todas las ventanas e instancias de la aplicación, así el
+ * bloqueo por intentos fallidos no se pierde al cerrar la ventana ni al reiniciar.
+ *
+ * Un fallo deja de contar para el bloqueo del usuario (vigente = false) cuando
+ * ese usuario inicia sesión correctamente; para el límite por equipo sigue contando.
+ */
+@Entity(name = "intento_login")
+@Table(indexes = {
+    @Index(name = "idx_intento_login_usuario", columnList = "nombre_usuario, fecha"),
+    @Index(name = "idx_intento_login_equipo", columnList = "equipo, fecha")
+})
+public class IntentoLogin {
+    public static final int LONGITUD_USUARIO = 100;
+    public static final int LONGITUD_EQUIPO = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_intento")
+    private Long idIntento;
+
+    @Column(name = "nombre_usuario", nullable = false, length = LONGITUD_USUARIO)
+    private String nombreUsuario;
+
+    @Column(nullable = false, length = LONGITUD_EQUIPO)
+    private String equipo;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+
+    @Column(nullable = false)
+    private boolean exitoso;
+
+    @Column(nullable = false)
+    private boolean vigente;
+
+    public IntentoLogin(String nombreUsuario, String equipo, boolean exitoso) {
+        this.nombreUsuario = recortar(nombreUsuario, LONGITUD_USUARIO);
+        this.equipo = recortar(equipo, LONGITUD_EQUIPO);
+        this.exitoso = exitoso;
+        this.vigente = !exitoso;
+        this.fecha = LocalDateTime.now();
+    }
+
+    public IntentoLogin() {
+    }
+
+    private static String recortar(String valor, int longitud) {
+        return valor.length() > longitud ? valor.substring(0, longitud) : valor;
+    }
+
+    public Long getIdIntento() { return idIntento; }
+    public String getNombreUsuario() { return nombreUsuario; }
+    public String getEquipo() { return equipo; }
+    public LocalDateTime getFecha() { return fecha; }
+    public boolean isExitoso() { return exitoso; }
+    public boolean isVigente() { return vigente; }
+}
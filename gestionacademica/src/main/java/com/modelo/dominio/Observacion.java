@@ -8,19 +8,25 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity(name = "observacion")
+// Páginas del observador de un estudiante: las más recientes primero (ver ObservacionRepositorio)
+@Table(indexes = @Index(name = "idx_observacion_observador_fecha",
+    columnList = "observador, fecha_observacion, id_observacion"))
 public class Observacion {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_observacion")
     private Integer idObservacion;
 
+    // La base genera además descripcion_busqueda (tsvector, sin mapear): ver BusquedaObservaciones
     @NotBlank
     @Size(min = 10, max = 200)
     @Column(nullable = false, columnDefinition = "TEXT")
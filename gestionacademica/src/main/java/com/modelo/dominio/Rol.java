@@ -3,6 +3,10 @@ package com.modelo.dominio;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +19,8 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "referencia.rol")
 @Table(name = "roles")
 public class Rol {
     @Id
@@ -26,6 +32,7 @@ public class Rol {
     private String nombre;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "referencia.rol.permisos")
     @JoinTable(
         name = "rol_permiso",
         joinColumns = @JoinColumn(name = "id_rol"),
@@ -8,11 +8,22 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Transient;
 
-import java.util.Random;
+import java.security.SecureRandom;
+import java.util.regex.Pattern;
+
+import com.modelo.ServicioContrasenas;
 
 @Entity(name = "token_usuario")
+@NamedQuery(
+    name = "TokenUsuario.buscarPorNombreUsuario",
+    query = "SELECT t FROM token_usuario t WHERE t.nombreUsuario = :nombreUsuario"
+)
 public class TokenUsuario {
+    private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9]");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_token")
@@ -21,8 +32,13 @@ public class TokenUsuario {
     @Column(name = "nombre_usuario", nullable = false, unique = true, length = 50)
     private String nombreUsuario;
 
+    // Hash PBKDF2 (ver ServicioContrasenas); los registros antiguos pueden tener texto plano
     @Column(name = "contrasena", nullable = false, length = 255)
     private String contrasena;
+
+    // Contraseña recién generada, solo en memoria para enviarla por correo
+    @Transient
+    private String contrasenaGenerada;
     
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "id_rol", nullable = false)
@@ -67,10 +83,11 @@ public class TokenUsuario {
         // Generar contraseña aleatoria
         String contrasena = generarContrasenaAleatoria();
         
-        // Crear y retornar el token
+        // Crear y retornar el token (se guarda solo el hash)
         TokenUsuario token = new TokenUsuario();
         token.setNombreUsuario(nombreUsuario);
-        token.setContrasena(contrasena);
+        token.setContrasena(ServicioContrasenas.hashear(contrasena));
+        token.contrasenaGenerada = contrasena;
         token.setRol(rol);
         
         return token;
@@ -116,9 +133,10 @@ public class TokenUsuario {
     
     /**
      * Normaliza el texto eliminando tildes y caracteres especiales
-     * Mantiene solo letras y números
+     * Mantiene solo letras y números. La búsqueda de personas normaliza igual
+     * cada palabra de los nombres y de lo que se escribe.
      */
-    private static String normalizarTexto(String texto) {
+    public static String normalizarTexto(String texto) {
         if (texto == null || texto.isEmpty()) {
             return texto;
         }
@@ -137,7 +155,7 @@ public class TokenUsuario {
             .replace('ñ', 'n');
         
         // Eliminar caracteres especiales, mantener solo letras y números
-        normalizado = normalizado.replaceAll("[^a-z0-9]", "");
+        normalizado = NO_ALFANUMERICO.matcher(normalizado).replaceAll("");
         
         return normalizado;
     }
@@ -148,7 +166,7 @@ public class TokenUsuario {
      */
     private static String generarContrasenaAleatoria() {
         String caracteres = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$";
-        Random random = new Random();
+        SecureRandom random = new SecureRandom();
         StringBuilder sb = new StringBuilder(8);
         
         for (int i = 0; i < 8; i++) {
@@ -163,15 +181,15 @@ public class TokenUsuario {
     // ============================================
     
     /**
-     * Verifica las credenciales del usuario
+     * Verifica las credenciales del usuario en el hilo actual (cálculo lento)
+     * El login usa ServicioContrasenas.verificar, que lo hace en un pool acotado
      */
     public boolean verificarCredenciales(String contrasenaPrueba) {
         if (contrasenaPrueba == null || contrasenaPrueba.isEmpty()) {
             return false;
         }
         
-        boolean credencialesCorrectas = this.contrasena.equals(contrasenaPrueba);
-        return credencialesCorrectas;
+        return ServicioContrasenas.coincide(contrasenaPrueba, this.contrasena);
     }
 
     // ============================================
@@ -184,9 +202,18 @@ public class TokenUsuario {
     public String getNombreUsuario() { return nombreUsuario; }
     public void setNombreUsuario(String nombreUsuario) { this.nombreUsuario = nombreUsuario; }
     
+    /**
+     * Valor guardado (hash); no sirve para enviarlo al usuario
+     */
     public String getContrasena() { return contrasena; }
     public void setContrasena(String contrasena) { this.contrasena = contrasena; }
 
+    /**
+     * Contraseña en claro generada en esta misma operación; null si el token
+     * se cargó de la base de datos
+     */
+    public String getContrasenaGenerada() { return contrasenaGenerada; }
+
     public Rol getRol() { return rol; }
     public void setRol(Rol rol) { this.rol = rol; }
 }
\ No newline at end of file
@@ -4,6 +4,23 @@ import jakarta.persistence.*;
 import java.util.regex.Pattern;
 
 @Entity(name = "usuario")
+@NamedQuery(
+    name = "Usuario.buscarPorToken",
+    query = "SELECT u FROM usuario u WHERE u.tokenAccess.idToken = :id_token"
+)
+// Login en una sola consulta: usuario (con su subclase), token, rol, permisos y,
+// si es profesor, el grupo asignado (un @OneToOne inverso que si no se cargaría aparte)
+// con su grado, que las vistas del profesor muestran ya fuera de la transacción
+@NamedQuery(
+    name = "Usuario.autenticar",
+    query = "SELECT u FROM usuario u " +
+            "JOIN FETCH u.tokenAccess t " +
+            "JOIN FETCH t.rol r " +
+            "LEFT JOIN FETCH r.permisos " +
+            "LEFT JOIN FETCH TREAT(u AS profesor).grupoAsignado ga " +
+            "LEFT JOIN FETCH ga.grado " +
+            "WHERE t.nombreUsuario = :nombreUsuario"
+)
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class Usuario {
     
@@ -0,0 +1,27 @@
+package com.modelo.dto;
+
+/**
+ * Campos de un usuario nuevo que ya usa otro usuario: NUIP, correo y teléfono
+ * Sale de una sola consulta (UsuarioRepositorio.buscarDuplicados) o del filtro en
+ * memoria cuando este descarta los tres valores.
+ */
+public record CamposDuplicados(boolean nuip, boolean correoElectronico, boolean telefono) {
+    private static final CamposDuplicados NINGUNO = new CamposDuplicados(false, false, false);
+
+    /**
+     * Constructor de la consulta: MAX de cada coincidencia (null si ningún usuario coincide)
+     */
+    public CamposDuplicados(Integer nuip, Integer correoElectronico, Integer telefono) {
+        this(nuip != null && nuip > 0,
+            correoElectronico != null && correoElectronico > 0,
+            telefono != null && telefono > 0);
+    }
+
+    public static CamposDuplicados ninguno() {
+        return NINGUNO;
+    }
+
+    public boolean hayDuplicados() {
+        return nuip || correoElectronico || telefono;
+    }
+}
@@ -0,0 +1,27 @@
+package com.modelo.dto;
+
+/**
+ * Fila de la lista de aspirantes: un estudiante pendiente con su acudiente y grado
+ * Se llena directamente desde la consulta (SELECT new ...), sin cargar entidades.
+ */
+public record EstudiantePendiente(Integer idPreinscripcion,
+                                  Integer idAcudiente, String nombreAcudiente,
+                                  Integer idEstudiante, String nombreCompleto,
+                                  String nombreGrado) {
+
+    /**
+     * Constructor de la consulta: recibe las columnas de nombre por separado
+     */
+    public EstudiantePendiente(Integer idPreinscripcion,
+                               Integer idAcudiente, String acudientePrimerNombre, String acudienteSegundoNombre,
+                               String acudientePrimerApellido, String acudienteSegundoApellido,
+                               Integer idEstudiante, String primerNombre, String segundoNombre,
+                               String primerApellido, String segundoApellido,
+                               String nombreGrado) {
+        this(idPreinscripcion,
+            idAcudiente, Nombres.unir(acudientePrimerNombre, acudienteSegundoNombre,
+                acudientePrimerApellido, acudienteSegundoApellido),
+            idEstudiante, Nombres.unir(primerNombre, segundoNombre, primerApellido, segundoApellido),
+            nombreGrado != null ? nombreGrado : "Sin grado");
+    }
+}
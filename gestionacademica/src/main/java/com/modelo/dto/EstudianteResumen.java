@@ -0,0 +1,37 @@
+package com.modelo.dto;
+
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grupo;
+
+/**
+ * Estudiante en los selectores (grupo del profesor, grupos del directivo) y en los
+ * diálogos de hoja de vida y observador: solo lo que se muestra y el id para consultar
+ */
+public record EstudianteResumen(Integer idEstudiante, String nombreCompleto,
+                                Integer idGrupo, String nombreGrupo, String nombreGrado) {
+
+    /**
+     * Constructor de la consulta: recibe las columnas de nombre por separado
+     */
+    public EstudianteResumen(Integer idEstudiante, String primerNombre, String segundoNombre,
+                             String primerApellido, String segundoApellido,
+                             Integer idGrupo, String nombreGrupo, String nombreGrado) {
+        this(idEstudiante, Nombres.unir(primerNombre, segundoNombre, primerApellido, segundoApellido),
+            idGrupo, nombreGrupo, nombreGrado);
+    }
+
+    /**
+     * Desde una entidad ya cargada (p. ej. los estudiantes del acudiente en sesión)
+     */
+    public static EstudianteResumen de(Estudiante estudiante) {
+        Grupo grupo = estudiante.getGrupo();
+        return new EstudianteResumen(estudiante.getIdEstudiante(), estudiante.obtenerNombreCompleto(),
+            grupo != null ? grupo.getIdGrupo() : null,
+            grupo != null ? grupo.getNombreGrupo() : null,
+            grupo != null ? grupo.getGrado().getNombreGrado() : null);
+    }
+
+    public boolean tieneGrupo() {
+        return idGrupo != null;
+    }
+}
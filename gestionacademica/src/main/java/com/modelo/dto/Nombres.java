@@ -0,0 +1,22 @@
+package com.modelo.dto;
+
+/**
+ * Arma nombres completos a partir de las columnas proyectadas
+ * (mismo formato que Usuario.obtenerNombreCompleto y Estudiante.obtenerNombreCompleto)
+ */
+final class Nombres {
+    private Nombres() {
+    }
+
+    static String unir(String primer, String segundo, String primerAp, String segundoAp) {
+        StringBuilder nombre = new StringBuilder(primer);
+        if (segundo != null && !segundo.isEmpty()) {
+            nombre.append(" ").append(segundo);
+        }
+        nombre.append(" ").append(primerAp);
+        if (segundoAp != null && !segundoAp.isEmpty()) {
+            nombre.append(" ").append(segundoAp);
+        }
+        return nombre.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.modelo.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Observación en los resultados de la búsqueda por palabras: el texto con las
+ * coincidencias marcadas, de quién es y quién la escribió
+ *
+ * En resaltado cada coincidencia va entre INICIO_RESALTADO y FIN_RESALTADO
+ * (caracteres de control que no se escriben en una observación); la vista los
+ * cambia por su propio formato.
+ */
+public record ObservacionEncontrada(Integer idObservacion, LocalDate fechaObservacion, String resaltado,
+                                    double relevancia, Integer idEstudiante, String nombreEstudiante,
+                                    String nombreGrupo, String nombreProfesor) {
+
+    public static final char INICIO_RESALTADO = '\u0002';
+    public static final char FIN_RESALTADO = '\u0003';
+
+    /**
+     * Desde las columnas de nombre del estudiante por separado (consulta de búsqueda)
+     * Una observación sin estudiante (observador huérfano) queda sin nombre.
+     */
+    public ObservacionEncontrada(Integer idObservacion, LocalDate fechaObservacion, String resaltado,
+                                 double relevancia, Integer idEstudiante, String primerNombre,
+                                 String segundoNombre, String primerApellido, String segundoApellido,
+                                 String nombreGrupo, String nombreProfesor) {
+        this(idObservacion, fechaObservacion, resaltado, relevancia, idEstudiante,
+            primerNombre == null ? null : Nombres.unir(primerNombre, segundoNombre, primerApellido, segundoApellido),
+            nombreGrupo, nombreProfesor);
+    }
+
+    /**
+     * Texto de la observación sin las marcas
+     */
+    public String getDescripcion() {
+        return resaltado.replace(String.valueOf(INICIO_RESALTADO), "").replace(String.valueOf(FIN_RESALTADO), "");
+    }
+}
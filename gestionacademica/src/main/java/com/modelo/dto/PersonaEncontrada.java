@@ -0,0 +1,49 @@
+package com.modelo.dto;
+
+import com.modelo.dominio.Acudiente;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Profesor;
+import com.modelo.dominio.Usuario;
+
+/**
+ * Persona en los resultados de la búsqueda por nombre o NUIP: lo que se muestra
+ * mientras se escribe y el id para abrir su información
+ */
+public record PersonaEncontrada(Tipo tipo, Integer id, String nombreCompleto, String nuip) {
+
+    public enum Tipo {
+        ESTUDIANTE,
+        ACUDIENTE,
+        PROFESOR
+    }
+
+    /**
+     * Desde las columnas de nombre por separado (carga del índice)
+     */
+    public PersonaEncontrada(Tipo tipo, Integer id, String primerNombre, String segundoNombre,
+                             String primerApellido, String segundoApellido, String nuip) {
+        this(tipo, id, Nombres.unir(primerNombre, segundoNombre, primerApellido, segundoApellido), nuip);
+    }
+
+    public static PersonaEncontrada de(Estudiante estudiante) {
+        return new PersonaEncontrada(Tipo.ESTUDIANTE, estudiante.getIdEstudiante(),
+            estudiante.obtenerNombreCompleto(), estudiante.getNuip());
+    }
+
+    /**
+     * Solo acudientes y profesores entran en la búsqueda
+     * @return la persona, o null para los demás tipos de usuario
+     */
+    public static PersonaEncontrada de(Usuario usuario) {
+        Tipo tipo;
+        if (usuario instanceof Acudiente) {
+            tipo = Tipo.ACUDIENTE;
+        } else if (usuario instanceof Profesor) {
+            tipo = Tipo.PROFESOR;
+        } else {
+            return null;
+        }
+        return new PersonaEncontrada(tipo, usuario.getIdUsuario(),
+            usuario.obtenerNombreCompleto(), usuario.getNuipUsuario());
+    }
+}
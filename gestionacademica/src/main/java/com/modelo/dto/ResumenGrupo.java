@@ -0,0 +1,21 @@
+package com.modelo.dto;
+
+/**
+ * Grupo en la lista del directivo: nombre, grado, profesor y cantidad de estudiantes
+ * La cantidad sale de la columna contador del grupo; no se cargan los estudiantes.
+ */
+public record ResumenGrupo(Integer idGrupo, String nombreGrupo, String nombreGrado,
+                           String nombreProfesor, long cantidadEstudiantes) {
+
+    /**
+     * Constructor de la consulta: recibe las columnas de nombre del profesor por separado
+     */
+    public ResumenGrupo(Integer idGrupo, String nombreGrupo, String nombreGrado,
+                        String profesorPrimerNombre, String profesorSegundoNombre,
+                        String profesorPrimerApellido, String profesorSegundoApellido,
+                        Integer cantidadEstudiantes) {
+        this(idGrupo, nombreGrupo, nombreGrado,
+            Nombres.unir(profesorPrimerNombre, profesorSegundoNombre, profesorPrimerApellido, profesorSegundoApellido),
+            cantidadEstudiantes != null ? cantidadEstudiantes : 0);
+    }
+}
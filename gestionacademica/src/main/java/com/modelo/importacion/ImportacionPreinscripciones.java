@@ -0,0 +1,545 @@
+package com.modelo.importacion;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aplicacion.Configuracion;
+import com.modelo.FiltroDuplicados;
+import com.modelo.busqueda.BusquedaPersonas;
+import com.modelo.dominio.Acudiente;
+import com.modelo.dominio.Estado;
+import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Grado;
+import com.modelo.dominio.ResultadoValidacionDominio;
+import com.modelo.dto.PersonaEncontrada;
+import com.modelo.persistencia.UnidadTrabajo;
+import com.modelo.persistencia.repositorios.EstudianteRepositorio;
+import com.modelo.persistencia.repositorios.GradoRepositorio;
+import com.modelo.persistencia.repositorios.ImportacionRepositorio;
+import com.modelo.persistencia.repositorios.UsuarioRepositorio;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Importación masiva de preinscripciones desde un CSV (una fila por estudiante)
+ * Responsabilidad: Leer el archivo por bloques, validar las familias en paralelo,
+ * descartar duplicados y guardar cada bloque en una transacción, dejando en un reporte
+ * el motivo de cada fila rechazada.
+ *
+ * Una familia son las filas seguidas con el mismo NUIP de acudiente; los datos del
+ * acudiente se toman de su primera fila. La familia se guarda completa o no se guarda,
+ * como en el registro desde el formulario (PreinscripcionController).
+ *
+ * Flujo por bloque de importacion.bloque.familias familias:
+ *   1. Lectura: LectorCsv entrega filas de a una; solo hay en memoria el bloque en curso.
+ *   2. Validación: Acudiente.validar() y Estudiante.validar() de cada familia en los hilos
+ *      del pool, mientras el hilo que llama a ejecutar() guarda el bloque anterior.
+ *   3. Duplicados: contra lo ya leído del archivo (en memoria) y contra la base de datos
+ *      con una consulta por tabla para todo el bloque.
+ *   4. Inserción: ImportacionRepositorio, con un lote JDBC por tabla.
+ * Si otra transacción registra el mismo NUIP entre la consulta y la inserción, el bloque
+ * se reintenta y esa familia queda como duplicada.
+ *
+ * Uso:
+ *   ResultadoImportacion resultado = new ImportacionPreinscripciones()
+ *       .conProgreso((filas, familias) -> ...)
+ *       .ejecutar(csv, reporte);
+ */
+public class ImportacionPreinscripciones {
+    public static final List<String> COLUMNAS_REQUERIDAS = List.of(
+        "acudiente_nuip", "acudiente_primer_nombre", "acudiente_primer_apellido",
+        "acudiente_edad", "acudiente_correo", "acudiente_telefono",
+        "estudiante_nuip", "estudiante_primer_nombre", "estudiante_primer_apellido",
+        "estudiante_edad", "grado");
+
+    private static final int INTENTOS_BLOQUE = 3;
+
+    /**
+     * Aviso de avance; se llama desde el hilo que ejecuta la importación
+     */
+    public interface Progreso {
+        void actualizar(int filasLeidas, int familiasImportadas);
+    }
+
+    private final int familiasPorBloque;
+    private final int hilos;
+    private Progreso progreso = (filasLeidas, familiasImportadas) -> { };
+
+    // Estado de una ejecución
+    private final Map<String, Integer> nuipsAcudiente = new HashMap<>();
+    private final Map<String, Integer> correos = new HashMap<>();
+    private final Map<String, Integer> telefonos = new HashMap<>();
+    private final Map<String, Integer> nuipsEstudiante = new HashMap<>();
+    private Map<String, Grado> gradosPorNombre;
+    private LectorCsv.Fila filaSiguiente;
+    private int filasLeidas;
+    private int familiasImportadas;
+    private int estudiantesImportados;
+    private int familiasRechazadas;
+    private int filasConError;
+
+    public ImportacionPreinscripciones() {
+        this(Configuracion.obtenerEntero("importacion.bloque.familias", 100),
+            Configuracion.obtenerEntero("importacion.hilos", Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ImportacionPreinscripciones(int familiasPorBloque, int hilos) {
+        this.familiasPorBloque = Math.max(1, familiasPorBloque);
+        this.hilos = Math.max(1, hilos);
+    }
+
+    public ImportacionPreinscripciones conProgreso(Progreso progreso) {
+        this.progreso = progreso;
+        return this;
+    }
+
+    /**
+     * Importa el archivo y escribe en el reporte (CSV con ';') una línea por fila rechazada
+     * Ninguno de los dos se cierra.
+     *
+     * @throws IOException si el archivo no se puede leer o le faltan columnas
+     */
+    public ResultadoImportacion ejecutar(Reader csv, Writer reporte) throws Exception {
+        long inicio = System.nanoTime();
+        gradosPorNombre = cargarGrados();
+
+        LectorCsv lector = new LectorCsv(csv);
+        List<String> faltantes = lector.columnasFaltantes(COLUMNAS_REQUERIDAS);
+        if (!faltantes.isEmpty()) {
+            throw new IOException("Faltan columnas en el encabezado: " + String.join(", ", faltantes));
+        }
+        reporte.write("fila;acudiente_nuip;estudiante_nuip;campo;error\n");
+
+        ExecutorService pool = Executors.newFixedThreadPool(hilos, fabricaHilos());
+        try {
+            filaSiguiente = lector.siguiente();
+            List<Future<Familia>> enValidacion = validarEnParalelo(pool, leerBloque(lector));
+            while (!enValidacion.isEmpty()) {
+                // El bloque siguiente se valida mientras este se guarda
+                List<Future<Familia>> siguiente = validarEnParalelo(pool, leerBloque(lector));
+                guardarBloque(esperar(enValidacion), reporte);
+                progreso.actualizar(filasLeidas, familiasImportadas);
+                enValidacion = siguiente;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        reporte.flush();
+
+        return new ResultadoImportacion(filasLeidas, familiasImportadas, estudiantesImportados,
+            familiasRechazadas, filasConError, System.nanoTime() - inicio);
+    }
+
+    private Map<String, Grado> cargarGrados() throws Exception {
+        List<Grado> grados = UnidadTrabajo.consultar("importacion.grados",
+            em -> new GradoRepositorio(em).buscarTodos());
+        Map<String, Grado> porNombre = new HashMap<>();
+        for (Grado grado : grados) {
+            porNombre.put(grado.getNombreGrado().trim().toLowerCase(Locale.ROOT), grado);
+        }
+        return porNombre;
+    }
+
+    /**
+     * Lee hasta familiasPorBloque familias; la primera fila de la familia siguiente
+     * queda guardada para el próximo bloque
+     */
+    private List<Familia> leerBloque(LectorCsv lector) throws IOException {
+        List<Familia> bloque = new ArrayList<>();
+        while (filaSiguiente != null && bloque.size() < familiasPorBloque) {
+            Familia familia = new Familia(filaSiguiente.get("acudiente_nuip"));
+            do {
+                familia.filas.add(filaSiguiente);
+                filasLeidas++;
+                filaSiguiente = lector.siguiente();
+            } while (filaSiguiente != null && mismoAcudiente(familia, filaSiguiente));
+            bloque.add(familia);
+        }
+        return bloque;
+    }
+
+    private boolean mismoAcudiente(Familia familia, LectorCsv.Fila fila) {
+        return familia.nuipAcudiente != null && familia.nuipAcudiente.equals(fila.get("acudiente_nuip"));
+    }
+
+    private List<Future<Familia>> validarEnParalelo(ExecutorService pool, List<Familia> bloque) {
+        List<Future<Familia>> futuros = new ArrayList<>(bloque.size());
+        for (Familia familia : bloque) {
+            futuros.add(pool.submit(() -> validar(familia)));
+        }
+        return futuros;
+    }
+
+    private List<Familia> esperar(List<Future<Familia>> futuros) throws Exception {
+        List<Familia> familias = new ArrayList<>(futuros.size());
+        for (Future<Familia> futuro : futuros) {
+            try {
+                familias.add(futuro.get());
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                throw causa instanceof Exception ? (Exception) causa : e;
+            }
+        }
+        return familias;
+    }
+
+    /**
+     * Arma el acudiente y sus estudiantes y aplica las validaciones del dominio
+     * Solo usa datos del archivo y los grados ya cargados: se puede correr en cualquier hilo.
+     */
+    private Familia validar(Familia familia) {
+        LectorCsv.Fila primera = familia.filas.get(0);
+
+        Acudiente acudiente = new Acudiente();
+        acudiente.setNuipUsuario(primera.get("acudiente_nuip"));
+        acudiente.setPrimerNombre(primera.get("acudiente_primer_nombre"));
+        acudiente.setSegundoNombre(primera.get("acudiente_segundo_nombre"));
+        acudiente.setPrimerApellido(primera.get("acudiente_primer_apellido"));
+        acudiente.setSegundoApellido(primera.get("acudiente_segundo_apellido"));
+        acudiente.setCorreoElectronico(primera.get("acudiente_correo"));
+        acudiente.setTelefono(primera.get("acudiente_telefono"));
+        acudiente.setEstadoAprobacion(Estado.Pendiente);
+        familia.acudiente = acudiente;
+
+        Integer edadAcudiente = leerEntero(primera.get("acudiente_edad"));
+        if (primera.get("acudiente_edad") != null && edadAcudiente == null) {
+            familia.agregarError(primera, "acudiente_edad", "La edad debe ser un número válido");
+        } else {
+            acudiente.setEdad(edadAcudiente);
+            ResultadoValidacionDominio validacion = acudiente.validar();
+            if (!validacion.isValido()) {
+                familia.agregarError(primera, "acudiente." + validacion.getCampoInvalido(),
+                    validacion.getMensajeError());
+            }
+        }
+
+        Set<String> nuipsFamilia = new HashSet<>();
+        for (LectorCsv.Fila fila : familia.filas) {
+            Estudiante estudiante = new Estudiante();
+            estudiante.setPrimerNombre(fila.get("estudiante_primer_nombre"));
+            estudiante.setSegundoNombre(fila.get("estudiante_segundo_nombre"));
+            estudiante.setPrimerApellido(fila.get("estudiante_primer_apellido"));
+            estudiante.setSegundoApellido(fila.get("estudiante_segundo_apellido"));
+            estudiante.setNuip(fila.get("estudiante_nuip"));
+            estudiante.setEstado(Estado.Pendiente);
+
+            Integer edad = leerEntero(fila.get("estudiante_edad"));
+            if (fila.get("estudiante_edad") != null && edad == null) {
+                familia.agregarError(fila, "estudiante_edad", "La edad debe ser un número válido");
+                continue;
+            }
+            estudiante.setEdad(edad);
+
+            String nombreGrado = fila.get("grado");
+            Grado grado = nombreGrado != null ? gradosPorNombre.get(nombreGrado.toLowerCase(Locale.ROOT)) : null;
+            if (nombreGrado != null && grado == null) {
+                familia.agregarError(fila, "grado", "El grado '" + nombreGrado + "' no existe");
+                continue;
+            }
+            estudiante.setGradoAspira(grado);
+
+            ResultadoValidacionDominio validacion = estudiante.validar();
+            if (!validacion.isValido()) {
+                familia.agregarError(fila, "estudiante." + validacion.getCampoInvalido(),
+                    validacion.getMensajeError());
+                continue;
+            }
+            if (!nuipsFamilia.add(estudiante.getNuip())) {
+                familia.agregarError(fila, "estudiante_nuip", "NUIP de estudiante repetido en la familia");
+                continue;
+            }
+
+            try {
+                acudiente.agregarEstudiante(estudiante);
+            } catch (Acudiente.DomainException e) {
+                familia.agregarError(fila, "estudiante", e.getMessage());
+                continue;
+            }
+            familia.estudiantes.add(estudiante);
+            familia.filasEstudiantes.add(fila);
+        }
+        return familia;
+    }
+
+    /**
+     * Descarta duplicados y guarda las familias válidas del bloque en una transacción
+     */
+    private void guardarBloque(List<Familia> bloque, Writer reporte) throws Exception {
+        List<Familia> candidatas = new ArrayList<>();
+        for (Familia familia : bloque) {
+            if (familia.errores.isEmpty()) {
+                verificarRepetidosEnArchivo(familia);
+            }
+            if (familia.errores.isEmpty()) {
+                candidatas.add(familia);
+            }
+        }
+
+        List<Familia> guardadas = candidatas.isEmpty() ? List.of()
+            : UnidadTrabajo.ejecutarConReintentos("importacion.bloque", INTENTOS_BLOQUE, em -> {
+                // Se recalcula en cada intento: un reintento ve lo que otra transacción confirmó
+                List<Familia> nuevas = descartarExistentes(em, candidatas);
+                List<Acudiente> acudientes = new ArrayList<>(nuevas.size());
+                for (Familia familia : nuevas) {
+                    acudientes.add(familia.acudiente);
+                }
+                new ImportacionRepositorio(em).insertarFamilias(acudientes, LocalDate.now());
+                return nuevas;
+            });
+
+        // Las familias que no se guardaron por duplicado llevan el motivo del último intento
+        for (Familia familia : candidatas) {
+            if (familia.duplicadoEnBase != null) {
+                familia.errores.add(familia.duplicadoEnBase);
+            }
+        }
+        // Los ids los asignó el lote JDBC; ya confirmados, van al filtro y a la búsqueda
+        List<PersonaEncontrada> personasNuevas = new ArrayList<>();
+        for (Familia familia : guardadas) {
+            familiasImportadas++;
+            estudiantesImportados += familia.estudiantes.size();
+            Acudiente acudiente = familia.acudiente;
+            FiltroDuplicados.registrarUsuario(acudiente.getNuipUsuario(),
+                acudiente.getCorreoElectronico(), acudiente.getTelefono());
+            personasNuevas.add(PersonaEncontrada.de(acudiente));
+            for (Estudiante estudiante : familia.estudiantes) {
+                FiltroDuplicados.registrarEstudiante(estudiante.getNuip());
+                personasNuevas.add(PersonaEncontrada.de(estudiante));
+            }
+        }
+        BusquedaPersonas.registrar(personasNuevas);
+        for (Familia familia : bloque) {
+            if (!familia.errores.isEmpty()) {
+                familiasRechazadas++;
+                escribirErrores(familia, reporte);
+            }
+        }
+    }
+
+    /**
+     * Marca como error los NUIP, correos o teléfonos que ya aparecieron en filas anteriores
+     * del archivo. Los valores de la familia se registran aunque luego resulte duplicada
+     * en la base de datos, así una repetición posterior también se rechaza.
+     */
+    private void verificarRepetidosEnArchivo(Familia familia) {
+        LectorCsv.Fila primera = familia.filas.get(0);
+        Acudiente acudiente = familia.acudiente;
+        verificarRepetido(familia, primera, nuipsAcudiente, acudiente.getNuipUsuario(), "acudiente_nuip",
+            "NUIP de acudiente repetido en el archivo (las filas de una familia deben ir seguidas)");
+        verificarRepetido(familia, primera, correos, acudiente.getCorreoElectronico(),
+            "acudiente_correo", "Correo repetido en el archivo");
+        verificarRepetido(familia, primera, telefonos, acudiente.getTelefono(), "acudiente_telefono",
+            "Teléfono repetido en el archivo");
+        for (int i = 0; i < familia.estudiantes.size(); i++) {
+            verificarRepetido(familia, familia.filasEstudiantes.get(i), nuipsEstudiante,
+                familia.estudiantes.get(i).getNuip(), "estudiante_nuip", "NUIP de estudiante repetido en el archivo");
+        }
+    }
+
+    private void verificarRepetido(Familia familia, LectorCsv.Fila fila, Map<String, Integer> vistos,
+                                   String valor, String campo, String mensaje) {
+        Integer filaAnterior = vistos.putIfAbsent(valor, fila.getNumero());
+        if (filaAnterior != null) {
+            familia.agregarError(fila, campo, mensaje + " (fila " + filaAnterior + ")");
+        }
+    }
+
+    /**
+     * Consulta en bloque los identificadores que ya existen y deja fuera esas familias
+     * @return las familias que se pueden insertar
+     */
+    private List<Familia> descartarExistentes(EntityManager em, List<Familia> candidatas) {
+        Set<String> nuips = new HashSet<>();
+        Set<String> correosBloque = new HashSet<>();
+        Set<String> telefonosBloque = new HashSet<>();
+        Set<String> nuipsEstudiantes = new HashSet<>();
+        for (Familia familia : candidatas) {
+            familia.duplicadoEnBase = null;
+            nuips.add(familia.acudiente.getNuipUsuario());
+            correosBloque.add(familia.acudiente.getCorreoElectronico());
+            telefonosBloque.add(familia.acudiente.getTelefono());
+            for (Estudiante estudiante : familia.estudiantes) {
+                nuipsEstudiantes.add(estudiante.getNuip());
+            }
+        }
+
+        Set<String> nuipsUsados = new HashSet<>();
+        Set<String> correosUsados = new HashSet<>();
+        Set<String> telefonosUsados = new HashSet<>();
+        for (Object[] fila : new UsuarioRepositorio(em).buscarIdentificadoresExistentes(
+                nuips, correosBloque, telefonosBloque)) {
+            nuipsUsados.add((String) fila[0]);
+            correosUsados.add((String) fila[1]);
+            telefonosUsados.add((String) fila[2]);
+        }
+        Set<String> nuipsEstudiantesUsados = new HashSet<>(
+            new EstudianteRepositorio(em).buscarNuipsExistentes(nuipsEstudiantes));
+
+        List<Familia> nuevas = new ArrayList<>();
+        for (Familia familia : candidatas) {
+            Acudiente acudiente = familia.acudiente;
+            if (nuipsUsados.contains(acudiente.getNuipUsuario())) {
+                familia.duplicadoEnBase = new ErrorFila(familia.filas.get(0), "acudiente_nuip",
+                    "Ya existe un usuario registrado con este NUIP");
+            } else if (correosUsados.contains(acudiente.getCorreoElectronico())) {
+                familia.duplicadoEnBase = new ErrorFila(familia.filas.get(0), "acudiente_correo",
+                    "Ya existe un usuario registrado con este correo electrónico");
+            } else if (telefonosUsados.contains(acudiente.getTelefono())) {
+                familia.duplicadoEnBase = new ErrorFila(familia.filas.get(0), "acudiente_telefono",
+                    "Ya existe un usuario registrado con este teléfono");
+            } else {
+                for (int i = 0; i < familia.estudiantes.size() && familia.duplicadoEnBase == null; i++) {
+                    if (nuipsEstudiantesUsados.contains(familia.estudiantes.get(i).getNuip())) {
+                        familia.duplicadoEnBase = new ErrorFila(familia.filasEstudiantes.get(i), "estudiante_nuip",
+                            "Ya existe un estudiante registrado con este NUIP");
+                    }
+                }
+            }
+
+            if (familia.duplicadoEnBase == null) {
+                nuevas.add(familia);
+            }
+        }
+        return nuevas;
+    }
+
+    private void escribirErrores(Familia familia, Writer reporte) throws IOException {
+        for (LectorCsv.Fila fila : familia.filas) {
+            List<ErrorFila> deLaFila = new ArrayList<>();
+            for (ErrorFila error : familia.errores) {
+                if (error.fila == fila) {
+                    deLaFila.add(error);
+                }
+            }
+            if (deLaFila.isEmpty()) {
+                deLaFila.add(new ErrorFila(fila, "", "Familia rechazada por errores en otras filas"));
+            }
+            for (ErrorFila error : deLaFila) {
+                reporte.write(error.fila.getNumero() + ";" + campoCsv(error.fila.get("acudiente_nuip")) + ";"
+                    + campoCsv(error.fila.get("estudiante_nuip")) + ";" + campoCsv(error.campo) + ";"
+                    + campoCsv(error.mensaje) + "\n");
+                filasConError++;
+            }
+        }
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(';') >= 0 || valor.indexOf('"') >= 0 || valor.indexOf('\n') >= 0) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    private static Integer leerEntero(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory fabricaHilos() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Filas de un acudiente y lo que resultó de validarlas
+     */
+    private static class Familia {
+        private final String nuipAcudiente;
+        private final List<LectorCsv.Fila> filas = new ArrayList<>();
+        private final List<ErrorFila> errores = new ArrayList<>();
+        // Estudiantes válidos en el orden del archivo, con la fila de cada uno
+        private final List<Estudiante> estudiantes = new ArrayList<>();
+        private final List<LectorCsv.Fila> filasEstudiantes = new ArrayList<>();
+        private Acudiente acudiente;
+        private ErrorFila duplicadoEnBase;
+
+        private Familia(String nuipAcudiente) {
+            this.nuipAcudiente = nuipAcudiente;
+        }
+
+        private void agregarError(LectorCsv.Fila fila, String campo, String mensaje) {
+            errores.add(new ErrorFila(fila, campo, mensaje));
+        }
+    }
+
+    private static class ErrorFila {
+        private final LectorCsv.Fila fila;
+        private final String campo;
+        private final String mensaje;
+
+        private ErrorFila(LectorCsv.Fila fila, String campo, String mensaje) {
+            this.fila = fila;
+            this.campo = campo;
+            this.mensaje = mensaje;
+        }
+    }
+
+    /**
+     * Totales de una importación y su rendimiento
+     */
+    public static class ResultadoImportacion {
+        private final int filasLeidas;
+        private final int familiasImportadas;
+        private final int estudiantesImportados;
+        private final int familiasRechazadas;
+        private final int filasConError;
+        private final long duracionNanos;
+
+        ResultadoImportacion(int filasLeidas, int familiasImportadas, int estudiantesImportados,
+                             int familiasRechazadas, int filasConError, long duracionNanos) {
+            this.filasLeidas = filasLeidas;
+            this.familiasImportadas = familiasImportadas;
+            this.estudiantesImportados = estudiantesImportados;
+            this.familiasRechazadas = familiasRechazadas;
+            this.filasConError = filasConError;
+            this.duracionNanos = duracionNanos;
+        }
+
+        public int getFilasLeidas() { return filasLeidas; }
+        public int getFamiliasImportadas() { return familiasImportadas; }
+        public int getEstudiantesImportados() { return estudiantesImportados; }
+        public int getFamiliasRechazadas() { return familiasRechazadas; }
+        public int getFilasConError() { return filasConError; }
+        public long getDuracionNanos() { return duracionNanos; }
+
+        public double getDuracionMs() {
+            return duracionNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("filas=%d, familias importadas=%d (%d estudiantes), " +
+                    "familias rechazadas=%d, errores en el reporte=%d, tiempo=%.1f ms",
+                filasLeidas, familiasImportadas, estudiantesImportados, familiasRechazadas,
+                filasConError, getDuracionMs());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.modelo.importacion;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector de CSV fila por fila, sin cargar el archivo en memoria
+ * Responsabilidad: Separar campos (con comillas dobles, "" como comilla y saltos de
+ * línea dentro de comillas) y ubicar las columnas por el nombre del encabezado.
+ *
+ * El separador se detecta en el encabezado: ';' (lo que exporta Excel en español)
+ * o ','. Las filas vacías se saltan; el número de fila es el del archivo.
+ */
+public class LectorCsv implements Closeable {
+    private final BufferedReader entrada;
+    private final char separador;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private int lineaActual;
+
+    public LectorCsv(Reader entrada) throws IOException {
+        this.entrada = entrada instanceof BufferedReader ? (BufferedReader) entrada : new BufferedReader(entrada);
+
+        String encabezado = this.entrada.readLine();
+        if (encabezado == null) {
+            throw new IOException("El archivo está vacío");
+        }
+        lineaActual = 1;
+        if (encabezado.startsWith("\uFEFF")) {
+            encabezado = encabezado.substring(1);
+        }
+        this.separador = encabezado.indexOf(';') >= 0 ? ';' : ',';
+
+        List<String> nombres = separar(encabezado);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(normalizar(nombres.get(i)), i);
+        }
+    }
+
+    /**
+     * Verifica que el encabezado tenga las columnas indicadas
+     * @return las que faltan (vacío si están todas)
+     */
+    public List<String> columnasFaltantes(List<String> requeridas) {
+        List<String> faltantes = new ArrayList<>();
+        for (String columna : requeridas) {
+            if (!columnas.containsKey(normalizar(columna))) {
+                faltantes.add(columna);
+            }
+        }
+        return faltantes;
+    }
+
+    /**
+     * Lee la siguiente fila con datos
+     * @return la fila, o null al final del archivo
+     */
+    public Fila siguiente() throws IOException {
+        String linea;
+        while ((linea = entrada.readLine()) != null) {
+            lineaActual++;
+            int numero = lineaActual;
+            // Un campo entre comillas puede continuar en las líneas siguientes
+            StringBuilder registro = new StringBuilder(linea);
+            while (comillasAbiertas(registro)) {
+                String continuacion = entrada.readLine();
+                if (continuacion == null) {
+                    throw new IOException("Fila " + numero + ": comillas sin cerrar al final del archivo");
+                }
+                lineaActual++;
+                registro.append('\n').append(continuacion);
+            }
+            if (registro.toString().isBlank()) {
+                continue;
+            }
+            return new Fila(numero, separar(registro.toString()));
+        }
+        return null;
+    }
+
+    private boolean comillasAbiertas(CharSequence texto) {
+        boolean abiertas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                abiertas = !abiertas;
+            }
+        }
+        return abiertas;
+    }
+
+    private List<String> separar(String registro) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < registro.length(); i++) {
+            char c = registro.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+
+    private static String normalizar(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    /**
+     * Fila del archivo con acceso a los campos por nombre de columna
+     */
+    public class Fila {
+        private final int numero;
+        private final List<String> campos;
+
+        private Fila(int numero, List<String> campos) {
+            this.numero = numero;
+            this.campos = campos;
+        }
+
+        public int getNumero() { return numero; }
+
+        /**
+         * Valor de la columna, o null si la columna no existe o el campo está vacío
+         */
+        public String get(String columna) {
+            Integer indice = columnas.get(normalizar(columna));
+            if (indice == null || indice >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(indice);
+            return valor.isEmpty() ? null : valor;
+        }
+    }
+}
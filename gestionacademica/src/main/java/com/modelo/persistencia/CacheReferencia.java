@@ -0,0 +1,151 @@
+package com.modelo.persistencia;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import com.aplicacion.JPAUtil;
+import com.modelo.dominio.Grado;
+import com.modelo.dominio.Permiso;
+import com.modelo.dominio.Rol;
+
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Caché de segundo nivel de las entidades de referencia (Rol, Permiso, Grado)
+ * Responsabilidad: Marcar como cacheables las consultas de referencia, invalidar
+ * las regiones cuando un administrador edita estos datos y exponer sus estadísticas.
+ *
+ * Los cambios hechos con JPA invalidan la caché de consultas automáticamente;
+ * invalidar() es para ediciones hechas por fuera de Hibernate (scripts SQL,
+ * otra instancia de la aplicación) o tras una carga masiva de datos: el administrador
+ * la usa con "Recargar datos de referencia". Las estadísticas se registran al cerrar.
+ */
+public final class CacheReferencia {
+    public static final String REGION_ROL = "referencia.rol";
+    public static final String REGION_ROL_PERMISOS = "referencia.rol.permisos";
+    public static final String REGION_PERMISO = "referencia.permiso";
+    public static final String REGION_GRADO = "referencia.grado";
+    public static final String REGION_CONSULTAS = "referencia.consultas";
+
+    private static final String HINT_CACHEABLE = "org.hibernate.cacheable";
+    private static final String HINT_REGION = "org.hibernate.cacheRegion";
+
+    private static final String[] REGIONES = {
+        REGION_ROL, REGION_ROL_PERMISOS, REGION_PERMISO, REGION_GRADO, REGION_CONSULTAS
+    };
+
+    private CacheReferencia() {
+    }
+
+    /**
+     * Guarda el resultado de la consulta en la región de consultas de referencia
+     */
+    public static <T> TypedQuery<T> cacheable(TypedQuery<T> query) {
+        return query
+            .setHint(HINT_CACHEABLE, true)
+            .setHint(HINT_REGION, REGION_CONSULTAS);
+    }
+
+    /**
+     * Invalida la entidad indicada (y sus colecciones cacheadas) junto con las consultas de referencia
+     */
+    public static void invalidar(Class<?> tipoEntidad) {
+        Cache cache = obtenerFabrica().getCache();
+        cache.evict(tipoEntidad);
+
+        if (Rol.class.equals(tipoEntidad) || Permiso.class.equals(tipoEntidad)) {
+            cache.evictCollectionData(Rol.class.getName() + ".permisos");
+        }
+        cache.evictQueryRegion(REGION_CONSULTAS);
+    }
+
+    /**
+     * Invalida todas las regiones de referencia
+     */
+    public static void invalidarTodo() {
+        invalidar(Rol.class);
+        invalidar(Permiso.class);
+        invalidar(Grado.class);
+    }
+
+    /**
+     * Estadísticas por región; vacío si hibernate.generate_statistics está desactivado
+     */
+    public static Map<String, EstadisticaRegion> obtenerEstadisticas() {
+        Map<String, EstadisticaRegion> resultado = new LinkedHashMap<>();
+        Statistics estadisticas = obtenerFabrica().getStatistics();
+        if (!estadisticas.isStatisticsEnabled()) {
+            return resultado;
+        }
+
+        for (String region : REGIONES) {
+            CacheRegionStatistics regionStats = REGION_CONSULTAS.equals(region)
+                ? estadisticas.getQueryRegionStatistics(region)
+                : estadisticas.getDomainDataRegionStatistics(region);
+            if (regionStats != null) {
+                resultado.put(region, new EstadisticaRegion(
+                    regionStats.getHitCount(),
+                    regionStats.getMissCount(),
+                    regionStats.getPutCount(),
+                    regionStats.getElementCountInMemory()));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Una línea por región, para el registro al cerrar y el diálogo del administrador
+     */
+    public static String obtenerResumen() {
+        Map<String, EstadisticaRegion> estadisticas = obtenerEstadisticas();
+        if (estadisticas.isEmpty()) {
+            return "Caché de referencia: sin estadísticas (cache.estadisticas=false)";
+        }
+        StringBuilder resumen = new StringBuilder("Caché de referencia:");
+        estadisticas.forEach((region, estadistica) ->
+            resumen.append(System.lineSeparator()).append("  ").append(region).append(": ").append(estadistica));
+        return resumen.toString();
+    }
+
+    private static SessionFactory obtenerFabrica() {
+        return JPAUtil.getEntityManagerFactory().unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Instantánea de aciertos y fallos de una región de caché
+     */
+    public static class EstadisticaRegion {
+        private final long aciertos;
+        private final long fallos;
+        private final long escrituras;
+        private final long elementosEnMemoria;
+
+        public EstadisticaRegion(long aciertos, long fallos, long escrituras, long elementosEnMemoria) {
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.escrituras = escrituras;
+            this.elementosEnMemoria = elementosEnMemoria;
+        }
+
+        public long getAciertos() { return aciertos; }
+        public long getFallos() { return fallos; }
+        public long getEscrituras() { return escrituras; }
+        public long getElementosEnMemoria() { return elementosEnMemoria; }
+
+        public double getTasaAciertos() {
+            long total = aciertos + fallos;
+            return total == 0 ? 0 : aciertos / (double) total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("aciertos=%d, fallos=%d, escrituras=%d, en memoria=%d, tasa=%.1f%%",
+                aciertos, fallos, escrituras, elementosEnMemoria, getTasaAciertos() * 100);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.modelo.persistencia;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.LockAcquisitionException;
+
+import com.aplicacion.Configuracion;
+import com.aplicacion.JPAUtil;
+import com.modelo.dominio.ResultadoOperacion;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+
+/**
+ * Unidad de trabajo con alcance de operación
+ * Responsabilidad: Abrir un EntityManager y una transacción cortos por cada operación
+ * de controlador, confirmar o revertir según el resultado y cerrar siempre.
+ *
+ * La transacción se revierte si la operación lanza una excepción o si devuelve un
+ * ResultadoOperacion no exitoso (mismo criterio que usaban los controladores a mano).
+ * Las entidades devueltas quedan desasociadas al terminar la operación.
+ */
+public final class UnidadTrabajo {
+    private static final long UMBRAL_LENTO_MS =
+        Configuracion.obtenerLargo("operaciones.umbral.lento.ms", 500);
+    private static final long ESPERA_REINTENTO_MS =
+        Configuracion.obtenerLargo("operaciones.reintento.espera.ms", 50);
+
+    private static final Map<String, EstadisticaOperacion> estadisticas = new ConcurrentHashMap<>();
+
+    private UnidadTrabajo() {
+    }
+
+    /**
+     * Trabajo a ejecutar dentro de la unidad; puede lanzar excepciones de dominio
+     */
+    @FunctionalInterface
+    public interface Operacion<T> {
+        T ejecutar(EntityManager entityManager) throws Exception;
+    }
+
+    /**
+     * Ejecuta una operación de escritura en su propia transacción
+     */
+    public static <T> T ejecutar(String nombreOperacion, Operacion<T> operacion) throws Exception {
+        return ejecutar(nombreOperacion, false, operacion);
+    }
+
+    /**
+     * Ejecuta una operación de solo lectura: las entidades se cargan sin
+     * instantáneas para la verificación de cambios y nunca se hace flush
+     */
+    public static <T> T consultar(String nombreOperacion, Operacion<T> operacion) throws Exception {
+        return ejecutar(nombreOperacion, true, operacion);
+    }
+
+    /**
+     * Ejecuta una operación de escritura y la repite (en una transacción nueva) si choca
+     * con otra transacción: versión desactualizada, bloqueo no obtenido o restricción única
+     * violada por una inserción concurrente. Tras el último intento se propaga la excepción.
+     */
+    public static <T> T ejecutarConReintentos(String nombreOperacion, int intentos,
+                                              Operacion<T> operacion) throws Exception {
+        for (int intento = 1; ; intento++) {
+            try {
+                return ejecutar(nombreOperacion, false, operacion);
+            } catch (Exception e) {
+                if (intento >= intentos || !esConflictoConcurrencia(e)) {
+                    throw e;
+                }
+                estadisticas.computeIfAbsent(nombreOperacion, n -> new EstadisticaOperacion())
+                    .registrarReintento();
+                // Espera creciente con algo de azar para que los dos no vuelvan a chocar
+                Thread.sleep(ESPERA_REINTENTO_MS * intento
+                    + ThreadLocalRandom.current().nextLong(ESPERA_REINTENTO_MS + 1));
+            }
+        }
+    }
+
+    /**
+     * Indica si la excepción (o alguna de sus causas) se debe a otra transacción concurrente
+     */
+    public static boolean esConflictoConcurrencia(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockException
+                || causa instanceof PessimisticLockException
+                || causa instanceof LockTimeoutException
+                || causa instanceof StaleStateException
+                || causa instanceof LockAcquisitionException) {
+                return true;
+            }
+        }
+        // Solo las únicas: otra transacción insertó la misma fila (p. ej. el mismo nombre de grupo)
+        return esViolacionUnica(error);
+    }
+
+    /**
+     * Indica si la excepción (o alguna de sus causas) es una violación de restricción única
+     */
+    public static boolean esViolacionUnica(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException
+                && ((ConstraintViolationException) causa).getKind()
+                    == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> T ejecutar(String nombreOperacion, boolean soloLectura,
+                                  Operacion<T> operacion) throws Exception {
+        long inicio = System.nanoTime();
+        boolean exitosa = false;
+
+        EntityManager entityManager = JPAUtil.getEntityManagerFactory().createEntityManager();
+        EntityTransaction transaccion = entityManager.getTransaction();
+        try {
+            if (soloLectura) {
+                entityManager.unwrap(Session.class).setDefaultReadOnly(true);
+            }
+
+            transaccion.begin();
+            T resultado = operacion.ejecutar(entityManager);
+
+            if (debeRevertir(resultado) || soloLectura) {
+                transaccion.rollback();
+            } else {
+                transaccion.commit();
+            }
+
+            exitosa = !debeRevertir(resultado);
+            return resultado;
+
+        } finally {
+            if (transaccion.isActive()) {
+                transaccion.rollback();
+            }
+            entityManager.close();
+            registrar(nombreOperacion, System.nanoTime() - inicio, exitosa);
+        }
+    }
+
+    private static boolean debeRevertir(Object resultado) {
+        return resultado instanceof ResultadoOperacion && !((ResultadoOperacion) resultado).isExitoso();
+    }
+
+    private static void registrar(String nombreOperacion, long duracionNanos, boolean exitosa) {
+        estadisticas.computeIfAbsent(nombreOperacion, n -> new EstadisticaOperacion())
+            .registrar(duracionNanos, exitosa);
+
+        long duracionMs = duracionNanos / 1_000_000;
+        if (duracionMs >= UMBRAL_LENTO_MS) {
+            System.out.println("Operación lenta: " + nombreOperacion + " (" + duracionMs + " ms)");
+        }
+    }
+
+    /**
+     * Copia de las estadísticas acumuladas por nombre de operación
+     */
+    public static Map<String, EstadisticaOperacion> obtenerEstadisticas() {
+        Map<String, EstadisticaOperacion> copia = new LinkedHashMap<>();
+        estadisticas.forEach((nombre, estadistica) -> copia.put(nombre, estadistica.copiar()));
+        return copia;
+    }
+
+    /**
+     * Tiempos acumulados de una operación
+     */
+    public static class EstadisticaOperacion {
+        private long ejecuciones;
+        private long fallidas;
+        private long reintentos;
+        private long totalNanos;
+        private long maximoNanos;
+
+        private synchronized void registrar(long duracionNanos, boolean exitosa) {
+            ejecuciones++;
+            if (!exitosa) {
+                fallidas++;
+            }
+            totalNanos += duracionNanos;
+            maximoNanos = Math.max(maximoNanos, duracionNanos);
+        }
+
+        private synchronized void registrarReintento() {
+            reintentos++;
+        }
+
+        private synchronized EstadisticaOperacion copiar() {
+            EstadisticaOperacion copia = new EstadisticaOperacion();
+            copia.ejecuciones = ejecuciones;
+            copia.fallidas = fallidas;
+            copia.reintentos = reintentos;
+            copia.totalNanos = totalNanos;
+            copia.maximoNanos = maximoNanos;
+            return copia;
+        }
+
+        public long getEjecuciones() { return ejecuciones; }
+        public long getFallidas() { return fallidas; }
+        public long getReintentos() { return reintentos; }
+
+        public double getPromedioMs() {
+            return ejecuciones == 0 ? 0 : (totalNanos / (double) ejecuciones) / 1_000_000.0;
+        }
+
+        public double getMaximoMs() {
+            return maximoNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ejecuciones=%d, fallidas=%d, reintentos=%d, promedio=%.2f ms, máximo=%.2f ms",
+                ejecuciones, fallidas, reintentos, getPromedioMs(), getMaximoMs());
+        }
+    }
+}
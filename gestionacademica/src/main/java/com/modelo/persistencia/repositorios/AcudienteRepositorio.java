@@ -72,9 +72,18 @@ public class AcudienteRepositorio extends UsuarioRepositorio{
         }
     }
 
+    /**
+     * Acudiente con sus estudiantes, y de cada uno el grupo con su grado y la hoja de vida
+     * (lo que usa la sesión del acudiente después de cerrar la consulta)
+     */
     public Acudiente buscarConEstudiantes(Integer idAcudiente) {
         try {
-            String jpql = "SELECT a FROM acudiente a LEFT JOIN FETCH a.estudiantes WHERE a.idUsuario = :id";
+            String jpql = "SELECT DISTINCT a FROM acudiente a " +
+                         "LEFT JOIN FETCH a.estudiantes e " +
+                         "LEFT JOIN FETCH e.grupo g " +
+                         "LEFT JOIN FETCH g.grado " +
+                         "LEFT JOIN FETCH e.hojaDeVida " +
+                         "WHERE a.idUsuario = :id";
             return entityManager.createQuery(jpql, Acudiente.class)
                 .setParameter("id", idAcudiente)
                 .getSingleResult();
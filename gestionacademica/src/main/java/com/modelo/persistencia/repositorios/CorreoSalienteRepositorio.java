@@ -0,0 +1,108 @@
+package com.modelo.persistencia.repositorios;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.modelo.dominio.CorreoSaliente;
+import com.modelo.dominio.CorreoSaliente.EstadoEnvio;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Repositorio de la bandeja de salida de correos
+ * Responsabilidad: Encolar correos y repartirlos entre los hilos de envío
+ */
+public class CorreoSalienteRepositorio extends RepositorioGenerico<CorreoSaliente> {
+    private final EntityManager entityManager;
+
+    public CorreoSalienteRepositorio(EntityManager entityManager) {
+        super(entityManager, CorreoSaliente.class);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Agrega el correo a la bandeja sin forzar flush: se inserta al confirmar la transacción del llamador
+     */
+    public CorreoSaliente encolar(CorreoSaliente correo) {
+        entityManager.persist(correo);
+        return correo;
+    }
+
+    /**
+     * Reclama hasta 'limite' correos listos para enviar y los marca como Enviando
+     * FOR UPDATE SKIP LOCKED permite que varias instancias de la aplicación
+     * compartan la bandeja sin tomar el mismo correo dos veces
+     */
+    @SuppressWarnings("unchecked")
+    public List<CorreoSaliente> reclamarPendientes(int limite) {
+        List<Number> ids = entityManager.createNativeQuery(
+                "SELECT id_correo FROM correo_saliente " +
+                "WHERE estado = 'Pendiente' AND proximo_intento <= :ahora " +
+                "ORDER BY id_correo " +
+                "LIMIT :limite " +
+                "FOR UPDATE SKIP LOCKED")
+            .setParameter("ahora", LocalDateTime.now())
+            .setParameter("limite", limite)
+            .getResultList();
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> idsReclamados = new ArrayList<>();
+        for (Number id : ids) {
+            idsReclamados.add(id.longValue());
+        }
+
+        entityManager.createQuery(
+                "UPDATE correo_saliente c SET c.estado = :enviando, c.fechaReclamo = :ahora " +
+                "WHERE c.idCorreo IN :ids")
+            .setParameter("enviando", EstadoEnvio.Enviando)
+            .setParameter("ahora", LocalDateTime.now())
+            .setParameter("ids", idsReclamados)
+            .executeUpdate();
+
+        return entityManager.createQuery(
+                "SELECT c FROM correo_saliente c WHERE c.idCorreo IN :ids ORDER BY c.idCorreo",
+                CorreoSaliente.class)
+            .setParameter("ids", idsReclamados)
+            .getResultList();
+    }
+
+    /**
+     * Devuelve a Pendiente los correos que quedaron en Enviando (p. ej. la aplicación se cerró a mitad de envío)
+     */
+    public int liberarReclamosVencidos(LocalDateTime reclamadosAntesDe) {
+        return entityManager.createQuery(
+                "UPDATE correo_saliente c SET c.estado = :pendiente " +
+                "WHERE c.estado = :enviando AND c.fechaReclamo < :limite")
+            .setParameter("pendiente", EstadoEnvio.Pendiente)
+            .setParameter("enviando", EstadoEnvio.Enviando)
+            .setParameter("limite", reclamadosAntesDe)
+            .executeUpdate();
+    }
+
+    /**
+     * Borra los correos Enviado o Fallido creados antes de la fecha
+     */
+    public int borrarFinalizados(LocalDateTime creadosAntesDe) {
+        return entityManager.createQuery(
+                "DELETE FROM correo_saliente c " +
+                "WHERE c.estado IN (:enviado, :fallido) AND c.fechaCreacion < :limite")
+            .setParameter("enviado", EstadoEnvio.Enviado)
+            .setParameter("fallido", EstadoEnvio.Fallido)
+            .setParameter("limite", creadosAntesDe)
+            .executeUpdate();
+    }
+
+    /**
+     * Cuenta correos por estado (monitoreo de la bandeja)
+     */
+    public Long contarPorEstado(EstadoEnvio estado) {
+        return entityManager.createQuery(
+                "SELECT COUNT(c) FROM correo_saliente c WHERE c.estado = :estado", Long.class)
+            .setParameter("estado", estado)
+            .getSingleResult();
+    }
+}
@@ -4,17 +4,36 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import com.modelo.dominio.Estado;
 import com.modelo.dominio.Estudiante;
+import com.modelo.dominio.Preinscripcion;
+import com.modelo.dto.EstudianteResumen;
+import com.modelo.dto.PersonaEncontrada;
 
 /**
  * Repositorio para la entidad Estudiante
  * Responsabilidad: Gestionar persistencia de estudiantes
  */
 public class EstudianteRepositorio extends RepositorioGenerico<Estudiante> {
+    private static final int TAMANO_RECORRIDO = 1000;
+    private static final String SELECT_RESUMEN =
+        "SELECT new com.modelo.dto.EstudianteResumen(" +
+        "e.idEstudiante, e.primerNombre, e.segundoNombre, e.primerApellido, e.segundoApellido, " +
+        "g.idGrupo, g.nombreGrupo, gr.nombreGrado) " +
+        "FROM estudiante e " +
+        "JOIN e.grupo g " +
+        "JOIN g.grado gr ";
+
     private final EntityManager entityManager;
 
     public EstudianteRepositorio(EntityManager entityManager) {
@@ -78,15 +97,146 @@ public class EstudianteRepositorio extends RepositorioGenerico<Estudiante> {
         }
     }
 
+    /**
+     * Carga un lote de estudiantes con su preinscripción, acudiente y grado en una sola consulta
+     * Las preinscripciones se recargan con todos sus estudiantes para evaluar su estado
+     */
+    public List<Estudiante> buscarPorIdsParaAprobacion(Collection<Integer> idsEstudiantes) {
+        if (idsEstudiantes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String jpql = "SELECT DISTINCT e FROM estudiante e " +
+                     "LEFT JOIN FETCH e.preinscripcion p " +
+                     "LEFT JOIN FETCH p.acudiente " +
+                     "LEFT JOIN FETCH e.gradoAspira " +
+                     "WHERE e.idEstudiante IN :ids";
+
+        List<Estudiante> estudiantes = entityManager.createQuery(jpql, Estudiante.class)
+            .setParameter("ids", idsEstudiantes)
+            .getResultList();
+
+        Set<Preinscripcion> preinscripciones = new HashSet<>();
+        for (Estudiante estudiante : estudiantes) {
+            if (estudiante.getPreinscripcion() != null) {
+                preinscripciones.add(estudiante.getPreinscripcion());
+            }
+        }
+
+        // Segunda query: hermanos de cada preinscripción (evita una consulta por preinscripción)
+        if (!preinscripciones.isEmpty()) {
+            String jpqlHermanos = "SELECT DISTINCT p FROM preinscripcion p " +
+                                 "LEFT JOIN FETCH p.estudiantes " +
+                                 "WHERE p IN :preinscripciones";
+            entityManager.createQuery(jpqlHermanos, Preinscripcion.class)
+                .setParameter("preinscripciones", preinscripciones)
+                .getResultList();
+        }
+
+        return estudiantes;
+    }
+
+    /**
+     * Pares (id del acudiente, id del grupo) de los hijos de esos acudientes que ya están en
+     * un grupo de esos grados; una sola consulta agrupada en vez de cargar los hijos de cada uno
+     */
+    public List<Object[]> buscarGruposPorAcudiente(Collection<Integer> idsAcudiente, Collection<Integer> idsGrado) {
+        if (idsAcudiente.isEmpty() || idsGrado.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String jpql = "SELECT e.acudiente.idUsuario, e.grupo.idGrupo FROM estudiante e " +
+                     "WHERE e.acudiente.idUsuario IN :acudientes " +
+                     "AND e.grupo.grado.idGrado IN :grados " +
+                     "GROUP BY e.acudiente.idUsuario, e.grupo.idGrupo";
+        return entityManager.createQuery(jpql, Object[].class)
+            .setParameter("acudientes", idsAcudiente)
+            .setParameter("grados", idsGrado)
+            .getResultList();
+    }
+
     /**
      * Verifica si existe un estudiante con el NUIP dado
      */
     public boolean existePorNuip(String nuip) {
-        String jpql = "SELECT COUNT(e) FROM estudiante e WHERE e.nuip = :nuip";
-        Long count = entityManager.createQuery(jpql, Long.class)
+        String jpql = "SELECT 1 FROM estudiante e WHERE e.nuip = :nuip";
+        return !entityManager.createQuery(jpql, Integer.class)
             .setParameter("nuip", nuip)
+            .setMaxResults(1)
+            .getResultList()
+            .isEmpty();
+    }
+
+    /**
+     * Cantidad de estudiantes (para dimensionar el filtro de duplicados)
+     */
+    public long contar() {
+        return entityManager.createQuery("SELECT COUNT(e) FROM estudiante e", Long.class)
             .getSingleResult();
+    }
+
+    /**
+     * NUIP de todos los estudiantes, como flujo (llenado del filtro de duplicados)
+     */
+    public Stream<String> recorrerNuips() {
+        return entityManager.createQuery("SELECT e.nuip FROM estudiante e", String.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANO_RECORRIDO)
+            .getResultStream();
+    }
+
+    /**
+     * De los NUIP dados, los que ya pertenecen a un estudiante (una consulta por bloque)
+     */
+    public List<String> buscarNuipsExistentes(Collection<String> nuips) {
+        if (nuips.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String jpql = "SELECT e.nuip FROM estudiante e WHERE e.nuip IN :nuips";
+        return entityManager.createQuery(jpql, String.class)
+            .setParameter("nuips", nuips)
+            .getResultList();
+    }
+
+    /**
+     * Nombres y NUIP de todos los estudiantes, como flujo (carga de la búsqueda de personas)
+     */
+    public Stream<PersonaEncontrada> recorrerParaBusqueda() {
+        return entityManager.createQuery(
+                "SELECT e.idEstudiante, e.primerNombre, e.segundoNombre, e.primerApellido, " +
+                "e.segundoApellido, e.nuip FROM estudiante e", Object[].class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANO_RECORRIDO)
+            .getResultStream()
+            .map(fila -> new PersonaEncontrada(PersonaEncontrada.Tipo.ESTUDIANTE, (Integer) fila[0],
+                (String) fila[1], (String) fila[2], (String) fila[3], (String) fila[4], (String) fila[5]));
+    }
+
+    /**
+     * Estudiantes de un grupo para los selectores, ordenados por apellido
+     */
+    public List<EstudianteResumen> buscarResumenPorGrupo(Integer idGrupo) {
+        String jpql = SELECT_RESUMEN +
+                     "WHERE g.idGrupo = :idGrupo " +
+                     "ORDER BY e.primerApellido, e.segundoApellido, e.primerNombre";
         
-        return count > 0;
+        return entityManager.createQuery(jpql, EstudianteResumen.class)
+            .setParameter("idGrupo", idGrupo)
+            .getResultList();
+    }
+
+    /**
+     * Estudiantes de los grupos listos (activos, con profesor y al menos 5 estudiantes),
+     * ordenados por grado, grupo y apellido; la vista los agrupa por idGrupo
+     */
+    public List<EstudianteResumen> buscarResumenDeGruposListos() {
+        String jpql = SELECT_RESUMEN +
+                     "WHERE g.estado = true " +
+                     "AND g.profesor IS NOT NULL " +
+                     "AND g.cantidadEstudiantes >= 5 " +
+                     "ORDER BY gr.nombreGrado, g.nombreGrupo, g.idGrupo, " +
+                     "e.primerApellido, e.segundoApellido, e.primerNombre";
+        
+        return entityManager.createQuery(jpql, EstudianteResumen.class)
+            .getResultList();
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,15 @@
 package com.modelo.persistencia.repositorios;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.modelo.dominio.Grado;
+import com.modelo.persistencia.CacheReferencia;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 
@@ -19,6 +24,7 @@ public class GradoRepositorio extends RepositorioGenerico<Grado>{
     public Optional<Grado> buscarPornombreGrado(String nombreGrado) {
         String jpql = "SELECT t FROM grado t WHERE t.nombreGrado = :nombreGrado";
         TypedQuery<Grado> query = entityManager.createQuery(jpql, Grado.class);
+        CacheReferencia.cacheable(query);
         query.setParameter("nombreGrado", nombreGrado);
         
         try {
@@ -27,4 +33,33 @@ public class GradoRepositorio extends RepositorioGenerico<Grado>{
             return Optional.empty();
         }
     }
+
+    /**
+     * Catálogo completo desde la caché de consultas de referencia
+     */
+    @Override
+    public List<Grado> buscarTodos() {
+        TypedQuery<Grado> query = entityManager.createQuery("SELECT t FROM grado t", Grado.class);
+        return CacheReferencia.cacheable(query).getResultList();
+    }
+
+    /**
+     * Bloquea las filas de los grados (SELECT ... FOR UPDATE) hasta el fin de la transacción
+     * Serializa la asignación a grupos por grado: mientras una aprobación elige o crea el
+     * grupo, otra del mismo grado espera y después ve los grupos ya actualizados.
+     * Se bloquean en orden de id para que dos lotes con varios grados no se bloqueen entre sí.
+     * Si el bloqueo no se obtiene en esperaMs se lanza LockTimeoutException (o PessimisticLockException).
+     */
+    public List<Grado> bloquearParaAsignacion(Collection<Integer> idsGrado, long esperaMs) {
+        if (idsGrado.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return entityManager.createQuery(
+                "SELECT t FROM grado t WHERE t.idGrado IN :idsGrado ORDER BY t.idGrado", Grado.class)
+            .setParameter("idsGrado", idsGrado)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint("jakarta.persistence.lock.timeout", esperaMs)
+            .getResultList();
+    }
 }
@@ -4,10 +4,13 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import com.modelo.dominio.Grupo;
+import com.modelo.dto.ResumenGrupo;
 
 /**
  * Repositorio para la entidad Grupo
@@ -46,6 +49,25 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
             .getResultList();
     }
 
+    /**
+     * Grupos de varios grados con su cantidad de estudiantes, en una sola consulta
+     * y sin cargar las colecciones: [grupo, idGrado, cantidad, suma de edades]
+     * Cuenta las filas (no usa el contador): la asignación toma este conteo como la verdad
+     * y con él reescribe cantidadEstudiantes de los grupos que reciben estudiantes.
+     */
+    public List<Object[]> contarEstudiantesPorGrupo(Collection<Integer> idsGrado) {
+        if (idsGrado.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String jpql = "SELECT g, g.grado.idGrado, SIZE(g.estudiantes), " +
+                     "(SELECT COALESCE(SUM(e.edad), 0) FROM estudiante e WHERE e.grupo = g) " +
+                     "FROM grupo g WHERE g.grado.idGrado IN :idsGrado";
+        return entityManager.createQuery(jpql, Object[].class)
+            .setParameter("idsGrado", idsGrado)
+            .getResultList();
+    }
+
     /**
      * Busca grupos activos de un grado específico
      */
@@ -64,7 +86,7 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         String jpql = "SELECT g FROM grupo g " +
                      "WHERE g.grado.idGrado = :idGrado " +
                      "AND g.estado = true " +
-                     "ORDER BY SIZE(g.estudiantes) ASC";
+                     "ORDER BY g.cantidadEstudiantes ASC";
         
         return entityManager.createQuery(jpql, Grupo.class)
             .setParameter("idGrado", idGrado)
@@ -73,13 +95,12 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
 
     /**
      * Busca todos los grupos ordenados por grado y nombre
-     * Incluye información del grado y cantidad de estudiantes
+     * Incluye información del grado; la cantidad de estudiantes es la del contador
      */
     public List<Grupo> buscarTodosOrdenadosConInfo() {
-        String jpql = "SELECT DISTINCT g FROM grupo g " +
+        String jpql = "SELECT g FROM grupo g " +
                     "LEFT JOIN FETCH g.grado grado " +
                     "LEFT JOIN FETCH g.profesor profesor " +
-                    "LEFT JOIN FETCH g.estudiantes " +
                     "ORDER BY grado.nombreGrado, g.nombreGrupo";
         
         return entityManager.createQuery(jpql, Grupo.class)
@@ -94,7 +115,7 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         String jpql = "SELECT g FROM grupo g " +
                      "WHERE g.estado = true " +
                      "AND g.profesor IS NULL " +
-                     "AND SIZE(g.estudiantes) >= 5 " +
+                     "AND g.cantidadEstudiantes >= 5 " +
                      "ORDER BY g.grado.nombreGrado, g.nombreGrupo";
         
         return entityManager.createQuery(jpql, Grupo.class)
@@ -106,7 +127,7 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
      */
     public List<Grupo> buscarGruposEnFormacion() {
         String jpql = "SELECT g FROM grupo g " +
-                     "WHERE SIZE(g.estudiantes) < 5 " +
+                     "WHERE g.cantidadEstudiantes < 5 " +
                      "ORDER BY g.grado.nombreGrado, g.nombreGrupo";
         
         return entityManager.createQuery(jpql, Grupo.class)
@@ -117,8 +138,8 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         String jpql = "SELECT g FROM grupo g " +
                      "WHERE g.grado.idGrado = :idGrado " +
                      "AND g.estado = false " +
-                     "AND SIZE(g.estudiantes) < 5 " +
-                     "ORDER BY SIZE(g.estudiantes) DESC";
+                     "AND g.cantidadEstudiantes < 5 " +
+                     "ORDER BY g.cantidadEstudiantes DESC";
         
         return entityManager.createQuery(jpql, Grupo.class)
             .setParameter("idGrado", idGrado)
@@ -132,8 +153,8 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         String jpql = "SELECT g FROM grupo g " +
                     "LEFT JOIN FETCH g.estudiantes " +
                     "WHERE g.grado.idGrado = :idGrado " +
-                    "AND SIZE(g.estudiantes) < :maxEstudiantes " +
-                    "ORDER BY SIZE(g.estudiantes) DESC";
+                    "AND g.cantidadEstudiantes < :maxEstudiantes " +
+                    "ORDER BY g.cantidadEstudiantes DESC";
         
         return entityManager.createQuery(jpql, Grupo.class)
             .setParameter("idGrado", idGrado)
@@ -161,16 +182,6 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         }
     }
 
-    /**
-     * Cuenta la cantidad de grupos existentes para un grado
-     */
-    public Long contarGruposPorGrado(Integer idGrado) {
-        String jpql = "SELECT COUNT(g) FROM grupo g WHERE g.grado.idGrado = :idGrado";
-        return entityManager.createQuery(jpql, Long.class)
-            .setParameter("idGrado", idGrado)
-            .getSingleResult();
-    }
-
     /**
      * Cuenta grupos listos sin profesor
      */
@@ -178,7 +189,7 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         String jpql = "SELECT COUNT(g) FROM grupo g " +
                      "WHERE g.estado = true " +
                      "AND g.profesor IS NULL " +
-                     "AND SIZE(g.estudiantes) >= 5";
+                     "AND g.cantidadEstudiantes >= 5";
         
         return entityManager.createQuery(jpql, Long.class)
             .getSingleResult();
@@ -195,7 +206,7 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
                     "LEFT JOIN FETCH g.profesor profesor " +
                     "WHERE g.estado = true " +
                     "AND g.profesor IS NOT NULL " +
-                    "AND SIZE(g.estudiantes) >= 5 " +
+                    "AND g.cantidadEstudiantes >= 5 " +
                     "ORDER BY grado.nombreGrado, g.nombreGrupo";
         
         List<Grupo> grupos = entityManager.createQuery(jpql, Grupo.class)
@@ -216,4 +227,74 @@ public class GrupoRepositorio extends RepositorioGenerico<Grupo> {
         
         return grupos;
     }
-}
\ No newline at end of file
+
+    /**
+     * Mismos grupos que buscarGruposListosConProfesor, proyectados para la lista del directivo:
+     * una sola consulta con la cantidad de estudiantes del contador, sin cargar entidades
+     */
+    public List<ResumenGrupo> buscarResumenGruposListos() {
+        String jpql = "SELECT new com.modelo.dto.ResumenGrupo(" +
+                    "g.idGrupo, g.nombreGrupo, grado.nombreGrado, " +
+                    "profesor.primerNombre, profesor.segundoNombre, " +
+                    "profesor.primerApellido, profesor.segundoApellido, " +
+                    "g.cantidadEstudiantes) " +
+                    "FROM grupo g " +
+                    "JOIN g.grado grado " +
+                    "JOIN g.profesor profesor " +
+                    "WHERE g.estado = true " +
+                    "AND g.cantidadEstudiantes >= 5 " +
+                    "ORDER BY grado.nombreGrado, g.nombreGrupo";
+        
+        return entityManager.createQuery(jpql, ResumenGrupo.class)
+            .getResultList();
+    }
+
+    /**
+     * Corrige cantidadEstudiantes de los grupos cuyo contador no coincide con el conteo real
+     * (datos cargados antes de la columna o modificados por fuera de la aplicación).
+     * Sube la versión de los grupos corregidos; conviene tener bloqueados los grados.
+     * @return cantidad de grupos corregidos
+     */
+    public int repararCantidadEstudiantes() {
+        String jpql = "UPDATE VERSIONED grupo g " +
+                     "SET g.cantidadEstudiantes = (SELECT COUNT(e) FROM estudiante e WHERE e.grupo = g) " +
+                     "WHERE g.cantidadEstudiantes <> (SELECT COUNT(e) FROM estudiante e WHERE e.grupo = g)";
+        return entityManager.createQuery(jpql)
+            .executeUpdate();
+    }
+
+    /**
+     * Grupos cuyo nombre ya usa otro grupo más antiguo del mismo grado
+     * (el más antiguo conserva el nombre), con su grado
+     */
+    public List<Grupo> buscarNombresRepetidos() {
+        String jpql = "SELECT g FROM grupo g JOIN FETCH g.grado " +
+                     "WHERE EXISTS (SELECT o FROM grupo o WHERE o.grado = g.grado " +
+                     "  AND o.nombreGrupo = g.nombreGrupo AND o.idGrupo < g.idGrupo) " +
+                     "ORDER BY g.idGrupo";
+        return entityManager.createQuery(jpql, Grupo.class)
+            .getResultList();
+    }
+
+    /**
+     * Indica si la base tiene la restricción única (grado, nombre_grupo)
+     */
+    public boolean existeRestriccionNombreUnico() {
+        Number cantidad = (Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = :nombre")
+            .setParameter("nombre", Grupo.RESTRICCION_NOMBRE_UNICO)
+            .getSingleResult();
+        return cantidad.longValue() > 0;
+    }
+
+    /**
+     * Crea la restricción única (grado, nombre_grupo); falla si quedan nombres repetidos
+     * hbm2ddl=update no la crea (solo lo registra) en una base que ya tenía repetidos.
+     */
+    public void crearRestriccionNombreUnico() {
+        entityManager.createNativeQuery(
+                "ALTER TABLE grupo ADD CONSTRAINT " + Grupo.RESTRICCION_NOMBRE_UNICO +
+                " UNIQUE (grado, nombre_grupo)")
+            .executeUpdate();
+    }
+}
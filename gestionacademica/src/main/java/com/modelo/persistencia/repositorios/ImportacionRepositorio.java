@@ -0,0 +1,169 @@
+package com.modelo.persistencia.repositorios;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+
+import com.modelo.dominio.Acudiente;
+import com.modelo.dominio.Estado;
+import com.modelo.dominio.Estudiante;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Repositorio para la importación masiva de preinscripciones
+ * Responsabilidad: Insertar familias completas (acudiente, preinscripción y estudiantes)
+ * con lotes JDBC.
+ *
+ * Las entidades usan IDENTITY, con lo que Hibernate inserta fila por fila para conocer
+ * cada id; aquí cada tabla se inserta en un solo lote y los ids se leen de las claves
+ * generadas (el driver de PostgreSQL las devuelve para todo el lote, en orden).
+ * Corre en la conexión y la transacción del EntityManager. Las filas no pasan por el
+ * contexto de persistencia ni por la caché de segundo nivel (que no guarda estas entidades).
+ * Los nombres de tabla y columna son los del mapeo (ver Usuario, Acudiente, Preinscripcion
+ * y Estudiante).
+ */
+public class ImportacionRepositorio {
+    private static final String INSERTAR_USUARIO =
+        "INSERT INTO usuario (nuip_usuario, primerNombre, segundoNombre, primerApellido, " +
+        "segundoApellido, edad, correoElectronico, telefono) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERTAR_ACUDIENTE =
+        "INSERT INTO acudiente (id_usuario, estado_aprobacion) VALUES (?, ?)";
+    private static final String INSERTAR_PREINSCRIPCION =
+        "INSERT INTO preinscripcion (fecha_registro, estado, acudiente) VALUES (?, ?, ?)";
+    private static final String INSERTAR_ESTUDIANTE =
+        "INSERT INTO estudiante (primerNombre, segundoNombre, primerApellido, segundoApellido, " +
+        "nuip, edad, estado, acudiente, grado_aspira, id_preinscripcion) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+
+    public ImportacionRepositorio(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Inserta los acudientes con sus estudiantes y una preinscripción pendiente por familia
+     * Cada estudiante debe tener el grado asignado. Asigna los ids generados a acudientes
+     * y estudiantes.
+     * @return ids de las preinscripciones creadas, en el orden de los acudientes
+     */
+    public List<Integer> insertarFamilias(List<Acudiente> acudientes, LocalDate fechaRegistro) {
+        List<Integer> idsPreinscripcion = new ArrayList<>();
+        if (acudientes.isEmpty()) {
+            return idsPreinscripcion;
+        }
+
+        entityManager.unwrap(Session.class).doWork(conexion -> {
+            insertarUsuarios(conexion, acudientes);
+            insertarAcudientes(conexion, acudientes);
+            idsPreinscripcion.addAll(insertarPreinscripciones(conexion, acudientes, fechaRegistro));
+            insertarEstudiantes(conexion, acudientes, idsPreinscripcion);
+        });
+        return idsPreinscripcion;
+    }
+
+    private void insertarUsuarios(Connection conexion, List<Acudiente> acudientes) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR_USUARIO, new String[] {"id_usuario"})) {
+            for (Acudiente acudiente : acudientes) {
+                sentencia.setString(1, acudiente.getNuipUsuario());
+                sentencia.setString(2, acudiente.getPrimerNombre());
+                sentencia.setString(3, acudiente.getSegundoNombre());
+                sentencia.setString(4, acudiente.getPrimerApellido());
+                sentencia.setString(5, acudiente.getSegundoApellido());
+                sentencia.setInt(6, acudiente.getEdad());
+                sentencia.setString(7, acudiente.getCorreoElectronico());
+                sentencia.setString(8, acudiente.getTelefono());
+                sentencia.addBatch();
+            }
+            sentencia.executeBatch();
+
+            List<Integer> ids = leerIds(sentencia, acudientes.size());
+            for (int i = 0; i < acudientes.size(); i++) {
+                acudientes.get(i).setIdUsuario(ids.get(i));
+            }
+        }
+    }
+
+    private void insertarAcudientes(Connection conexion, List<Acudiente> acudientes) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR_ACUDIENTE)) {
+            for (Acudiente acudiente : acudientes) {
+                sentencia.setInt(1, acudiente.getIdUsuario());
+                sentencia.setString(2, Estado.Pendiente.name());
+                sentencia.addBatch();
+            }
+            sentencia.executeBatch();
+        }
+    }
+
+    private List<Integer> insertarPreinscripciones(Connection conexion, List<Acudiente> acudientes,
+                                                   LocalDate fechaRegistro) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR_PREINSCRIPCION,
+                new String[] {"id_preinscripcion"})) {
+            for (Acudiente acudiente : acudientes) {
+                sentencia.setDate(1, Date.valueOf(fechaRegistro));
+                sentencia.setString(2, Estado.Pendiente.name());
+                sentencia.setInt(3, acudiente.getIdUsuario());
+                sentencia.addBatch();
+            }
+            sentencia.executeBatch();
+            return leerIds(sentencia, acudientes.size());
+        }
+    }
+
+    private void insertarEstudiantes(Connection conexion, List<Acudiente> acudientes,
+                                     List<Integer> idsPreinscripcion) throws SQLException {
+        List<Estudiante> insertados = new ArrayList<>();
+        try (PreparedStatement sentencia = conexion.prepareStatement(INSERTAR_ESTUDIANTE,
+                new String[] {"id_estudiante"})) {
+            for (int i = 0; i < acudientes.size(); i++) {
+                Acudiente acudiente = acudientes.get(i);
+                for (Estudiante estudiante : acudiente.getEstudiantes()) {
+                    sentencia.setString(1, estudiante.getPrimerNombre());
+                    sentencia.setString(2, estudiante.getSegundoNombre());
+                    sentencia.setString(3, estudiante.getPrimerApellido());
+                    sentencia.setString(4, estudiante.getSegundoApellido());
+                    sentencia.setString(5, estudiante.getNuip());
+                    sentencia.setInt(6, estudiante.getEdad());
+                    sentencia.setString(7, Estado.Pendiente.name());
+                    sentencia.setInt(8, acudiente.getIdUsuario());
+                    if (estudiante.getGradoAspira() != null) {
+                        sentencia.setInt(9, estudiante.getGradoAspira().getIdGrado());
+                    } else {
+                        sentencia.setNull(9, Types.INTEGER);
+                    }
+                    sentencia.setInt(10, idsPreinscripcion.get(i));
+                    sentencia.addBatch();
+                    insertados.add(estudiante);
+                }
+            }
+            sentencia.executeBatch();
+
+            List<Integer> ids = leerIds(sentencia, insertados.size());
+            for (int i = 0; i < insertados.size(); i++) {
+                insertados.get(i).setIdEstudiante(ids.get(i));
+            }
+        }
+    }
+
+    private List<Integer> leerIds(PreparedStatement sentencia, int esperados) throws SQLException {
+        List<Integer> ids = new ArrayList<>(esperados);
+        try (ResultSet claves = sentencia.getGeneratedKeys()) {
+            while (claves.next()) {
+                ids.add(claves.getInt(1));
+            }
+        }
+        if (ids.size() != esperados) {
+            throw new SQLException("Se esperaban " + esperados + " ids generados y llegaron " + ids.size());
+        }
+        return ids;
+    }
+}
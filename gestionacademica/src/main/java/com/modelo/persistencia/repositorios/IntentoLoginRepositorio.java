@@ -0,0 +1,68 @@
+package com.modelo.persistencia.repositorios;
+
+import java.time.LocalDateTime;
+
+import com.modelo.dominio.IntentoLogin;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Repositorio de intentos de inicio de sesión
+ * Responsabilidad: Registrar intentos y contar los fallidos dentro de la ventana deslizante
+ */
+public class IntentoLoginRepositorio extends RepositorioGenerico<IntentoLogin> {
+    private final EntityManager entityManager;
+
+    public IntentoLoginRepositorio(EntityManager entityManager) {
+        super(entityManager, IntentoLogin.class);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Agrega el intento sin forzar flush: se inserta al confirmar la transacción
+     */
+    public IntentoLogin registrar(IntentoLogin intento) {
+        entityManager.persist(intento);
+        return intento;
+    }
+
+    /**
+     * Fallos desde 'desde' en una sola consulta (usa ambos índices):
+     * [fallos vigentes del usuario, fallos del equipo, fecha del fallo vigente más antiguo del usuario]
+     */
+    public Object[] contarFallidosDesde(String nombreUsuario, String equipo, LocalDateTime desde) {
+        return entityManager.createQuery(
+                "SELECT " +
+                "  SUM(CASE WHEN i.nombreUsuario = :usuario AND i.vigente = true THEN 1 ELSE 0 END), " +
+                "  SUM(CASE WHEN i.equipo = :equipo THEN 1 ELSE 0 END), " +
+                "  MIN(CASE WHEN i.nombreUsuario = :usuario AND i.vigente = true THEN i.fecha END) " +
+                "FROM intento_login i " +
+                "WHERE i.exitoso = false AND i.fecha >= :desde " +
+                "AND (i.nombreUsuario = :usuario OR i.equipo = :equipo)", Object[].class)
+            .setParameter("usuario", nombreUsuario)
+            .setParameter("equipo", equipo)
+            .setParameter("desde", desde)
+            .getSingleResult();
+    }
+
+    /**
+     * Un inicio de sesión correcto deja de contar los fallos anteriores del usuario
+     */
+    public int cerrarFallidosVigentes(String nombreUsuario) {
+        return entityManager.createQuery(
+                "UPDATE intento_login i SET i.vigente = false " +
+                "WHERE i.nombreUsuario = :usuario AND i.vigente = true")
+            .setParameter("usuario", nombreUsuario)
+            .executeUpdate();
+    }
+
+    /**
+     * Borra el historial más antiguo que la retención configurada
+     */
+    public int eliminarAnterioresA(LocalDateTime limite) {
+        return entityManager.createQuery(
+                "DELETE FROM intento_login i WHERE i.fecha < :limite")
+            .setParameter("limite", limite)
+            .executeUpdate();
+    }
+}
@@ -1,16 +1,32 @@
 package com.modelo.persistencia.repositorios;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.modelo.dominio.Observacion;
+import com.modelo.dto.ObservacionEncontrada;
 
 /**
  * Repositorio para la entidad Observacion
  * Responsabilidad: Gestionar persistencia de observaciones
+ *
+ * La búsqueda por palabras usa la columna descripcion_busqueda (tsvector generado a
+ * partir de descripcion, con índice GIN). No está en el mapeo de Observacion: la crea
+ * prepararBusqueda() y solo la leen las consultas nativas de este repositorio.
  */
 public class ObservacionRepositorio extends RepositorioGenerico<Observacion> {
+    // Configuración de texto de PostgreSQL: español sin tildes (necesita unaccent)
+    public static final String CONFIGURACION_SIN_TILDES = "es_sin_tildes";
+    public static final String CONFIGURACION_ESPANOL = "spanish";
+
+    // La descripción tiene a lo sumo 200 caracteres: se resalta completa, sin fragmentos
+    private static final String OPCIONES_RESALTADO = "StartSel=" + ObservacionEncontrada.INICIO_RESALTADO
+        + ", StopSel=" + ObservacionEncontrada.FIN_RESALTADO + ", HighlightAll=true";
+
     private final EntityManager entityManager;
 
     public ObservacionRepositorio(EntityManager entityManager) {
@@ -19,17 +35,30 @@ public class ObservacionRepositorio extends RepositorioGenerico<Observacion> {
     }
 
     /**
-     * Busca todas las observaciones de un observador ordenadas por fecha (más recientes primero)
+     * Página de observaciones de un observador, las más recientes primero, ordenada por
+     * (fecha, id) descendente y paginada por clave: devuelve las que siguen a
+     * (despuesDeFecha, despuesDeId), o desde la más reciente si son null.
+     * Usa el índice idx_observacion_observador_fecha.
      */
-    public List<Observacion> buscarPorObservadorOrdenadas(Integer idObservador) {
+    public List<Observacion> buscarPorObservadorOrdenadas(Integer idObservador, LocalDate despuesDeFecha,
+                                                          Integer despuesDeId, int limite) {
+        boolean primeraPagina = despuesDeFecha == null || despuesDeId == null;
         String jpql = "SELECT o FROM observacion o " +
                      "LEFT JOIN FETCH o.profesor " +
                      "WHERE o.observador.idObservador = :idObservador " +
-                     "ORDER BY o.fechaObservacion DESC";
+                     (primeraPagina ? "" :
+                     "AND (o.fechaObservacion < :fecha " +
+                     "OR (o.fechaObservacion = :fecha AND o.idObservacion < :id)) ") +
+                     "ORDER BY o.fechaObservacion DESC, o.idObservacion DESC";
         
-        return entityManager.createQuery(jpql, Observacion.class)
+        TypedQuery<Observacion> query = entityManager.createQuery(jpql, Observacion.class)
             .setParameter("idObservador", idObservador)
-            .getResultList();
+            .setMaxResults(limite);
+        if (!primeraPagina) {
+            query.setParameter("fecha", despuesDeFecha)
+                .setParameter("id", despuesDeId);
+        }
+        return query.getResultList();
     }
 
     /**
@@ -42,4 +71,126 @@ public class ObservacionRepositorio extends RepositorioGenerico<Observacion> {
             .setParameter("idObservador", idObservador)
             .getSingleResult();
     }
-}
\ No newline at end of file
+
+    /**
+     * Crea la configuración es_sin_tildes (español pasando cada palabra por unaccent)
+     * Falla si la extensión unaccent no está instalada ni se puede instalar.
+     */
+    public void crearConfiguracionSinTildes() {
+        entityManager.createNativeQuery("CREATE EXTENSION IF NOT EXISTS unaccent").executeUpdate();
+        entityManager.createNativeQuery(
+                "DO $$ BEGIN " +
+                "IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = '" + CONFIGURACION_SIN_TILDES + "') THEN " +
+                "CREATE TEXT SEARCH CONFIGURATION " + CONFIGURACION_SIN_TILDES + " (COPY = spanish); " +
+                "ALTER TEXT SEARCH CONFIGURATION " + CONFIGURACION_SIN_TILDES + " " +
+                "ALTER MAPPING FOR hword, hword_part, word WITH unaccent, spanish_stem; " +
+                "END IF; END $$")
+            .executeUpdate();
+    }
+
+    /**
+     * Agrega la columna generada descripcion_busqueda y su índice GIN si no existen
+     * La primera vez reescribe la tabla (la bloquea mientras tanto); después no hace nada.
+     *
+     * @param configuracion CONFIGURACION_SIN_TILDES o CONFIGURACION_ESPANOL
+     */
+    public void prepararBusqueda(String configuracion) {
+        if (!CONFIGURACION_SIN_TILDES.equals(configuracion) && !CONFIGURACION_ESPANOL.equals(configuracion)) {
+            throw new IllegalArgumentException("Configuración de búsqueda no válida: " + configuracion);
+        }
+        entityManager.createNativeQuery(
+                "ALTER TABLE observacion ADD COLUMN IF NOT EXISTS descripcion_busqueda tsvector " +
+                "GENERATED ALWAYS AS (to_tsvector('" + configuracion + "', descripcion)) STORED")
+            .executeUpdate();
+        entityManager.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS idx_observacion_busqueda " +
+                "ON observacion USING GIN (descripcion_busqueda)")
+            .executeUpdate();
+    }
+
+    /**
+     * Configuración con la que se generó descripcion_busqueda; las consultas deben usar la misma
+     * @return la configuración, o null si la columna no existe
+     */
+    @SuppressWarnings("unchecked")
+    public String buscarConfiguracionBusqueda() {
+        List<String> expresiones = entityManager.createNativeQuery(
+                "SELECT generation_expression FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'observacion' " +
+                "AND column_name = 'descripcion_busqueda'")
+            .getResultList();
+        if (expresiones.isEmpty()) {
+            return null;
+        }
+        String expresion = expresiones.get(0);
+        return expresion != null && expresion.contains(CONFIGURACION_SIN_TILDES)
+            ? CONFIGURACION_SIN_TILDES : CONFIGURACION_ESPANOL;
+    }
+
+    /**
+     * Observaciones de todo el colegio que contienen las palabras del texto
+     * El texto admite la sintaxis de buscadores web: "frase exacta", or, -excluir.
+     * Primero las más relevantes (más coincidencias y más juntas), luego las más recientes.
+     * Solo se resaltan las filas de la página, no todas las que coinciden.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ObservacionEncontrada> buscarPorTexto(String configuracion, String texto,
+                                                      int desplazamiento, int limite) {
+        String sql =
+            "SELECT r.id_observacion, r.fecha_observacion, " +
+            "ts_headline(CAST(:configuracion AS regconfig), r.descripcion, r.consulta, :opciones), " +
+            "r.relevancia, e.id_estudiante, e.primerNombre, e.segundoNombre, e.primerApellido, " +
+            "e.segundoApellido, g.nombre_grupo, p.primerNombre || ' ' || p.primerApellido " +
+            "FROM (" +
+            "SELECT o.id_observacion, o.fecha_observacion, o.descripcion, o.observador, o.profesor, " +
+            "q.consulta, ts_rank_cd(o.descripcion_busqueda, q.consulta) AS relevancia " +
+            "FROM observacion o, websearch_to_tsquery(CAST(:configuracion AS regconfig), :texto) AS q(consulta) " +
+            "WHERE o.descripcion_busqueda @@ q.consulta " +
+            "ORDER BY relevancia DESC, o.fecha_observacion DESC, o.id_observacion DESC " +
+            "LIMIT :limite OFFSET :desplazamiento" +
+            ") r " +
+            "LEFT JOIN estudiante e ON e.observador = r.observador " +
+            "LEFT JOIN grupo g ON g.id_grupo = e.grupo " +
+            "LEFT JOIN usuario p ON p.id_usuario = r.profesor " +
+            "ORDER BY r.relevancia DESC, r.fecha_observacion DESC, r.id_observacion DESC";
+
+        List<Object[]> filas = entityManager.createNativeQuery(sql)
+            .setParameter("configuracion", configuracion)
+            .setParameter("texto", texto)
+            .setParameter("opciones", OPCIONES_RESALTADO)
+            .setParameter("limite", limite)
+            .setParameter("desplazamiento", desplazamiento)
+            .getResultList();
+
+        List<ObservacionEncontrada> encontradas = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            encontradas.add(new ObservacionEncontrada(
+                ((Number) fila[0]).intValue(), aFecha(fila[1]), (String) fila[2],
+                ((Number) fila[3]).doubleValue(), fila[4] == null ? null : ((Number) fila[4]).intValue(),
+                (String) fila[5], (String) fila[6], (String) fila[7], (String) fila[8],
+                (String) fila[9], (String) fila[10]));
+        }
+        return encontradas;
+    }
+
+    /**
+     * Cuenta las observaciones que contienen las palabras del texto, hasta 'tope'
+     * Contar todas las de una palabra muy común recorre medio índice; basta saber que son muchas.
+     */
+    public long contarPorTexto(String configuracion, String texto, int tope) {
+        Number total = (Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM (" +
+                "SELECT 1 FROM observacion o " +
+                "WHERE o.descripcion_busqueda @@ websearch_to_tsquery(CAST(:configuracion AS regconfig), :texto) " +
+                "LIMIT :tope) t")
+            .setParameter("configuracion", configuracion)
+            .setParameter("texto", texto)
+            .setParameter("tope", tope)
+            .getSingleResult();
+        return total.longValue();
+    }
+
+    private static LocalDate aFecha(Object valor) {
+        return valor instanceof java.sql.Date fecha ? fecha.toLocalDate() : (LocalDate) valor;
+    }
+}
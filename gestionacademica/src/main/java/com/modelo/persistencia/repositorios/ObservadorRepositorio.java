@@ -21,23 +21,15 @@ public class ObservadorRepositorio extends RepositorioGenerico<Observador> {
     }
 
     /**
-     * Busca un observador por ID del estudiante con todas sus observaciones cargadas
+     * Busca el id del observador de un estudiante, sin cargar el observador ni sus observaciones
      */
-    public Optional<Observador> buscarPorEstudianteConObservaciones(Integer idEstudiante) {
-        String jpql = "SELECT o FROM observador o " +
-                     "LEFT JOIN FETCH o.observaciones obs " +
-                     "LEFT JOIN FETCH obs.profesor " +
-                     "WHERE o.estudiante.idEstudiante = :idEstudiante " +
-                     "ORDER BY obs.fechaObservacion DESC";
+    public Optional<Integer> buscarIdPorEstudiante(Integer idEstudiante) {
+        String jpql = "SELECT o.idObservador FROM observador o WHERE o.estudiante.idEstudiante = :idEstudiante";
         
-        TypedQuery<Observador> query = entityManager.createQuery(jpql, Observador.class);
-        query.setParameter("idEstudiante", idEstudiante);
-        
-        try {
-            return Optional.of(query.getSingleResult());
-        } catch (NoResultException e) {
-            return Optional.empty();
-        }
+        return entityManager.createQuery(jpql, Integer.class)
+            .setParameter("idEstudiante", idEstudiante)
+            .getResultStream()
+            .findFirst();
     }
 
     /**
@@ -3,8 +3,10 @@ package com.modelo.persistencia.repositorios;
 import com.modelo.dominio.Estado;
 import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.Preinscripcion;
+import com.modelo.dto.EstudiantePendiente;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 
 import java.util.List;
 
@@ -72,12 +74,66 @@ public class PreinscripcionRepositorio extends RepositorioGenerico<Preinscripcio
         }
     }
 
-    // En PreinscripcionRepositorio.java agregar:
-    public List<Preinscripcion> buscarTodos() {
-        String jpql = "SELECT p FROM preinscripcion p " +
-                    "ORDER BY p.fechaRegistro ASC";
+    /**
+     * Página de estudiantes pendientes con su acudiente y grado, ordenada por
+     * (preinscripción, estudiante) y paginada por clave: devuelve los que siguen a
+     * (despuesDePreinscripcion, despuesDeEstudiante), o desde el inicio si son null.
+     * Solo lee las columnas de la fila; no carga preinscripciones ni entidades.
+     */
+    public List<EstudiantePendiente> buscarEstudiantesPendientes(Integer despuesDePreinscripcion,
+                                                                 Integer despuesDeEstudiante, int limite) {
+        boolean primeraPagina = despuesDePreinscripcion == null || despuesDeEstudiante == null;
+        String jpql = "SELECT new com.modelo.dto.EstudiantePendiente(" +
+                     "p.idPreinscripcion, " +
+                     "a.idUsuario, a.primerNombre, a.segundoNombre, a.primerApellido, a.segundoApellido, " +
+                     "e.idEstudiante, e.primerNombre, e.segundoNombre, e.primerApellido, e.segundoApellido, " +
+                     "g.nombreGrado) " +
+                     "FROM estudiante e " +
+                     "JOIN e.preinscripcion p " +
+                     "JOIN p.acudiente a " +
+                     "LEFT JOIN e.gradoAspira g " +
+                     "WHERE e.estado = :pendiente " +
+                     (primeraPagina ? "" :
+                     "AND (p.idPreinscripcion > :preinscripcion " +
+                     "OR (p.idPreinscripcion = :preinscripcion AND e.idEstudiante > :estudiante)) ") +
+                     "ORDER BY p.idPreinscripcion, e.idEstudiante";
         
-        return entityManager.createQuery(jpql, Preinscripcion.class)
+        TypedQuery<EstudiantePendiente> query = entityManager.createQuery(jpql, EstudiantePendiente.class)
+            .setParameter("pendiente", Estado.Pendiente)
+            .setMaxResults(limite);
+        if (!primeraPagina) {
+            query.setParameter("preinscripcion", despuesDePreinscripcion)
+                .setParameter("estudiante", despuesDeEstudiante);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Cuenta los estudiantes pendientes que aparecen en la lista de aspirantes
+     */
+    public long contarEstudiantesPendientes() {
+        String jpql = "SELECT COUNT(e) FROM estudiante e " +
+                     "JOIN e.preinscripcion p " +
+                     "JOIN p.acudiente a " +
+                     "WHERE e.estado = :pendiente";
+        
+        return entityManager.createQuery(jpql, Long.class)
+            .setParameter("pendiente", Estado.Pendiente)
+            .getSingleResult();
+    }
+
+    /**
+     * Ids de todos los estudiantes pendientes de la lista (para "Aprobar todos")
+     */
+    public List<Integer> buscarIdsEstudiantesPendientes() {
+        String jpql = "SELECT e.idEstudiante FROM estudiante e " +
+                     "JOIN e.preinscripcion p " +
+                     "JOIN p.acudiente a " +
+                     "WHERE e.estado = :pendiente " +
+                     "ORDER BY p.idPreinscripcion, e.idEstudiante";
+        
+        return entityManager.createQuery(jpql, Integer.class)
+            .setParameter("pendiente", Estado.Pendiente)
             .getResultList();
     }
-}
\ No newline at end of file
+}
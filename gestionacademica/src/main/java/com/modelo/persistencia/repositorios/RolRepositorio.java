@@ -1,8 +1,10 @@
 package com.modelo.persistencia.repositorios;
 
+import java.util.List;
 import java.util.Optional;
 
 import com.modelo.dominio.Rol;
+import com.modelo.persistencia.CacheReferencia;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -19,6 +21,7 @@ public class RolRepositorio extends RepositorioGenerico<Rol>{
     public Optional<Rol> buscarPorNombreRol(String nombreRol) {
         String jpql = "SELECT t FROM Rol t WHERE t.nombre = :nombre";
         TypedQuery<Rol> query = entityManager.createQuery(jpql, Rol.class);
+        CacheReferencia.cacheable(query);
         query.setParameter("nombre", nombreRol);
         
         try {
@@ -27,4 +30,13 @@ public class RolRepositorio extends RepositorioGenerico<Rol>{
             return Optional.empty();
         }
     }
+
+    /**
+     * Catálogo completo desde la caché de consultas de referencia
+     */
+    @Override
+    public List<Rol> buscarTodos() {
+        TypedQuery<Rol> query = entityManager.createQuery("SELECT t FROM Rol t", Rol.class);
+        return CacheReferencia.cacheable(query).getResultList();
+    }
 }
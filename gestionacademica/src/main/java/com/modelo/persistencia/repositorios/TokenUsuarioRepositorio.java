@@ -17,8 +17,8 @@ public class TokenUsuarioRepositorio extends RepositorioGenerico<TokenUsuario> {
     }
 
     public Optional<TokenUsuario> buscarPorNombreUsuario(String nombreUsuario) {
-        String jpql = "SELECT t FROM token_usuario t WHERE t.nombreUsuario = :nombreUsuario";
-        TypedQuery<TokenUsuario> query = entityManager.createQuery(jpql, TokenUsuario.class);
+        TypedQuery<TokenUsuario> query = entityManager.createNamedQuery(
+            "TokenUsuario.buscarPorNombreUsuario", TokenUsuario.class);
         query.setParameter("nombreUsuario", nombreUsuario);
         
         try {
@@ -1,14 +1,25 @@
 package com.modelo.persistencia.repositorios;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import com.modelo.dominio.Acudiente;
 import com.modelo.dominio.Usuario;
+import com.modelo.dto.CamposDuplicados;
+import com.modelo.dto.PersonaEncontrada;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 
 public class UsuarioRepositorio extends RepositorioGenerico<Usuario>{
+    private static final int TAMANO_RECORRIDO = 1000;
+
     private final EntityManager entityManager;
 
     public UsuarioRepositorio(EntityManager entityManager){
@@ -16,9 +27,18 @@ public class UsuarioRepositorio extends RepositorioGenerico<Usuario>{
         this.entityManager = entityManager;
     }
 
+    /**
+     * Usuario con token, rol y permisos cargados en una sola consulta (login)
+     */
+    public Optional<Usuario> buscarParaAutenticar(String nombreUsuario) {
+        return entityManager.createNamedQuery("Usuario.autenticar", Usuario.class)
+            .setParameter("nombreUsuario", nombreUsuario)
+            .getResultStream()
+            .findFirst();
+    }
+
     public Optional<Usuario> buscarPorToken(Integer id_token){
-        String jpql = "SELECT u FROM usuario u WHERE u.tokenAccess.idToken = :id_token";
-        TypedQuery<Usuario> query = entityManager.createQuery(jpql, Usuario.class);
+        TypedQuery<Usuario> query = entityManager.createNamedQuery("Usuario.buscarPorToken", Usuario.class);
         query.setParameter("id_token", id_token);
         
         try {
@@ -29,41 +49,107 @@ public class UsuarioRepositorio extends RepositorioGenerico<Usuario>{
     }
 
     public boolean existePorCorreo(String correoElectronico) {
-        try {
-            String jpql = "SELECT 1 FROM usuario u WHERE u.correoElectronico = :correoElectronico";
-            entityManager.createQuery(jpql, Integer.class)
-                            .setParameter("correoElectronico", correoElectronico)
-                            .setMaxResults(1)
-                            .getSingleResult();
-            return true;
-        } catch (NoResultException e) {
-            return false;
-        }
+        String jpql = "SELECT 1 FROM usuario u WHERE u.correoElectronico = :correoElectronico";
+        return !entityManager.createQuery(jpql, Integer.class)
+                        .setParameter("correoElectronico", correoElectronico)
+                        .setMaxResults(1)
+                        .getResultList()
+                        .isEmpty();
     }
 
     public boolean existePorTelefono(String telefono) {
-        try {
-            String jpql = "SELECT 1 FROM usuario u WHERE u.telefono = :telefono";
-            entityManager.createQuery(jpql, Integer.class)
-                            .setParameter("telefono", telefono)
-                            .setMaxResults(1)
-                            .getSingleResult();
-            return true;
-        } catch (NoResultException e) {
-            return false;
-        }
+        String jpql = "SELECT 1 FROM usuario u WHERE u.telefono = :telefono";
+        return !entityManager.createQuery(jpql, Integer.class)
+                        .setParameter("telefono", telefono)
+                        .setMaxResults(1)
+                        .getResultList()
+                        .isEmpty();
     }
 
     public boolean existePorNuip(String nuipUsuario) {
-        try {
-            String jpql = "SELECT 1 FROM usuario u WHERE u.nuipUsuario = :nuipUsuario";
-            entityManager.createQuery(jpql, Integer.class)
-                            .setParameter("nuipUsuario", nuipUsuario)
-                            .setMaxResults(1)
-                            .getSingleResult();
-            return true;
-        } catch (NoResultException e) {
-            return false;
+        String jpql = "SELECT 1 FROM usuario u WHERE u.nuipUsuario = :nuipUsuario";
+        return !entityManager.createQuery(jpql, Integer.class)
+                        .setParameter("nuipUsuario", nuipUsuario)
+                        .setMaxResults(1)
+                        .getResultList()
+                        .isEmpty();
+    }
+
+    /**
+     * Cuáles de NUIP, correo y teléfono ya usa otro usuario, en una sola consulta
+     * Las tres columnas son únicas, así que a lo sumo coinciden tres filas.
+     */
+    public CamposDuplicados buscarDuplicados(String nuip, String correoElectronico, String telefono) {
+        String jpql = "SELECT new com.modelo.dto.CamposDuplicados(" +
+                     "MAX(CASE WHEN u.nuipUsuario = :nuip THEN 1 ELSE 0 END), " +
+                     "MAX(CASE WHEN u.correoElectronico = :correo THEN 1 ELSE 0 END), " +
+                     "MAX(CASE WHEN u.telefono = :telefono THEN 1 ELSE 0 END)) " +
+                     "FROM usuario u " +
+                     "WHERE u.nuipUsuario = :nuip " +
+                     "OR u.correoElectronico = :correo " +
+                     "OR u.telefono = :telefono";
+        return entityManager.createQuery(jpql, CamposDuplicados.class)
+            .setParameter("nuip", nuip)
+            .setParameter("correo", correoElectronico)
+            .setParameter("telefono", telefono)
+            .getSingleResult();
+    }
+
+    /**
+     * Cantidad de usuarios (para dimensionar el filtro de duplicados)
+     */
+    public long contar() {
+        return entityManager.createQuery("SELECT COUNT(u) FROM usuario u", Long.class)
+            .getSingleResult();
+    }
+
+    /**
+     * Nombres y NUIP de acudientes y profesores, como flujo (carga de la búsqueda de personas)
+     */
+    public Stream<PersonaEncontrada> recorrerParaBusqueda() {
+        return entityManager.createQuery(
+                "SELECT TYPE(u), u.idUsuario, u.primerNombre, u.segundoNombre, u.primerApellido, " +
+                "u.segundoApellido, u.nuipUsuario FROM usuario u WHERE TYPE(u) IN (acudiente, profesor)",
+                Object[].class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANO_RECORRIDO)
+            .getResultStream()
+            .map(fila -> new PersonaEncontrada(
+                fila[0] == Acudiente.class ? PersonaEncontrada.Tipo.ACUDIENTE : PersonaEncontrada.Tipo.PROFESOR,
+                (Integer) fila[1], (String) fila[2], (String) fila[3], (String) fila[4], (String) fila[5],
+                (String) fila[6]));
+    }
+
+    /**
+     * NUIP, correo y teléfono de todos los usuarios, sin cargar entidades: [nuip, correo, teléfono]
+     * Se recorre como flujo para llenar el filtro de duplicados al arrancar.
+     */
+    public Stream<Object[]> recorrerIdentificadores() {
+        return entityManager.createQuery(
+                "SELECT u.nuipUsuario, u.correoElectronico, u.telefono FROM usuario u", Object[].class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANO_RECORRIDO)
+            .getResultStream();
+    }
+
+    /**
+     * NUIP, correo y teléfono de los usuarios que ya usan alguno de los valores dados,
+     * en una sola consulta para todo un bloque de la importación: [nuip, correo, teléfono]
+     */
+    public List<Object[]> buscarIdentificadoresExistentes(Collection<String> nuips,
+                                                          Collection<String> correos,
+                                                          Collection<String> telefonos) {
+        if (nuips.isEmpty() && correos.isEmpty() && telefonos.isEmpty()) {
+            return new ArrayList<>();
         }
+
+        String jpql = "SELECT u.nuipUsuario, u.correoElectronico, u.telefono FROM usuario u " +
+                     "WHERE u.nuipUsuario IN :nuips " +
+                     "OR u.correoElectronico IN :correos " +
+                     "OR u.telefono IN :telefonos";
+        // IN () vacío no es válido: se usa un valor que no coincide con nada
+        return entityManager.createQuery(jpql, Object[].class)
+            .setParameter("nuips", nuips.isEmpty() ? List.of("") : nuips)
+            .setParameter("correos", correos.isEmpty() ? List.of("") : correos)
+            .setParameter("telefonos", telefonos.isEmpty() ? List.of("") : telefonos)
+            .getResultList();
     }
-}
\ No newline at end of file
+}
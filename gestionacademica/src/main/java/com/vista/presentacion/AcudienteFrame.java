@@ -10,6 +10,7 @@ import com.controlador.GestionObservadorController;
 import com.controlador.GestionUsuariosController;
 import com.modelo.dominio.Acudiente;
 import com.modelo.dominio.Estudiante;
+import com.modelo.dto.EstudianteResumen;
 import com.vista.presentacion.hojavida.ConsultarHojaVidaDialog;
 import com.vista.presentacion.observador.ConsultarObservadorDialog;
 
@@ -245,7 +246,7 @@ public class AcudienteFrame extends JFrame {
         
         // Abrir diálogo de CONSULTA (no edición)
         ConsultarHojaVidaDialog dialogo = new ConsultarHojaVidaDialog(
-            this, estudiante, controller);
+            this, EstudianteResumen.de(estudiante), controller);
         dialogo.setVisible(true);
     }
 
@@ -282,7 +283,7 @@ public class AcudienteFrame extends JFrame {
         
         // El acudiente solo puede consultar, no modificar
         ConsultarObservadorDialog dialogo = new ConsultarObservadorDialog(
-            this, estudiante, controller, false, null);
+            this, EstudianteResumen.de(estudiante), controller, false, null);
         dialogo.setVisible(true);
     }
 
@@ -115,6 +115,13 @@ public class AdministradorFrame extends JFrame {
         JButton btnAdministrar = crearBoton("ADMINISTRAR USUARIOS", e -> administrarUsuarios());
         panel.add(btnAdministrar);
 
+        panel.add(Box.createVerticalStrut(15));
+
+        // Tras editar roles, permisos o grados por fuera de la aplicación
+        JButton btnRecargar = crearBoton("RECARGAR DATOS DE REFERENCIA", e -> recargarDatosReferencia());
+        btnRecargar.setToolTipText("Vuelve a leer roles, permisos y grados de la base de datos");
+        panel.add(btnRecargar);
+
         return panel;
     }
 
@@ -140,6 +147,21 @@ public class AdministradorFrame extends JFrame {
         return boton;
     }
 
+    private void recargarDatosReferencia() {
+        EjecutorVista.ejecutar(this, "referencia.recargar",
+            () -> controller.recargarDatosReferencia(),
+            resultado -> {
+                if (!resultado.isExitoso()) {
+                    JOptionPane.showMessageDialog(this, resultado.getMensaje(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                JOptionPane.showMessageDialog(this,
+                    resultado.getMensaje() + "\n\n" + resultado.getDatos(),
+                    "Datos de referencia", JOptionPane.INFORMATION_MESSAGE);
+            });
+    }
+
     /**
      * CU 2.1 - Administrar usuarios
      * Abre el módulo de gestión de usuarios
@@ -94,31 +94,35 @@ public class AsignarProfesoresPanel extends JFrame {
     }
     
     /**
-     * Carga los datos iniciales usando el controlador MVC
+     * Carga los datos iniciales usando el controlador MVC (fuera del EDT)
      */
     @SuppressWarnings("unchecked")
     private void cargarDatos() {
-        // Cargar profesores disponibles
-        ResultadoOperacion resultadoProfesores = controlador.obtenerProfesoresDisponibles();
-        if (resultadoProfesores.isExitoso()) {
-            profesoresDisponibles = (List<Profesor>) resultadoProfesores.getDatos();
-        } else {
-            profesoresDisponibles = List.of();
-        }
-        
-        // Cargar grupos
-        cargarGrupos();
+        // Cargar profesores disponibles y después los grupos
+        EjecutorVista.ejecutar(this, "grupos.profesoresDisponibles",
+            controlador::obtenerProfesoresDisponibles,
+            resultadoProfesores -> {
+                if (resultadoProfesores.isExitoso()) {
+                    profesoresDisponibles = (List<Profesor>) resultadoProfesores.getDatos();
+                } else {
+                    profesoresDisponibles = List.of();
+                }
+                cargarGrupos();
+            });
     }
     
     /**
      * Carga la lista de grupos usando el controlador MVC
      */
     private void cargarGrupos() {
+        EjecutorVista.ejecutar(this, "grupos.listar",
+            controlador::obtenerListaGrupos,
+            this::mostrarGrupos);
+    }
+    
+    private void mostrarGrupos(ResultadoOperacion resultado) {
         panelContenido.removeAll();
         
-        // Comunicación con el controlador
-        ResultadoOperacion resultado = controlador.obtenerListaGrupos();
-        
         if (!resultado.isExitoso()) {
             if ("VACIA".equals(resultado.getMensaje())) {
                 mostrarListaVacia();
@@ -331,17 +335,18 @@ public class AsignarProfesoresPanel extends JFrame {
         
         if (confirmacion == JOptionPane.YES_OPTION) {
             // Comunicación con el controlador usando IDs directos
-            ResultadoOperacion resultado = controlador.asignarProfesorAGrupo(
-                grupo.getIdGrupo(), 
-                profesor.getIdUsuario()
-            );
-            
-            if (resultado.isExitoso()) {
-                mostrarMensajeExito(resultado.getMensaje());
-                cargarDatos(); // Recargar datos
-            } else {
-                mostrarError(resultado.getMensaje());
-            }
+            Integer idGrupo = grupo.getIdGrupo();
+            Integer idProfesor = profesor.getIdUsuario();
+            EjecutorVista.ejecutar(this, "grupos.asignarProfesor",
+                () -> controlador.asignarProfesorAGrupo(idGrupo, idProfesor),
+                resultado -> {
+                    if (resultado.isExitoso()) {
+                        mostrarMensajeExito(resultado.getMensaje());
+                        cargarDatos(); // Recargar datos
+                    } else {
+                        mostrarError(resultado.getMensaje());
+                    }
+                });
         }
     }
     
@@ -144,13 +144,13 @@ public class ConsultarInformacionDialog extends JDialog {
     }
     
     private void cargarInformacion() {
-        // Llamar al controlador para obtener la información
-        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-        
-        ResultadoOperacion resultado = controller.consultarMiInformacion(usuarioAutenticado);
-        
-        setCursor(Cursor.getDefaultCursor());
-        
+        // Llamar al controlador para obtener la información (fuera del EDT)
+        EjecutorVista.ejecutar(this, "usuarios.miInformacion",
+            () -> controller.consultarMiInformacion(usuarioAutenticado),
+            this::mostrarResultado);
+    }
+    
+    private void mostrarResultado(ResultadoOperacion resultado) {
         if (!resultado.isExitoso()) {
             // Error al acceder a BD
             JOptionPane.showMessageDialog(this,
@@ -211,7 +211,12 @@ public class CrearUsuarioFrame extends JFrame {
     }
     
     private void cargarRoles() {
-        ResultadoOperacion resultado = controller.obtenerRolesDisponibles();
+        EjecutorVista.ejecutar(this, "usuarios.rolesDisponibles",
+            controller::obtenerRolesDisponibles,
+            this::mostrarRoles);
+    }
+    
+    private void mostrarRoles(ResultadoOperacion resultado) {
         if (resultado.isExitoso()) {
             @SuppressWarnings("unchecked")
             List<Rol> roles = (List<Rol>) resultado.getDatos();
@@ -258,21 +263,22 @@ public class CrearUsuarioFrame extends JFrame {
             return;
         }
         
-        // Primero validar datos antes de crear
-        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-        ResultadoOperacion validacion = controller.validarDatosUsuario(
-            nuip, primerNombre, segundoNombre, primerApellido, segundoApellido,
-            edad, correoElectronico, telefono, nombreRol
-        );
-        
-        if (validacion.isExitoso()) {
+        // Primero validar datos antes de crear; las dos llamadas van fuera del EDT
+        Integer edadUsuario = edad;
+        EjecutorVista.ejecutar(this, "usuarios.crear", () -> {
+            ResultadoOperacion validacion = controller.validarDatosUsuario(
+                nuip, primerNombre, segundoNombre, primerApellido, segundoApellido,
+                edadUsuario, correoElectronico, telefono, nombreRol
+            );
+            if (!validacion.isExitoso()) {
+                return validacion;
+            }
             // Si la validación es exitosa, crear el usuario
-            ResultadoOperacion resultado = controller.crearUsuario(
+            return controller.crearUsuario(
                 nuip, primerNombre, segundoNombre, primerApellido, segundoApellido,
-                edad, correoElectronico, telefono, nombreRol
+                edadUsuario, correoElectronico, telefono, nombreRol
             );
-            setCursor(Cursor.getDefaultCursor());
-            
+        }, resultado -> {
             if (resultado.isExitoso()) {
                 // Obtener el usuario creado con el token generado
                 Usuario usuarioCreado = (Usuario) resultado.getDatos();
@@ -290,10 +296,7 @@ public class CrearUsuarioFrame extends JFrame {
             } else {
                 mostrarError(resultado.getCampoError(), resultado.getMensaje());
             }
-        } else {
-            setCursor(Cursor.getDefaultCursor());
-            mostrarError(validacion.getCampoError(), validacion.getMensaje());
-        }
+        });
     }
     
     private void mostrarError(String campo, String mensaje) {
@@ -0,0 +1,366 @@
+package com.vista.presentacion;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GridBagLayout;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JRootPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import com.aplicacion.Configuracion;
+import com.modelo.dominio.ResultadoOperacion;
+
+/**
+ * Ejecuta llamadas a los controladores fuera del hilo de Swing (EDT)
+ * Responsabilidad: Correr la llamada en un pool de fondo, devolver el resultado
+ * en el EDT, bloquear la ventana mientras tanto y medir cuánto esperó el usuario.
+ *
+ * Uso desde una vista (siempre en el EDT):
+ *   EjecutorVista.ejecutar(this, "aspirantes.aprobar",
+ *       () -> controlador.aprobarEstudiante(id),
+ *       resultado -> { ... actualizar la vista ... });
+ *
+ * Mientras la llamada corre, la ventana muestra el cursor de espera y un velo que
+ * ignora clics y teclas (evita dobles envíos). Si la espera pasa de
+ * vista.cancelar.espera.ms el velo ofrece el botón Cancelar (o Escape), que cancela
+ * las llamadas de esa ventana. Si la ventana se cierra antes de terminar, el
+ * resultado se descarta.
+ */
+public final class EjecutorVista {
+    private static final long UMBRAL_LENTO_MS =
+        Configuracion.obtenerLargo("operaciones.umbral.lento.ms", 500);
+    private static final int ESPERA_CANCELAR_MS =
+        Math.max(0, Configuracion.obtenerEntero("vista.cancelar.espera.ms", 1500));
+
+    private static final ThreadPoolExecutor ejecutor = crearEjecutor();
+    private static final Map<String, EstadisticaLlamada> estadisticas = new ConcurrentHashMap<>();
+
+    private EjecutorVista() {
+    }
+
+    /**
+     * Ejecuta la llamada en segundo plano y entrega el resultado en el EDT
+     *
+     * @param origen componente de la ventana que se bloquea mientras tanto
+     * @param nombre nombre de la llamada para las estadísticas
+     * @param llamada llamada al controlador; una excepción se entrega como error
+     * @param alTerminar recibe el resultado en el EDT; no se llama si se canceló
+     */
+    public static Tarea ejecutar(Component origen, String nombre,
+                                 Supplier<ResultadoOperacion> llamada,
+                                 Consumer<ResultadoOperacion> alTerminar) {
+        return ejecutar(origen, nombre, true, llamada, alTerminar);
+    }
+
+    /**
+     * Igual que ejecutar() pero sin bloquear la ventana; para cargas que la vista
+     * indica por su cuenta (p. ej. la siguiente página de una lista al desplazarse)
+     */
+    public static Tarea ejecutarSinBloquear(Component origen, String nombre,
+                                            Supplier<ResultadoOperacion> llamada,
+                                            Consumer<ResultadoOperacion> alTerminar) {
+        return ejecutar(origen, nombre, false, llamada, alTerminar);
+    }
+
+    private static Tarea ejecutar(Component origen, String nombre, boolean bloquear,
+                                  Supplier<ResultadoOperacion> llamada,
+                                  Consumer<ResultadoOperacion> alTerminar) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("EjecutorVista.ejecutar debe llamarse desde el EDT");
+        }
+
+        Tarea tarea = new Tarea(origen, nombre, bloquear);
+        if (bloquear) {
+            mostrarOcupado(tarea);
+        }
+        tarea.futuro = ejecutor.submit(() -> {
+            ResultadoOperacion resultado;
+            try {
+                resultado = llamada.get();
+                if (resultado == null) {
+                    resultado = ResultadoOperacion.error("La operación no devolvió resultado");
+                }
+            } catch (RuntimeException e) {
+                resultado = ResultadoOperacion.error("Error en el sistema: " + e.getMessage());
+            }
+            ResultadoOperacion entregado = resultado;
+            SwingUtilities.invokeLater(() -> tarea.entregar(entregado, alTerminar));
+        });
+        return tarea;
+    }
+
+    /**
+     * Copia de los tiempos de respuesta acumulados por nombre de llamada
+     */
+    public static Map<String, EstadisticaLlamada> obtenerEstadisticas() {
+        Map<String, EstadisticaLlamada> copia = new LinkedHashMap<>();
+        estadisticas.forEach((nombre, estadistica) -> copia.put(nombre, estadistica.copiar()));
+        return copia;
+    }
+
+    private static void registrar(String nombre, long duracionNanos, boolean exitosa, boolean cancelada) {
+        estadisticas.computeIfAbsent(nombre, n -> new EstadisticaLlamada())
+            .registrar(duracionNanos, exitosa, cancelada);
+
+        long duracionMs = duracionNanos / 1_000_000;
+        if (duracionMs >= UMBRAL_LENTO_MS) {
+            System.out.println("Llamada lenta desde la vista: " + nombre + " (" + duracionMs + " ms)");
+        }
+    }
+
+    /**
+     * Llamada en curso; cancelar() y las consultas de estado se usan desde el EDT
+     */
+    public static class Tarea {
+        private final Component origen;
+        private final String nombre;
+        private final boolean bloquea;
+        private final long inicio = System.nanoTime();
+        // Una vista que se construye aún no es visible: solo se descarta si se cerró
+        private final boolean ventanaAbierta;
+        private Future<?> futuro;
+        private Runnable alCancelar;
+        private boolean terminada;
+        private boolean cancelada;
+
+        private Tarea(Component origen, String nombre, boolean bloquea) {
+            this.origen = origen;
+            this.nombre = nombre;
+            this.bloquea = bloquea;
+            Component ventana = SwingUtilities.getRoot(origen);
+            this.ventanaAbierta = ventana != null && ventana.isDisplayable();
+        }
+
+        /**
+         * Descarta el resultado y libera la ventana de inmediato
+         * La operación puede terminar igual en la base de datos si ya había empezado
+         */
+        public void cancelar() {
+            if (terminada) {
+                return;
+            }
+            terminada = true;
+            cancelada = true;
+            futuro.cancel(true);
+            if (bloquea) {
+                ocultarOcupado(this);
+            }
+            registrar(nombre, System.nanoTime() - inicio, false, true);
+            if (alCancelar != null) {
+                alCancelar.run();
+            }
+        }
+
+        /**
+         * Acción en el EDT si la llamada se cancela (p. ej. quitar un "Cargando...")
+         */
+        public Tarea alCancelar(Runnable accion) {
+            this.alCancelar = accion;
+            return this;
+        }
+
+        public boolean isTerminada() { return terminada; }
+        public boolean isCancelada() { return cancelada; }
+
+        private void entregar(ResultadoOperacion resultado, Consumer<ResultadoOperacion> alTerminar) {
+            if (terminada) {
+                return;
+            }
+            terminada = true;
+            if (bloquea) {
+                ocultarOcupado(this);
+            }
+            registrar(nombre, System.nanoTime() - inicio, resultado.isExitoso(), false);
+
+            Component ventana = SwingUtilities.getRoot(origen);
+            if (ventanaAbierta && (ventana == null || !ventana.isDisplayable())) {
+                // La ventana se cerró mientras tanto: no hay dónde mostrar el resultado
+                return;
+            }
+            alTerminar.accept(resultado);
+        }
+    }
+
+    /**
+     * Tiempos de una llamada vistos por el usuario (desde el clic hasta el resultado en el EDT)
+     */
+    public static class EstadisticaLlamada {
+        private long ejecuciones;
+        private long fallidas;
+        private long canceladas;
+        private long totalNanos;
+        private long maximoNanos;
+
+        private synchronized void registrar(long duracionNanos, boolean exitosa, boolean cancelada) {
+            ejecuciones++;
+            if (cancelada) {
+                canceladas++;
+            } else if (!exitosa) {
+                fallidas++;
+            }
+            totalNanos += duracionNanos;
+            maximoNanos = Math.max(maximoNanos, duracionNanos);
+        }
+
+        private synchronized EstadisticaLlamada copiar() {
+            EstadisticaLlamada copia = new EstadisticaLlamada();
+            copia.ejecuciones = ejecuciones;
+            copia.fallidas = fallidas;
+            copia.canceladas = canceladas;
+            copia.totalNanos = totalNanos;
+            copia.maximoNanos = maximoNanos;
+            return copia;
+        }
+
+        public long getEjecuciones() { return ejecuciones; }
+        public long getFallidas() { return fallidas; }
+        public long getCanceladas() { return canceladas; }
+
+        public double getPromedioMs() {
+            return ejecuciones == 0 ? 0 : (totalNanos / (double) ejecuciones) / 1_000_000.0;
+        }
+
+        public double getMaximoMs() {
+            return maximoNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ejecuciones=%d, fallidas=%d, canceladas=%d, promedio=%.2f ms, máximo=%.2f ms",
+                ejecuciones, fallidas, canceladas, getPromedioMs(), getMaximoMs());
+        }
+    }
+
+    // ============================================
+    // INDICADOR DE OCUPADO
+    // ============================================
+
+    /**
+     * El velo de la ventana guarda sus llamadas en curso: se quita con la última
+     */
+    private static void mostrarOcupado(Tarea tarea) {
+        JRootPane raiz = SwingUtilities.getRootPane(tarea.origen);
+        if (raiz == null) {
+            return;
+        }
+        VeloOcupado velo;
+        if (raiz.getGlassPane() instanceof VeloOcupado) {
+            velo = (VeloOcupado) raiz.getGlassPane();
+        } else {
+            velo = new VeloOcupado(raiz.getGlassPane());
+            raiz.setGlassPane(velo);
+            velo.setVisible(true);
+            velo.requestFocusInWindow();
+            velo.temporizador.start();
+        }
+        velo.tareas.add(tarea);
+    }
+
+    private static void ocultarOcupado(Tarea tarea) {
+        JRootPane raiz = SwingUtilities.getRootPane(tarea.origen);
+        if (raiz == null || !(raiz.getGlassPane() instanceof VeloOcupado)) {
+            return;
+        }
+        VeloOcupado velo = (VeloOcupado) raiz.getGlassPane();
+        // Una llamada que empezó antes de que la vista estuviera en su ventana no está en el velo
+        if (velo.tareas.remove(tarea) && velo.tareas.isEmpty()) {
+            velo.temporizador.stop();
+            velo.setVisible(false);
+            raiz.setGlassPane(velo.anterior);
+        }
+    }
+
+    /**
+     * Capa transparente sobre la ventana: cursor de espera y sin clics ni teclas,
+     * salvo el botón Cancelar, que aparece si la espera se alarga
+     */
+    private static class VeloOcupado extends JComponent {
+        private final Component anterior;
+        private final List<Tarea> tareas = new ArrayList<>();
+        private final JButton btnCancelar = new JButton("Cancelar");
+        private final Timer temporizador;
+
+        VeloOcupado(Component anterior) {
+            this.anterior = anterior;
+            setOpaque(false);
+            setFocusable(true);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            setLayout(new GridBagLayout());
+            addMouseListener(new MouseAdapter() { });
+            addMouseMotionListener(new MouseAdapter() { });
+            addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    if (e.getKeyCode() == KeyEvent.VK_ESCAPE && btnCancelar.isVisible()) {
+                        cancelarTodas();
+                    }
+                    e.consume();
+                }
+            });
+
+            btnCancelar.setCursor(Cursor.getDefaultCursor());
+            btnCancelar.setToolTipText("Deja de esperar el resultado; lo que ya se guardó en la base de datos no se deshace");
+            btnCancelar.setVisible(false);
+            btnCancelar.addActionListener(e -> cancelarTodas());
+            add(btnCancelar);
+
+            temporizador = new Timer(ESPERA_CANCELAR_MS, e -> {
+                btnCancelar.setVisible(true);
+                revalidate();
+            });
+            temporizador.setRepeats(false);
+        }
+
+        private void cancelarTodas() {
+            // cancelar() quita cada tarea de la lista
+            for (Tarea tarea : new ArrayList<>(tareas)) {
+                tarea.cancelar();
+            }
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.15f));
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            g2.dispose();
+        }
+    }
+
+    private static ThreadPoolExecutor crearEjecutor() {
+        int hilos = Math.max(1, Configuracion.obtenerEntero("vista.hilos", 4));
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "vista-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
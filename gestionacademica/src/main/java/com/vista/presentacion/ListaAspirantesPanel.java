@@ -1,14 +1,16 @@
 package com.vista.presentacion;
 
 import com.controlador.GestionAspirantesController;
+import com.controlador.GestionAspirantesController.PaginaAspirantes;
 import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudiantePendiente;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Panel para mostrar la lista de aspirantes y aprobar/rechazar
@@ -27,6 +29,17 @@ public class ListaAspirantesPanel extends JFrame {
     private JPanel panelContenido;
     private JScrollPane scrollPane;
     
+    // Paginación: la siguiente página continúa después del último estudiante mostrado
+    private static final int MARGEN_CARGA_PX = 150;
+    private int generacion;
+    private boolean hayMas;
+    private boolean cargandoPagina;
+    private EstudiantePendiente ultimaFila;
+    private JPanel panelAspiranteActual;
+    private JLabel lblCargandoMas;
+    // Estudiantes mostrados en la lista: "Aprobar todos" aprueba solo estos
+    private final List<Integer> idsMostrados = new ArrayList<>();
+    
     public ListaAspirantesPanel() {
         this.controlador = new GestionAspirantesController();
         inicializarComponentes();
@@ -53,6 +66,7 @@ public class ListaAspirantesPanel extends JFrame {
         scrollPane.setBackground(CF);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> cargarSiCercaDelFinal());
         
         panelPrincipal.add(scrollPane, BorderLayout.CENTER);
         
@@ -86,12 +100,27 @@ public class ListaAspirantesPanel extends JFrame {
     }
     
     /**
-     * Carga la lista de aspirantes usando el controlador MVC
+     * Carga la primera página de aspirantes usando el controlador MVC
+     * Las siguientes se piden al acercarse al final de la lista
      */
     private void cargarAspirantes() {
+        int cargaActual = ++generacion;
+        EjecutorVista.ejecutar(this, "aspirantes.primeraPagina",
+            () -> controlador.obtenerPaginaAspirantes(null, null),
+            resultado -> {
+                if (cargaActual == generacion) {
+                    mostrarAspirantes(resultado);
+                }
+            });
+    }
+    
+    private void mostrarAspirantes(ResultadoOperacion resultado) {
         panelContenido.removeAll();
-        
-        ResultadoOperacion resultado = controlador.obtenerListaAspirantes();
+        hayMas = false;
+        cargandoPagina = false;
+        ultimaFila = null;
+        idsMostrados.clear();
+        panelAspiranteActual = null;
         
         if (!resultado.isExitoso()) {
             if ("VACIA".equals(resultado.getMensaje())) {
@@ -102,6 +131,8 @@ public class ListaAspirantesPanel extends JFrame {
             return;
         }
         
+        PaginaAspirantes pagina = (PaginaAspirantes) resultado.getDatos();
+        
         JPanel panelEncabezado = new JPanel(new BorderLayout());
         panelEncabezado.setBackground(Color.BLACK);
         panelEncabezado.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
@@ -112,22 +143,87 @@ public class ListaAspirantesPanel extends JFrame {
         lblEncabezado.setForeground(Color.WHITE);
         
         panelEncabezado.add(lblEncabezado, BorderLayout.WEST);
+        
+        JButton btnAprobarTodos = crearBotonAccion("Aprobar todos", CB, CBH);
+        btnAprobarTodos.setPreferredSize(new Dimension(120, 28));
+        btnAprobarTodos.addActionListener(e -> aprobarTodos());
+        panelEncabezado.add(btnAprobarTodos, BorderLayout.EAST);
+        
         panelContenido.add(panelEncabezado);
         panelContenido.add(Box.createVerticalStrut(10));
         
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> aspirantes = (List<Map<String, Object>>) resultado.getDatos();
+        lblCargandoMas = new JLabel();
+        lblCargandoMas.setFont(new Font("Arial", Font.ITALIC, 12));
+        lblCargandoMas.setForeground(Color.GRAY);
+        lblCargandoMas.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        for (Map<String, Object> aspirante : aspirantes) {
-            panelContenido.add(crearPanelAspirante(aspirante));
-            panelContenido.add(Box.createVerticalStrut(10));
+        agregarPagina(pagina);
+    }
+    
+    /**
+     * Agrega las filas de una página; los estudiantes de una misma preinscripción
+     * se agrupan bajo su acudiente aunque lleguen en páginas distintas
+     */
+    private void agregarPagina(PaginaAspirantes pagina) {
+        panelContenido.remove(lblCargandoMas);
+        
+        for (EstudiantePendiente fila : pagina.getFilas()) {
+            if (ultimaFila == null || !ultimaFila.idPreinscripcion().equals(fila.idPreinscripcion())) {
+                panelAspiranteActual = crearPanelAspirante(fila.nombreAcudiente());
+                panelContenido.add(panelAspiranteActual);
+                panelContenido.add(Box.createVerticalStrut(10));
+            }
+            panelAspiranteActual.add(crearPanelEstudiante(fila));
+            idsMostrados.add(fila.idEstudiante());
+            panelAspiranteActual.add(Box.createVerticalStrut(5));
+            panelAspiranteActual.setMaximumSize(
+                new Dimension(Integer.MAX_VALUE, panelAspiranteActual.getPreferredSize().height));
+            ultimaFila = fila;
+        }
+        
+        hayMas = pagina.isHayMas();
+        if (hayMas) {
+            lblCargandoMas.setText("Desplácese para ver más aspirantes");
+            panelContenido.add(lblCargandoMas);
         }
         
         panelContenido.revalidate();
         panelContenido.repaint();
+        
+        // Si la página no alcanza a llenar la ventana no habrá desplazamiento: se pide la siguiente
+        SwingUtilities.invokeLater(this::cargarSiCercaDelFinal);
     }
     
-    private JPanel crearPanelAspirante(Map<String, Object> datosAspirante) {
+    private void cargarSiCercaDelFinal() {
+        if (!hayMas || cargandoPagina || ultimaFila == null) {
+            return;
+        }
+        JScrollBar barra = scrollPane.getVerticalScrollBar();
+        if (barra.getValue() + barra.getVisibleAmount() < barra.getMaximum() - MARGEN_CARGA_PX) {
+            return;
+        }
+        
+        cargandoPagina = true;
+        lblCargandoMas.setText("Cargando más aspirantes...");
+        int cargaActual = generacion;
+        EstudiantePendiente desde = ultimaFila;
+        EjecutorVista.ejecutarSinBloquear(this, "aspirantes.siguientePagina",
+            () -> controlador.obtenerPaginaAspirantes(desde.idPreinscripcion(), desde.idEstudiante()),
+            resultado -> {
+                if (cargaActual != generacion) {
+                    return;
+                }
+                cargandoPagina = false;
+                if (resultado.isExitoso()) {
+                    agregarPagina((PaginaAspirantes) resultado.getDatos());
+                } else {
+                    // Se reintenta con el próximo desplazamiento
+                    lblCargandoMas.setText("No se pudo cargar más aspirantes: " + resultado.getMensaje());
+                }
+            });
+    }
+    
+    private JPanel crearPanelAspirante(String nombreAcudiente) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBackground(Color.WHITE);
@@ -135,9 +231,6 @@ public class ListaAspirantesPanel extends JFrame {
             BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
             BorderFactory.createEmptyBorder(10, 15, 10, 15)
         ));
-        panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 200));
-        
-        String nombreAcudiente = (String) datosAspirante.get("nombreAcudiente");
         
         JLabel lblAcudiente = new JLabel("Acudiente: " + nombreAcudiente);
         lblAcudiente.setFont(new Font("Arial", Font.BOLD, 13));
@@ -155,25 +248,17 @@ public class ListaAspirantesPanel extends JFrame {
         
         panel.add(Box.createVerticalStrut(5));
         
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> estudiantes = (List<Map<String, Object>>) datosAspirante.get("estudiantes");
-        
-        for (Map<String, Object> estudiante : estudiantes) {
-            panel.add(crearPanelEstudiante(estudiante));
-            panel.add(Box.createVerticalStrut(5));
-        }
-        
         return panel;
     }
     
-    private JPanel crearPanelEstudiante(Map<String, Object> datosEstudiante) {
+    private JPanel crearPanelEstudiante(EstudiantePendiente fila) {
         JPanel panel = new JPanel(new BorderLayout(10, 0));
         panel.setBackground(Color.WHITE);
         panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 35));
         
-        String nombreCompleto = (String) datosEstudiante.get("nombreCompleto");
-        String nombreGrado = (String) datosEstudiante.get("nombreGrado");
-        Integer idEstudiante = (Integer) datosEstudiante.get("idEstudiante");
+        String nombreCompleto = fila.nombreCompleto();
+        String nombreGrado = fila.nombreGrado();
+        Integer idEstudiante = fila.idEstudiante();
         
         JLabel lblInfo = new JLabel("• " + nombreCompleto + " - " + nombreGrado);
         lblInfo.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -231,15 +316,47 @@ public class ListaAspirantesPanel extends JFrame {
         );
         
         if (confirmacion == JOptionPane.YES_OPTION) {
-            ResultadoOperacion resultado = controlador.aprobarEstudiante(idEstudiante);
-            
-            if (resultado.isExitoso()) {
-                mostrarMensajeExito(resultado.getMensaje());
-                cargarAspirantes();
-            } else {
-                mostrarError(resultado.getMensaje());
-            }
+            EjecutorVista.ejecutar(this, "aspirantes.aprobar",
+                () -> controlador.aprobarEstudiante(idEstudiante), this::mostrarResultadoAccion);
+        }
+    }
+    
+    /**
+     * Aprueba en bloque los estudiantes mostrados en la lista (los de páginas sin cargar no)
+     * La confirmación usa el conteo actual de pendientes, no el de cuando se cargó la lista.
+     */
+    private void aprobarTodos() {
+        List<Integer> ids = new ArrayList<>(idsMostrados);
+        if (ids.isEmpty()) {
+            return;
         }
+        EjecutorVista.ejecutar(this, "aspirantes.contarPendientes",
+            controlador::contarPendientes,
+            resultado -> {
+                if (!resultado.isExitoso()) {
+                    mostrarError(resultado.getMensaje());
+                    return;
+                }
+                long totalPendientes = (Long) resultado.getDatos();
+                String mensaje = "¿Está seguro que desea aprobar a los " + ids.size()
+                    + " estudiantes mostrados en la lista?";
+                if (totalPendientes > ids.size()) {
+                    mensaje += "\nHay " + totalPendientes + " pendientes en total; los que no se han "
+                        + "cargado en la lista no se aprobarán.";
+                }
+                int confirmacion = JOptionPane.showConfirmDialog(
+                    this,
+                    mensaje,
+                    "Confirmar aprobación masiva",
+                    JOptionPane.YES_NO_OPTION,
+                    JOptionPane.QUESTION_MESSAGE
+                );
+                
+                if (confirmacion == JOptionPane.YES_OPTION) {
+                    EjecutorVista.ejecutar(this, "aspirantes.aprobarTodos",
+                        () -> controlador.aprobarEstudiantes(ids), this::mostrarResultadoAccion);
+                }
+            });
     }
     
     /**
@@ -255,14 +372,17 @@ public class ListaAspirantesPanel extends JFrame {
         );
         
         if (confirmacion == JOptionPane.YES_OPTION) {
-            ResultadoOperacion resultado = controlador.rechazarEstudiante(idEstudiante);
-            
-            if (resultado.isExitoso()) {
-                mostrarMensajeExito(resultado.getMensaje());
-                cargarAspirantes();
-            } else {
-                mostrarError(resultado.getMensaje());
-            }
+            EjecutorVista.ejecutar(this, "aspirantes.rechazar",
+                () -> controlador.rechazarEstudiante(idEstudiante), this::mostrarResultadoAccion);
+        }
+    }
+    
+    private void mostrarResultadoAccion(ResultadoOperacion resultado) {
+        if (resultado.isExitoso()) {
+            mostrarMensajeExito(resultado.getMensaje());
+            cargarAspirantes();
+        } else {
+            mostrarError(resultado.getMensaje());
         }
     }
     
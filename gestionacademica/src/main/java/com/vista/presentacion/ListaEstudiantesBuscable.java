@@ -0,0 +1,181 @@
+package com.vista.presentacion;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.controlador.BusquedaPersonasController;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudianteResumen;
+
+/**
+ * Lista desplazable de estudiantes con un campo "Buscar" que filtra mientras se
+ * escribe (con el índice en memoria, sin consultar la BD).
+ *
+ * La vista que la usa solo decide cómo se pinta cada lista:
+ *
+ *   lista = new ListaEstudiantesBuscable("Buscar:", CF, this::pintarEstudiantes);
+ *   lista.cargar("observador.estudiantesDelGrupo",
+ *       () -> controller.obtenerEstudiantesDelGrupo(profesor),
+ *       "No hay estudiantes en el grupo");
+ *
+ * El callback recibe el panel vacío y los estudiantes a mostrar (todos, o los que
+ * coinciden en orden de relevancia); este componente limpia y repinta.
+ */
+public class ListaEstudiantesBuscable extends JPanel {
+    private final Color CT = new Color(58, 46, 46);
+
+    private final BusquedaPersonasController busqueda;
+    private final BiConsumer<JPanel, List<EstudianteResumen>> renderizar;
+    private final JPanel panelContenedor;
+    private final JTextField txtBuscar;
+    private List<EstudianteResumen> estudiantes = new ArrayList<>();
+    private String mensajeVacio = "No hay estudiantes";
+
+    public ListaEstudiantesBuscable(String etiqueta, Color fondo,
+                                    BiConsumer<JPanel, List<EstudianteResumen>> renderizar) {
+        super(new BorderLayout());
+        this.busqueda = new BusquedaPersonasController();
+        this.renderizar = renderizar;
+        setBackground(fondo);
+
+        this.txtBuscar = new JTextField();
+        add(crearPanelBusqueda(etiqueta, fondo), BorderLayout.NORTH);
+
+        panelContenedor = new JPanel();
+        panelContenedor.setLayout(new BoxLayout(panelContenedor, BoxLayout.Y_AXIS));
+        panelContenedor.setBackground(fondo);
+        panelContenedor.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+
+        JScrollPane scrollPane = new JScrollPane(panelContenedor);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.setBorder(null);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    private JPanel crearPanelBusqueda(String etiqueta, Color fondo) {
+        JPanel panel = new JPanel(new BorderLayout(10, 0));
+        panel.setBackground(fondo);
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 20, 5, 20));
+
+        JLabel lblBuscar = new JLabel(etiqueta);
+        lblBuscar.setFont(new Font("Arial", Font.BOLD, 13));
+        lblBuscar.setForeground(CT);
+        panel.add(lblBuscar, BorderLayout.WEST);
+
+        txtBuscar.setFont(new Font("Arial", Font.PLAIN, 13));
+        txtBuscar.setToolTipText("Nombre, apellido o NUIP (basta el comienzo de cada palabra)");
+        txtBuscar.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                filtrar(txtBuscar.getText());
+            }
+            public void removeUpdate(DocumentEvent e) {
+                filtrar(txtBuscar.getText());
+            }
+            public void changedUpdate(DocumentEvent e) {
+                filtrar(txtBuscar.getText());
+            }
+        });
+        panel.add(txtBuscar, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    /**
+     * Carga la lista fuera del EDT; la consulta debe devolver List<EstudianteResumen>
+     */
+    public void cargar(String nombre, Supplier<ResultadoOperacion> consulta, String mensajeVacio) {
+        this.mensajeVacio = mensajeVacio;
+        mostrarMensaje("Cargando estudiantes...");
+        EjecutorVista.ejecutarSinBloquear(panelContenedor, nombre, consulta, resultado -> {
+            if (!resultado.isExitoso()) {
+                mostrarMensaje(resultado.getMensaje(), Color.RED);
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            List<EstudianteResumen> cargados = (List<EstudianteResumen>) resultado.getDatos();
+            setEstudiantes(cargados);
+        });
+    }
+
+    /**
+     * Reemplaza la lista; si ya hay algo escrito en el buscador se vuelve a filtrar
+     */
+    public void setEstudiantes(List<EstudianteResumen> estudiantes) {
+        this.estudiantes = estudiantes;
+        if (estudiantes.isEmpty()) {
+            mostrarMensaje(mensajeVacio);
+        } else {
+            filtrar(txtBuscar.getText());
+        }
+    }
+
+    /**
+     * Muestra solo los estudiantes que coinciden con lo escrito (todos si está vacío)
+     */
+    private void filtrar(String texto) {
+        if (estudiantes.isEmpty()) {
+            return;
+        }
+        if (texto.isBlank()) {
+            mostrar(estudiantes);
+            return;
+        }
+
+        Map<Integer, EstudianteResumen> porId = new LinkedHashMap<>();
+        for (EstudianteResumen estudiante : estudiantes) {
+            porId.put(estudiante.idEstudiante(), estudiante);
+        }
+        ResultadoOperacion resultado = busqueda.buscarEntreEstudiantes(texto, porId.keySet());
+        if (!resultado.isExitoso()) {
+            mostrarMensaje(resultado.getMensaje());
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Integer> ids = (List<Integer>) resultado.getDatos();
+        if (ids.isEmpty()) {
+            mostrarMensaje("Ningún estudiante coincide con la búsqueda");
+            return;
+        }
+        List<EstudianteResumen> encontrados = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            encontrados.add(porId.get(id));
+        }
+        mostrar(encontrados);
+    }
+
+    private void mostrar(List<EstudianteResumen> lista) {
+        panelContenedor.removeAll();
+        renderizar.accept(panelContenedor, lista);
+        panelContenedor.revalidate();
+        panelContenedor.repaint();
+    }
+
+    public void mostrarMensaje(String mensaje) {
+        mostrarMensaje(mensaje, Color.GRAY);
+    }
+
+    private void mostrarMensaje(String mensaje, Color color) {
+        panelContenedor.removeAll();
+
+        JLabel lblMensaje = new JLabel(mensaje);
+        lblMensaje.setFont(new Font("Arial", Font.ITALIC, 14));
+        lblMensaje.setForeground(color);
+        lblMensaje.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panelContenedor.add(Box.createVerticalStrut(50));
+        panelContenedor.add(lblMensaje);
+
+        panelContenedor.revalidate();
+        panelContenedor.repaint();
+    }
+}
@@ -14,6 +14,7 @@ public class LoginFrame extends JFrame {
     private JPasswordField txtContrasena;
     private JButton btnIniciarSesion;
     private JLabel lblError;
+    private boolean autenticando;
     private final Color CB = new Color(255, 212, 160);
     private final Color CT = new Color(58, 46, 46);
     private final Color CF = new Color(255, 243, 227);
@@ -176,23 +177,41 @@ public class LoginFrame extends JFrame {
     }
 
     private void iniciarSesion() {
+        if (autenticando) {
+            return;
+        }
         String usuario = txtUsuario.getText().trim();
         String contrasena = new String(txtContrasena.getPassword());
 
-        ResultadoOperacion resultado = controller.autenticarConValidacion(usuario, contrasena);
+        // El hash de la contraseña tarda: se verifica fuera del hilo de Swing
+        autenticando = true;
+        String textoBoton = btnIniciarSesion.getText();
+        btnIniciarSesion.setEnabled(false);
+        btnIniciarSesion.setText("Verificando...");
+
+        Runnable restaurarBoton = () -> {
+            autenticando = false;
+            btnIniciarSesion.setEnabled(true);
+            btnIniciarSesion.setText(textoBoton);
+        };
+        EjecutorVista.ejecutar(this, "login.autenticar",
+            () -> controller.autenticarConValidacion(usuario, contrasena),
+            resultado -> {
+                restaurarBoton.run();
+                mostrarResultado(resultado);
+            })
+            .alCancelar(restaurarBoton);
+    }
 
+    private void mostrarResultado(ResultadoOperacion resultado) {
         if (resultado.isExitoso()) {
             lblError.setVisible(false);
             Usuario usuarioAutenticado = (Usuario) resultado.getDatos();
             this.dispose();
             controller.navegarSegunRol(usuarioAutenticado);
         } else {
+            // El bloqueo es por usuario: la ventana sigue disponible para otras cuentas
             mostrarError(resultado);
-            if (controller.estaBloqueado()) {
-                btnIniciarSesion.setEnabled(false);
-                btnIniciarSesion.setBackground(new Color(207, 207, 207));
-                btnIniciarSesion.setText("SIN INTENTOS");
-            }
         }
     }
 
@@ -7,6 +7,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PreinscripcionFrame extends JDialog {
     private final PreinscripcionController controlador;
@@ -28,6 +29,9 @@ public class PreinscripcionFrame extends JDialog {
     private JButton btnAgregarEstudiante;
     private JLabel lblContadorEstudiantes;
     
+    // Grados para los combos; null mientras se cargan
+    private List<String> grados;
+    
     // Colores de la UI - Paleta del LoginFrame
     private static final Color CB = new Color(255, 212, 160);
     private static final Color CT = new Color(58, 46, 46);
@@ -90,18 +94,8 @@ public class PreinscripcionFrame extends JDialog {
             p.add(lblGrado, gbc);
             etiquetas.put("gradoAspira", lblGrado);
             
-            ResultadoOperacion resultado = controlador.obtenerGradosDisponibles();
-            String[] grados;
-            
-            if (resultado.isExitoso() && resultado.getDatos() != null) {
-                @SuppressWarnings("unchecked")
-                List<String> listaGrados = (List<String>) resultado.getDatos();
-                grados = listaGrados.toArray(new String[0]);
-            } else {
-                grados = new String[]{"Párvulos", "Caminadores", "Pre-Jardín"};
-            }
-            
-            comboGrado = new JComboBox<>(grados);
+            comboGrado = new JComboBox<>();
+            llenarComboGrado(comboGrado);
             comboGrado.setFont(new Font("Arial", Font.PLAIN, 14));
             comboGrado.setBackground(Color.WHITE);
             gbc.gridx = 1;
@@ -270,6 +264,7 @@ public class PreinscripcionFrame extends JDialog {
         getContentPane().removeAll();
         getContentPane().add(panelPrincipal);
         
+        cargarGrados();
         setVisible(true);
     }
     
@@ -353,6 +348,39 @@ public class PreinscripcionFrame extends JDialog {
         return fila + 2;
     }
     
+    /**
+     * Carga los grados una vez para todos los estudiantes del formulario
+     */
+    private void cargarGrados() {
+        EjecutorVista.ejecutar(this, "preinscripcion.gradosDisponibles",
+            controlador::obtenerGradosDisponibles,
+            resultado -> {
+                if (resultado.isExitoso() && resultado.getDatos() != null) {
+                    @SuppressWarnings("unchecked")
+                    List<String> listaGrados = (List<String>) resultado.getDatos();
+                    grados = listaGrados;
+                } else {
+                    grados = Arrays.asList("Párvulos", "Caminadores", "Pre-Jardín");
+                }
+                for (PanelEstudiante panelEst : panelesEstudiantes) {
+                    llenarComboGrado(panelEst.comboGrado);
+                }
+            });
+    }
+    
+    private void llenarComboGrado(JComboBox<String> combo) {
+        combo.removeAllItems();
+        if (grados == null) {
+            combo.addItem("Cargando grados...");
+            combo.setEnabled(false);
+            return;
+        }
+        for (String grado : grados) {
+            combo.addItem(grado);
+        }
+        combo.setEnabled(true);
+    }
+    
     private void agregarPanelEstudiante() {
         int numeroEstudiante = panelesEstudiantes.size() + 1;
         PanelEstudiante panelEst = new PanelEstudiante(numeroEstudiante);
@@ -456,8 +484,56 @@ public class PreinscripcionFrame extends JDialog {
     private void manejarEnviar() {
         limpiarTodosLosErrores();
         
-        // Validar acudiente
+        // Captura y duplicados locales en el EDT; las validaciones consultan la base
         Map<String, String> datosAcudiente = capturarDatosAcudiente();
+        List<Map<String, String>> todosLosEstudiantes = new ArrayList<>();
+        Set<String> nuipsRegistrados = new HashSet<>();
+        
+        for (PanelEstudiante panelEst : panelesEstudiantes) {
+            Map<String, String> datosEst = panelEst.capturarDatos();
+            
+            // Validar duplicados locales
+            String nuip = datosEst.get("nuip");
+            if (nuipsRegistrados.contains(nuip)) {
+                panelEst.mostrarError("nuip", 
+                    "Ya has registrado un estudiante con este NUIP en esta preinscripción");
+                return;
+            }
+            
+            nuipsRegistrados.add(nuip);
+            todosLosEstudiantes.add(datosEst);
+        }
+        
+        // -1: el error es del acudiente o del registro; si no, índice del estudiante
+        AtomicInteger estudianteConError = new AtomicInteger(-1);
+        EjecutorVista.ejecutar(this, "preinscripcion.enviar",
+            () -> validarYRegistrar(datosAcudiente, todosLosEstudiantes, estudianteConError),
+            resultado -> {
+                if (resultado.isExitoso()) {
+                    mostrarMensajeExito(
+                        "¡Tu formulario fue enviado correctamente!",
+                        "Por favor espera hasta que la institución se comunique contigo"
+                    );
+                    limpiarDatosTemporales();
+                    dispose();
+                } else if (estudianteConError.get() >= 0) {
+                    panelesEstudiantes.get(estudianteConError.get())
+                        .mostrarError(resultado.getCampoError(), resultado.getMensaje());
+                } else if (resultado.getCampoError() != null) {
+                    mostrarErrorEnCampoAcudiente(resultado.getCampoError(), resultado.getMensaje());
+                } else {
+                    mostrarMensajeError("Error", resultado.getMensaje());
+                }
+            });
+    }
+    
+    /**
+     * Valida acudiente y estudiantes y registra la preinscripción (fuera del EDT)
+     * Se detiene en el primer error; si es de un estudiante deja su índice en estudianteConError
+     */
+    private ResultadoOperacion validarYRegistrar(Map<String, String> datosAcudiente,
+                                                 List<Map<String, String>> todosLosEstudiantes,
+                                                 AtomicInteger estudianteConError) {
         ResultadoOperacion resultadoAcudiente = controlador.validarDatosAcudiente(
             datosAcudiente.get("primerNombre"),
             datosAcudiente.get("segundoNombre"),
@@ -470,30 +546,11 @@ public class PreinscripcionFrame extends JDialog {
         );
         
         if (!resultadoAcudiente.isExitoso()) {
-            mostrarErrorEnCampoAcudiente(resultadoAcudiente.getCampoError(), 
-                                        resultadoAcudiente.getMensaje());
-            return;
+            return resultadoAcudiente;
         }
         
-        // Validar todos los estudiantes
-        List<Map<String, String>> todosLosEstudiantes = new ArrayList<>();
-        Set<String> nuipsRegistrados = new HashSet<>();
-        
-        for (int i = 0; i < panelesEstudiantes.size(); i++) {
-            PanelEstudiante panelEst = panelesEstudiantes.get(i);
-            panelEst.limpiarErrores();
-            
-            Map<String, String> datosEst = panelEst.capturarDatos();
-            
-            // Validar duplicados locales
-            String nuip = datosEst.get("nuip");
-            if (nuipsRegistrados.contains(nuip)) {
-                panelEst.mostrarError("nuip", 
-                    "Ya has registrado un estudiante con este NUIP en esta preinscripción");
-                return;
-            }
-            
-            // Validar con el controlador
+        for (int i = 0; i < todosLosEstudiantes.size(); i++) {
+            Map<String, String> datosEst = todosLosEstudiantes.get(i);
             ResultadoOperacion resultadoEst = controlador.validarDatosEstudiante(
                 datosEst.get("primerNombre"),
                 datosEst.get("segundoNombre"),
@@ -505,30 +562,12 @@ public class PreinscripcionFrame extends JDialog {
             );
             
             if (!resultadoEst.isExitoso()) {
-                panelEst.mostrarError(resultadoEst.getCampoError(), resultadoEst.getMensaje());
-                return;
+                estudianteConError.set(i);
+                return resultadoEst;
             }
-            
-            nuipsRegistrados.add(nuip);
-            todosLosEstudiantes.add(datosEst);
         }
         
-        // Registrar preinscripción
-        ResultadoOperacion resultado = controlador.registrarPreinscripcion(
-            datosAcudiente,
-            todosLosEstudiantes
-        );
-        
-        if (resultado.isExitoso()) {
-            mostrarMensajeExito(
-                "¡Tu formulario fue enviado correctamente!",
-                "Por favor espera hasta que la institución se comunique contigo"
-            );
-            limpiarDatosTemporales();
-            dispose();
-        } else {
-            mostrarMensajeError("Error", resultado.getMensaje());
-        }
+        return controlador.registrarPreinscripcion(datosAcudiente, todosLosEstudiantes);
     }
     
     private void manejarCierreDialogo() {
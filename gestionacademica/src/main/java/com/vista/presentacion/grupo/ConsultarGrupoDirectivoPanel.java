@@ -4,6 +4,7 @@ import com.controlador.ConsultarGruposController;
 import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.ResultadoOperacion;
 import com.modelo.GeneradorPDFListado;
+import com.vista.presentacion.EjecutorVista;
 
 import javax.swing.*;
 import java.awt.*;
@@ -173,8 +174,12 @@ public class ConsultarGrupoDirectivoPanel extends JFrame {
     }
 
     private void cargarDatosGrupo() {
-        ResultadoOperacion resultado = controller.obtenerGrupoPorId(idGrupo);
-        
+        EjecutorVista.ejecutar(this, "grupos.obtenerPorId",
+            () -> controller.obtenerGrupoPorId(idGrupo),
+            this::mostrarDatosGrupo);
+    }
+
+    private void mostrarDatosGrupo(ResultadoOperacion resultado) {
         if (!resultado.isExitoso()) {
             mostrarError(resultado.getMensaje());
             dispose();
@@ -238,21 +243,29 @@ public class ConsultarGrupoDirectivoPanel extends JFrame {
             return;
         }
         
-        try {
-            File archivoPDF = GeneradorPDFListado.generarListadoClase(
-                datosGrupo.getGrupo(),
-                datosGrupo.getEstudiantesOrdenados(),
-                datosGrupo.getNombreProfesor()
-            );
-            
+        ConsultarGruposController.DatosGrupoConsulta datos = datosGrupo;
+        String nombreProfesor = datosGrupo.getNombreProfesor();
+        EjecutorVista.ejecutar(this, "grupos.descargarListado", () -> {
+            try {
+                File archivoPDF = GeneradorPDFListado.generarListadoClase(
+                    datos.getGrupo(),
+                    datos.getEstudiantesOrdenados(),
+                    nombreProfesor
+                );
+                return ResultadoOperacion.exitoConDatos("Listado generado", archivoPDF);
+            } catch (Exception e) {
+                return ResultadoOperacion.error("Error al generar PDF: " + e.getMessage());
+            }
+        }, resultado -> {
+            if (!resultado.isExitoso()) {
+                mostrarError(resultado.getMensaje());
+                return;
+            }
             JOptionPane.showMessageDialog(this,
-                "Listado descargado exitosamente en:\n" + archivoPDF.getAbsolutePath(),
+                "Listado descargado exitosamente en:\n" + ((File) resultado.getDatos()).getAbsolutePath(),
                 "Descarga exitosa",
                 JOptionPane.INFORMATION_MESSAGE);
-                
-        } catch (Exception e) {
-            mostrarError("Error al generar PDF: " + e.getMessage());
-        }
+        });
     }
 
     private void mostrarError(String mensaje) {
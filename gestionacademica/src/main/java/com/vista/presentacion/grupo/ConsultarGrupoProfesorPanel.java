@@ -5,6 +5,7 @@ import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.Profesor;
 import com.modelo.dominio.ResultadoOperacion;
 import com.modelo.GeneradorPDFListado;
+import com.vista.presentacion.EjecutorVista;
 
 import javax.swing.*;
 import java.awt.*;
@@ -165,8 +166,12 @@ public class ConsultarGrupoProfesorPanel extends JFrame {
     }
 
     private void cargarDatosGrupo() {
-        ResultadoOperacion resultado = controller.obtenerGrupoDeProfesor(profesor);
-        
+        EjecutorVista.ejecutar(this, "grupos.obtenerDeProfesor",
+            () -> controller.obtenerGrupoDeProfesor(profesor),
+            this::mostrarDatosGrupo);
+    }
+
+    private void mostrarDatosGrupo(ResultadoOperacion resultado) {
         if (!resultado.isExitoso()) {
             mostrarError(resultado.getMensaje());
             return;
@@ -228,21 +233,29 @@ public class ConsultarGrupoProfesorPanel extends JFrame {
             return;
         }
         
-        try {
-            File archivoPDF = GeneradorPDFListado.generarListadoClase(
-                datosGrupo.getGrupo(),
-                datosGrupo.getEstudiantesOrdenados(),
-                profesor.obtenerNombreCompleto()
-            );
-            
+        ConsultarGruposController.DatosGrupoConsulta datos = datosGrupo;
+        String nombreProfesor = profesor.obtenerNombreCompleto();
+        EjecutorVista.ejecutar(this, "grupos.descargarListado", () -> {
+            try {
+                File archivoPDF = GeneradorPDFListado.generarListadoClase(
+                    datos.getGrupo(),
+                    datos.getEstudiantesOrdenados(),
+                    nombreProfesor
+                );
+                return ResultadoOperacion.exitoConDatos("Listado generado", archivoPDF);
+            } catch (Exception e) {
+                return ResultadoOperacion.error("Error al generar PDF: " + e.getMessage());
+            }
+        }, resultado -> {
+            if (!resultado.isExitoso()) {
+                mostrarError(resultado.getMensaje());
+                return;
+            }
             JOptionPane.showMessageDialog(this,
-                "Listado descargado exitosamente en:\n" + archivoPDF.getAbsolutePath(),
+                "Listado descargado exitosamente en:\n" + ((File) resultado.getDatos()).getAbsolutePath(),
                 "Descarga exitosa",
                 JOptionPane.INFORMATION_MESSAGE);
-                
-        } catch (Exception e) {
-            mostrarError("Error al generar PDF: " + e.getMessage());
-        }
+        });
     }
 
     private void mostrarError(String mensaje) {
@@ -1,11 +1,20 @@
 package com.vista.presentacion.grupo;
 
 import com.controlador.ConsultarGruposController;
-import com.modelo.dominio.Grupo;
+import com.modelo.ExportacionListados;
+import com.modelo.GeneradorPDFListado;
 import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.ResumenGrupo;
+import com.vista.presentacion.EjecutorVista;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -20,7 +29,7 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
     private final Color CF = new Color(255, 243, 227);
     
     private JPanel panelGrupos;
-    private List<Grupo> grupos;
+    private List<ResumenGrupo> grupos;
 
     public SeleccionarGrupoDirectivoPanel() {
         this.controller = new ConsultarGruposController();
@@ -93,9 +102,13 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
     }
 
     private JPanel crearPanelBotones() {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
         panel.setBackground(CF);
 
+        JButton btnDescargarTodos = crearBoton("Descargar todos", "📥");
+        btnDescargarTodos.addActionListener(e -> descargarTodosLosListados());
+        panel.add(btnDescargarTodos);
+
         JButton btnVolver = crearBoton("Volver", "🔙");
         btnVolver.addActionListener(e -> dispose());
         panel.add(btnVolver);
@@ -125,16 +138,19 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
         return boton;
     }
 
-    @SuppressWarnings("unchecked")
     private void cargarGrupos() {
-        ResultadoOperacion resultado = controller.obtenerTodosLosGruposValidos();
-        
+        EjecutorVista.ejecutar(this, "grupos.listarValidos",
+            controller::obtenerTodosLosGruposValidos, this::mostrarGrupos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mostrarGrupos(ResultadoOperacion resultado) {
         if (!resultado.isExitoso()) {
             mostrarError(resultado.getMensaje());
             return;
         }
         
-        grupos = (List<Grupo>) resultado.getDatos();
+        grupos = (List<ResumenGrupo>) resultado.getDatos();
         
         if (grupos.isEmpty()) {
             mostrarMensajeSinGrupos();
@@ -150,8 +166,8 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
         // Agrupar por grado
         String gradoActual = "";
         
-        for (Grupo grupo : grupos) {
-            String nombreGrado = grupo.getGrado().getNombreGrado();
+        for (ResumenGrupo grupo : grupos) {
+            String nombreGrado = grupo.nombreGrado();
             
             // Agregar separador de grado si es necesario
             if (!nombreGrado.equals(gradoActual)) {
@@ -189,7 +205,7 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
         return panel;
     }
 
-    private JPanel crearItemGrupo(Grupo grupo) {
+    private JPanel crearItemGrupo(ResumenGrupo grupo) {
         JPanel panel = new JPanel(new BorderLayout(15, 0));
         panel.setBackground(Color.WHITE);
         panel.setBorder(BorderFactory.createCompoundBorder(
@@ -204,23 +220,21 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
         panelInfo.setLayout(new BoxLayout(panelInfo, BoxLayout.Y_AXIS));
         panelInfo.setBackground(Color.WHITE);
 
-        JLabel lblNombreGrupo = new JLabel(grupo.getNombreGrupo());
+        JLabel lblNombreGrupo = new JLabel(grupo.nombreGrupo());
         lblNombreGrupo.setFont(new Font("Arial", Font.BOLD, 14));
         lblNombreGrupo.setForeground(CT);
         panelInfo.add(lblNombreGrupo);
 
         panelInfo.add(Box.createVerticalStrut(5));
 
-        String nombreProfesor = grupo.getProfesor() != null ? 
-            grupo.getProfesor().obtenerNombreCompleto() : "Sin profesor";
-        JLabel lblProfesor = new JLabel("Profesor: " + nombreProfesor);
+        JLabel lblProfesor = new JLabel("Profesor: " + grupo.nombreProfesor());
         lblProfesor.setFont(new Font("Arial", Font.PLAIN, 11));
         lblProfesor.setForeground(new Color(100, 100, 100));
         panelInfo.add(lblProfesor);
 
         panelInfo.add(Box.createVerticalStrut(3));
 
-        JLabel lblEstudiantes = new JLabel("Estudiantes: " + grupo.getCantidadEstudiantes());
+        JLabel lblEstudiantes = new JLabel("Estudiantes: " + grupo.cantidadEstudiantes());
         lblEstudiantes.setFont(new Font("Arial", Font.PLAIN, 11));
         lblEstudiantes.setForeground(new Color(100, 100, 100));
         panelInfo.add(lblEstudiantes);
@@ -280,11 +294,145 @@ public class SeleccionarGrupoDirectivoPanel extends JFrame {
         panelGrupos.repaint();
     }
 
-    private void consultarGrupo(Grupo grupo) {
-        ConsultarGrupoDirectivoPanel panel = new ConsultarGrupoDirectivoPanel(grupo.getIdGrupo());
+    private void consultarGrupo(ResumenGrupo grupo) {
+        ConsultarGrupoDirectivoPanel panel = new ConsultarGrupoDirectivoPanel(grupo.idGrupo());
         panel.setVisible(true);
     }
 
+    /**
+     * Exporta los listados de todos los grupos en un PDF o en un ZIP con un PDF por grupo
+     */
+    private void descargarTodosLosListados() {
+        if (grupos == null || grupos.isEmpty()) {
+            mostrarError("No hay grupos disponibles para descargar");
+            return;
+        }
+
+        FileNameExtensionFilter filtroPdf = new FileNameExtensionFilter("Un solo PDF (*.pdf)", "pdf");
+        FileNameExtensionFilter filtroZip = new FileNameExtensionFilter("Un PDF por grupo (*.zip)", "zip");
+
+        JFileChooser selector = new JFileChooser(System.getProperty("user.home") + "/Downloads");
+        selector.setDialogTitle("Guardar listados de clase");
+        selector.setAcceptAllFileFilterUsed(false);
+        selector.addChoosableFileFilter(filtroPdf);
+        selector.addChoosableFileFilter(filtroZip);
+        selector.setFileFilter(filtroPdf);
+        selector.setSelectedFile(new File(
+            GeneradorPDFListado.generarNombreExportacion(GeneradorPDFListado.FormatoExportacion.PDF_UNICO)));
+
+        if (selector.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        boolean esZip = selector.getFileFilter() == filtroZip;
+        GeneradorPDFListado.FormatoExportacion formato = esZip
+            ? GeneradorPDFListado.FormatoExportacion.ZIP
+            : GeneradorPDFListado.FormatoExportacion.PDF_UNICO;
+
+        File archivo = selector.getSelectedFile();
+        String extension = esZip ? ".zip" : ".pdf";
+        if (!archivo.getName().toLowerCase().endsWith(extension)) {
+            archivo = new File(archivo.getParentFile(), archivo.getName().replaceAll("\\.(pdf|zip)$", "") + extension);
+        }
+
+        File destino = archivo;
+        EjecutorVista.ejecutar(this, "grupos.prepararExportacion",
+            () -> controller.prepararExportacionListados(formato),
+            preparacion -> {
+                if (!preparacion.isExitoso()) {
+                    mostrarError(preparacion.getMensaje());
+                    return;
+                }
+                ejecutarExportacion((ExportacionListados) preparacion.getDatos(), destino);
+            });
+    }
+
+    /**
+     * Genera los listados en segundo plano mostrando el avance; el directivo puede cancelar
+     */
+    private void ejecutarExportacion(ExportacionListados exportacion, File archivo) {
+        JDialog dialogo = new JDialog(this, "Exportando listados", true);
+        dialogo.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        JPanel contenido = new JPanel(new BorderLayout(10, 10));
+        contenido.setBackground(CF);
+        contenido.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+
+        JLabel lblEstado = new JLabel("Generando listados (" + exportacion.getHilos() + " hilos)...");
+        lblEstado.setForeground(CT);
+        contenido.add(lblEstado, BorderLayout.NORTH);
+
+        JProgressBar barra = new JProgressBar(0, exportacion.getTotal());
+        barra.setStringPainted(true);
+        barra.setString("0 / " + exportacion.getTotal());
+        contenido.add(barra, BorderLayout.CENTER);
+
+        JButton btnCancelar = crearBoton("Cancelar", "✖");
+        btnCancelar.addActionListener(e -> {
+            btnCancelar.setEnabled(false);
+            lblEstado.setText("Cancelando...");
+            exportacion.cancelar();
+        });
+        JPanel panelCancelar = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        panelCancelar.setBackground(CF);
+        panelCancelar.add(btnCancelar);
+        contenido.add(panelCancelar, BorderLayout.SOUTH);
+
+        dialogo.add(contenido);
+        dialogo.setSize(380, 150);
+        dialogo.setLocationRelativeTo(this);
+
+        SwingWorker<ResultadoOperacion, Integer> tarea = new SwingWorker<>() {
+            @Override
+            protected ResultadoOperacion doInBackground() {
+                exportacion.conProgreso((completados, total) -> publish(completados));
+                try (OutputStream salida = new BufferedOutputStream(new FileOutputStream(archivo))) {
+                    return controller.exportarListadosClase(exportacion, salida);
+                } catch (IOException e) {
+                    return ResultadoOperacion.error("No se pudo escribir el archivo: " + e.getMessage());
+                }
+            }
+
+            @Override
+            protected void process(List<Integer> avances) {
+                // Los avances llegan desordenados entre hilos: se muestra el mayor
+                int completados = avances.stream().mapToInt(Integer::intValue).max().orElse(0);
+                if (completados > barra.getValue()) {
+                    barra.setValue(completados);
+                    barra.setString(completados + " / " + exportacion.getTotal());
+                }
+            }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                ResultadoOperacion resultado;
+                try {
+                    resultado = get();
+                } catch (Exception e) {
+                    resultado = ResultadoOperacion.error("Error al exportar listados: " + e.getMessage());
+                }
+
+                if (!resultado.isExitoso()) {
+                    archivo.delete();
+                    if (!exportacion.isCancelada()) {
+                        mostrarError(resultado.getMensaje());
+                    }
+                    return;
+                }
+
+                JOptionPane.showMessageDialog(SeleccionarGrupoDirectivoPanel.this,
+                    resultado.getMensaje() + "\n\nArchivo guardado en:\n" + archivo.getAbsolutePath(),
+                    "Descarga exitosa",
+                    JOptionPane.INFORMATION_MESSAGE);
+            }
+        };
+
+        // El diálogo es modal: done() se atiende dentro de su ciclo de eventos y lo cierra
+        tarea.execute();
+        dialogo.setVisible(true);
+    }
+
     private void mostrarError(String mensaje) {
         JOptionPane.showMessageDialog(this,
             mensaje,
@@ -4,23 +4,24 @@ import java.awt.*;
 import javax.swing.*;
 
 import com.controlador.GestionHojaVidaController;
-import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.HojaVida;
 import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudianteResumen;
+import com.vista.presentacion.EjecutorVista;
 
 /**
  * Diálogo para consultar la hoja de vida de un estudiante
  * Reutilizable para Profesor, Acudiente y Directivo
  */
 public class ConsultarHojaVidaDialog extends JDialog {
-    private Estudiante estudiante;
+    private EstudianteResumen estudiante;
     private GestionHojaVidaController controller;
     
     private final Color CB = new Color(255, 212, 160);
     private final Color CT = new Color(58, 46, 46);
     private final Color CF = new Color(255, 243, 227);
 
-    public ConsultarHojaVidaDialog(Frame parent, Estudiante estudiante, 
+    public ConsultarHojaVidaDialog(Frame parent, EstudianteResumen estudiante, 
                                    GestionHojaVidaController controller) {
         super(parent, "Consultar Hoja de Vida", true);
         this.estudiante = estudiante;
@@ -58,15 +59,15 @@ public class ConsultarHojaVidaDialog extends JDialog {
 
         panel.add(Box.createVerticalStrut(10));
 
-        JLabel lblEstudiante = new JLabel(estudiante.obtenerNombreCompleto());
+        JLabel lblEstudiante = new JLabel(estudiante.nombreCompleto());
         lblEstudiante.setFont(new Font("Arial", Font.PLAIN, 14));
         lblEstudiante.setForeground(Color.WHITE);
         lblEstudiante.setAlignmentX(Component.CENTER_ALIGNMENT);
         panel.add(lblEstudiante);
 
-        if (estudiante.getGrupo() != null) {
-            JLabel lblGrado = new JLabel("Grado: " + estudiante.getGrupo().getGrado().getNombreGrado() + 
-                                        " - " + estudiante.getGrupo().getNombreGrupo());
+        if (estudiante.tieneGrupo()) {
+            JLabel lblGrado = new JLabel("Grado: " + estudiante.nombreGrado() + 
+                                        " - " + estudiante.nombreGrupo());
             lblGrado.setFont(new Font("Arial", Font.PLAIN, 12));
             lblGrado.setForeground(Color.WHITE);
             lblGrado.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -82,8 +83,28 @@ public class ConsultarHojaVidaDialog extends JDialog {
         panel.setBackground(CF);
         panel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
 
-        // Obtener hoja de vida
-        ResultadoOperacion resultado = controller.obtenerHojaVidaDeEstudiante(estudiante.getIdEstudiante());
+        // La hoja de vida se carga fuera del EDT
+        JLabel lblCargando = new JLabel("Cargando hoja de vida...");
+        lblCargando.setFont(new Font("Arial", Font.ITALIC, 14));
+        lblCargando.setForeground(Color.GRAY);
+        lblCargando.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(Box.createVerticalStrut(50));
+        panel.add(lblCargando);
+        EjecutorVista.ejecutarSinBloquear(panel, "hojaVida.obtener",
+            () -> controller.obtenerHojaVidaDeEstudiante(estudiante.idEstudiante()),
+            resultado -> mostrarHojaVida(panel, resultado));
+
+        JScrollPane scrollPane = new JScrollPane(panel);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.setBorder(null);
+
+        return scrollPane;
+    }
+
+    private void mostrarHojaVida(JPanel panel, ResultadoOperacion resultado) {
+        panel.removeAll();
 
         if (!resultado.isExitoso()) {
             JLabel lblSinHoja = new JLabel("No se ha registrado la hoja de vida");
@@ -107,13 +128,8 @@ public class ConsultarHojaVidaDialog extends JDialog {
             panel.add(crearSeccion("ALERGIAS", hojaVida.getAlergias()));
         }
 
-        JScrollPane scrollPane = new JScrollPane(panel);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        scrollPane.setBorder(null);
-
-        return scrollPane;
+        panel.revalidate();
+        panel.repaint();
     }
 
     private JPanel crearSeccion(String titulo, String contenido) {
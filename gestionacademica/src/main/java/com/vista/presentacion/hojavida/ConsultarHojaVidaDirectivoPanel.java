@@ -1,19 +1,22 @@
 package com.vista.presentacion.hojavida;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.*;
 
 import com.controlador.GestionHojaVidaController;
-import com.modelo.dominio.Estudiante;
-import com.modelo.dominio.Grupo;
-import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudianteResumen;
+import com.vista.presentacion.ListaEstudiantesBuscable;
 
 /**
  * Panel para que el directivo consulte hojas de vida de todos los grupos
  */
 public class ConsultarHojaVidaDirectivoPanel extends JFrame {
     private GestionHojaVidaController controller;
+    private ListaEstudiantesBuscable listaEstudiantes;
     
     private final Color CB = new Color(255, 212, 160);
     private final Color CBH = new Color(255, 230, 180);
@@ -37,7 +40,12 @@ public class ConsultarHojaVidaDirectivoPanel extends JFrame {
         panelPrincipal.setBackground(CF);
 
         panelPrincipal.add(crearPanelEncabezado(), BorderLayout.NORTH);
-        panelPrincipal.add(crearPanelListaGrupos(), BorderLayout.CENTER);
+
+        listaEstudiantes = new ListaEstudiantesBuscable("Buscar estudiante:", CF, this::mostrarEstudiantes);
+        listaEstudiantes.cargar("hojaVida.gruposValidos",
+            () -> controller.obtenerEstudiantesDeGruposValidos(),
+            "No hay grupos registrados");
+        panelPrincipal.add(listaEstudiantes, BorderLayout.CENTER);
 
         add(panelPrincipal);
     }
@@ -73,54 +81,22 @@ public class ConsultarHojaVidaDirectivoPanel extends JFrame {
         return panel;
     }
 
-    private JScrollPane crearPanelListaGrupos() {
-        JPanel panelContenedor = new JPanel();
-        panelContenedor.setLayout(new BoxLayout(panelContenedor, BoxLayout.Y_AXIS));
-        panelContenedor.setBackground(CF);
-        panelContenedor.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
-
-        // Obtener todos los grupos
-        ResultadoOperacion resultado = controller.obtenerTodosLosGruposValidos();
-
-        if (!resultado.isExitoso()) {
-            JLabel lblError = new JLabel(resultado.getMensaje());
-            lblError.setFont(new Font("Arial", Font.ITALIC, 14));
-            lblError.setForeground(Color.RED);
-            lblError.setAlignmentX(Component.CENTER_ALIGNMENT);
-            panelContenedor.add(Box.createVerticalStrut(50));
-            panelContenedor.add(lblError);
-        } else {
-            @SuppressWarnings("unchecked")
-            List<Grupo> grupos = (List<Grupo>) resultado.getDatos();
-            
-            if (grupos.isEmpty()) {
-                JLabel lblSinGrupos = new JLabel("No hay grupos registrados");
-                lblSinGrupos.setFont(new Font("Arial", Font.ITALIC, 14));
-                lblSinGrupos.setForeground(Color.GRAY);
-                lblSinGrupos.setAlignmentX(Component.CENTER_ALIGNMENT);
-                panelContenedor.add(Box.createVerticalStrut(50));
-                panelContenedor.add(lblSinGrupos);
-            } else {
-                // Mostrar grupos
-                for (Grupo grupo : grupos) {
-                    if (grupo.getEstudiantes() != null && !grupo.getEstudiantes().isEmpty()) {
-                        panelContenedor.add(crearPanelGrupo(grupo));
-                        panelContenedor.add(Box.createVerticalStrut(10));
-                    }
-                }
-            }
+    /**
+     * Un panel por grupo, en el orden en que aparece cada grupo en la lista
+     * (por grupo al cargar; por la mejor coincidencia al buscar)
+     */
+    private void mostrarEstudiantes(JPanel contenedor, List<EstudianteResumen> lista) {
+        Map<Integer, List<EstudianteResumen>> porGrupo = new LinkedHashMap<>();
+        for (EstudianteResumen estudiante : lista) {
+            porGrupo.computeIfAbsent(estudiante.idGrupo(), k -> new ArrayList<>()).add(estudiante);
+        }
+        for (List<EstudianteResumen> estudiantesDelGrupo : porGrupo.values()) {
+            contenedor.add(crearPanelGrupo(estudiantesDelGrupo));
+            contenedor.add(Box.createVerticalStrut(10));
         }
-
-        JScrollPane scrollPane = new JScrollPane(panelContenedor);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        scrollPane.setBorder(null);
-
-        return scrollPane;
     }
 
-    private JPanel crearPanelGrupo(Grupo grupo) {
+    private JPanel crearPanelGrupo(List<EstudianteResumen> estudiantesDelGrupo) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBackground(Color.WHITE);
@@ -137,7 +113,8 @@ public class ConsultarHojaVidaDirectivoPanel extends JFrame {
         panelEncabezado.setBorder(BorderFactory.createEmptyBorder(8, 10, 8, 10));
         panelEncabezado.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
 
-        JLabel lblGrupo = new JLabel(grupo.getNombreGrupo() + " - " + grupo.getGrado().getNombreGrado());
+        JLabel lblGrupo = new JLabel(estudiantesDelGrupo.get(0).nombreGrupo() + " - " +
+            estudiantesDelGrupo.get(0).nombreGrado());
         lblGrupo.setFont(new Font("Arial", Font.BOLD, 14));
         lblGrupo.setForeground(Color.WHITE);
         panelEncabezado.add(lblGrupo, BorderLayout.WEST);
@@ -146,7 +123,7 @@ public class ConsultarHojaVidaDirectivoPanel extends JFrame {
         panel.add(Box.createVerticalStrut(10));
 
         // Lista de estudiantes
-        for (Estudiante estudiante : grupo.getEstudiantes()) {
+        for (EstudianteResumen estudiante : estudiantesDelGrupo) {
             panel.add(crearFilaEstudiante(estudiante));
             panel.add(Box.createVerticalStrut(5));
         }
@@ -154,13 +131,13 @@ public class ConsultarHojaVidaDirectivoPanel extends JFrame {
         return panel;
     }
 
-    private JPanel crearFilaEstudiante(Estudiante estudiante) {
+    private JPanel crearFilaEstudiante(EstudianteResumen estudiante) {
         JPanel panel = new JPanel(new BorderLayout(10, 0));
         panel.setBackground(Color.WHITE);
         panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
         panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
 
-        JLabel lblEstudiante = new JLabel("• " + estudiante.obtenerNombreCompleto());
+        JLabel lblEstudiante = new JLabel("• " + estudiante.nombreCompleto());
         lblEstudiante.setFont(new Font("Arial", Font.PLAIN, 13));
         lblEstudiante.setForeground(CT);
         panel.add(lblEstudiante, BorderLayout.WEST);
@@ -189,7 +166,7 @@ public class ConsultarHojaVidaDirectivoPanel extends JFrame {
         return panel;
     }
 
-    private void abrirHojaVida(Estudiante estudiante) {
+    private void abrirHojaVida(EstudianteResumen estudiante) {
         ConsultarHojaVidaDialog dialogo = new ConsultarHojaVidaDialog(
             this, estudiante, controller);
         dialogo.setVisible(true);
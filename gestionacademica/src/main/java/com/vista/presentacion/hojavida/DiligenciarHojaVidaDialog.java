@@ -10,6 +10,7 @@ import com.modelo.dominio.Acudiente;
 import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.HojaVida;
 import com.modelo.dominio.ResultadoOperacion;
+import com.vista.presentacion.EjecutorVista;
 
 /**
  * Diálogo OBLIGATORIO para que el acudiente diligencie las hojas de vida
@@ -294,10 +295,9 @@ public class DiligenciarHojaVidaDialog extends JDialog {
         txtAspectosRelevantes.setText("");
         txtAlergias.setText("");
 
-        // Cargar datos si ya existen
-        ResultadoOperacion resultado = controller.obtenerHojaVidaDeEstudiante(estudiante.getIdEstudiante());
-        if (resultado.isExitoso()) {
-            HojaVida hojaVida = (HojaVida) resultado.getDatos();
+        // Cargar datos si ya existen (la hoja llega cargada con los estudiantes del login)
+        HojaVida hojaVida = estudiante.getHojaDeVida();
+        if (hojaVida != null) {
             txtEnfermedades.setText(hojaVida.getEnfermedades());
             txtAspectosRelevantes.setText(hojaVida.getAspectosRelevantes());
             txtAlergias.setText(hojaVida.getAlergias());
@@ -326,13 +326,17 @@ public class DiligenciarHojaVidaDialog extends JDialog {
         }
 
         // Guardar hoja de vida
-        ResultadoOperacion resultado = controller.guardarHojaVida(
-            estudiante.getIdEstudiante(), alergias, aspectos, enfermedades);
+        EjecutorVista.ejecutar(this, "hojaVida.guardar",
+            () -> controller.guardarHojaVida(estudiante.getIdEstudiante(), alergias, aspectos, enfermedades),
+            resultado -> continuarTrasGuardar(estudiante, resultado));
+    }
 
+    private void continuarTrasGuardar(Estudiante estudiante, ResultadoOperacion resultado) {
         if (!resultado.isExitoso()) {
             mostrarError(resultado.getMensaje());
             return;
         }
+        estudiante.setHojaDeVida((HojaVida) resultado.getDatos());
 
         // Avanzar al siguiente estudiante
         estudianteActualIndex++;
@@ -0,0 +1,302 @@
+package com.vista.presentacion.observador;
+
+import java.awt.*;
+import java.time.format.DateTimeFormatter;
+import javax.swing.*;
+
+import com.controlador.GestionObservadorController;
+import com.controlador.GestionObservadorController.PaginaObservaciones;
+import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.ObservacionEncontrada;
+import com.vista.presentacion.EjecutorVista;
+
+/**
+ * Diálogo para que el directivo busque palabras en las observaciones de todos los estudiantes
+ * Muestra primero las más relevantes con las palabras encontradas resaltadas; las
+ * siguientes páginas se piden al acercarse al final de la lista.
+ */
+public class BuscarObservacionesDialog extends JDialog {
+    private static final int MARGEN_CARGA_PX = 200;
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private GestionObservadorController controller;
+    private JTextField txtBuscar;
+    private JLabel lblResumen;
+    private JPanel panelResultados;
+    private JScrollPane scrollPane;
+    private JLabel lblCargandoMas;
+
+    // Paginación: la siguiente página empieza después de los resultados mostrados
+    private String textoActual;
+    private int mostrados;
+    private int generacion;
+    private boolean hayMas;
+    private boolean cargandoPagina;
+
+    private final Color CB = new Color(255, 212, 160);
+    private final Color CBH = new Color(255, 230, 180);
+    private final Color CT = new Color(58, 46, 46);
+    private final Color CF = new Color(255, 243, 227);
+
+    public BuscarObservacionesDialog(Frame parent, GestionObservadorController controller) {
+        super(parent, "Buscar en Observaciones", true);
+        this.controller = controller;
+
+        inicializarComponentes();
+    }
+
+    private void inicializarComponentes() {
+        setSize(750, 600);
+        setLocationRelativeTo(getParent());
+        setResizable(false);
+
+        JPanel panelPrincipal = new JPanel(new BorderLayout());
+        panelPrincipal.setBackground(CF);
+
+        panelPrincipal.add(crearPanelBusqueda(), BorderLayout.NORTH);
+
+        panelResultados = new JPanel();
+        panelResultados.setLayout(new BoxLayout(panelResultados, BoxLayout.Y_AXIS));
+        panelResultados.setBackground(CF);
+        panelResultados.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+        mostrarMensaje("Escriba palabras como: pelea recreo, \"llegó tarde\", tarea -uniforme");
+
+        scrollPane = new JScrollPane(panelResultados);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> cargarSiCercaDelFinal());
+        scrollPane.setBorder(null);
+        panelPrincipal.add(scrollPane, BorderLayout.CENTER);
+
+        add(panelPrincipal);
+    }
+
+    private JPanel crearPanelBusqueda() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBackground(CF);
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 5, 20));
+
+        JLabel lblTitulo = new JLabel("BUSCAR EN OBSERVACIONES");
+        lblTitulo.setFont(new Font("Arial", Font.BOLD, 18));
+        lblTitulo.setForeground(CT);
+        lblTitulo.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(lblTitulo);
+        panel.add(Box.createVerticalStrut(15));
+
+        JPanel filaBusqueda = new JPanel(new BorderLayout(10, 0));
+        filaBusqueda.setBackground(CF);
+        filaBusqueda.setMaximumSize(new Dimension(Integer.MAX_VALUE, 32));
+
+        txtBuscar = new JTextField();
+        txtBuscar.setFont(new Font("Arial", Font.PLAIN, 13));
+        txtBuscar.setToolTipText("Palabras a buscar; \"entre comillas\" para una frase, -palabra para excluirla");
+        txtBuscar.addActionListener(e -> buscar());
+        filaBusqueda.add(txtBuscar, BorderLayout.CENTER);
+
+        JButton btnBuscar = new JButton("BUSCAR");
+        btnBuscar.setFont(new Font("Arial", Font.BOLD, 12));
+        btnBuscar.setBackground(CB);
+        btnBuscar.setForeground(CT);
+        btnBuscar.setFocusPainted(false);
+        btnBuscar.setBorderPainted(false);
+        btnBuscar.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        btnBuscar.setPreferredSize(new Dimension(110, 30));
+        btnBuscar.addActionListener(e -> buscar());
+        btnBuscar.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent e) {
+                btnBuscar.setBackground(CBH);
+            }
+            public void mouseExited(java.awt.event.MouseEvent e) {
+                btnBuscar.setBackground(CB);
+            }
+        });
+        filaBusqueda.add(btnBuscar, BorderLayout.EAST);
+        filaBusqueda.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(filaBusqueda);
+
+        panel.add(Box.createVerticalStrut(8));
+        lblResumen = new JLabel(" ");
+        lblResumen.setFont(new Font("Arial", Font.ITALIC, 12));
+        lblResumen.setForeground(CT);
+        lblResumen.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(lblResumen);
+
+        return panel;
+    }
+
+    /**
+     * Busca el texto escrito y muestra la primera página
+     */
+    private void buscar() {
+        String texto = txtBuscar.getText().trim();
+        if (texto.isEmpty()) {
+            return;
+        }
+        int cargaActual = ++generacion;
+        EjecutorVista.ejecutar(this, "observaciones.buscar",
+            () -> controller.buscarObservaciones(texto, 0),
+            resultado -> {
+                if (cargaActual == generacion) {
+                    mostrarPrimeraPagina(texto, resultado);
+                }
+            });
+    }
+
+    private void mostrarPrimeraPagina(String texto, ResultadoOperacion resultado) {
+        hayMas = false;
+        cargandoPagina = false;
+        mostrados = 0;
+        textoActual = texto;
+
+        if (!resultado.isExitoso()) {
+            lblResumen.setText(" ");
+            mostrarMensaje(resultado.getMensaje());
+            return;
+        }
+
+        PaginaObservaciones pagina = (PaginaObservaciones) resultado.getDatos();
+        if (pagina.getFilas().isEmpty()) {
+            lblResumen.setText(" ");
+            mostrarMensaje("Ninguna observación contiene esas palabras");
+            return;
+        }
+        lblResumen.setText(pagina.isTotalSuperado()
+            ? "Más de " + pagina.getTotal() + " observaciones; se muestran primero las más relevantes"
+            : pagina.getTotal() + (pagina.getTotal() == 1 ? " observación encontrada" : " observaciones encontradas"));
+
+        panelResultados.removeAll();
+        lblCargandoMas = new JLabel(" ");
+        lblCargandoMas.setFont(new Font("Arial", Font.ITALIC, 12));
+        lblCargandoMas.setForeground(Color.GRAY);
+        lblCargandoMas.setAlignmentX(Component.LEFT_ALIGNMENT);
+        agregarPagina(pagina);
+        SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(0));
+    }
+
+    private void agregarPagina(PaginaObservaciones pagina) {
+        panelResultados.remove(lblCargandoMas);
+        for (ObservacionEncontrada observacion : pagina.getFilas()) {
+            panelResultados.add(crearPanelObservacion(observacion));
+            panelResultados.add(Box.createVerticalStrut(10));
+        }
+        mostrados += pagina.getFilas().size();
+        hayMas = pagina.isHayMas();
+        lblCargandoMas.setText(hayMas ? " " : "");
+        panelResultados.add(lblCargandoMas);
+
+        panelResultados.revalidate();
+        panelResultados.repaint();
+
+        // Si la página no alcanza a llenar la ventana no habrá desplazamiento: se pide la siguiente
+        SwingUtilities.invokeLater(this::cargarSiCercaDelFinal);
+    }
+
+    private void cargarSiCercaDelFinal() {
+        if (!hayMas || cargandoPagina || textoActual == null) {
+            return;
+        }
+        JScrollBar barra = scrollPane.getVerticalScrollBar();
+        if (barra.getValue() + barra.getVisibleAmount() < barra.getMaximum() - MARGEN_CARGA_PX) {
+            return;
+        }
+
+        cargandoPagina = true;
+        lblCargandoMas.setText("Cargando más observaciones...");
+        int cargaActual = generacion;
+        String texto = textoActual;
+        int desde = mostrados;
+        EjecutorVista.ejecutarSinBloquear(this, "observaciones.buscarSiguiente",
+            () -> controller.buscarObservaciones(texto, desde),
+            resultado -> {
+                if (cargaActual != generacion) {
+                    return;
+                }
+                cargandoPagina = false;
+                if (resultado.isExitoso()) {
+                    agregarPagina((PaginaObservaciones) resultado.getDatos());
+                } else {
+                    // Se reintenta con el próximo desplazamiento
+                    lblCargandoMas.setText("No se pudo cargar más observaciones: " + resultado.getMensaje());
+                }
+            });
+    }
+
+    private JPanel crearPanelObservacion(ObservacionEncontrada observacion) {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBackground(Color.WHITE);
+        panel.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(CB, 2),
+            BorderFactory.createEmptyBorder(10, 10, 10, 10)
+        ));
+        panel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        String estudiante = observacion.nombreEstudiante() != null
+            ? observacion.nombreEstudiante() : "Estudiante no disponible";
+        if (observacion.nombreGrupo() != null) {
+            estudiante += " - " + observacion.nombreGrupo();
+        }
+        JLabel lblEstudiante = new JLabel(estudiante);
+        lblEstudiante.setFont(new Font("Arial", Font.BOLD, 13));
+        lblEstudiante.setForeground(CT);
+        lblEstudiante.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(lblEstudiante);
+
+        String detalle = "Fecha: " + observacion.fechaObservacion().format(FORMATO_FECHA);
+        if (observacion.nombreProfesor() != null) {
+            detalle += "   Profesor: " + observacion.nombreProfesor();
+        }
+        JLabel lblDetalle = new JLabel(detalle);
+        lblDetalle.setFont(new Font("Arial", Font.PLAIN, 11));
+        lblDetalle.setForeground(Color.GRAY);
+        lblDetalle.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(lblDetalle);
+        panel.add(Box.createVerticalStrut(6));
+
+        JLabel lblTexto = new JLabel("<html><body style='width: 600px'>"
+            + aHtml(observacion.resaltado()) + "</body></html>");
+        lblTexto.setFont(new Font("Arial", Font.PLAIN, 13));
+        lblTexto.setForeground(CT);
+        lblTexto.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(lblTexto);
+
+        return panel;
+    }
+
+    /**
+     * Escapa el texto para HTML y cambia las marcas de coincidencia por negrilla
+     */
+    private static String aHtml(String resaltado) {
+        StringBuilder html = new StringBuilder(resaltado.length() + 64);
+        for (int i = 0; i < resaltado.length(); i++) {
+            char c = resaltado.charAt(i);
+            switch (c) {
+                case ObservacionEncontrada.INICIO_RESALTADO -> html.append("<b><font color='#B85C00'>");
+                case ObservacionEncontrada.FIN_RESALTADO -> html.append("</font></b>");
+                case '&' -> html.append("&amp;");
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '\n' -> html.append("<br>");
+                default -> html.append(c);
+            }
+        }
+        return html.toString();
+    }
+
+    private void mostrarMensaje(String mensaje) {
+        panelResultados.removeAll();
+
+        JLabel lblMensaje = new JLabel(mensaje);
+        lblMensaje.setFont(new Font("Arial", Font.ITALIC, 14));
+        lblMensaje.setForeground(Color.GRAY);
+        lblMensaje.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panelResultados.add(Box.createVerticalStrut(50));
+        panelResultados.add(lblMensaje);
+
+        panelResultados.revalidate();
+        panelResultados.repaint();
+    }
+}
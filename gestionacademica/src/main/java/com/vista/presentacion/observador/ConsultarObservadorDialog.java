@@ -5,28 +5,42 @@ import java.time.format.DateTimeFormatter;
 import javax.swing.*;
 
 import com.controlador.GestionObservadorController;
-import com.modelo.dominio.Estudiante;
+import com.controlador.GestionObservadorController.PaginaObservador;
 import com.modelo.dominio.Observacion;
-import com.modelo.dominio.Observador;
 import com.modelo.dominio.Profesor;
 import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudianteResumen;
+import com.vista.presentacion.EjecutorVista;
 
 /**
  * Diálogo para consultar el observador de un estudiante
  * Reutilizable para Profesor, Acudiente y Directivo
  */
 public class ConsultarObservadorDialog extends JDialog {
-    private Estudiante estudiante;
+    private static final int MARGEN_CARGA_PX = 200;
+    private static final int ANCHO_CELDA = 450;
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private EstudianteResumen estudiante;
     private GestionObservadorController controller;
     private boolean puedeModificar;
     private Profesor profesorActual; // Solo se usa si puede modificar
+
+    // Observaciones cargadas hasta ahora; la siguiente página continúa después de ultimaPagina
+    private final DefaultListModel<Observacion> modelo = new DefaultListModel<>();
+    private JList<Observacion> lista;
+    private JScrollPane scrollPane;
+    private JLabel lblTotal;
+    private JLabel lblCargandoMas;
+    private PaginaObservador ultimaPagina;
+    private boolean cargandoPagina;
     
     private final Color CB = new Color(255, 212, 160);
     private final Color CBH = new Color(255, 230, 180);
     private final Color CT = new Color(58, 46, 46);
     private final Color CF = new Color(255, 243, 227);
 
-    public ConsultarObservadorDialog(Frame parent, Estudiante estudiante, 
+    public ConsultarObservadorDialog(Frame parent, EstudianteResumen estudiante, 
                                     GestionObservadorController controller,
                                     boolean puedeModificar, Profesor profesorActual) {
         super(parent, "Consultar Observador", true);
@@ -72,104 +86,192 @@ public class ConsultarObservadorDialog extends JDialog {
 
         panel.add(Box.createVerticalStrut(10));
 
-        JLabel lblEstudiante = new JLabel(estudiante.obtenerNombreCompleto());
+        JLabel lblEstudiante = new JLabel(estudiante.nombreCompleto());
         lblEstudiante.setFont(new Font("Arial", Font.PLAIN, 14));
         lblEstudiante.setForeground(Color.WHITE);
         lblEstudiante.setAlignmentX(Component.CENTER_ALIGNMENT);
         panel.add(lblEstudiante);
 
-        if (estudiante.getGrupo() != null) {
-            JLabel lblGrado = new JLabel("Grado: " + estudiante.getGrupo().getGrado().getNombreGrado() + 
-                                        " - " + estudiante.getGrupo().getNombreGrupo());
+        if (estudiante.tieneGrupo()) {
+            JLabel lblGrado = new JLabel("Grado: " + estudiante.nombreGrado() + 
+                                        " - " + estudiante.nombreGrupo());
             lblGrado.setFont(new Font("Arial", Font.PLAIN, 12));
             lblGrado.setForeground(Color.WHITE);
             lblGrado.setAlignmentX(Component.CENTER_ALIGNMENT);
             panel.add(lblGrado);
         }
 
+        // Total de observaciones: llega con la primera página
+        lblTotal = new JLabel("Cargando observaciones...");
+        lblTotal.setFont(new Font("Arial", Font.ITALIC, 12));
+        lblTotal.setForeground(Color.WHITE);
+        lblTotal.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(lblTotal);
+
         return panel;
     }
 
-    private JScrollPane crearPanelObservaciones() {
-        JPanel panelContenedor = new JPanel();
-        panelContenedor.setLayout(new BoxLayout(panelContenedor, BoxLayout.Y_AXIS));
-        panelContenedor.setBackground(CF);
-        panelContenedor.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
-
-        // Obtener observador
-        ResultadoOperacion resultado = controller.obtenerObservadorDeEstudiante(estudiante.getIdEstudiante());
+    private JPanel crearPanelObservaciones() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(CF);
 
-        if (!resultado.isExitoso()) {
-            // No tiene observaciones
-            JLabel lblSinObservaciones = new JLabel("Sin observaciones por el momento");
-            lblSinObservaciones.setFont(new Font("Arial", Font.ITALIC, 14));
-            lblSinObservaciones.setForeground(Color.GRAY);
-            lblSinObservaciones.setAlignmentX(Component.CENTER_ALIGNMENT);
-            panelContenedor.add(Box.createVerticalStrut(50));
-            panelContenedor.add(lblSinObservaciones);
-        } else {
-            Observador observador = (Observador) resultado.getDatos();
-            
-            if (observador.getObservaciones().isEmpty()) {
-                JLabel lblSinObservaciones = new JLabel("Sin observaciones por el momento");
-                lblSinObservaciones.setFont(new Font("Arial", Font.ITALIC, 14));
-                lblSinObservaciones.setForeground(Color.GRAY);
-                lblSinObservaciones.setAlignmentX(Component.CENTER_ALIGNMENT);
-                panelContenedor.add(Box.createVerticalStrut(50));
-                panelContenedor.add(lblSinObservaciones);
-            } else {
-                // Mostrar observaciones
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-                
-                for (Observacion obs : observador.getObservaciones()) {
-                    panelContenedor.add(crearPanelObservacion(obs, formatter));
-                    panelContenedor.add(Box.createVerticalStrut(10));
-                }
-            }
-        }
+        // Lista virtual: solo se pintan las observaciones visibles; las páginas siguientes
+        // se piden al acercarse al final
+        lista = new JList<>(modelo);
+        lista.setCellRenderer(new RenderizadorObservacion());
+        lista.setFixedCellWidth(ANCHO_CELDA);
+        lista.setBackground(CF);
+        lista.setFocusable(false);
+        lista.setSelectionModel(new SinSeleccion());
 
-        JScrollPane scrollPane = new JScrollPane(panelContenedor);
+        scrollPane = new JScrollPane(crearMensaje("Cargando observaciones..."));
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        scrollPane.setBorder(null);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> cargarSiCercaDelFinal());
+        scrollPane.getViewport().setBackground(CF);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder(15, 15, 0, 0));
+        panel.add(scrollPane, BorderLayout.CENTER);
 
-        return scrollPane;
-    }
+        lblCargandoMas = new JLabel(" ");
+        lblCargandoMas.setFont(new Font("Arial", Font.ITALIC, 12));
+        lblCargandoMas.setForeground(Color.GRAY);
+        lblCargandoMas.setHorizontalAlignment(SwingConstants.CENTER);
+        panel.add(lblCargandoMas, BorderLayout.SOUTH);
 
-    private JPanel crearPanelObservacion(Observacion obs, DateTimeFormatter formatter) {
-        JPanel panel = new JPanel();
-        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-        panel.setBackground(Color.WHITE);
-        panel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(CB, 2),
-            BorderFactory.createEmptyBorder(10, 10, 10, 10)
-        ));
-        panel.setMaximumSize(new Dimension(450, Integer.MAX_VALUE));
-
-        // Fecha
-        JLabel lblFecha = new JLabel("Observación " + obs.getFechaObservacion().format(formatter));
-        lblFecha.setFont(new Font("Arial", Font.BOLD, 12));
-        lblFecha.setForeground(CT);
-        lblFecha.setAlignmentX(Component.LEFT_ALIGNMENT);
-        panel.add(lblFecha);
-
-        panel.add(Box.createVerticalStrut(8));
-
-        // Descripción
-        JTextArea txtDescripcion = new JTextArea(obs.getDescripcion());
-        txtDescripcion.setFont(new Font("Arial", Font.PLAIN, 12));
-        txtDescripcion.setForeground(CT);
-        txtDescripcion.setBackground(Color.WHITE);
-        txtDescripcion.setLineWrap(true);
-        txtDescripcion.setWrapStyleWord(true);
-        txtDescripcion.setEditable(false);
-        txtDescripcion.setAlignmentX(Component.LEFT_ALIGNMENT);
-        panel.add(txtDescripcion);
+        EjecutorVista.ejecutar(this, "observador.consultar",
+            () -> controller.obtenerPaginaObservaciones(estudiante.idEstudiante(), null),
+            this::mostrarPrimeraPagina);
 
         return panel;
     }
 
+    private void mostrarPrimeraPagina(ResultadoOperacion resultado) {
+        if (!resultado.isExitoso()) {
+            // No tiene observador
+            lblTotal.setText(" ");
+            scrollPane.setViewportView(crearMensaje("Sin observaciones por el momento"));
+            return;
+        }
+
+        PaginaObservador pagina = (PaginaObservador) resultado.getDatos();
+        if (pagina.getFilas().isEmpty()) {
+            lblTotal.setText(" ");
+            scrollPane.setViewportView(crearMensaje("Sin observaciones por el momento"));
+            return;
+        }
+        lblTotal.setText(pagina.getTotal() + (pagina.getTotal() == 1 ? " observación" : " observaciones"));
+        scrollPane.setViewportView(lista);
+        agregarPagina(pagina);
+    }
+
+    private void agregarPagina(PaginaObservador pagina) {
+        ultimaPagina = pagina;
+        modelo.addAll(pagina.getFilas());
+        lblCargandoMas.setText(" ");
+
+        // Si la página no alcanza a llenar la ventana no habrá desplazamiento: se pide la siguiente
+        SwingUtilities.invokeLater(this::cargarSiCercaDelFinal);
+    }
+
+    private void cargarSiCercaDelFinal() {
+        if (ultimaPagina == null || !ultimaPagina.isHayMas() || cargandoPagina) {
+            return;
+        }
+        JScrollBar barra = scrollPane.getVerticalScrollBar();
+        if (barra.getValue() + barra.getVisibleAmount() < barra.getMaximum() - MARGEN_CARGA_PX) {
+            return;
+        }
+
+        cargandoPagina = true;
+        lblCargandoMas.setText("Cargando más observaciones...");
+        PaginaObservador anterior = ultimaPagina;
+        EjecutorVista.ejecutarSinBloquear(this, "observador.siguientePagina",
+            () -> controller.obtenerPaginaObservaciones(estudiante.idEstudiante(), anterior),
+            resultado -> {
+                cargandoPagina = false;
+                if (resultado.isExitoso()) {
+                    agregarPagina((PaginaObservador) resultado.getDatos());
+                } else {
+                    // Se reintenta con el próximo desplazamiento
+                    lblCargandoMas.setText("No se pudo cargar más observaciones: " + resultado.getMensaje());
+                }
+            });
+    }
+
+    private JLabel crearMensaje(String texto) {
+        JLabel lblMensaje = new JLabel(texto);
+        lblMensaje.setFont(new Font("Arial", Font.ITALIC, 14));
+        lblMensaje.setForeground(Color.GRAY);
+        lblMensaje.setHorizontalAlignment(SwingConstants.CENTER);
+        lblMensaje.setVerticalAlignment(SwingConstants.TOP);
+        lblMensaje.setBorder(BorderFactory.createEmptyBorder(50, 0, 0, 0));
+        lblMensaje.setOpaque(true);
+        lblMensaje.setBackground(CF);
+        return lblMensaje;
+    }
+
+    /**
+     * Dibuja cada observación como una tarjeta; la misma instancia sirve para todas las filas
+     * El alto depende del texto, con el ancho fijo de la lista.
+     */
+    private class RenderizadorObservacion extends JPanel implements ListCellRenderer<Observacion> {
+        private final JLabel lblFecha = new JLabel();
+        private final JTextArea txtDescripcion = new JTextArea();
+        private final int anchoTexto;
+
+        RenderizadorObservacion() {
+            super(new BorderLayout());
+            setBackground(CF);
+            JPanel tarjeta = new JPanel(new BorderLayout(0, 8));
+            tarjeta.setBackground(Color.WHITE);
+            tarjeta.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(CB, 2),
+                BorderFactory.createEmptyBorder(10, 10, 10, 10)
+            ));
+            // Separación entre tarjetas
+            setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+
+            lblFecha.setFont(new Font("Arial", Font.BOLD, 12));
+            lblFecha.setForeground(CT);
+            tarjeta.add(lblFecha, BorderLayout.NORTH);
+
+            txtDescripcion.setFont(new Font("Arial", Font.PLAIN, 12));
+            txtDescripcion.setForeground(CT);
+            txtDescripcion.setBackground(Color.WHITE);
+            txtDescripcion.setLineWrap(true);
+            txtDescripcion.setWrapStyleWord(true);
+            txtDescripcion.setEditable(false);
+            tarjeta.add(txtDescripcion, BorderLayout.CENTER);
+
+            add(tarjeta, BorderLayout.CENTER);
+            anchoTexto = ANCHO_CELDA - 24;
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Observacion> list, Observacion obs,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            lblFecha.setText("Observación " + obs.getFechaObservacion().format(FORMATO_FECHA));
+            txtDescripcion.setText(obs.getDescripcion());
+            // Con el ancho fijado, el alto preferido del área de texto es el del texto ajustado
+            txtDescripcion.setSize(anchoTexto, Short.MAX_VALUE);
+            return this;
+        }
+    }
+
+    /**
+     * Las observaciones solo se leen: la lista no marca filas al hacer clic
+     */
+    private static class SinSeleccion extends DefaultListSelectionModel {
+        @Override
+        public void setSelectionInterval(int index0, int index1) {
+        }
+
+        @Override
+        public void addSelectionInterval(int index0, int index1) {
+        }
+    }
+
     private JPanel crearPanelBotones() {
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
         panel.setBackground(CF);
@@ -4,16 +4,17 @@ import java.awt.*;
 import javax.swing.*;
 
 import com.controlador.GestionObservadorController;
-import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.Profesor;
 import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudianteResumen;
+import com.vista.presentacion.EjecutorVista;
 
 /**
  * Diálogo para agregar observaciones al observador de un estudiante
  * Solo accesible por profesores
  */
 public class ModificarObservadorDialog extends JDialog {
-    private Estudiante estudiante;
+    private EstudianteResumen estudiante;
     private GestionObservadorController controller;
     private Profesor profesor;
     
@@ -28,7 +29,7 @@ public class ModificarObservadorDialog extends JDialog {
     private static final int MIN_CARACTERES = 10;
     private static final int MAX_CARACTERES = 200;
 
-    public ModificarObservadorDialog(Frame parent, Estudiante estudiante, 
+    public ModificarObservadorDialog(Frame parent, EstudianteResumen estudiante, 
                                     GestionObservadorController controller, 
                                     Profesor profesor) {
         super(parent, "Asignar Observación", true);
@@ -101,7 +102,7 @@ public class ModificarObservadorDialog extends JDialog {
 
         panel.add(Box.createVerticalStrut(5));
 
-        JTextField txtEstudiante = new JTextField(estudiante.obtenerNombreCompleto());
+        JTextField txtEstudiante = new JTextField(estudiante.nombreCompleto());
         txtEstudiante.setFont(new Font("Arial", Font.PLAIN, 14));
         txtEstudiante.setEditable(false);
         txtEstudiante.setBackground(new Color(240, 240, 240));
@@ -221,9 +222,12 @@ public class ModificarObservadorDialog extends JDialog {
         }
         
         // Guardar observación
-        ResultadoOperacion resultado = controller.agregarObservacion(
-            estudiante.getIdEstudiante(), descripcion, profesor);
-        
+        EjecutorVista.ejecutar(this, "observador.agregarObservacion",
+            () -> controller.agregarObservacion(estudiante.idEstudiante(), descripcion, profesor),
+            this::mostrarResultadoGuardado);
+    }
+
+    private void mostrarResultadoGuardado(ResultadoOperacion resultado) {
         if (resultado.isExitoso()) {
             JOptionPane.showMessageDialog(this,
                 "Observación guardada exitosamente",
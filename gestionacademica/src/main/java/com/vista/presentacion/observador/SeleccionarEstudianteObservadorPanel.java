@@ -1,14 +1,14 @@
 package com.vista.presentacion.observador;
 
 import java.awt.*;
-import java.util.Set;
+import java.util.List;
 import javax.swing.*;
 
 import com.controlador.GestionObservadorController;
-import com.modelo.dominio.Estudiante;
 import com.modelo.dominio.Grupo;
 import com.modelo.dominio.Profesor;
-import com.modelo.dominio.ResultadoOperacion;
+import com.modelo.dto.EstudianteResumen;
+import com.vista.presentacion.ListaEstudiantesBuscable;
 
 /**
  * Panel para que el profesor seleccione un estudiante de su grupo
@@ -16,6 +16,7 @@ import com.modelo.dominio.ResultadoOperacion;
  */
 public class SeleccionarEstudianteObservadorPanel extends JFrame {
     private Profesor profesor;
+    private ListaEstudiantesBuscable listaEstudiantes;
     private GestionObservadorController controller;
     
     private final Color CB = new Color(255, 212, 160);
@@ -41,7 +42,12 @@ public class SeleccionarEstudianteObservadorPanel extends JFrame {
         panelPrincipal.setBackground(CF);
 
         panelPrincipal.add(crearPanelEncabezado(), BorderLayout.NORTH);
-        panelPrincipal.add(crearPanelListaEstudiantes(), BorderLayout.CENTER);
+
+        listaEstudiantes = new ListaEstudiantesBuscable("Buscar:", CF, this::mostrarEstudiantes);
+        listaEstudiantes.cargar("observador.estudiantesDelGrupo",
+            () -> controller.obtenerEstudiantesDelGrupo(profesor),
+            "No hay estudiantes en el grupo");
+        panelPrincipal.add(listaEstudiantes, BorderLayout.CENTER);
 
         add(panelPrincipal);
     }
@@ -81,55 +87,18 @@ public class SeleccionarEstudianteObservadorPanel extends JFrame {
         return panel;
     }
 
-    private JScrollPane crearPanelListaEstudiantes() {
-        JPanel panelContenedor = new JPanel();
-        panelContenedor.setLayout(new BoxLayout(panelContenedor, BoxLayout.Y_AXIS));
-        panelContenedor.setBackground(CF);
-        panelContenedor.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
-
-        // Obtener estudiantes del grupo
-        ResultadoOperacion resultado = controller.obtenerEstudiantesDelGrupo(profesor);
-
-        if (!resultado.isExitoso()) {
-            JLabel lblError = new JLabel(resultado.getMensaje());
-            lblError.setFont(new Font("Arial", Font.ITALIC, 14));
-            lblError.setForeground(Color.RED);
-            lblError.setAlignmentX(Component.CENTER_ALIGNMENT);
-            panelContenedor.add(Box.createVerticalStrut(50));
-            panelContenedor.add(lblError);
-        } else {
-            @SuppressWarnings("unchecked")
-            Set<Estudiante> estudiantes = (Set<Estudiante>) resultado.getDatos();
-            
-            if (estudiantes.isEmpty()) {
-                JLabel lblSinEstudiantes = new JLabel("No hay estudiantes en el grupo");
-                lblSinEstudiantes.setFont(new Font("Arial", Font.ITALIC, 14));
-                lblSinEstudiantes.setForeground(Color.GRAY);
-                lblSinEstudiantes.setAlignmentX(Component.CENTER_ALIGNMENT);
-                panelContenedor.add(Box.createVerticalStrut(50));
-                panelContenedor.add(lblSinEstudiantes);
-            } else {
-                // Encabezado de lista
-                JPanel panelEncabezadoLista = crearEncabezadoLista();
-                panelEncabezadoLista.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
-                panelContenedor.add(panelEncabezadoLista);
-                panelContenedor.add(Box.createVerticalStrut(5));
-
-                // Lista de estudiantes
-                for (Estudiante estudiante : estudiantes) {
-                    panelContenedor.add(crearFilaEstudiante(estudiante));
-                    panelContenedor.add(Box.createVerticalStrut(5));
-                }
-            }
+    private void mostrarEstudiantes(JPanel contenedor, List<EstudianteResumen> lista) {
+        // Encabezado de lista
+        JPanel panelEncabezadoLista = crearEncabezadoLista();
+        panelEncabezadoLista.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
+        contenedor.add(panelEncabezadoLista);
+        contenedor.add(Box.createVerticalStrut(5));
+
+        // Lista de estudiantes
+        for (EstudianteResumen estudiante : lista) {
+            contenedor.add(crearFilaEstudiante(estudiante));
+            contenedor.add(Box.createVerticalStrut(5));
         }
-
-        JScrollPane scrollPane = new JScrollPane(panelContenedor);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        scrollPane.setBorder(null);
-
-        return scrollPane;
     }
 
     private JPanel crearEncabezadoLista() {
@@ -146,7 +115,7 @@ public class SeleccionarEstudianteObservadorPanel extends JFrame {
         return panel;
     }
 
-    private JPanel crearFilaEstudiante(Estudiante estudiante) {
+    private JPanel crearFilaEstudiante(EstudianteResumen estudiante) {
         JPanel panel = new JPanel(new BorderLayout(10, 0));
         panel.setBackground(Color.WHITE);
         panel.setBorder(BorderFactory.createCompoundBorder(
@@ -156,7 +125,7 @@ public class SeleccionarEstudianteObservadorPanel extends JFrame {
         panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
 
         // Nombre del estudiante con bullet point
-        JLabel lblEstudiante = new JLabel("• " + estudiante.obtenerNombreCompleto());
+        JLabel lblEstudiante = new JLabel("• " + estudiante.nombreCompleto());
         lblEstudiante.setFont(new Font("Arial", Font.PLAIN, 13));
         lblEstudiante.setForeground(CT);
         panel.add(lblEstudiante, BorderLayout.WEST);
@@ -186,7 +155,7 @@ public class SeleccionarEstudianteObservadorPanel extends JFrame {
         return panel;
     }
 
-    private void abrirObservador(Estudiante estudiante) {
+    private void abrirObservador(EstudianteResumen estudiante) {
         ConsultarObservadorDialog dialogo = new ConsultarObservadorDialog(
             this, estudiante, controller, true, profesor);
         dialogo.setVisible(true);